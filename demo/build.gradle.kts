@@ -3,6 +3,7 @@ plugins {
 	id("jacoco")
 	id("org.springframework.boot") version "3.3.4"
 	id("io.spring.dependency-management") version "1.1.6"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.example"
@@ -24,17 +25,75 @@ repositories {
 	mavenCentral()
 }
 
+val loadtest: SourceSet by sourceSets.creating
+
 dependencies {
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
-	implementation("org.postgresql:postgresql:42.6.0")
+	implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
+	implementation("org.postgresql:postgresql")
+	runtimeOnly("org.postgresql:r2dbc-postgresql")
+	implementation("org.flywaydb:flyway-core")
+	implementation("org.flywaydb:flyway-database-postgresql")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("org.hibernate.orm:hibernate-micrometer")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	compileOnly("org.projectlombok:lombok")
 	annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 	annotationProcessor("org.projectlombok:lombok")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testRuntimeOnly("com.h2database:h2")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	"loadtestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+	"loadtestImplementation"("com.fasterxml.jackson.core:jackson-databind")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+
+// ./gradlew jmh [-PjmhIncludes=TransactionDtoBenchmark] [-PjmhProfilers=gc]
+jmh {
+	jmhVersion.set("1.37")
+	resultFormat.set("JSON")
+	resultsFile.set(jmhResults)
+	providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+	providers.gradleProperty("jmhProfilers").orNull?.let { profilers.set(it.split(",")) }
+}
+
+// ./gradlew jmhCompare -PjmhBaseline=path/to/baseline.json [-PjmhMaxRegression=10]
+tasks.register<JavaExec>("jmhCompare") {
+	group = "verification"
+	description = "Fails when the last JMH results regressed against a baseline results file."
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass.set("com.example.demo.benchmark.BenchmarkComparison")
+	argumentProviders.add(CommandLineArgumentProvider {
+		listOf(
+			providers.gradleProperty("jmhBaseline").get(),
+			jmhResults.get().asFile.path,
+			providers.gradleProperty("jmhMaxRegression").getOrElse("10"),
+		)
+	})
+}
+
+// ./gradlew seed [-PseedArgs="--crm.seed.transactions=5000000 --crm.seed.sellers=5000"]
+tasks.register<org.springframework.boot.gradle.tasks.run.BootRun>("seed") {
+	group = "application"
+	description = "Loads a synthetic dataset into the configured database and exits."
+	mainClass.set("com.example.demo.SimpleCrmApplication")
+	classpath = sourceSets["main"].runtimeClasspath
+	args("seed")
+	providers.gradleProperty("seedArgs").orNull?.let { args(it.split(" ")) }
+}
+
+// ./gradlew loadTest [-PloadTestArgs="--model=open --rate=500 --duration=PT2M"]
+tasks.register<JavaExec>("loadTest") {
+	group = "verification"
+	description = "Replays a mixed workload against a running instance and reports latency percentiles."
+	classpath = loadtest.runtimeClasspath
+	mainClass.set("com.example.demo.loadtest.LoadTestMain")
+	providers.gradleProperty("loadTestArgs").orNull?.let { args(it.split(" ")) }
+}
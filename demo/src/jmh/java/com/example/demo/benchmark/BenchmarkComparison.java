@@ -0,0 +1,79 @@
+package com.example.demo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits with status 1 if any benchmark present in both got
+ * slower than the allowed percentage. Only average-time style scores (lower is better) are
+ * compared, which is what the benchmarks in this source set report.
+ *
+ * <p>Usage: {@code BenchmarkComparison <baseline.json> <current.json> [maxRegressionPercent]}
+ */
+public final class BenchmarkComparison {
+    private static final double DEFAULT_MAX_REGRESSION_PERCENT = 10;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [maxRegressionPercent]");
+            System.exit(2);
+        }
+        double maxRegressionPercent = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_MAX_REGRESSION_PERCENT;
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double afterScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            // Differences within the measurement error of either run are noise, not regressions.
+            double error = Math.max(
+                    before.path("primaryMetric").path("scoreError").asDouble(),
+                    entry.getValue().path("primaryMetric").path("scoreError").asDouble());
+            double changePercent = (afterScore - beforeScore) / beforeScore * 100;
+            boolean regressed = changePercent > maxRegressionPercent && afterScore - beforeScore > error;
+
+            System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+                    regressed ? "REGRESSED" : "OK",
+                    entry.getKey(),
+                    beforeScore,
+                    afterScore,
+                    entry.getValue().path("primaryMetric").path("scoreUnit").asText(),
+                    changePercent);
+            if (regressed) {
+                regressions++;
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, maxRegressionPercent);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.store.columnar.ColumnarTransactionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The analytics of {@link TransactionAnalyticsBenchmark} answered by {@link ColumnarTransactionStore}
+ * over the same {@link InMemoryDataset}s, for comparing the in-memory mirror with the
+ * repository-shaped path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ColumnarStoreBenchmark {
+    private static final LocalDateTime RANGE_START = InMemoryDataset.FIRST_DAY.plusDays(30).atTime(13, 17);
+    private static final LocalDateTime RANGE_END = InMemoryDataset.FIRST_DAY.plusDays(120).atTime(9, 45);
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private ColumnarTransactionStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryDataset dataset = new InMemoryDataset(rows, 42);
+
+        ColumnarTransactionStore.Loader loader = new ColumnarTransactionStore.Loader(rows);
+        for (int row = 0; row < rows; row++) {
+            loader.add(new ColumnarTransactionStore.Row(
+                    row + 1L,
+                    dataset.sellerIndexes[row] + 1L,
+                    dataset.amountCents[row],
+                    ColumnarTransactionStore.toSecond(InMemoryDataset.dateTime(dataset.epochSeconds[row])),
+                    dataset.paymentTypes[row]
+            ));
+        }
+        store = new ColumnarTransactionStore(0);
+        store.replace(loader);
+    }
+
+    @Benchmark
+    public OptionalLong mostProductiveSeller() {
+        return store.findTopSellerByAmount(
+                ColumnarTransactionStore.toSecond(RANGE_START), ColumnarTransactionStore.toSecond(RANGE_END));
+    }
+
+    @Benchmark
+    public OptionalLong mostProductiveSellerWithinOneDay() {
+        return store.findTopSellerByAmount(
+                ColumnarTransactionStore.toSecond(RANGE_START), ColumnarTransactionStore.toSecond(RANGE_START.plusHours(6)));
+    }
+
+    @Benchmark
+    public Optional<ColumnarTransactionStore.Period> bestHour() {
+        // Seller 1 has the most rows.
+        return store.findBestPeriod(1L, 3600, Integer.MIN_VALUE);
+    }
+
+    @Benchmark
+    public Optional<ColumnarTransactionStore.Period> bestWindow() {
+        return store.findBestWindow(1L, 6 * 3600, Integer.MIN_VALUE);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.entity.TransactionEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic transaction table held column-wise in primitive arrays, so that even 10^7 rows fit
+ * comfortably in a benchmark heap. Rows are sorted by date, like the
+ * {@code (transaction_date, id)} index. A per-seller row list stands in for
+ * {@code (seller_id, transaction_date)}, and a seller/day matrix for {@code seller_daily_stats}.
+ *
+ * <p>Seller activity is skewed: low seller ids get most transactions. The same seed always
+ * produces the same dataset, so runs are comparable.
+ */
+final class InMemoryDataset {
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    static final int DAYS = 366;
+
+    private static final long FIRST_SECOND = FIRST_DAY.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    private static final TransactionEntity.PaymentType[] PAYMENT_TYPES = TransactionEntity.PaymentType.values();
+
+    final int rows;
+    final int sellerCount;
+    final SellerEntity[] sellers;
+
+    final long[] epochSeconds;
+    final int[] sellerIndexes;
+    final long[] amountCents;
+    final byte[] paymentTypes;
+
+    final int[][] rowsBySeller;
+    final long[][] dailyTotalCents;
+    final long[][] dailyCounts;
+
+    InMemoryDataset(int rows, long seed) {
+        this.rows = rows;
+        this.sellerCount = Math.max(10, Math.min(10_000, rows / 100));
+
+        SplittableRandom random = new SplittableRandom(seed);
+        sellers = new SellerEntity[sellerCount];
+        for (int i = 0; i < sellerCount; i++) {
+            sellers[i] = SellerEntity.builder()
+                    .id(i + 1L)
+                    .name("Seller " + (i + 1))
+                    .contactInfo("seller" + (i + 1) + "@example.com")
+                    .registrationDate(FIRST_DAY.atStartOfDay())
+                    .build();
+        }
+
+        epochSeconds = new long[rows];
+        for (int row = 0; row < rows; row++) {
+            epochSeconds[row] = FIRST_SECOND + random.nextLong(DAYS * 86_400L);
+        }
+        Arrays.sort(epochSeconds);
+
+        sellerIndexes = new int[rows];
+        amountCents = new long[rows];
+        paymentTypes = new byte[rows];
+        int[] rowsPerSeller = new int[sellerCount];
+        for (int row = 0; row < rows; row++) {
+            int seller = (int) (sellerCount * Math.pow(random.nextDouble(), 3));
+            sellerIndexes[row] = seller;
+            amountCents[row] = 100 + random.nextLong(500_000);
+            paymentTypes[row] = (byte) random.nextInt(PAYMENT_TYPES.length);
+            rowsPerSeller[seller]++;
+        }
+
+        rowsBySeller = new int[sellerCount][];
+        for (int seller = 0; seller < sellerCount; seller++) {
+            rowsBySeller[seller] = new int[rowsPerSeller[seller]];
+        }
+        int[] filled = new int[sellerCount];
+        dailyTotalCents = new long[sellerCount][DAYS];
+        dailyCounts = new long[sellerCount][DAYS];
+        for (int row = 0; row < rows; row++) {
+            int seller = sellerIndexes[row];
+            rowsBySeller[seller][filled[seller]++] = row;
+            int day = dayIndex(epochSeconds[row]);
+            dailyTotalCents[seller][day] += amountCents[row];
+            dailyCounts[seller][day]++;
+        }
+    }
+
+    /**
+     * First row whose timestamp is not before {@code dateTime}.
+     */
+    int lowerBound(LocalDateTime dateTime) {
+        long second = toEpochSecond(dateTime);
+        int low = 0;
+        int high = rows;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochSeconds[mid] < second) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    TransactionEntity transaction(int row) {
+        return TransactionEntity.builder()
+                .id(row + 1L)
+                .sellerEntity(sellers[sellerIndexes[row]])
+                .amountMinorUnits(amountCents[row])
+                .paymentType(PAYMENT_TYPES[paymentTypes[row]])
+                .transactionDate(dateTime(epochSeconds[row]))
+                .build();
+    }
+
+    static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime dateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    static int dayIndex(long epochSecond) {
+        return (int) ((epochSecond - FIRST_SECOND) / 86_400);
+    }
+
+    static int dayIndex(LocalDate date) {
+        return (int) (date.toEpochDay() - FIRST_DAY.toEpochDay());
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.projection.SellerTotalProjection;
+import com.example.demo.store.projection.TransactionPeriodProjection;
+import com.example.demo.store.repository.SellerDailyStatsRepository;
+import com.example.demo.store.repository.SellerRepository;
+import com.example.demo.store.repository.TransactionRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository implementations over an {@link InMemoryDataset}. They answer the queries
+ * {@code TransactionService} issues the way PostgreSQL would execute them with the
+ * project's indexes: range scans over date-ordered rows, per-seller row lists, and a scan of
+ * the daily rollup. Best periods are ranked by transaction count, earliest first on ties, as in
+ * the SQL. The service code then runs unchanged on top.
+ *
+ * <p>The repository interfaces are implemented as dynamic proxies, because only a handful of
+ * their methods are used. Any other call fails, so a benchmark cannot silently measure a stub.
+ */
+final class InMemoryRepositories {
+    private InMemoryRepositories() {
+    }
+
+    static TransactionRepository transactionRepository(InMemoryDataset dataset) {
+        return proxy(TransactionRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "sumBySellerFromUntil" -> sumRows(dataset,
+                    dataset.lowerBound((LocalDateTime) args[0]),
+                    dataset.lowerBound((LocalDateTime) args[1]));
+            case "sumBySellerBetween" -> sumRows(dataset,
+                    dataset.lowerBound((LocalDateTime) args[0]),
+                    dataset.lowerBound(((LocalDateTime) args[1]).plusSeconds(1)));
+            case "findBestPeriod" -> bestHour(dataset, (Long) args[0]);
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static SellerDailyStatsRepository sellerDailyStatsRepository(InMemoryDataset dataset) {
+        return proxy(SellerDailyStatsRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "sumBySellerBetween" -> sumDays(dataset, (LocalDate) args[0], (LocalDate) args[1]);
+            case "findSellersWithTotalLessThan" ->
+                    sellersWithTotalLessThan(dataset, (BigDecimal) args[0], (LocalDate) args[1], (LocalDate) args[2]);
+            case "findBestPeriod" -> bestCalendarPeriod(dataset, (Long) args[0], (String) args[1]);
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static SellerRepository sellerRepository(InMemoryDataset dataset) {
+        return proxy(SellerRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(seller(dataset, (Long) args[0]));
+            case "findAllById" -> {
+                List<SellerEntity> found = new ArrayList<>();
+                for (Object id : (Iterable<?>) args[0]) {
+                    SellerEntity seller = seller(dataset, (Long) id);
+                    if (seller != null) {
+                        found.add(seller);
+                    }
+                }
+                yield found;
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static List<SellerTotalProjection> sumRows(InMemoryDataset dataset, int fromRow, int toRow) {
+        long[] totals = new long[dataset.sellerCount];
+        long[] counts = new long[dataset.sellerCount];
+        for (int row = fromRow; row < toRow; row++) {
+            int seller = dataset.sellerIndexes[row];
+            totals[seller] += dataset.amountCents[row];
+            counts[seller]++;
+        }
+        return sellerTotals(totals, counts);
+    }
+
+    private static List<SellerTotalProjection> sumDays(InMemoryDataset dataset, LocalDate from, LocalDate to) {
+        int firstDay = Math.max(0, InMemoryDataset.dayIndex(from));
+        int lastDay = Math.min(InMemoryDataset.DAYS - 1, InMemoryDataset.dayIndex(to));
+        long[] totals = new long[dataset.sellerCount];
+        long[] counts = new long[dataset.sellerCount];
+        for (int seller = 0; seller < dataset.sellerCount; seller++) {
+            for (int day = firstDay; day <= lastDay; day++) {
+                totals[seller] += dataset.dailyTotalCents[seller][day];
+                counts[seller] += dataset.dailyCounts[seller][day];
+            }
+        }
+        return sellerTotals(totals, counts);
+    }
+
+    private static List<SellerEntity> sellersWithTotalLessThan(
+            InMemoryDataset dataset,
+            BigDecimal amount,
+            LocalDate from,
+            LocalDate to
+    ) {
+        List<SellerTotalProjection> totals = sumDays(dataset, from, to);
+        BigDecimal[] totalBySeller = new BigDecimal[dataset.sellerCount];
+        totals.forEach(total -> totalBySeller[(int) (total.getSellerId() - 1)] = total.getTotalAmount());
+
+        List<SellerEntity> sellers = new ArrayList<>();
+        for (int seller = 0; seller < dataset.sellerCount; seller++) {
+            BigDecimal total = totalBySeller[seller] == null ? BigDecimal.ZERO : totalBySeller[seller];
+            if (total.compareTo(amount) < 0) {
+                sellers.add(dataset.sellers[seller]);
+            }
+        }
+        return sellers;
+    }
+
+    private static Optional<TransactionPeriodProjection> bestHour(InMemoryDataset dataset, Long sellerId) {
+        int[] rows = rowsOf(dataset, sellerId);
+        long bestHour = -1;
+        long bestTotal = 0;
+        long bestCount = 0;
+
+        int i = 0;
+        while (i < rows.length) {
+            long hour = dataset.epochSeconds[rows[i]] / 3600;
+            long total = 0;
+            long count = 0;
+            for (; i < rows.length && dataset.epochSeconds[rows[i]] / 3600 == hour; i++) {
+                total += dataset.amountCents[rows[i]];
+                count++;
+            }
+            if (count > bestCount) {
+                bestHour = hour;
+                bestTotal = total;
+                bestCount = count;
+            }
+        }
+
+        return bestHour < 0
+                ? Optional.empty()
+                : Optional.of(period(InMemoryDataset.dateTime(bestHour * 3600), bestCount, bestTotal));
+    }
+
+    private static Optional<TransactionPeriodProjection> bestCalendarPeriod(InMemoryDataset dataset, Long sellerId, String unit) {
+        int seller = (int) (sellerId - 1);
+        if (seller < 0 || seller >= dataset.sellerCount) {
+            return Optional.empty();
+        }
+
+        LocalDate bestStart = null;
+        long bestTotal = 0;
+        long bestCount = 0;
+
+        int day = 0;
+        while (day < InMemoryDataset.DAYS) {
+            LocalDate start = truncate(InMemoryDataset.FIRST_DAY.plusDays(day), unit);
+            long total = 0;
+            long count = 0;
+            for (; day < InMemoryDataset.DAYS && truncate(InMemoryDataset.FIRST_DAY.plusDays(day), unit).equals(start); day++) {
+                total += dataset.dailyTotalCents[seller][day];
+                count += dataset.dailyCounts[seller][day];
+            }
+            if (count > bestCount) {
+                bestStart = start;
+                bestTotal = total;
+                bestCount = count;
+            }
+        }
+
+        return bestStart == null
+                ? Optional.empty()
+                : Optional.of(period(bestStart.atStartOfDay(), bestCount, bestTotal));
+    }
+
+    private static LocalDate truncate(LocalDate date, String unit) {
+        return switch (unit) {
+            case "day" -> date;
+            case "week" -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case "month" -> date.withDayOfMonth(1);
+            default -> throw new IllegalArgumentException(unit);
+        };
+    }
+
+    private static List<SellerTotalProjection> sellerTotals(long[] totals, long[] counts) {
+        List<SellerTotalProjection> result = new ArrayList<>();
+        for (int seller = 0; seller < totals.length; seller++) {
+            if (counts[seller] > 0) {
+                result.add(sellerTotal(seller + 1L, BigDecimal.valueOf(totals[seller], 2), counts[seller]));
+            }
+        }
+        return result;
+    }
+
+    private static int[] rowsOf(InMemoryDataset dataset, Long sellerId) {
+        int seller = (int) (sellerId - 1);
+        return seller < 0 || seller >= dataset.sellerCount ? new int[0] : dataset.rowsBySeller[seller];
+    }
+
+    private static SellerEntity seller(InMemoryDataset dataset, Long id) {
+        int seller = (int) (id - 1);
+        return seller < 0 || seller >= dataset.sellerCount ? null : dataset.sellers[seller];
+    }
+
+    private static SellerTotalProjection sellerTotal(Long sellerId, BigDecimal totalAmount, Long transactionCount) {
+        return new SellerTotalProjection() {
+            @Override
+            public Long getSellerId() {
+                return sellerId;
+            }
+
+            @Override
+            public BigDecimal getTotalAmount() {
+                return totalAmount;
+            }
+
+            @Override
+            public Long getTransactionCount() {
+                return transactionCount;
+            }
+        };
+    }
+
+    private static TransactionPeriodProjection period(LocalDateTime periodStart, long transactionCount, long totalCents) {
+        return new TransactionPeriodProjection() {
+            @Override
+            public LocalDateTime getPeriodStart() {
+                return periodStart;
+            }
+
+            @Override
+            public Long getTransactionCount() {
+                return transactionCount;
+            }
+
+            @Override
+            public BigDecimal getTotalAmount() {
+                return BigDecimal.valueOf(totalCents, 2);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "(in-memory)";
+                };
+            }
+            return handler.invoke(proxy, method, args);
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.money.SellerTotals;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summation over amounts held as {@link BigDecimal}, as the aggregation paths did before, against
+ * the same sums in {@link MinorUnits}. Run with {@code -PjmhProfilers=gc} to see the allocation
+ * rate: {@code gc.alloc.rate.norm} is bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MoneySummationBenchmark {
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private long[] sellerIds;
+    private long[] amountsMinorUnits;
+    private BigDecimal[] amounts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryDataset dataset = new InMemoryDataset(rows, 42);
+        sellerIds = new long[rows];
+        amountsMinorUnits = dataset.amountCents;
+        amounts = new BigDecimal[rows];
+        for (int row = 0; row < rows; row++) {
+            sellerIds[row] = dataset.sellerIndexes[row] + 1L;
+            amounts[row] = MinorUnits.toBigDecimal(dataset.amountCents[row]);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal totalBigDecimal() {
+        return Arrays.stream(amounts).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public long totalMinorUnits() {
+        long total = 0;
+        for (long amount : amountsMinorUnits) {
+            total = MinorUnits.add(total, amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Long topSellerBigDecimal() {
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        for (int row = 0; row < rows; row++) {
+            totals.merge(sellerIds[row], amounts[row], BigDecimal::add);
+        }
+        return totals.entrySet().stream()
+                .max(Map.Entry.<Long, BigDecimal>comparingByValue()
+                        .thenComparing(Map.Entry.<Long, BigDecimal>comparingByKey().reversed()))
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    @Benchmark
+    public OptionalLong topSellerMinorUnits() {
+        SellerTotals totals = new SellerTotals();
+        for (int row = 0; row < rows; row++) {
+            totals.add(sellerIds[row], amountsMinorUnits[row]);
+        }
+        return totals.topSeller();
+    }
+}
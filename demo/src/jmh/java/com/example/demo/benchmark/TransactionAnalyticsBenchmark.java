@@ -0,0 +1,117 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.api.dto.TransactionPeriodDto;
+import com.example.demo.api.metrics.AnalyticsMetrics;
+import com.example.demo.api.service.PeriodGranularity;
+import com.example.demo.api.service.SellerDailyStatsService;
+import com.example.demo.api.service.TransactionService;
+import com.example.demo.config.MetricsProperties;
+import com.example.demo.config.SellerCacheProperties;
+import com.example.demo.store.archive.TransactionArchive;
+import com.example.demo.store.cache.SellerCache;
+import com.example.demo.store.columnar.ColumnarTransactionMirror;
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.repository.SellerDailyStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analytics methods of {@link TransactionService} over {@link InMemoryDataset}s of 10^3 to 10^7
+ * rows. This measures the service logic on top of index-shaped in-memory scans, not PostgreSQL
+ * itself; database time is covered by the load-test harness.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TransactionAnalyticsBenchmark {
+    /**
+     * Starts and ends mid-day, so both partial-day edge queries run next to the rollup query.
+     */
+    private static final LocalDateTime RANGE_START = InMemoryDataset.FIRST_DAY.plusDays(30).atTime(13, 17);
+    private static final LocalDateTime RANGE_END = InMemoryDataset.FIRST_DAY.plusDays(120).atTime(9, 45);
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private InMemoryDataset dataset;
+    private TransactionService transactionService;
+    private BigDecimal lowTotalThreshold;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = new InMemoryDataset(rows, 42);
+
+        SellerDailyStatsRepository sellerDailyStatsRepository = InMemoryRepositories.sellerDailyStatsRepository(dataset);
+        SellerCache sellerCache = new SellerCache(
+                InMemoryRepositories.sellerRepository(dataset),
+                new SellerCacheProperties(),
+                new SimpleMeterRegistry()
+        );
+        transactionService = new TransactionService(
+                InMemoryRepositories.transactionRepository(dataset),
+                sellerCache,
+                sellerDailyStatsRepository,
+                new SellerDailyStatsService(sellerDailyStatsRepository),
+                new AnalyticsMetrics(new SimpleMeterRegistry(), analyticsMetricsProperties(), null),
+                new StaticListableBeanFactory().getBeanProvider(ColumnarTransactionMirror.class),
+                new StaticListableBeanFactory().getBeanProvider(TransactionArchive.class)
+        );
+
+        // Average seller total; with the skewed distribution most sellers fall below it.
+        lowTotalThreshold = BigDecimal.valueOf((long) rows / dataset.sellerCount * 250_000L, 2);
+    }
+
+    @Benchmark
+    public Optional<SellerEntity> mostProductiveSeller() {
+        return transactionService.getMostProductiveSeller(RANGE_START, RANGE_END);
+    }
+
+    @Benchmark
+    public Optional<SellerEntity> mostProductiveSellerWithinOneDay() {
+        return transactionService.getMostProductiveSeller(RANGE_START, RANGE_START.plusHours(6));
+    }
+
+    @Benchmark
+    public List<SellerEntity> sellersWithTotalLessThan() {
+        return transactionService.getSellersWithTotalTransactionLessThan(
+                lowTotalThreshold, Optional.empty(), Optional.empty());
+    }
+
+    @Benchmark
+    public List<SellerEntity> sellersWithTotalLessThanInQuarter() {
+        return transactionService.getSellersWithTotalTransactionLessThan(
+                lowTotalThreshold,
+                Optional.of(LocalDate.of(2024, 4, 1)),
+                Optional.of(LocalDate.of(2024, 6, 30)));
+    }
+
+    @Benchmark
+    public Optional<TransactionPeriodDto> bestTransactionPeriod(PeriodState periodState) {
+        // Seller 1 has the most rows, so this is the worst case for the hourly scan.
+        return transactionService.findBestTransactionPeriod(1L, periodState.granularity);
+    }
+
+    @State(Scope.Benchmark)
+    public static class PeriodState {
+        @Param({"HOUR", "DAY", "WEEK", "MONTH"})
+        public PeriodGranularity granularity;
+    }
+
+    private static MetricsProperties analyticsMetricsProperties() {
+        // There are no table statistics in memory; only the timers are measured.
+        MetricsProperties properties = new MetricsProperties();
+        properties.setAnalyticsRowsScanned(false);
+        return properties;
+    }
+}
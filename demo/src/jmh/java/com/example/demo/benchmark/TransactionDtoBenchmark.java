@@ -0,0 +1,128 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.api.dto.SellerDto;
+import com.example.demo.api.dto.TransactionDto;
+import com.example.demo.api.factory.SellerDtoFactory;
+import com.example.demo.api.factory.TransactionDtoFactory;
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.projection.SellerView;
+import com.example.demo.store.projection.TransactionView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and projection to DTO mapping, and Jackson serialisation of {@code List<TransactionDto>},
+ * for the page sizes the list endpoints serve.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionDtoBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private final SellerDtoFactory sellerDtoFactory = new SellerDtoFactory();
+    private final TransactionDtoFactory transactionDtoFactory = new TransactionDtoFactory(sellerDtoFactory);
+
+    private List<TransactionEntity> entities;
+    private List<TransactionView> views;
+    private List<SellerEntity> sellers;
+    private List<TransactionDto> dtos;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryDataset dataset = new InMemoryDataset(size, 42);
+
+        entities = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            TransactionEntity transaction = dataset.transaction(row);
+            SellerEntity seller = transaction.getSellerEntity();
+            entities.add(transaction);
+            views.add(new TransactionView(transaction.getId(), transaction.getAmount(), transaction.getPaymentType(),
+                    transaction.getTransactionDate(), new SellerView(seller.getId(), seller.getName(),
+                    seller.getContactInfo(), seller.getRegistrationDate())));
+        }
+        sellers = Arrays.asList(dataset.sellers);
+        dtos = mapEntities();
+
+        // Same settings as the ObjectMapper Spring Boot builds for the web layer.
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = objectMapper.writerFor(
+                objectMapper.getTypeFactory().constructCollectionType(List.class, TransactionDto.class));
+    }
+
+    @Benchmark
+    public List<TransactionDto> mapEntities() {
+        List<TransactionDto> result = new ArrayList<>(entities.size());
+        for (TransactionEntity transaction : entities) {
+            result.add(transactionDtoFactory.makeTransactionDto(transaction));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<TransactionDto> mapViews() {
+        List<TransactionDto> result = new ArrayList<>(views.size());
+        for (TransactionView transaction : views) {
+            result.add(transactionDtoFactory.makeTransactionDto(transaction));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<SellerDto> mapSellers() {
+        List<SellerDto> result = new ArrayList<>(sellers.size());
+        for (SellerEntity seller : sellers) {
+            result.add(sellerDtoFactory.makeSellerDto(seller));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        writer.writeValue(outputStream, dtos);
+        return outputStream.bytes;
+    }
+
+    @Benchmark
+    public long mapAndSerialize() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        writer.writeValue(outputStream, mapViews());
+        return outputStream.bytes;
+    }
+
+    /**
+     * Discards the output but keeps its size, so the serialised bytes are still consumed.
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the mixed workload in the closed model once per {@code --sweep-users} level and reports
+ * throughput and tail latency per level. Meant to be run once against the default (platform thread)
+ * server and once against {@code --spring.profiles.active=virtual-threads}, the second time with
+ * {@code --baseline} pointing at the first report:
+ * <pre>
+ * ./gradlew loadTest -PloadTestArgs="--scenario=sweep --label=platform --report=platform.json"
+ * ./gradlew loadTest -PloadTestArgs="--scenario=sweep --label=virtual --report=virtual.json --baseline=platform.json"
+ * </pre>
+ */
+final class ConcurrencySweep {
+    private final HttpClient client;
+    private final Workload workload;
+    private final LoadTestConfig config;
+
+    ConcurrencySweep(HttpClient client, Workload workload, LoadTestConfig config) {
+        this.client = client;
+        this.workload = workload;
+        this.config = config;
+    }
+
+    record Step(int users, long count, long errors, double throughput,
+                double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+
+    void run(PrintStream out) throws InterruptedException, IOException {
+        List<Step> steps = new ArrayList<>();
+        for (int users : config.sweepUsers()) {
+            out.printf("Running %d users for %s after %s warm-up%n", users, config.duration(), config.warmup());
+            LatencyRecorder recorder = new LatencyRecorder();
+            new LoadDriver(client, workload, recorder, config.withUsers(users)).run();
+
+            List<LatencyRecorder.Row> rows = recorder.rows();
+            LatencyRecorder.Row total = rows.get(rows.size() - 1);
+            steps.add(new Step(users, total.count(), total.errors(), total.throughput(),
+                    total.p50Millis(), total.p99Millis(), total.p999Millis(), total.maxMillis()));
+        }
+
+        Map<Integer, Step> baseline = config.baseline() == null ? Map.of() : readBaseline();
+        out.printf("%n%s%n", config.label());
+        out.printf("%8s %10s %7s %9s %9s %9s %9s %13s %13s%n",
+                "users", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "req/s vs base", "p99 vs base");
+        for (Step step : steps) {
+            Step base = baseline.get(step.users());
+            out.printf("%8d %10.1f %7d %9.2f %9.2f %9.2f %9.2f %13s %13s%n",
+                    step.users(), step.throughput(), step.errors(),
+                    step.p50Millis(), step.p99Millis(), step.p999Millis(), step.maxMillis(),
+                    base == null ? "-" : "%.2fx".formatted(step.throughput() / base.throughput()),
+                    base == null ? "-" : "%.2fx".formatted(step.p99Millis() / base.p99Millis()));
+        }
+
+        if (config.report() != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("label", config.label());
+            report.put("duration", config.duration().toString());
+            report.put("steps", steps);
+            new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(config.report().toFile(), report);
+            out.println("Report written to " + config.report());
+        }
+    }
+
+    private Map<Integer, Step> readBaseline() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<Step> steps = mapper.convertValue(
+                mapper.readTree(config.baseline().toFile()).get("steps"),
+                new TypeReference<List<Step>>() {
+                });
+
+        Map<Integer, Step> byUsers = new LinkedHashMap<>();
+        steps.forEach(step -> byUsers.put(step.users(), step));
+        return byUsers;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ids of existing sellers and transactions, discovered through the paging endpoints before the
+ * run starts, so that requests hit real rows.
+ */
+record Fixture(long[] sellerIds, long[] transactionIds) {
+    private static final int MAX_IDS = 10_000;
+    private static final int PAGE_SIZE = 1_000;
+
+    static Fixture discover(HttpClient client, URI baseUrl) throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        long[] sellerIds = collectIds(client, objectMapper, baseUrl, "/api/sellers");
+        long[] transactionIds = collectIds(client, objectMapper, baseUrl, "/api/transactions");
+
+        if (sellerIds.length == 0) {
+            throw new IllegalStateException("No sellers found; seed the database first (./gradlew seed)");
+        }
+        return new Fixture(sellerIds, transactionIds);
+    }
+
+    private static long[] collectIds(HttpClient client, ObjectMapper objectMapper, URI baseUrl, String path)
+            throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            String query = "?limit=" + PAGE_SIZE
+                    + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(baseUrl.resolve(path + query)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+            }
+
+            JsonNode page = objectMapper.readTree(response.body());
+            page.path("items").forEach(item -> ids.add(item.path("id").asLong()));
+            cursor = page.path("next_cursor").isTextual() ? page.path("next_cursor").asText() : null;
+        } while (cursor != null && ids.size() < MAX_IDS);
+
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.loadtest;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inserts the same number of rows once through {@code POST /api/transactions} and once through
+ * {@code POST /api/transactions/batch}, with the same number of concurrent clients. Reports
+ * rows per second for both paths, to size the benefit of batching against a real database.
+ */
+final class IngestComparison {
+    private final HttpClient client;
+    private final Workload workload;
+    private final LoadTestConfig config;
+
+    IngestComparison(HttpClient client, Workload workload, LoadTestConfig config) {
+        this.client = client;
+        this.workload = workload;
+        this.config = config;
+    }
+
+    void run(PrintStream out) throws InterruptedException {
+        LatencyRecorder single = new LatencyRecorder();
+        double singleRowsPerSecond = ingest(single, config.ingestRows(), 1);
+
+        LatencyRecorder batch = new LatencyRecorder();
+        double batchRowsPerSecond = ingest(batch, config.ingestRows() / config.ingestBatchSize(), config.ingestBatchSize());
+
+        out.printf("single-row inserts: %.0f rows/s%n", singleRowsPerSecond);
+        single.print(out);
+        out.printf("%nbatch inserts (%d rows/request): %.0f rows/s%n", config.ingestBatchSize(), batchRowsPerSecond);
+        batch.print(out);
+        out.printf("%nbatch speed-up: %.1fx%n", batchRowsPerSecond / singleRowsPerSecond);
+    }
+
+    private double ingest(LatencyRecorder recorder, int requests, int rowsPerRequest) throws InterruptedException {
+        AtomicInteger remaining = new AtomicInteger(requests);
+        AtomicInteger failedRows = new AtomicInteger();
+        String endpoint = rowsPerRequest == 1 ? "POST /api/transactions" : "POST /api/transactions/batch";
+
+        recorder.startMeasuring();
+        long startNanos = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < config.users(); user++) {
+                SplittableRandom random = new SplittableRandom(config.seed() + user);
+                executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        HttpRequest request = rowsPerRequest == 1
+                                ? workload.createTransaction(random)
+                                : workload.createTransactions(random, rowsPerRequest);
+                        long sentAt = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                recorder.recordError(endpoint);
+                                failedRows.addAndGet(rowsPerRequest);
+                            } else {
+                                recorder.recordSuccess(endpoint, System.nanoTime() - sentAt);
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            recorder.recordError(endpoint);
+                            failedRows.addAndGet(rowsPerRequest);
+                        }
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        recorder.stopMeasuring();
+
+        return ((long) requests * rowsPerRequest - failedRows.get()) / seconds;
+    }
+}
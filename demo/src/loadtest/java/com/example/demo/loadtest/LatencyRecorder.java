@@ -0,0 +1,113 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microsecond resolution, 3 significant digits) plus error counts.
+ * Recording is a no-op until {@link #startMeasuring()}, so warm-up traffic is excluded.
+ */
+final class LatencyRecorder {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean measuring;
+    private volatile long measureStartNanos;
+    private volatile long measureEndNanos;
+
+    private static final class Endpoint {
+        final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    record Row(String endpoint, long count, long errors, double throughput,
+               double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+
+    void startMeasuring() {
+        measureStartNanos = System.nanoTime();
+        measuring = true;
+    }
+
+    void stopMeasuring() {
+        measureEndNanos = System.nanoTime();
+        measuring = false;
+    }
+
+    void recordSuccess(String endpoint, long latencyNanos) {
+        if (measuring) {
+            endpoint(endpoint).latencies.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(0, latencyNanos / 1_000)));
+        }
+    }
+
+    void recordError(String endpoint) {
+        if (measuring) {
+            endpoint(endpoint).errors.increment();
+        }
+    }
+
+    List<Row> rows() {
+        double seconds = Duration.ofNanos(measureEndNanos - measureStartNanos).toMillis() / 1000.0;
+        List<Row> rows = new ArrayList<>();
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+
+        for (String name : endpoints.keySet().stream().sorted().toList()) {
+            Endpoint endpoint = endpoints.get(name);
+            rows.add(row(name, endpoint.latencies, endpoint.errors.sum(), seconds));
+            total.add(endpoint.latencies);
+            totalErrors += endpoint.errors.sum();
+        }
+        rows.add(row("TOTAL", total, totalErrors, seconds));
+        return rows;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-32s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : rows()) {
+            out.printf("%-32s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.endpoint(), row.count(), row.errors(), row.throughput(),
+                    row.p50Millis(), row.p99Millis(), row.p999Millis(), row.maxMillis());
+        }
+    }
+
+    void writeJson(Path path, Map<String, Object> runInfo) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>(runInfo);
+        report.put("endpoints", rows());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(path.toFile(), report);
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint());
+    }
+
+    private static Row row(String name, Histogram histogram, long errors, double seconds) {
+        return new Row(
+                name,
+                histogram.getTotalCount(),
+                errors,
+                seconds > 0 ? histogram.getTotalCount() / seconds : 0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0
+        );
+    }
+}
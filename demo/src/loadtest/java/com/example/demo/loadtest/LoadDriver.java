@@ -0,0 +1,126 @@
+package com.example.demo.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a {@link Workload} in one of two models:
+ * <ul>
+ *     <li><b>closed</b>: a fixed number of users, each sending its next request as soon as the previous
+ *     one returned (plus think time). Throughput is an output; latency hides queueing in the server.</li>
+ *     <li><b>open</b>: requests arrive as a Poisson process at a fixed rate, whatever the server does.
+ *     Latency is measured from the intended arrival time, so a stalled server shows up in the
+ *     percentiles instead of silently lowering the load (no coordinated omission).</li>
+ * </ul>
+ */
+final class LoadDriver {
+    private final HttpClient client;
+    private final Workload workload;
+    private final LatencyRecorder recorder;
+    private final LoadTestConfig config;
+
+    LoadDriver(HttpClient client, Workload workload, LatencyRecorder recorder, LoadTestConfig config) {
+        this.client = client;
+        this.workload = workload;
+        this.recorder = recorder;
+        this.config = config;
+    }
+
+    void run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + config.warmup().toNanos();
+        long endNanos = measureFromNanos + config.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Thread.ofVirtual().start(() -> {
+                LockSupport.parkNanos(measureFromNanos - System.nanoTime());
+                recorder.startMeasuring();
+            });
+
+            if ("closed".equals(config.model())) {
+                runClosed(executor, endNanos);
+            } else {
+                runOpen(executor, endNanos);
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        recorder.stopMeasuring();
+    }
+
+    private void runClosed(ExecutorService executor, long endNanos) throws InterruptedException {
+        for (int user = 0; user < config.users(); user++) {
+            SplittableRandom random = new SplittableRandom(config.seed() + user);
+            executor.submit(() -> {
+                while (System.nanoTime() < endNanos) {
+                    Workload.Operation operation = workload.next(random);
+                    send(operation, workload.request(operation, random), System.nanoTime());
+                    if (!config.thinkTime().isZero()) {
+                        LockSupport.parkNanos(config.thinkTime().toNanos());
+                    }
+                }
+            });
+        }
+        LockSupport.parkNanos(endNanos - System.nanoTime());
+    }
+
+    private void runOpen(ExecutorService executor, long endNanos) {
+        SplittableRandom random = new SplittableRandom(config.seed());
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long intendedStart = System.nanoTime();
+
+        while (intendedStart < endNanos) {
+            intendedStart += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+            LockSupport.parkNanos(intendedStart - System.nanoTime());
+
+            Workload.Operation operation = workload.next(random);
+            HttpRequest request = workload.request(operation, random);
+            if (!inFlight.tryAcquire()) {
+                recorder.recordError(operation.name() + " (dropped)");
+                continue;
+            }
+
+            long scheduledAt = intendedStart;
+            executor.submit(() -> {
+                try {
+                    send(operation, request, scheduledAt);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void send(Workload.Operation operation, HttpRequest request, long startNanos) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                recorder.recordError(operation.name());
+            } else {
+                recorder.recordSuccess(operation.name(), System.nanoTime() - startNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            recorder.recordError(operation.name());
+        }
+    }
+
+    static HttpClient httpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+}
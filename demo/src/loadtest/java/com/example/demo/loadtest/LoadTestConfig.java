@@ -0,0 +1,112 @@
+package com.example.demo.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, all given as {@code --name=value}:
+ * <pre>
+ * --base-url=http://localhost:8080
+ * --scenario=mixed|ingest|sweep    mixed read/write/analytics traffic, single vs batch ingestion,
+ *                                  or the mixed workload at each --sweep-users level (closed model)
+ * --model=closed|open              closed: fixed users back to back; open: fixed arrival rate
+ * --users=32                       concurrent users (closed model, ingest scenario)
+ * --rate=200                       requests per second (open model)
+ * --max-in-flight=5000             open model: arrivals beyond this are counted as dropped
+ * --warmup=PT10S --duration=PT60S
+ * --think-time=PT0S                pause between requests of one user (closed model)
+ * --from=... --to=...              date range analytics requests pick from (default: last year)
+ * --ingest-rows=20000 --ingest-batch-size=500
+ * --sweep-users=1000,2500,5000,10000
+ * --label=platform                 name of this run in the sweep report
+ * --baseline=path/to/sweep.json    sweep: print throughput and p99 relative to an earlier sweep report
+ * --seed=42
+ * --report=path/to/report.json     also write the results as JSON
+ * </pre>
+ */
+record LoadTestConfig(
+        URI baseUrl,
+        String scenario,
+        String model,
+        int users,
+        double rate,
+        int maxInFlight,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        LocalDate from,
+        LocalDate to,
+        int ingestRows,
+        int ingestBatchSize,
+        List<Integer> sweepUsers,
+        String label,
+        Path baseline,
+        long seed,
+        Path report
+) {
+    private static final Set<String> OPTIONS = Set.of(
+            "base-url", "scenario", "model", "users", "rate", "max-in-flight", "warmup", "duration", "think-time",
+            "from", "to", "ingest-rows", "ingest-batch-size", "sweep-users", "label", "baseline", "seed", "report");
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            options.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LocalDate to = LocalDate.parse(options.getOrDefault("to", LocalDate.now().toString()));
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(options.getOrDefault("base-url", "http://localhost:8080")),
+                options.getOrDefault("scenario", "mixed"),
+                options.getOrDefault("model", "closed"),
+                Integer.parseInt(options.getOrDefault("users", "32")),
+                Double.parseDouble(options.getOrDefault("rate", "200")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "5000")),
+                Duration.parse(options.getOrDefault("warmup", "PT10S")),
+                Duration.parse(options.getOrDefault("duration", "PT60S")),
+                Duration.parse(options.getOrDefault("think-time", "PT0S")),
+                LocalDate.parse(options.getOrDefault("from", to.minusYears(1).toString())),
+                to,
+                Integer.parseInt(options.getOrDefault("ingest-rows", "20000")),
+                Integer.parseInt(options.getOrDefault("ingest-batch-size", "500")),
+                Arrays.stream(options.getOrDefault("sweep-users", "1000,2500,5000,10000").split(","))
+                        .map(String::trim)
+                        .map(Integer::parseInt)
+                        .toList(),
+                options.getOrDefault("label", "run"),
+                options.containsKey("baseline") ? Path.of(options.get("baseline")) : null,
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                options.containsKey("report") ? Path.of(options.get("report")) : null
+        );
+
+        if (!Set.of("mixed", "ingest", "sweep").contains(config.scenario())) {
+            throw new IllegalArgumentException("--scenario must be mixed, ingest or sweep");
+        }
+        if (!Set.of("closed", "open").contains(config.model())) {
+            throw new IllegalArgumentException("--model must be closed or open");
+        }
+        return config;
+    }
+
+    /**
+     * The same run with a different number of closed-model users.
+     */
+    LoadTestConfig withUsers(int users) {
+        return new LoadTestConfig(baseUrl, scenario, "closed", users, rate, maxInFlight, warmup, duration, thinkTime,
+                from, to, ingestRows, ingestBatchSize, sweepUsers, label, baseline, seed, report);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.loadtest;
+
+import java.net.http.HttpClient;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entry point of {@code ./gradlew loadTest -PloadTestArgs="..."}; see {@link LoadTestConfig} for the options.
+ * Expects a running application, ideally on a database filled with {@code ./gradlew seed}.
+ */
+public final class LoadTestMain {
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        HttpClient client = LoadDriver.httpClient();
+
+        Fixture fixture = Fixture.discover(client, config.baseUrl());
+        System.out.printf("Found %d sellers and %d transactions%n",
+                fixture.sellerIds().length, fixture.transactionIds().length);
+        Workload workload = new Workload(config.baseUrl(), fixture, config.from(), config.to());
+
+        if ("ingest".equals(config.scenario())) {
+            new IngestComparison(client, workload, config).run(System.out);
+            return;
+        }
+        if ("sweep".equals(config.scenario())) {
+            new ConcurrencySweep(client, workload, config).run(System.out);
+            return;
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        System.out.printf("Running %s model for %s after %s warm-up%n", config.model(), config.duration(), config.warmup());
+        new LoadDriver(client, workload, recorder, config).run();
+        recorder.print(System.out);
+
+        if (config.report() != null) {
+            Map<String, Object> runInfo = new LinkedHashMap<>();
+            runInfo.put("model", config.model());
+            runInfo.put("users", config.users());
+            runInfo.put("rate", config.rate());
+            runInfo.put("duration", config.duration().toString());
+            recorder.writeJson(config.report(), runInfo);
+            System.out.println("Report written to " + config.report());
+        }
+    }
+}
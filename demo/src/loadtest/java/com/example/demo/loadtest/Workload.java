@@ -0,0 +1,134 @@
+package com.example.demo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+/**
+ * Weighted mix of the REST endpoints, roughly shaped like back-office traffic: mostly reads,
+ * a steady trickle of writes, and a share of analytics queries.
+ */
+final class Workload {
+    private static final String[] PAYMENT_TYPES = {"CARD", "CASH", "TRANSFER"};
+    private static final String[] GRANULARITIES = {"HOUR", "DAY", "WEEK", "MONTH"};
+
+    record Operation(String name, int weight) {
+    }
+
+    static final List<Operation> OPERATIONS = List.of(
+            new Operation("GET /api/transactions", 20),
+            new Operation("GET /api/transactions/{id}", 20),
+            new Operation("GET /api/sellers", 5),
+            new Operation("GET /api/sellers/{id}", 10),
+            new Operation("POST /api/transactions", 15),
+            new Operation("POST /api/transactions/batch", 2),
+            new Operation("PATCH /api/transactions/{id}", 3),
+            new Operation("GET most_productive", 5),
+            new Operation("GET sellers/less_than", 5),
+            new Operation("GET best_period", 10),
+            new Operation("GET best_period window", 5)
+    );
+
+    private static final int TOTAL_WEIGHT = OPERATIONS.stream().mapToInt(Operation::weight).sum();
+
+    private final URI baseUrl;
+    private final Fixture fixture;
+    private final LocalDate from;
+    private final long days;
+
+    Workload(URI baseUrl, Fixture fixture, LocalDate from, LocalDate to) {
+        this.baseUrl = baseUrl;
+        this.fixture = fixture;
+        this.from = from;
+        this.days = Math.max(1, ChronoUnit.DAYS.between(from, to));
+    }
+
+    Operation next(SplittableRandom random) {
+        int ticket = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : OPERATIONS) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    HttpRequest request(Operation operation, SplittableRandom random) {
+        return switch (operation.name()) {
+            case "GET /api/transactions" -> get("/api/transactions?limit=100");
+            case "GET /api/transactions/{id}" -> get("/api/transactions/" + transactionId(random));
+            case "GET /api/sellers" -> get("/api/sellers?limit=100");
+            case "GET /api/sellers/{id}" -> get("/api/sellers/" + sellerId(random));
+            case "POST /api/transactions" -> createTransaction(random);
+            case "POST /api/transactions/batch" -> createTransactions(random, 100);
+            case "PATCH /api/transactions/{id}" -> send("PATCH",
+                    "/api/transactions/" + transactionId(random) + "?amount=" + amount(random));
+            case "GET most_productive" -> {
+                LocalDate start = randomDay(random);
+                yield get("/api/transactions/most_productive?startDateTime=" + start.atTime(random.nextInt(24), 0)
+                        + "&endDateTime=" + start.plusDays(1 + random.nextInt(30)).atTime(random.nextInt(24), 0));
+            }
+            case "GET sellers/less_than" -> {
+                LocalDate start = randomDay(random);
+                yield get("/api/transactions/sellers/less_than?amount=" + (1_000 + random.nextInt(100_000))
+                        + "&from=" + start + "&to=" + start.plusDays(random.nextInt(90)));
+            }
+            case "GET best_period" -> get("/api/transactions/best_period/" + sellerId(random)
+                    + "?granularity=" + GRANULARITIES[random.nextInt(GRANULARITIES.length)]);
+            case "GET best_period window" -> get("/api/transactions/best_period/" + sellerId(random)
+                    + "?window=" + Duration.ofHours(1 + random.nextInt(72)));
+            default -> throw new IllegalArgumentException(operation.name());
+        };
+    }
+
+    HttpRequest createTransaction(SplittableRandom random) {
+        return send("POST", "/api/transactions?seller_id=" + sellerId(random)
+                + "&amount=" + amount(random)
+                + "&payment_type=" + PAYMENT_TYPES[random.nextInt(PAYMENT_TYPES.length)]);
+    }
+
+    HttpRequest createTransactions(SplittableRandom random, int size) {
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < size; i++) {
+            body.add("{\"seller_id\":%d,\"amount\":%s,\"payment_type\":\"%s\"}".formatted(
+                    sellerId(random), amount(random), PAYMENT_TYPES[random.nextInt(PAYMENT_TYPES.length)]));
+        }
+        return HttpRequest.newBuilder(baseUrl.resolve("/api/transactions/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest get(String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUrl.resolve(pathAndQuery)).GET().build();
+    }
+
+    private HttpRequest send(String method, String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUrl.resolve(pathAndQuery))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private long sellerId(SplittableRandom random) {
+        return fixture.sellerIds()[random.nextInt(fixture.sellerIds().length)];
+    }
+
+    private long transactionId(SplittableRandom random) {
+        long[] ids = fixture.transactionIds();
+        return ids.length == 0 ? 1 : ids[random.nextInt(ids.length)];
+    }
+
+    private LocalDate randomDay(SplittableRandom random) {
+        return from.plusDays(random.nextLong(days));
+    }
+
+    private static String amount(SplittableRandom random) {
+        return "%d.%02d".formatted(1 + random.nextInt(500), random.nextInt(100));
+    }
+}
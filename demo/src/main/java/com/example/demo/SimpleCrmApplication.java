@@ -2,12 +2,30 @@ package com.example.demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Arrays;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class SimpleCrmApplication {
+	public static final String SEED_PROFILE = "seed";
 
+	/**
+	 * {@code seed [--crm.seed.transactions=...]} loads a synthetic dataset into the configured
+	 * database and exits instead of starting the web server.
+	 */
 	public static void main(String[] args) {
-		SpringApplication.run(SimpleCrmApplication.class, args);
+		SpringApplication application = new SpringApplication(SimpleCrmApplication.class);
+
+		if (args.length > 0 && SEED_PROFILE.equals(args[0])) {
+			application.setAdditionalProfiles(SEED_PROFILE);
+			System.exit(SpringApplication.exit(application.run(Arrays.copyOfRange(args, 1, args.length))));
+		}
+
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,98 @@
+package com.example.demo.api.controller;
+
+import com.example.demo.api.dto.SellerDto;
+import com.example.demo.api.dto.TransactionDto;
+import com.example.demo.api.dto.TransactionPeriodDto;
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.api.factory.SellerDtoFactory;
+import com.example.demo.api.factory.TransactionDtoFactory;
+import com.example.demo.api.service.PageCursor;
+import com.example.demo.api.service.PeriodGranularity;
+import com.example.demo.api.service.ReactiveTransactionQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Non-blocking variants of the list and analytics endpoints, served from R2DBC. The request
+ * thread is released while the query runs; lists are streamed as NDJSON at the pace the client
+ * reads them.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ReactiveReadController {
+    private final TransactionDtoFactory transactionDtoFactory;
+    private final SellerDtoFactory sellerDtoFactory;
+    private final ReactiveTransactionQueryService reactiveTransactionQueryService;
+
+    public static final String STREAM_TRANSACTIONS = "/api/reactive/transactions";
+    public static final String STREAM_SELLERS =      "/api/reactive/sellers";
+
+    public static final String FETCH_MOST_PRODUCTIVE_SELLER       = "/api/reactive/transactions/most_productive";
+    public static final String FETCH_SELLERS_WITH_TOTAL_LESS_THAN = "/api/reactive/transactions/sellers/less_than";
+    public static final String FIND_BEST_TRANSACTION_PERIOD       = "/api/reactive/transactions/best_period/{sellerId}";
+
+    @GetMapping(value = STREAM_TRANSACTIONS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TransactionDto> streamTransactions(
+            @RequestParam(name = "page_size", defaultValue = "" + PageCursor.DEFAULT_LIMIT) int pageSize,
+            @RequestParam(name = "cursor", required = false) Optional<String> optionalCursor
+    ) {
+        return reactiveTransactionQueryService.streamTransactions(optionalCursor, pageSize)
+                .map(transactionDtoFactory::makeTransactionDto);
+    }
+
+    @GetMapping(value = STREAM_SELLERS, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<SellerDto> streamSellers(
+            @RequestParam(name = "page_size", defaultValue = "" + PageCursor.DEFAULT_LIMIT) int pageSize,
+            @RequestParam(name = "cursor", required = false) Optional<String> optionalCursor
+    ) {
+        return reactiveTransactionQueryService.streamSellers(optionalCursor, pageSize)
+                .map(sellerDtoFactory::makeSellerDto);
+    }
+
+    @GetMapping(FETCH_MOST_PRODUCTIVE_SELLER)
+    public Mono<SellerDto> getMostProductiveSeller(
+            @RequestParam("startDateTime") String startDateTimeStr,
+            @RequestParam("endDateTime") String endDateTimeStr
+    ) {
+        LocalDateTime startDateTime = LocalDateTime.parse(startDateTimeStr);
+        LocalDateTime endDateTime = LocalDateTime.parse(endDateTimeStr);
+        return reactiveTransactionQueryService.getMostProductiveSeller(startDateTime, endDateTime)
+                .map(sellerDtoFactory::makeSellerDto);
+    }
+
+    @GetMapping(value = FETCH_SELLERS_WITH_TOTAL_LESS_THAN, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<SellerDto> getSellersWithTotalTransactionLessThan(
+            @RequestParam("amount") BigDecimal amount,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> optionalFrom,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> optionalTo
+    ) {
+        return reactiveTransactionQueryService.getSellersWithTotalTransactionLessThan(amount, optionalFrom, optionalTo)
+                .map(sellerDtoFactory::makeSellerDto);
+    }
+
+    @GetMapping(FIND_BEST_TRANSACTION_PERIOD)
+    public Mono<TransactionPeriodDto> findBestTransactionPeriod(
+            @PathVariable Long sellerId,
+            @RequestParam(name = "granularity", required = false) Optional<PeriodGranularity> optionalGranularity,
+            @RequestParam(name = "window", required = false) Optional<Duration> optionalWindow
+    ) {
+        if (optionalGranularity.isPresent() && optionalWindow.isPresent()) {
+            throw new TransactionBadRequestException("Specify either granularity or window, not both");
+        }
+
+        return optionalWindow
+                .map(window -> reactiveTransactionQueryService.findBestTransactionWindow(sellerId, window))
+                .orElseGet(() -> reactiveTransactionQueryService.findBestTransactionPeriod(
+                        sellerId, optionalGranularity.orElse(PeriodGranularity.DAY)));
+    }
+}
@@ -1,11 +1,18 @@
 package com.example.demo.api.controller;
 
 import com.example.demo.api.dto.AckDto;
+import com.example.demo.api.dto.PageDto;
 import com.example.demo.api.dto.SellerDto;
 import com.example.demo.api.factory.SellerDtoFactory;
+import com.example.demo.api.service.ChangeStampService;
+import com.example.demo.api.service.EntityTags;
+import com.example.demo.api.service.PageCursor;
 import com.example.demo.api.service.SellerService;
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.projection.SellerView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +22,7 @@ import java.util.Optional;
 public class SellerController {
     private final SellerDtoFactory sellerDtoFactory;
     private final SellerService sellerService;
+    private final ChangeStampService changeStampService;
 
     public static final String FETCH_SELLERS =      "/api/sellers";
     public static final String FETCH_SELLER_BY_ID = "/api/sellers/{id}";
@@ -23,19 +31,41 @@ public class SellerController {
     public static final String DELETE_SELLER =      "/api/sellers/{id}";
 
     @GetMapping(FETCH_SELLERS)
-    public List<SellerDto> fetchSellers() {
-        return sellerService.getAllSellersStream()
-                .map(sellerDtoFactory::makeSellerDto)
-                .toList();
+    public PageDto<SellerDto> fetchSellers(
+            @RequestParam(name = "limit", defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit,
+            @RequestParam(name = "cursor", required = false) Optional<String> optionalCursor,
+            WebRequest webRequest
+    ) {
+        Optional<List<SellerView>> optionalPage = changeStampService.readIfModified(
+                ChangeStampService.Resource.SELLERS,
+                stamp -> EntityTags.ofPage(ChangeStampService.Resource.SELLERS, stamp, optionalCursor, limit)
+                        .map(webRequest::checkNotModified)
+                        .orElse(false),
+                () -> sellerService.getSellersPage(optionalCursor, limit));
+        if (optionalPage.isEmpty()) {
+            return null;
+        }
+        List<SellerView> page = optionalPage.get();
+
+        return PageDto.<SellerDto>builder()
+                .items(page.stream()
+                        .map(sellerDtoFactory::makeSellerDto)
+                        .toList())
+                .nextCursor(page.size() < limit ? null : PageCursor.encode(page.get(page.size() - 1).id()))
+                .build();
     }
 
     @GetMapping(FETCH_SELLER_BY_ID)
     public SellerDto fetchSellerById(
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
-        return sellerDtoFactory
-                .makeSellerDto(sellerService
-                        .getSellerOrThrowException(id));
+        SellerEntity seller = sellerService.getSellerOrThrowException(id);
+        if (webRequest.checkNotModified(EntityTags.of(seller))) {
+            return null;
+        }
+
+        return sellerDtoFactory.makeSellerDto(seller);
     }
 
     @PostMapping(CREATE_SELLER)
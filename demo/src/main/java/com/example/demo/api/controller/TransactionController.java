@@ -1,20 +1,64 @@
 package com.example.demo.api.controller;
 
 import com.example.demo.api.dto.AckDto;
+import com.example.demo.api.dto.LeaderboardEntryDto;
+import com.example.demo.api.dto.LiveLeaderboardEntryDto;
+import com.example.demo.api.dto.PageDto;
 import com.example.demo.api.dto.SellerDto;
+import com.example.demo.api.dto.TransactionBatchItemDto;
+import com.example.demo.api.dto.TransactionBatchResultDto;
+import com.example.demo.api.dto.TransactionBulkResultDto;
 import com.example.demo.api.dto.TransactionDto;
+import com.example.demo.api.dto.TransactionImportDto;
+import com.example.demo.api.dto.TransactionPeriodDto;
+import com.example.demo.api.dto.TransactionSummaryDto;
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.api.exception.transaction.TransactionImportNotFoundException;
+import com.example.demo.api.factory.LeaderboardEntryDtoFactory;
 import com.example.demo.api.factory.SellerDtoFactory;
 import com.example.demo.api.factory.TransactionDtoFactory;
+import com.example.demo.api.factory.TransactionImportDtoFactory;
+import com.example.demo.api.factory.TransactionSummaryDtoFactory;
+import com.example.demo.api.ingest.GroupCommitTransactionWriter;
+import com.example.demo.api.ingest.TransactionCsvImporter;
+import com.example.demo.api.ingest.TransactionImportTracker;
+import com.example.demo.api.service.ChangeStampService;
+import com.example.demo.api.service.EntityTags;
+import com.example.demo.api.service.LeaderboardPeriod;
+import com.example.demo.api.service.LiveSellerLeaderboardService;
+import com.example.demo.api.service.PageCursor;
+import com.example.demo.api.service.PeriodGranularity;
+import com.example.demo.api.service.SellerLeaderboardService;
+import com.example.demo.api.service.TransactionBulkService;
+import com.example.demo.api.service.TransactionExportService;
 import com.example.demo.api.service.TransactionService;
-import com.example.demo.store.entity.SellerEntity;
-import com.example.demo.store.repository.SellerRepository;
+import com.example.demo.api.service.TransactionSummaryService;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.live.LiveWindow;
+import com.example.demo.store.projection.TransactionView;
+import com.example.demo.store.repository.SellerLeaderboardRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,31 +66,83 @@ public class TransactionController {
     private final TransactionDtoFactory transactionDtoFactory;
     private final SellerDtoFactory sellerDtoFactory;
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final ObjectProvider<GroupCommitTransactionWriter> groupCommitTransactionWriter;
+    private final TransactionImportDtoFactory transactionImportDtoFactory;
+    private final TransactionCsvImporter transactionCsvImporter;
+    private final TransactionImportTracker transactionImportTracker;
+    private final SellerLeaderboardService sellerLeaderboardService;
+    private final LeaderboardEntryDtoFactory leaderboardEntryDtoFactory;
+    private final ChangeStampService changeStampService;
+    private final TransactionBulkService transactionBulkService;
+    private final LiveSellerLeaderboardService liveSellerLeaderboardService;
+    private final TransactionSummaryService transactionSummaryService;
+    private final TransactionSummaryDtoFactory transactionSummaryDtoFactory;
 
     public static final String FETCH_TRANSACTIONS =      "/api/transactions";
+    public static final String EXPORT_TRANSACTIONS =     "/api/transactions/export";
     public static final String FETCH_TRANSACTION_BY_ID = "/api/transactions/{id}";
     public static final String CREATE_TRANSACTION =      "/api/transactions";
+    public static final String CREATE_TRANSACTIONS =     "/api/transactions/batch";
+    public static final String IMPORT_TRANSACTIONS =     "/api/transactions/import";
+    public static final String FETCH_IMPORTS =           "/api/transactions/imports";
+    public static final String FETCH_IMPORT_BY_ID =      "/api/transactions/imports/{id}";
     public static final String UPDATE_TRANSACTION =      "/api/transactions/{id}";
     public static final String DELETE_TRANSACTION =      "/api/transactions/{id}";
+    public static final String UPDATE_TRANSACTIONS =     "/api/transactions/bulk";
+    public static final String DELETE_TRANSACTIONS =     "/api/transactions/bulk";
 
     public static final String FETCH_MOST_PRODUCTIVE_SELLER       = "/api/transactions/most_productive";
-    public static final String FETCH_SELLERS_WITH_TOTAL_LESS_THAN = "/api/transactions/sellers/less_than}";
+    public static final String FETCH_SELLERS_WITH_TOTAL_LESS_THAN = "/api/transactions/sellers/less_than";
     public static final String FIND_BEST_TRANSACTION_PERIOD       = "/api/transactions/best_period/{sellerId}";
+    public static final String FETCH_SELLER_LEADERBOARD           = "/api/transactions/leaderboard";
+    public static final String FETCH_LIVE_SELLER_LEADERBOARD      = "/api/transactions/leaderboard/live";
+    public static final String FETCH_TRANSACTION_SUMMARY          = "/api/transactions/summary";
 
     @GetMapping(FETCH_TRANSACTIONS)
-    public List<TransactionDto> fetchTransactions() {
-         return transactionService.getAllTransactionsStream()
-                 .map(transactionDtoFactory::makeTransactionDto)
-                 .toList();
+    public PageDto<TransactionDto> fetchTransactions(
+            @RequestParam(name = "limit", defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit,
+            @RequestParam(name = "cursor", required = false) Optional<String> optionalCursor,
+            WebRequest webRequest
+    ) {
+        Optional<List<TransactionView>> optionalPage = changeStampService.readIfModified(
+                ChangeStampService.Resource.TRANSACTIONS,
+                stamp -> EntityTags.ofPage(ChangeStampService.Resource.TRANSACTIONS, stamp, optionalCursor, limit)
+                        .map(webRequest::checkNotModified)
+                        .orElse(false),
+                () -> transactionService.getTransactionsPage(optionalCursor, limit));
+        if (optionalPage.isEmpty()) {
+            return null;
+        }
+        List<TransactionView> page = optionalPage.get();
+        TransactionView last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return PageDto.<TransactionDto>builder()
+                .items(page.stream()
+                        .map(transactionDtoFactory::makeTransactionDto)
+                        .toList())
+                .nextCursor(page.size() < limit ? null : PageCursor.encode(last.transactionDate(), last.id()))
+                .build();
+    }
+
+    @GetMapping(EXPORT_TRANSACTIONS)
+    public ResponseEntity<StreamingResponseBody> exportTransactions() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(transactionExportService::exportTransactions);
     }
 
     @GetMapping(FETCH_TRANSACTION_BY_ID)
     public TransactionDto fetchTransactionById(
-            @PathVariable("id") Long id
+            @PathVariable("id") Long id,
+            WebRequest webRequest
     ) {
-        return transactionDtoFactory
-                .makeTransactionDto(transactionService
-                        .getTransactionOrThrowException(id));
+        TransactionEntity transaction = transactionService.getTransactionOrThrowException(id);
+        if (webRequest.checkNotModified(EntityTags.of(transaction))) {
+            return null;
+        }
+
+        return transactionDtoFactory.makeTransactionDto(transaction);
     }
 
     @PostMapping(CREATE_TRANSACTION)
@@ -55,9 +151,67 @@ public class TransactionController {
             @RequestParam("amount") BigDecimal amount,
             @RequestParam("payment_type") String paymentType
     ) {
-        return transactionDtoFactory.
-                makeTransactionDto(transactionService
-                        .createTransaction(sellerId, amount, paymentType));
+        GroupCommitTransactionWriter writer = groupCommitTransactionWriter.getIfAvailable();
+        TransactionEntity transaction = writer == null
+                ? transactionService.createTransaction(sellerId, amount, paymentType)
+                : writer.write(sellerId, amount, paymentType);
+
+        return transactionDtoFactory.makeTransactionDto(transaction);
+    }
+
+    @PostMapping(CREATE_TRANSACTIONS)
+    public TransactionBatchResultDto createTransactions(
+            @RequestBody List<TransactionBatchItemDto> items
+    ) {
+        List<TransactionService.BatchRowResult> results = transactionService.createTransactions(items);
+
+        List<TransactionBatchResultDto.Row> rows = new ArrayList<>(results.size());
+        int createdCount = 0;
+        for (int i = 0; i < results.size(); i++) {
+            TransactionService.BatchRowResult result = results.get(i);
+            if (result.isCreated()) {
+                createdCount++;
+            }
+            rows.add(TransactionBatchResultDto.Row.builder()
+                    .index(i)
+                    .id(result.isCreated() ? result.transaction().getId() : null)
+                    .error(result.isCreated() ? null : result.error().getMessage())
+                    .build());
+        }
+
+        return TransactionBatchResultDto.builder()
+                .createdCount(createdCount)
+                .failedCount(results.size() - createdCount)
+                .rows(rows)
+                .build();
+    }
+
+    /**
+     * Streams a CSV file with a {@code seller_id,amount,payment_type,transaction_date} header into
+     * the database. Progress of a running import is visible under {@link #FETCH_IMPORTS}.
+     */
+    @PostMapping(value = IMPORT_TRANSACTIONS, consumes = "text/csv")
+    public TransactionImportDto importTransactions(InputStream body) throws IOException {
+        try (Reader csv = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            return transactionImportDtoFactory.makeTransactionImportDto(transactionCsvImporter.importCsv(csv));
+        }
+    }
+
+    @GetMapping(FETCH_IMPORTS)
+    public List<TransactionImportDto> fetchImports() {
+        return transactionImportTracker.findAll()
+                .stream()
+                .map(transactionImportDtoFactory::makeTransactionImportDto)
+                .toList();
+    }
+
+    @GetMapping(FETCH_IMPORT_BY_ID)
+    public TransactionImportDto fetchImportById(
+            @PathVariable("id") UUID id
+    ) {
+        return transactionImportTracker.find(id)
+                .map(transactionImportDtoFactory::makeTransactionImportDto)
+                .orElseThrow(() -> new TransactionImportNotFoundException(id));
     }
 
     @PatchMapping(UPDATE_TRANSACTION)
@@ -83,6 +237,44 @@ public class TransactionController {
                 .build();
     }
 
+    @PatchMapping(UPDATE_TRANSACTIONS)
+    public TransactionBulkResultDto updateTransactions(
+            @RequestParam(name = "ids", required = false) Optional<List<Long>> optionalIds,
+            @RequestParam(name = "seller_id", required = false) Optional<Long> optionalSellerId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> optionalFrom,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> optionalTo,
+            @RequestParam(name = "payment_type", required = false) Optional<String> optionalPaymentType,
+            @RequestParam(name = "new_seller_id", required = false) Optional<Long> optionalNewSellerId,
+            @RequestParam(name = "new_payment_type", required = false) Optional<String> optionalNewPaymentType
+    ) {
+        TransactionBulkService.Result result = transactionBulkService.updateTransactions(
+                TransactionBulkService.criteria(optionalIds, optionalSellerId, optionalFrom, optionalTo, optionalPaymentType),
+                optionalNewSellerId,
+                optionalNewPaymentType);
+
+        return TransactionBulkResultDto.builder()
+                .affectedRows(result.affectedRows())
+                .chunks(result.chunks())
+                .build();
+    }
+
+    @DeleteMapping(DELETE_TRANSACTIONS)
+    public TransactionBulkResultDto deleteTransactions(
+            @RequestParam(name = "ids", required = false) Optional<List<Long>> optionalIds,
+            @RequestParam(name = "seller_id", required = false) Optional<Long> optionalSellerId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> optionalFrom,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> optionalTo,
+            @RequestParam(name = "payment_type", required = false) Optional<String> optionalPaymentType
+    ) {
+        TransactionBulkService.Result result = transactionBulkService.deleteTransactions(
+                TransactionBulkService.criteria(optionalIds, optionalSellerId, optionalFrom, optionalTo, optionalPaymentType));
+
+        return TransactionBulkResultDto.builder()
+                .affectedRows(result.affectedRows())
+                .chunks(result.chunks())
+                .build();
+    }
+
 
     @GetMapping(FETCH_MOST_PRODUCTIVE_SELLER)
     public SellerDto getMostProductiveSeller(
@@ -95,17 +287,94 @@ public class TransactionController {
                 .orElse(null);
     }
 
+    /**
+     * Sellers ranked by total amount or transaction count over a calendar period containing
+     * {@code date} (today by default) or over an explicit {@code from..to} range of days.
+     * With {@code with_ties} a page is extended by every seller tied with its last row.
+     */
+    @GetMapping(FETCH_SELLER_LEADERBOARD)
+    public PageDto<LeaderboardEntryDto> fetchSellerLeaderboard(
+            @RequestParam(name = "period", required = false) Optional<LeaderboardPeriod> optionalPeriod,
+            @RequestParam(name = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> optionalDate,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> optionalFrom,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> optionalTo,
+            @RequestParam(name = "metric", defaultValue = "AMOUNT") SellerLeaderboardRepository.Metric metric,
+            @RequestParam(name = "limit", defaultValue = "" + PageCursor.DEFAULT_LIMIT) int limit,
+            @RequestParam(name = "cursor", required = false) Optional<String> optionalCursor,
+            @RequestParam(name = "with_ties", defaultValue = "false") boolean withTies
+    ) {
+        SellerLeaderboardService.Range range = sellerLeaderboardService
+                .resolveRange(optionalPeriod, optionalDate, optionalFrom, optionalTo);
+        List<SellerLeaderboardRepository.Row> page = sellerLeaderboardService
+                .getLeaderboardPage(range, metric, optionalCursor, limit, withTies);
+        SellerLeaderboardRepository.Row last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return PageDto.<LeaderboardEntryDto>builder()
+                .items(page.stream()
+                        .map(leaderboardEntryDtoFactory::makeLeaderboardEntryDto)
+                        .toList())
+                .nextCursor(page.size() < limit ? null : PageCursor.encode(last.value(metric), last.seller().id()))
+                .build();
+    }
+
+    /**
+     * Sellers ranked over the trailing {@code window}, from in-memory counters of the
+     * transactions created since startup, optionally of one {@code payment_type} only.
+     */
+    @GetMapping(FETCH_LIVE_SELLER_LEADERBOARD)
+    public List<LiveLeaderboardEntryDto> fetchLiveSellerLeaderboard(
+            @RequestParam(name = "window", defaultValue = "FIVE_MINUTES") LiveWindow window,
+            @RequestParam(name = "metric", defaultValue = "AMOUNT") SellerLeaderboardRepository.Metric metric,
+            @RequestParam(name = "payment_type", required = false) Optional<String> optionalPaymentType,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return liveSellerLeaderboardService.getTopSellers(window, metric, optionalPaymentType, limit)
+                .stream()
+                .map(leaderboardEntryDtoFactory::makeLiveLeaderboardEntryDto)
+                .toList();
+    }
+
+    /**
+     * Count, total amount, active sellers and amount quantiles over the days {@code from..to},
+     * optionally of one seller. Merged from daily sketches, with error bounds, unless {@code exact}.
+     */
+    @GetMapping(FETCH_TRANSACTION_SUMMARY)
+    public TransactionSummaryDto fetchTransactionSummary(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "seller_id", required = false) Optional<Long> optionalSellerId,
+            @RequestParam(name = "exact", defaultValue = "false") boolean exact
+    ) {
+        return transactionSummaryDtoFactory.makeTransactionSummaryDto(
+                transactionSummaryService.summarize(from, to, optionalSellerId, exact));
+    }
+
     @GetMapping(FETCH_SELLERS_WITH_TOTAL_LESS_THAN)
-    public List<SellerDto> getSellersWithTotalTransactionLessThan(@RequestParam BigDecimal amount) {
-        return transactionService.getSellersWithTotalTransactionLessThan(amount)
+    public List<SellerDto> getSellersWithTotalTransactionLessThan(
+            @RequestParam("amount") BigDecimal amount,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> optionalFrom,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> optionalTo
+    ) {
+        return transactionService.getSellersWithTotalTransactionLessThan(amount, optionalFrom, optionalTo)
                 .stream()
                 .map(sellerDtoFactory::makeSellerDto)
                 .toList();
     }
 
     @GetMapping(FIND_BEST_TRANSACTION_PERIOD)
-    public LocalDateTime[] findBestTransactionPeriod(@PathVariable Long sellerId) {
-        return transactionService.findBestTransactionPeriod(sellerId)
+    public TransactionPeriodDto findBestTransactionPeriod(
+            @PathVariable Long sellerId,
+            @RequestParam(name = "granularity", required = false) Optional<PeriodGranularity> optionalGranularity,
+            @RequestParam(name = "window", required = false) Optional<Duration> optionalWindow
+    ) {
+        if (optionalGranularity.isPresent() && optionalWindow.isPresent()) {
+            throw new TransactionBadRequestException("Specify either granularity or window, not both");
+        }
+
+        return optionalWindow
+                .map(window -> transactionService.findBestTransactionWindow(sellerId, window))
+                .orElseGet(() -> transactionService.findBestTransactionPeriod(
+                        sellerId, optionalGranularity.orElse(PeriodGranularity.DAY)))
                 .orElse(null); // Обработка отсутствия периода
     }
 }
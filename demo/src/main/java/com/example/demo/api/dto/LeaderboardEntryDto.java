@@ -0,0 +1,29 @@
+package com.example.demo.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+    /**
+     * Competition rank: tied sellers share a rank and the following rank is skipped.
+     */
+    @NonNull
+    private Long rank;
+
+    @NonNull
+    private SellerDto seller;
+
+    @NonNull
+    @JsonProperty("total_amount")
+    private BigDecimal totalAmount;
+
+    @NonNull
+    @JsonProperty("transaction_count")
+    private Long transactionCount;
+}
@@ -0,0 +1,21 @@
+package com.example.demo.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDto<T> {
+    @NonNull
+    private List<T> items;
+
+    /**
+     * Opaque token for the next page, {@code null} once the last page has been served.
+     */
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+}
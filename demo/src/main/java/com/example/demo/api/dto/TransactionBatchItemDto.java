@@ -0,0 +1,20 @@
+package com.example.demo.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchItemDto {
+    @JsonProperty("seller_id")
+    private Long sellerId;
+
+    private BigDecimal amount;
+
+    @JsonProperty("payment_type")
+    private String paymentType;
+}
@@ -0,0 +1,35 @@
+package com.example.demo.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchResultDto {
+    @JsonProperty("created_count")
+    private int createdCount;
+
+    @JsonProperty("failed_count")
+    private int failedCount;
+
+    @NonNull
+    private List<Row> rows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Row {
+        private int index;
+
+        private Long id;
+
+        private String error;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBulkResultDto {
+    @JsonProperty("affected_rows")
+    private long affectedRows;
+
+    private int chunks;
+}
@@ -0,0 +1,61 @@
+package com.example.demo.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionImportDto {
+    @NonNull
+    private UUID id;
+
+    @NonNull
+    private String status;
+
+    @NonNull
+    @JsonProperty("started_at")
+    private Instant startedAt;
+
+    @JsonProperty("finished_at")
+    private Instant finishedAt;
+
+    @JsonProperty("elapsed_ms")
+    private long elapsedMs;
+
+    @JsonProperty("lines_read")
+    private long linesRead;
+
+    @JsonProperty("accepted_count")
+    private long acceptedCount;
+
+    @JsonProperty("imported_count")
+    private long importedCount;
+
+    @JsonProperty("rejected_count")
+    private long rejectedCount;
+
+    private String error;
+
+    @NonNull
+    @JsonProperty("rejected_rows")
+    private List<RejectedRow> rejectedRows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedRow {
+        private long line;
+
+        @NonNull
+        private String reason;
+    }
+}
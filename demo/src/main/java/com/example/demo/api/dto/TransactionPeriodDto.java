@@ -0,0 +1,27 @@
+package com.example.demo.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPeriodDto {
+    @NonNull
+    private LocalDateTime from;
+
+    @NonNull
+    private LocalDateTime to;
+
+    @NonNull
+    @JsonProperty("transaction_count")
+    private Long transactionCount;
+
+    @NonNull
+    @JsonProperty("total_amount")
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,94 @@
+package com.example.demo.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionSummaryDto {
+    @NonNull
+    private LocalDate from;
+
+    @NonNull
+    private LocalDate to;
+
+    @JsonProperty("seller_id")
+    private Long sellerId;
+
+    @NonNull
+    private Boolean exact;
+
+    @NonNull
+    @JsonProperty("transaction_count")
+    private Count transactionCount;
+
+    @NonNull
+    @JsonProperty("total_amount")
+    private Amount totalAmount;
+
+    /**
+     * Only for summaries of all sellers.
+     */
+    @JsonProperty("active_sellers")
+    private Count activeSellers;
+
+    /**
+     * Empty when the range has no transactions.
+     */
+    @NonNull
+    @JsonProperty("amount_quantiles")
+    private List<Quantile> amountQuantiles;
+
+    /**
+     * {@code error_bound} is how far {@code value} may be off from the exact value; 0 when it is exact.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Count {
+        private long value;
+
+        @JsonProperty("error_bound")
+        private long errorBound;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Amount {
+        @NonNull
+        private BigDecimal value;
+
+        @NonNull
+        @JsonProperty("error_bound")
+        private BigDecimal errorBound;
+    }
+
+    /**
+     * {@code rank_error} is how far, as a fraction of the transaction count, the rank of
+     * {@code amount} may be off from {@code quantile}.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quantile {
+        private double quantile;
+
+        @NonNull
+        private BigDecimal amount;
+
+        @JsonProperty("rank_error")
+        private double rankError;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.api.exception.transaction;
+
+import com.example.demo.api.exception.BaseException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class TransactionImportNotFoundException extends BaseException {
+    public TransactionImportNotFoundException(UUID id) {
+        super("Transaction import with ID: %s not found".formatted(id));
+    }
+}
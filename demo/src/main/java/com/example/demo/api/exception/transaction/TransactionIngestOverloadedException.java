@@ -0,0 +1,16 @@
+package com.example.demo.api.exception.transaction;
+
+import com.example.demo.api.exception.BaseException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class TransactionIngestOverloadedException extends BaseException {
+    public TransactionIngestOverloadedException() {
+        super("Transaction ingest queue is full, retry later");
+    }
+
+    public TransactionIngestOverloadedException(String message) {
+        super(message);
+    }
+}
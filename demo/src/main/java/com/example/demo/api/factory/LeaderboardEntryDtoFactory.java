@@ -0,0 +1,33 @@
+package com.example.demo.api.factory;
+
+import com.example.demo.api.dto.LeaderboardEntryDto;
+import com.example.demo.api.dto.LiveLeaderboardEntryDto;
+import com.example.demo.api.service.LiveSellerLeaderboardService;
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.repository.SellerLeaderboardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LeaderboardEntryDtoFactory {
+    private final SellerDtoFactory sellerDtoFactory;
+
+    public LeaderboardEntryDto makeLeaderboardEntryDto(SellerLeaderboardRepository.Row row) {
+        return LeaderboardEntryDto.builder()
+                .rank(row.rank())
+                .seller(sellerDtoFactory.makeSellerDto(row.seller()))
+                .totalAmount(row.totalAmount())
+                .transactionCount(row.transactionCount())
+                .build();
+    }
+
+    public LiveLeaderboardEntryDto makeLiveLeaderboardEntryDto(LiveSellerLeaderboardService.Row row) {
+        return LiveLeaderboardEntryDto.builder()
+                .rank(row.rank())
+                .sellerId(row.entry().sellerId())
+                .totalAmount(MinorUnits.toBigDecimal(row.entry().amountMinorUnits()))
+                .transactionCount(row.entry().transactionCount())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo.api.factory;
 
 import com.example.demo.api.dto.SellerDto;
 import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.projection.SellerView;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -14,4 +15,13 @@ public class SellerDtoFactory {
                 .registrationDate(sellerEntity.getRegistrationDate())
                 .build();
     }
+
+    public SellerDto makeSellerDto(SellerView sellerView) {
+        return SellerDto.builder()
+                .id(sellerView.id())
+                .name(sellerView.name())
+                .contactInfo(sellerView.contactInfo())
+                .registrationDate(sellerView.registrationDate())
+                .build();
+    }
 }
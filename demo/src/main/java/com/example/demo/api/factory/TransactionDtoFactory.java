@@ -2,11 +2,14 @@ package com.example.demo.api.factory;
 
 import com.example.demo.api.dto.TransactionDto;
 import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.projection.TransactionView;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class TransactionDtoFactory {
-    private SellerDtoFactory sellerDtoFactory;
+    private final SellerDtoFactory sellerDtoFactory;
 
     public TransactionDto makeTransactionDto(TransactionEntity transactionEntity) {
         return TransactionDto.builder()
@@ -17,4 +20,14 @@ public class TransactionDtoFactory {
                 .transactionDate(transactionEntity.getTransactionDate())
                 .build();
     }
+
+    public TransactionDto makeTransactionDto(TransactionView transactionView) {
+        return TransactionDto.builder()
+                .id(transactionView.id())
+                .seller(sellerDtoFactory.makeSellerDto(transactionView.seller()))
+                .amount(transactionView.amount())
+                .paymentType(transactionView.paymentType().toString())
+                .transactionDate(transactionView.transactionDate())
+                .build();
+    }
 }
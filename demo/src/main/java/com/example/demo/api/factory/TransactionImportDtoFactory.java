@@ -0,0 +1,29 @@
+package com.example.demo.api.factory;
+
+import com.example.demo.api.dto.TransactionImportDto;
+import com.example.demo.api.ingest.TransactionImportProgress;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionImportDtoFactory {
+    public TransactionImportDto makeTransactionImportDto(TransactionImportProgress progress) {
+        return TransactionImportDto.builder()
+                .id(progress.getId())
+                .status(progress.getStatus().toString())
+                .startedAt(progress.getStartedAt())
+                .finishedAt(progress.getFinishedAt())
+                .elapsedMs(progress.getElapsed().toMillis())
+                .linesRead(progress.getLinesRead().get())
+                .acceptedCount(progress.getRowsAccepted().get())
+                .importedCount(progress.getRowsImported())
+                .rejectedCount(progress.getRowsRejected().get())
+                .error(progress.getError())
+                .rejectedRows(progress.getRejectedSamples().stream()
+                        .map(row -> TransactionImportDto.RejectedRow.builder()
+                                .line(row.line())
+                                .reason(row.reason())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
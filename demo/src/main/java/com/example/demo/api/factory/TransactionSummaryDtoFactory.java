@@ -0,0 +1,38 @@
+package com.example.demo.api.factory;
+
+import com.example.demo.api.dto.TransactionSummaryDto;
+import com.example.demo.api.service.TransactionSummaryService;
+import com.example.demo.store.money.MinorUnits;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionSummaryDtoFactory {
+    public TransactionSummaryDto makeTransactionSummaryDto(TransactionSummaryService.Summary summary) {
+        return TransactionSummaryDto.builder()
+                .from(summary.from())
+                .to(summary.to())
+                .sellerId(summary.sellerId())
+                .exact(summary.exact())
+                .transactionCount(makeCount(summary.transactionCount()))
+                .totalAmount(TransactionSummaryDto.Amount.builder()
+                        .value(MinorUnits.toBigDecimal(summary.totalAmount().value()))
+                        .errorBound(MinorUnits.toBigDecimal(summary.totalAmount().errorBound()))
+                        .build())
+                .activeSellers(summary.activeSellers() == null ? null : makeCount(summary.activeSellers()))
+                .amountQuantiles(summary.amountQuantiles().stream()
+                        .map(quantile -> TransactionSummaryDto.Quantile.builder()
+                                .quantile(quantile.quantile())
+                                .amount(MinorUnits.toBigDecimal(quantile.amountMinorUnits()))
+                                .rankError(quantile.rankError())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private static TransactionSummaryDto.Count makeCount(TransactionSummaryService.Estimate estimate) {
+        return TransactionSummaryDto.Count.builder()
+                .value(estimate.value())
+                .errorBound(estimate.errorBound())
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.demo.api.ingest;
+
+import com.example.demo.api.dto.TransactionBatchItemDto;
+import com.example.demo.api.exception.transaction.TransactionIngestOverloadedException;
+import com.example.demo.api.service.TransactionService;
+import com.example.demo.config.IngestProperties;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.routing.ReadYourWritesPolicy;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group-commit ingestion: callers enqueue rows, a single writer thread drains them into one
+ * batch insert per {@code max-batch-size} rows or {@code max-delay}, whichever comes first, and
+ * completes every caller's future once that shared transaction has committed.
+ *
+ * <p>The commit runs on the writer thread, which has no client bound for
+ * {@link ReadYourWritesPolicy}, so {@link #write} records the write for the caller's client itself.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "crm.ingest.mode", havingValue = "group-commit")
+public class GroupCommitTransactionWriter {
+    private static final String STOPPED_MESSAGE = "Transaction ingest is stopped, retry later";
+
+    private final TransactionService transactionService;
+    private final IngestProperties.GroupCommit properties;
+    private final BlockingQueue<PendingTransaction> queue;
+    private final ObjectProvider<ReadYourWritesPolicy> readYourWritesPolicy;
+
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Timer commitWait;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public GroupCommitTransactionWriter(
+            TransactionService transactionService,
+            IngestProperties ingestProperties,
+            MeterRegistry meterRegistry,
+            ObjectProvider<ReadYourWritesPolicy> readYourWritesPolicy
+    ) {
+        this.transactionService = transactionService;
+        this.properties = ingestProperties.getGroupCommit();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.readYourWritesPolicy = readYourWritesPolicy;
+
+        Gauge.builder("crm.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Transactions waiting for the next group commit")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("crm.ingest.batch.size")
+                .description("Rows written per group commit")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("crm.ingest.flush.latency")
+                .description("Time to insert and commit one group")
+                .register(meterRegistry);
+        this.commitWait = Timer.builder("crm.ingest.commit.wait")
+                .description("Time from enqueue until the caller's row is durable")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "group-commit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(properties.getMaxDelay().toMillis() + 5_000);
+    }
+
+    public CompletableFuture<TransactionEntity> submit(Long sellerId, BigDecimal amount, String paymentType) {
+        PendingTransaction pending = new PendingTransaction(
+                TransactionBatchItemDto.builder()
+                        .sellerId(sellerId)
+                        .amount(amount)
+                        .paymentType(paymentType)
+                        .build(),
+                new CompletableFuture<>(),
+                System.nanoTime()
+        );
+
+        if (!running) {
+            throw new TransactionIngestOverloadedException(STOPPED_MESSAGE);
+        }
+        try {
+            if (!queue.offer(pending, properties.getEnqueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new TransactionIngestOverloadedException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionIngestOverloadedException();
+        }
+        // The writer may have stopped and failed the queue between the check and the offer.
+        if (!running && queue.remove(pending)) {
+            throw new TransactionIngestOverloadedException(STOPPED_MESSAGE);
+        }
+
+        return pending.future();
+    }
+
+    /**
+     * Blocking variant of {@link #submit} that rethrows the row's own exception, so callers see
+     * the same errors as on the synchronous path, and records the committed write for the client
+     * of the calling thread. Waits at most {@code commit-timeout}; the row may still commit after
+     * that.
+     */
+    public TransactionEntity write(Long sellerId, BigDecimal amount, String paymentType) {
+        try {
+            TransactionEntity transaction = submit(sellerId, amount, paymentType)
+                    .orTimeout(properties.getCommitTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                    .join();
+            readYourWritesPolicy.ifAvailable(ReadYourWritesPolicy::recordWrite);
+            return transaction;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new TransactionIngestOverloadedException(
+                        "Transaction was not committed within %s, check before retrying".formatted(properties.getCommitTimeout()));
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs until {@link #stop} and the queue is drained. However it ends, even through an
+     * {@link Error}, it fails the rows of the unflushed group and everything still queued, so no
+     * caller waits on a future nobody completes.
+     */
+    private void drainLoop() {
+        List<PendingTransaction> batch = new ArrayList<>(properties.getMaxBatchSize());
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingTransaction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+                while (batch.size() < properties.getMaxBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingTransaction next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+                }
+
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            queue.drainTo(batch);
+            batch.forEach(pending -> pending.future().completeExceptionally(
+                    new TransactionIngestOverloadedException(STOPPED_MESSAGE)));
+        }
+    }
+
+    private void flush(List<PendingTransaction> batch) {
+        batchSize.record(batch.size());
+        long started = System.nanoTime();
+
+        List<TransactionService.BatchRowResult> results;
+        try {
+            results = transactionService.createTransactions(batch.stream()
+                    .map(PendingTransaction::item)
+                    .toList());
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} transactions failed", batch.size(), e);
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+            return;
+        } finally {
+            flushLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+
+        long committed = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingTransaction pending = batch.get(i);
+            TransactionService.BatchRowResult result = results.get(i);
+            commitWait.record(committed - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+
+            if (result.isCreated()) {
+                pending.future().complete(result.transaction());
+            } else {
+                pending.future().completeExceptionally(result.error());
+            }
+        }
+    }
+
+    private record PendingTransaction(
+            TransactionBatchItemDto item,
+            CompletableFuture<TransactionEntity> future,
+            long enqueuedAt
+    ) {
+    }
+}
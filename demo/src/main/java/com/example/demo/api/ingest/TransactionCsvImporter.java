@@ -0,0 +1,134 @@
+package com.example.demo.api.ingest;
+
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.config.PartitionProperties;
+import com.example.demo.store.archive.TransactionArchive;
+import com.example.demo.store.columnar.ColumnarTransactionMirror;
+import com.example.demo.store.partition.TransactionPartitionManager;
+import com.example.demo.store.repository.SellerRepository;
+import com.example.demo.store.repository.TransactionImportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+/**
+ * Imports a CSV file of transactions in one database transaction: rows are validated while they
+ * stream through {@link ValidatingCsvReader}, copied into a staging table with {@code COPY} and
+ * merged into {@code transaction} and {@code seller_daily_stats} with a single statement.
+ *
+ * <p>Invalid rows are reported and skipped, and so are rows older than
+ * {@code crm.partitions.retain-months}, whose partitions are detached, or dated inside the
+ * {@link TransactionArchive}. A file with rows in a month archived while it was being read is
+ * rejected with a 400; any other failure rolls back the whole file. Imported rows bypass JPA, so
+ * the columnar mirror, when enabled, is reloaded after each import.
+ */
+@Slf4j
+@Component
+public class TransactionCsvImporter {
+    private final SellerRepository sellerRepository;
+    private final TransactionImportRepository transactionImportRepository;
+    private final TransactionPartitionManager transactionPartitionManager;
+    private final TransactionImportTracker transactionImportTracker;
+    private final PartitionProperties partitionProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror;
+    private final ObjectProvider<TransactionArchive> transactionArchive;
+
+    public TransactionCsvImporter(
+            SellerRepository sellerRepository,
+            TransactionImportRepository transactionImportRepository,
+            TransactionPartitionManager transactionPartitionManager,
+            TransactionImportTracker transactionImportTracker,
+            PartitionProperties partitionProperties,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror,
+            ObjectProvider<TransactionArchive> transactionArchive
+    ) {
+        this.sellerRepository = sellerRepository;
+        this.transactionImportRepository = transactionImportRepository;
+        this.transactionPartitionManager = transactionPartitionManager;
+        this.transactionImportTracker = transactionImportTracker;
+        this.partitionProperties = partitionProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.columnarTransactionMirror = columnarTransactionMirror;
+        this.transactionArchive = transactionArchive;
+    }
+
+    public TransactionImportProgress importCsv(Reader csv) {
+        TransactionImportProgress progress = transactionImportTracker.start();
+        try {
+            long imported = transactionTemplate.execute(status -> importInTransaction(csv, progress));
+            progress.completed(imported);
+            if (imported > 0) {
+                columnarTransactionMirror.ifAvailable(ColumnarTransactionMirror::rebuildInBackground);
+            }
+            log.info("Import {}: {} rows imported, {} rejected in {}",
+                    progress.getId(), imported, progress.getRowsRejected(), progress.getElapsed());
+            return progress;
+        } catch (RuntimeException e) {
+            progress.failed(e.getMessage());
+            log.warn("Import {} failed", progress.getId(), e);
+            throw e;
+        }
+    }
+
+    private long importInTransaction(Reader csv, TransactionImportProgress progress) {
+        long[] sellerIds = sellerRepository.findAllIds().stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+        TransactionArchive archive = transactionArchive.getIfAvailable();
+
+        transactionImportRepository.createStagingTable();
+        try (Reader validated = new ValidatingCsvReader(
+                csv, id -> Arrays.binarySearch(sellerIds, id) >= 0, earliestDate(YearMonth.now(), archive), progress)) {
+            transactionImportRepository.copyIntoStagingTable(validated);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into the staging table failed", e);
+        }
+
+        progress.merging();
+        return archive == null ? merge(null) : archive.read(() -> merge(archive));
+    }
+
+    /**
+     * Runs under the archive's read lock, so no month can be archived between the check and the
+     * merge. A month archived after that fails its own check against the merged rows instead.
+     */
+    private long merge(TransactionArchive archive) {
+        transactionImportRepository.findStagedDateRange().ifPresent(range -> {
+            if (archive != null && archive.overlaps(range.from())) {
+                throw new TransactionBadRequestException(
+                        "Transactions before %s were archived during the import; import the file again"
+                                .formatted(archive.getEnd().orElseThrow().toLocalDate()));
+            }
+            transactionPartitionManager.createPartitions(YearMonth.from(range.from()), YearMonth.from(range.to()));
+        });
+        return transactionImportRepository.mergeStagingTable();
+    }
+
+    /**
+     * Start of the oldest month still attached and not archived, or {@code null} when any date is
+     * accepted.
+     */
+    private LocalDateTime earliestDate(YearMonth current, TransactionArchive archive) {
+        int retainMonths = partitionProperties.getRetainMonths();
+        LocalDateTime earliest = retainMonths > 0 ? current.minusMonths(retainMonths - 1L).atDay(1).atStartOfDay() : null;
+        LocalDateTime archiveEnd = archive == null ? null : archive.getEnd().orElse(null);
+        if (earliest == null || archiveEnd != null && archiveEnd.isAfter(earliest)) {
+            return archiveEnd;
+        }
+        return earliest;
+    }
+}
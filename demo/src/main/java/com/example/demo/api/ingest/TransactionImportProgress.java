@@ -0,0 +1,85 @@
+package com.example.demo.api.ingest;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters of one CSV import, safe to read while the import is running.
+ */
+@Getter
+public class TransactionImportProgress {
+    /**
+     * Only the first rejections are kept with their reason; all of them are counted.
+     */
+    public static final int MAX_REJECTED_SAMPLES = 1_000;
+
+    public enum Status {
+        READING, MERGING, COMPLETED, FAILED
+    }
+
+    public record RejectedRow(long line, String reason) {
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong linesRead = new AtomicLong();
+    private final AtomicLong rowsAccepted = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final List<RejectedRow> rejectedSamples = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile Status status = Status.READING;
+    private volatile long rowsImported;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    void lineRead() {
+        linesRead.incrementAndGet();
+    }
+
+    void accepted() {
+        rowsAccepted.incrementAndGet();
+    }
+
+    void rejected(long line, String reason) {
+        if (rowsRejected.incrementAndGet() <= MAX_REJECTED_SAMPLES) {
+            rejectedSamples.add(new RejectedRow(line, reason));
+        }
+    }
+
+    void merging() {
+        status = Status.MERGING;
+    }
+
+    void completed(long rowsImported) {
+        this.rowsImported = rowsImported;
+        this.finishedAt = Instant.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public Duration getElapsed() {
+        return Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now());
+    }
+
+    public List<RejectedRow> getRejectedSamples() {
+        synchronized (rejectedSamples) {
+            return List.copyOf(rejectedSamples);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.api.ingest;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Running imports and the most recent finished ones, so progress can be polled while an upload is
+ * still streaming.
+ */
+@Component
+public class TransactionImportTracker {
+    static final int MAX_FINISHED = 50;
+
+    private final Map<UUID, TransactionImportProgress> imports = new LinkedHashMap<>();
+
+    public synchronized TransactionImportProgress start() {
+        TransactionImportProgress progress = new TransactionImportProgress();
+        imports.put(progress.getId(), progress);
+
+        long finished = imports.values().stream().filter(TransactionImportProgress::isFinished).count();
+        var iterator = imports.values().iterator();
+        while (finished > MAX_FINISHED && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+                finished--;
+            }
+        }
+        return progress;
+    }
+
+    public synchronized Optional<TransactionImportProgress> find(UUID id) {
+        return Optional.ofNullable(imports.get(id));
+    }
+
+    public synchronized List<TransactionImportProgress> findAll() {
+        return new ArrayList<>(imports.values());
+    }
+}
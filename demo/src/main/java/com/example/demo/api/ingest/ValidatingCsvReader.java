@@ -0,0 +1,224 @@
+package com.example.demo.api.ingest;
+
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.store.entity.TransactionEntity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongPredicate;
+
+/**
+ * Turns a till export ({@code seller_id,amount,payment_type,transaction_date} with a header row,
+ * columns in any order) into the CSV that {@code COPY transaction_import} expects. Invalid rows are
+ * reported to the {@link TransactionImportProgress} and dropped, including rows dated before the
+ * oldest month the import may still write to.
+ *
+ * <p>Only the current line is held in memory, so a file of any size streams straight from the
+ * request body into the COPY protocol.
+ */
+class ValidatingCsvReader extends Reader {
+    static final List<String> REQUIRED_COLUMNS = List.of("seller_id", "amount", "payment_type", "transaction_date");
+
+    private final BufferedReader source;
+    private final LongPredicate knownSeller;
+    private final LocalDateTime earliestDate;
+    private final TransactionImportProgress progress;
+    private final int[] columnIndexes = new int[REQUIRED_COLUMNS.size()];
+
+    private final StringBuilder pending = new StringBuilder();
+    private int pendingOffset;
+    private long lineNumber;
+    private boolean headerRead;
+    private boolean eof;
+
+    /**
+     * @param earliestDate rows dated before it are rejected; {@code null} accepts any date
+     */
+    ValidatingCsvReader(Reader source, LongPredicate knownSeller, LocalDateTime earliestDate, TransactionImportProgress progress) {
+        this.source = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source, 1 << 16);
+        this.knownSeller = knownSeller;
+        this.earliestDate = earliestDate;
+        this.progress = progress;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (pendingOffset == pending.length()) {
+            if (eof || !fillPending()) {
+                return -1;
+            }
+        }
+
+        int count = Math.min(length, pending.length() - pendingOffset);
+        pending.getChars(pendingOffset, pendingOffset + count, buffer, offset);
+        pendingOffset += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    /**
+     * Reads lines until one is accepted.
+     *
+     * @return {@code false} once the source is exhausted
+     */
+    private boolean fillPending() throws IOException {
+        pending.setLength(0);
+        pendingOffset = 0;
+
+        String line;
+        while ((line = source.readLine()) != null) {
+            lineNumber++;
+            if (!headerRead) {
+                readHeader(line);
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            progress.lineRead();
+            String error = appendRow(line);
+            if (error == null) {
+                progress.accepted();
+                return true;
+            }
+            progress.rejected(lineNumber, error);
+            pending.setLength(0);
+        }
+
+        if (!headerRead) {
+            throw new TransactionBadRequestException("CSV file is empty");
+        }
+        eof = true;
+        return false;
+    }
+
+    private void readHeader(String line) {
+        List<String> header = split(line.startsWith("﻿") ? line.substring(1) : line);
+        for (int i = 0; i < REQUIRED_COLUMNS.size(); i++) {
+            columnIndexes[i] = header.indexOf(REQUIRED_COLUMNS.get(i));
+            if (columnIndexes[i] < 0) {
+                throw new TransactionBadRequestException(
+                        "CSV header must contain the columns " + String.join(", ", REQUIRED_COLUMNS));
+            }
+        }
+        headerRead = true;
+    }
+
+    /**
+     * Validates one row and appends it to {@link #pending} as
+     * {@code line_number,seller_id,amount,payment_type,transaction_date}.
+     *
+     * @return the rejection reason, or {@code null} if the row was accepted
+     */
+    private String appendRow(String line) {
+        List<String> fields = split(line);
+        for (int index : columnIndexes) {
+            if (index >= fields.size() || fields.get(index).isEmpty()) {
+                return "Missing value for " + REQUIRED_COLUMNS.get(indexOf(index));
+            }
+        }
+
+        long sellerId;
+        try {
+            sellerId = Long.parseLong(fields.get(columnIndexes[0]));
+        } catch (NumberFormatException e) {
+            return "Invalid seller_id";
+        }
+        if (!knownSeller.test(sellerId)) {
+            return "Seller with ID: %d not found".formatted(sellerId);
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(fields.get(columnIndexes[1]));
+        } catch (NumberFormatException e) {
+            return "Invalid amount";
+        }
+        if (amount.signum() <= 0) {
+            return "Amount must be positive";
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            return "Amount has more than 2 decimal places";
+        }
+
+        TransactionEntity.PaymentType paymentType;
+        try {
+            paymentType = TransactionEntity.PaymentType.valueOf(fields.get(columnIndexes[2]).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return "Invalid payment_type";
+        }
+
+        LocalDateTime transactionDate;
+        try {
+            transactionDate = LocalDateTime.parse(fields.get(columnIndexes[3]).replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            return "Invalid transaction_date";
+        }
+        if (earliestDate != null && transactionDate.isBefore(earliestDate)) {
+            return "transaction_date is before " + earliestDate.toLocalDate();
+        }
+
+        pending.append(lineNumber).append(',')
+                .append(sellerId).append(',')
+                .append(amount.setScale(2).toPlainString()).append(',')
+                .append(paymentType.name()).append(',')
+                .append(transactionDate).append('\n');
+        return null;
+    }
+
+    private int indexOf(int columnIndex) {
+        for (int i = 0; i < columnIndexes.length; i++) {
+            if (columnIndexes[i] == columnIndex) {
+                return i;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Splits one CSV line, honouring double quotes and doubled quotes inside them.
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.api.metrics;
+
+import com.example.demo.config.MetricsProperties;
+import com.example.demo.store.metrics.TableStatisticsRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Times analytics calls and measures how many table rows each of them read, so expensive queries
+ * show up per operation:
+ * <ul>
+ *     <li>{@code crm.analytics.duration} - latency histogram, tagged with operation and outcome</li>
+ *     <li>{@code crm.analytics.rows.scanned} - rows read per call</li>
+ *     <li>{@code crm.analytics.rows.scanned.last} - rows read by the latest call</li>
+ * </ul>
+ * Rows are counted from the transaction's own table statistics, so calls must run inside the
+ * transaction of the analytics query. Calls answered from memory use {@link #recordInMemory},
+ * which only times them.
+ */
+@Component
+public class AnalyticsMetrics {
+    private final MeterRegistry meterRegistry;
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public AnalyticsMetrics(
+            MeterRegistry meterRegistry,
+            MetricsProperties properties,
+            TableStatisticsRepository tableStatisticsRepository
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.tableStatisticsRepository = properties.isAnalyticsRowsScanned() ? tableStatisticsRepository : null;
+    }
+
+    private record Meters(Timer success, Timer failure, DistributionSummary rowsScanned, AtomicLong lastRowsScanned) {
+    }
+
+    public <T> T record(String operation, Supplier<T> call) {
+        return record(operation, call, tableStatisticsRepository);
+    }
+
+    public <T> T recordInMemory(String operation, Supplier<T> call) {
+        return record(operation, call, null);
+    }
+
+    private <T> T record(String operation, Supplier<T> call, TableStatisticsRepository tableStatisticsRepository) {
+        Meters operationMeters = meters.computeIfAbsent(operation, this::register);
+        long rowsBefore = tableStatisticsRepository == null ? 0 : tableStatisticsRepository.findRowsReadInTransaction();
+        long startedAt = System.nanoTime();
+
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            operationMeters.failure().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        operationMeters.success().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        if (tableStatisticsRepository != null) {
+            long rowsScanned = tableStatisticsRepository.findRowsReadInTransaction() - rowsBefore;
+            operationMeters.rowsScanned().record(rowsScanned);
+            operationMeters.lastRowsScanned().set(rowsScanned);
+        }
+        return result;
+    }
+
+    private Meters register(String operation) {
+        AtomicLong lastRowsScanned = new AtomicLong();
+        Gauge.builder("crm.analytics.rows.scanned.last", lastRowsScanned, AtomicLong::get)
+                .description("Table rows read by the latest analytics call")
+                .tag("operation", operation)
+                .register(meterRegistry);
+
+        return new Meters(
+                timer(operation, "success"),
+                timer(operation, "error"),
+                DistributionSummary.builder("crm.analytics.rows.scanned")
+                        .description("Table rows read per analytics call")
+                        .tag("operation", operation)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                lastRowsScanned
+        );
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("crm.analytics.duration")
+                .description("Latency of analytics calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.api.metrics;
+
+import com.example.demo.store.metrics.DataAccessStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the Hibernate work done by each request, tagged like {@code http.server.requests}:
+ * {@code crm.request.jdbc.statements}, {@code crm.request.entity.loads} and
+ * {@code crm.request.flushes}. Work on other threads, such as streamed exports, is not included.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataAccessMetricsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        DataAccessStats stats = DataAccessStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataAccessStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, DataAccessStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // Not matched by any handler, e.g. a 404; keeps unbounded raw paths out of the tags.
+            return;
+        }
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern.toString());
+
+        summary("crm.request.jdbc.statements", "JDBC statements prepared per request", tags).record(stats.getStatements());
+        summary("crm.request.entity.loads", "Entities loaded per request", tags).record(stats.getEntityLoads());
+        summary("crm.request.flushes", "Hibernate flushes per request", tags).record(stats.getFlushes());
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
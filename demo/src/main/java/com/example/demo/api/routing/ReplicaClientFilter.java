@@ -0,0 +1,36 @@
+package com.example.demo.api.routing;
+
+import com.example.demo.config.ReplicaProperties;
+import com.example.demo.store.routing.ReadYourWritesPolicy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Identifies the client of each request for {@link ReadYourWritesPolicy}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "crm.replica.enabled", havingValue = "true")
+public class ReplicaClientFilter extends OncePerRequestFilter {
+    private final ReplicaProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = request.getHeader(properties.getClientHeader());
+        ReadYourWritesPolicy.bindClient(clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesPolicy.unbindClient();
+        }
+    }
+}
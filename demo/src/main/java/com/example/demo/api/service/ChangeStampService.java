@@ -0,0 +1,56 @@
+package com.example.demo.api.service;
+
+import com.example.demo.store.repository.TableChangeStampRepository;
+import com.example.demo.store.repository.TableChangeStampRepository.TableChangeStamp;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Conditional reads of the list endpoints, keyed by the change stamps of the tables behind them.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeStampService {
+    @Getter
+    @RequiredArgsConstructor
+    public enum Resource {
+        SELLERS("sellers", List.of(TableChangeStampRepository.SELLER)),
+        // Transaction pages embed seller names, so a renamed seller changes them too.
+        TRANSACTIONS("transactions", List.of(TableChangeStampRepository.TRANSACTION, TableChangeStampRepository.SELLER));
+
+        private final String name;
+        private final List<String> tables;
+    }
+
+    private final TableChangeStampRepository tableChangeStampRepository;
+
+    /**
+     * Reads the stamp of {@code resource} and, unless {@code notModified} accepts it, runs
+     * {@code read}. Both happen in one read-only transaction, so they see the same database, and
+     * the stamp is read first, so a page is never tagged with a stamp newer than its rows.
+     *
+     * @return empty when {@code notModified} accepted the stamp
+     */
+    @Transactional(readOnly = true)
+    public <T> Optional<T> readIfModified(Resource resource, Predicate<TableChangeStamp> notModified, Supplier<T> read) {
+        TableChangeStamp stamp = tableChangeStampRepository.find(resource.getTables());
+        if (notModified.test(stamp)) {
+            return Optional.empty();
+        }
+        return Optional.of(read.get());
+    }
+
+    /**
+     * Detaching a partition removes rows without any statement the triggers see.
+     */
+    public void markTransactionsChanged() {
+        tableChangeStampRepository.touch(List.of(TableChangeStampRepository.TRANSACTION));
+    }
+}
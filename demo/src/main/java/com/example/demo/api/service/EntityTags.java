@@ -0,0 +1,48 @@
+package com.example.demo.api.service;
+
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.repository.TableChangeStampRepository.TableChangeStamp;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Strong entity tags for conditional reads. A single resource is tagged by the ids and versions of
+ * every entity its representation is built from; a page by the change stamps of the tables it
+ * reads plus the limit and cursor that select its rows.
+ */
+public final class EntityTags {
+    private static final Pattern CURSOR = Pattern.compile("[A-Za-z0-9_=-]*");
+
+    private EntityTags() {
+    }
+
+    public static String of(SellerEntity seller) {
+        return quote("s" + seller.getId() + "v" + seller.getVersion());
+    }
+
+    public static String of(TransactionEntity transaction) {
+        SellerEntity seller = transaction.getSellerEntity();
+        return quote("t" + transaction.getId() + "v" + transaction.getVersion()
+                + ".s" + seller.getId() + "v" + seller.getVersion());
+    }
+
+    /**
+     * Empty when the page request is invalid, so it falls through to the usual 400 instead of
+     * being answered from a tag.
+     */
+    public static Optional<String> ofPage(
+            ChangeStampService.Resource resource, TableChangeStamp stamp, Optional<String> cursor, int limit
+    ) {
+        if (!PageCursor.isValidLimit(limit) || !cursor.map(value -> CURSOR.matcher(value).matches()).orElse(true)) {
+            return Optional.empty();
+        }
+        return Optional.of(quote(resource.getName() + "." + stamp.token() + ".l" + limit
+                + cursor.map(value -> ".c" + value).orElse("")));
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.api.service;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Calendar periods containing a given day, as inclusive date ranges.
+ */
+public enum LeaderboardPeriod {
+    DAY {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        public LocalDate end(LocalDate date) {
+            return date;
+        }
+    },
+    MONTH {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate end(LocalDate date) {
+            return date.with(TemporalAdjusters.lastDayOfMonth());
+        }
+    },
+    QUARTER {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date.with(IsoFields.DAY_OF_QUARTER, 1);
+        }
+
+        @Override
+        public LocalDate end(LocalDate date) {
+            return start(date).plusMonths(3).minusDays(1);
+        }
+    },
+    YEAR {
+        @Override
+        public LocalDate start(LocalDate date) {
+            return date.withDayOfYear(1);
+        }
+
+        @Override
+        public LocalDate end(LocalDate date) {
+            return date.with(TemporalAdjusters.lastDayOfYear());
+        }
+    };
+
+    public abstract LocalDate start(LocalDate date);
+
+    public abstract LocalDate end(LocalDate date);
+}
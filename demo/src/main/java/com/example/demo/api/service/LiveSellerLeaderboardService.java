@@ -0,0 +1,43 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.live.LiveSellerCounters;
+import com.example.demo.store.live.LiveWindow;
+import com.example.demo.store.repository.SellerLeaderboardRepository.Metric;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Top sellers of the last minutes to day from {@link LiveSellerCounters}, for displays polling
+ * every second. Never touches the database; sellers are reported by id only for that reason.
+ */
+@Service
+@RequiredArgsConstructor
+public class LiveSellerLeaderboardService {
+    private final LiveSellerCounters liveSellerCounters;
+
+    public record Row(long rank, LiveSellerCounters.Entry entry) {
+    }
+
+    public List<Row> getTopSellers(LiveWindow window, Metric metric, Optional<String> optionalPaymentType, int limit) {
+        if (limit < 1 || limit > liveSellerCounters.getCapacity()) {
+            throw new TransactionBadRequestException(
+                    "Limit must be between 1 and %d".formatted(liveSellerCounters.getCapacity()));
+        }
+        Optional<TransactionEntity.PaymentType> paymentType = optionalPaymentType.map(TransactionService::parsePaymentType);
+
+        List<LiveSellerCounters.Entry> entries = liveSellerCounters.top(window, metric, paymentType, limit);
+        List<Row> rows = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            LiveSellerCounters.Entry entry = entries.get(i);
+            boolean tied = i > 0 && entry.value(metric) == entries.get(i - 1).value(metric);
+            rows.add(new Row(tied ? rows.get(i - 1).rank() : i + 1, entry));
+        }
+        return rows;
+    }
+}
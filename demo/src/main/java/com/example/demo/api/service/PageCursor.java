@@ -0,0 +1,84 @@
+package com.example.demo.api.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors: the sort key of the last row served, base64url-encoded so clients
+ * treat it as a token rather than something to build by hand.
+ */
+public final class PageCursor {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String SEPARATOR = "_";
+
+    private PageCursor() {
+    }
+
+    public static String encode(Long id) {
+        return encodeRaw(String.valueOf(id));
+    }
+
+    public static String encode(LocalDateTime date, Long id) {
+        return encodeRaw(date + SEPARATOR + id);
+    }
+
+    public static String encode(BigDecimal value, Long id) {
+        return encodeRaw(value.toPlainString() + SEPARATOR + id);
+    }
+
+    public static Long decodeId(String cursor) {
+        try {
+            return Long.valueOf(decodeRaw(cursor));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public static DateAndId decodeDateAndId(String cursor) {
+        String[] parts = decodeRaw(cursor).split(SEPARATOR, 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+
+        try {
+            return new DateAndId(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public static ValueAndId decodeValueAndId(String cursor) {
+        String[] parts = decodeRaw(cursor).split(SEPARATOR, 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+
+        try {
+            return new ValueAndId(new BigDecimal(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public static boolean isValidLimit(int limit) {
+        return limit >= 1 && limit <= MAX_LIMIT;
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    public record DateAndId(LocalDateTime date, Long id) {
+    }
+
+    public record ValueAndId(BigDecimal value, Long id) {
+    }
+}
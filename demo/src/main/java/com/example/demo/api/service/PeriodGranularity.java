@@ -0,0 +1,26 @@
+package com.example.demo.api.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Getter
+@RequiredArgsConstructor
+public enum PeriodGranularity {
+    HOUR("hour", ChronoUnit.HOURS),
+    DAY("day", ChronoUnit.DAYS),
+    WEEK("week", ChronoUnit.WEEKS),
+    MONTH("month", ChronoUnit.MONTHS);
+
+    /**
+     * Field name understood by PostgreSQL {@code date_trunc}.
+     */
+    private final String truncUnit;
+    private final ChronoUnit chronoUnit;
+
+    public LocalDateTime periodEnd(LocalDateTime periodStart) {
+        return periodStart.plus(1, chronoUnit);
+    }
+}
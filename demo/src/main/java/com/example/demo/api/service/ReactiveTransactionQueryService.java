@@ -0,0 +1,199 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.dto.TransactionPeriodDto;
+import com.example.demo.api.exception.seller.SellerBadRequestException;
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.store.archive.TransactionArchive;
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.money.SellerTotals;
+import com.example.demo.store.projection.SellerView;
+import com.example.demo.store.projection.TransactionView;
+import com.example.demo.store.reactive.ReactiveReadRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Reactive counterpart of the read and analytics parts of {@link TransactionService} and
+ * {@link SellerService}, answering the same questions with the same queries over R2DBC.
+ *
+ * <p>Listings are streamed as a sequence of keyset pages: a page is fetched only when the
+ * subscriber has consumed the previous one, so a slow client holds neither a thread nor a
+ * connection between pages.
+ *
+ * <p>Unlike {@link TransactionService}, the analytics here do not read the {@link TransactionArchive}.
+ * Questions whose answer depends on archived raw rows are rejected with a 400 instead: a most
+ * productive seller range starting before the archive's end, and the best hour or window once
+ * anything is archived. Day, week and month periods come from the daily rollup, which keeps
+ * archived months, and are always answered.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionQueryService {
+    private static final LocalDate ALL_TIME_FROM = LocalDate.of(1, 1, 1);
+    private static final LocalDate ALL_TIME_TO = LocalDate.of(9999, 12, 31);
+
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final ObjectProvider<TransactionArchive> transactionArchive;
+
+    public Flux<TransactionView> streamTransactions(Optional<String> optionalCursor, int pageSize) {
+        if (!PageCursor.isValidLimit(pageSize)) {
+            return Flux.error(new TransactionBadRequestException(
+                    "Page size must be between 1 and %d".formatted(PageCursor.MAX_LIMIT)));
+        }
+
+        Flux<TransactionView> firstPage;
+        if (optionalCursor.isEmpty()) {
+            firstPage = reactiveReadRepository.findTransactionsFirstPage(pageSize);
+        } else {
+            PageCursor.DateAndId after;
+            try {
+                after = PageCursor.decodeDateAndId(optionalCursor.get());
+            } catch (IllegalArgumentException e) {
+                return Flux.error(new TransactionBadRequestException("Invalid cursor"));
+            }
+            firstPage = reactiveReadRepository.findTransactionsPageAfter(after.date(), after.id(), pageSize);
+        }
+
+        return firstPage.collectList()
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : reactiveReadRepository.findTransactionsPageAfter(
+                                page.get(page.size() - 1).transactionDate(), page.get(page.size() - 1).id(), pageSize)
+                        .collectList())
+                .concatMapIterable(page -> page, 1);
+    }
+
+    public Flux<SellerView> streamSellers(Optional<String> optionalCursor, int pageSize) {
+        if (!PageCursor.isValidLimit(pageSize)) {
+            return Flux.error(new SellerBadRequestException(
+                    "Page size must be between 1 and %d".formatted(PageCursor.MAX_LIMIT)));
+        }
+
+        Flux<SellerView> firstPage;
+        if (optionalCursor.isEmpty()) {
+            firstPage = reactiveReadRepository.findSellersFirstPage(pageSize);
+        } else {
+            Long afterId;
+            try {
+                afterId = PageCursor.decodeId(optionalCursor.get());
+            } catch (IllegalArgumentException e) {
+                return Flux.error(new SellerBadRequestException("Invalid cursor"));
+            }
+            firstPage = reactiveReadRepository.findSellersPageAfter(afterId, pageSize);
+        }
+
+        return firstPage.collectList()
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : reactiveReadRepository.findSellersPageAfter(page.get(page.size() - 1).id(), pageSize)
+                        .collectList())
+                .concatMapIterable(page -> page, 1);
+    }
+
+    /**
+     * Same split as {@link TransactionService#getMostProductiveSeller}: whole days from the daily
+     * rollup, the partial days at the edges from the transaction table.
+     */
+    public Mono<SellerView> getMostProductiveSeller(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        Optional<LocalDateTime> archiveEnd = findArchiveEnd().filter(startDateTime::isBefore);
+        if (archiveEnd.isPresent()) {
+            return Mono.error(archivedRangeException(archiveEnd.get()));
+        }
+
+        LocalDate firstFullDay = startDateTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? startDateTime.toLocalDate()
+                : startDateTime.toLocalDate().plusDays(1);
+        LocalDate endDay = endDateTime.toLocalDate();
+
+        Flux<ReactiveReadRepository.SellerTotal> totals;
+        if (firstFullDay.isBefore(endDay)) {
+            totals = Flux.merge(
+                    reactiveReadRepository.sumBySellerBetweenDays(firstFullDay, endDay.minusDays(1)),
+                    startDateTime.isBefore(firstFullDay.atStartOfDay())
+                            ? reactiveReadRepository.sumBySellerFromUntil(startDateTime, firstFullDay.atStartOfDay())
+                            : Flux.empty(),
+                    reactiveReadRepository.sumBySellerBetween(endDay.atStartOfDay(), endDateTime)
+            );
+        } else {
+            totals = reactiveReadRepository.sumBySellerBetween(startDateTime, endDateTime);
+        }
+
+        return totals
+                .collect(SellerTotals::new,
+                        (sellerTotals, total) -> sellerTotals.add(total.sellerId(), MinorUnits.ofNullable(total.totalAmount())))
+                .flatMap(sellerTotals -> {
+                    OptionalLong topSellerId = sellerTotals.topSeller();
+                    return topSellerId.isPresent()
+                            ? reactiveReadRepository.findSellerById(topSellerId.getAsLong())
+                            : Mono.empty();
+                });
+    }
+
+    public Flux<SellerView> getSellersWithTotalTransactionLessThan(
+            BigDecimal amount,
+            Optional<LocalDate> optionalFrom,
+            Optional<LocalDate> optionalTo
+    ) {
+        return reactiveReadRepository.findSellersWithTotalLessThan(
+                amount,
+                optionalFrom.orElse(ALL_TIME_FROM),
+                optionalTo.orElse(ALL_TIME_TO)
+        );
+    }
+
+    public Mono<TransactionPeriodDto> findBestTransactionPeriod(Long sellerId, PeriodGranularity granularity) {
+        Optional<LocalDateTime> archiveEnd = findArchiveEnd();
+        if (granularity == PeriodGranularity.HOUR && archiveEnd.isPresent()) {
+            return Mono.error(archivedRangeException(archiveEnd.get()));
+        }
+
+        Mono<ReactiveReadRepository.Period> bestPeriod = granularity == PeriodGranularity.HOUR
+                ? reactiveReadRepository.findBestTransactionPeriod(sellerId, granularity.getTruncUnit())
+                : reactiveReadRepository.findBestDailyStatsPeriod(sellerId, granularity.getTruncUnit());
+
+        return bestPeriod.map(period -> makeTransactionPeriod(period, granularity.periodEnd(period.periodStart())));
+    }
+
+    public Mono<TransactionPeriodDto> findBestTransactionWindow(Long sellerId, Duration window) {
+        if (window.isNegative() || window.isZero()) {
+            return Mono.error(new TransactionBadRequestException("Window length must be positive"));
+        }
+        Optional<LocalDateTime> archiveEnd = findArchiveEnd();
+        if (archiveEnd.isPresent()) {
+            return Mono.error(archivedRangeException(archiveEnd.get()));
+        }
+
+        return reactiveReadRepository.findBestSlidingWindow(sellerId, window.toString())
+                .map(period -> makeTransactionPeriod(period, period.periodStart().plus(window)));
+    }
+
+    private Optional<LocalDateTime> findArchiveEnd() {
+        TransactionArchive archive = transactionArchive.getIfAvailable();
+        return archive == null ? Optional.empty() : archive.getEnd();
+    }
+
+    private static TransactionBadRequestException archivedRangeException(LocalDateTime archiveEnd) {
+        return new TransactionBadRequestException(
+                "Transactions before %s are archived and only answered by the non-reactive endpoint".formatted(archiveEnd));
+    }
+
+    private static TransactionPeriodDto makeTransactionPeriod(ReactiveReadRepository.Period period, LocalDateTime end) {
+        return TransactionPeriodDto.builder()
+                .from(period.periodStart())
+                .to(end)
+                .transactionCount(period.transactionCount())
+                .totalAmount(period.totalAmount())
+                .build();
+    }
+}
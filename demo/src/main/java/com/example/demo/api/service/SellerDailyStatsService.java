@@ -0,0 +1,183 @@
+package com.example.demo.api.service;
+
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.repository.SellerDailyStatsRepository;
+import com.example.demo.store.repository.TransactionBulkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains the {@code seller_daily_stats} rollup. Every change is applied inside the caller's
+ * transaction, so the rollup commits or rolls back together with the transaction row itself.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SellerDailyStatsService {
+    private final SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(TransactionEntity transaction) {
+        apply(transaction.getSellerEntity().getId(),
+                transaction.getTransactionDate().toLocalDate(),
+                transaction.getPaymentType(),
+                amountMinorUnits(transaction),
+                1);
+    }
+
+    /**
+     * Folds a batch into one delta per seller and day, so a batch of thousands of rows costs as
+     * many upserts as it has distinct sellers.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAllCreated(Collection<TransactionEntity> transactions) {
+        Map<DayKey, Delta> deltas = new HashMap<>();
+        for (TransactionEntity transaction : transactions) {
+            fold(deltas, transaction.getSellerEntity().getId(), transaction.getTransactionDate(),
+                    transaction.getPaymentType(), amountMinorUnits(transaction), 1);
+        }
+        applyAll(deltas);
+    }
+
+    /**
+     * Moves rows changed by a bulk update from their old seller and payment type to the new ones,
+     * folded the same way as {@link #recordAllCreated(Collection)}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAllChanged(Collection<TransactionBulkRepository.ChangedRow> rows) {
+        Map<DayKey, Delta> deltas = new HashMap<>();
+        for (TransactionBulkRepository.ChangedRow row : rows) {
+            fold(deltas, row.oldSellerId(), row.transactionDate(), row.oldPaymentType(), row.amountMinorUnits(), -1);
+            fold(deltas, row.sellerId(), row.transactionDate(), row.paymentType(), row.amountMinorUnits(), 1);
+        }
+        applyAll(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAllDeleted(Collection<TransactionBulkRepository.ChangedRow> rows) {
+        Map<DayKey, Delta> deltas = new HashMap<>();
+        for (TransactionBulkRepository.ChangedRow row : rows) {
+            fold(deltas, row.oldSellerId(), row.transactionDate(), row.oldPaymentType(), row.amountMinorUnits(), -1);
+        }
+        applyAll(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(TransactionEntity transaction) {
+        apply(transaction.getSellerEntity().getId(),
+                transaction.getTransactionDate().toLocalDate(),
+                transaction.getPaymentType(),
+                amountMinorUnits(transaction),
+                -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long sellerId, LocalDate date, TransactionEntity.PaymentType paymentType, long amountMinorUnits, int sign) {
+        BigDecimal signedAmount = MinorUnits.toBigDecimal(sign < 0 ? Math.negateExact(amountMinorUnits) : amountMinorUnits);
+
+        sellerDailyStatsRepository.applyDelta(
+                sellerId,
+                date,
+                sign,
+                signedAmount,
+                paymentType == TransactionEntity.PaymentType.CASH ? signedAmount : BigDecimal.ZERO,
+                paymentType == TransactionEntity.PaymentType.CARD ? signedAmount : BigDecimal.ZERO,
+                paymentType == TransactionEntity.PaymentType.TRANSFER ? signedAmount : BigDecimal.ZERO
+        );
+
+        if (sign < 0) {
+            sellerDailyStatsRepository.deleteIfEmpty(sellerId, date);
+        }
+    }
+
+    private static void fold(
+            Map<DayKey, Delta> deltas,
+            Long sellerId,
+            LocalDateTime transactionDate,
+            TransactionEntity.PaymentType paymentType,
+            long amountMinorUnits,
+            int sign
+    ) {
+        deltas.computeIfAbsent(new DayKey(sellerId, transactionDate.toLocalDate()), key -> new Delta())
+                .add(paymentType, sign < 0 ? Math.negateExact(amountMinorUnits) : amountMinorUnits, sign);
+    }
+
+    /**
+     * Skips deltas that cancel out, e.g. a row re-typed back and forth within one chunk.
+     */
+    private void applyAll(Map<DayKey, Delta> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (delta.isZero()) {
+                return;
+            }
+            sellerDailyStatsRepository.applyDelta(
+                    key.sellerId(),
+                    key.date(),
+                    delta.count,
+                    MinorUnits.toBigDecimal(delta.total),
+                    MinorUnits.toBigDecimal(delta.cash),
+                    MinorUnits.toBigDecimal(delta.card),
+                    MinorUnits.toBigDecimal(delta.transfer));
+            if (delta.count < 0) {
+                sellerDailyStatsRepository.deleteIfEmpty(key.sellerId(), key.date());
+            }
+        });
+    }
+
+    private record DayKey(Long sellerId, LocalDate date) {
+    }
+
+    private static long amountMinorUnits(TransactionEntity transaction) {
+        return transaction.getAmountMinorUnits() == null ? 0 : transaction.getAmountMinorUnits();
+    }
+
+    /**
+     * Sums in {@link MinorUnits}; converted to {@link BigDecimal} once per upsert.
+     */
+    private static final class Delta {
+        private long count;
+        private long total;
+        private long cash;
+        private long card;
+        private long transfer;
+
+        private void add(TransactionEntity.PaymentType paymentType, long amount, int sign) {
+            count += sign;
+            total = MinorUnits.add(total, amount);
+            if (paymentType == null) {
+                return;
+            }
+            switch (paymentType) {
+                case CASH -> cash = MinorUnits.add(cash, amount);
+                case CARD -> card = MinorUnits.add(card, amount);
+                case TRANSFER -> transfer = MinorUnits.add(transfer, amount);
+            }
+        }
+
+        private boolean isZero() {
+            return count == 0 && total == 0 && cash == 0 && card == 0 && transfer == 0;
+        }
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        int rows = sellerDailyStatsRepository.backfillIfEmpty();
+        if (rows > 0) {
+            log.info("Backfilled {} seller_daily_stats rows from existing transactions", rows);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.api.metrics.AnalyticsMetrics;
+import com.example.demo.store.repository.SellerLeaderboardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ranks sellers over whole days from the {@code seller_daily_stats} rollup. The range is either
+ * a calendar {@link LeaderboardPeriod} around a day or an explicit inclusive {@code from..to}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SellerLeaderboardService {
+    private final SellerLeaderboardRepository sellerLeaderboardRepository;
+    private final AnalyticsMetrics analyticsMetrics;
+
+    public record Range(LocalDate from, LocalDate to) {
+    }
+
+    public Range resolveRange(
+            Optional<LeaderboardPeriod> optionalPeriod,
+            Optional<LocalDate> optionalDate,
+            Optional<LocalDate> optionalFrom,
+            Optional<LocalDate> optionalTo
+    ) {
+        boolean explicit = optionalFrom.isPresent() || optionalTo.isPresent();
+        if (explicit && (optionalPeriod.isPresent() || optionalDate.isPresent())) {
+            throw new TransactionBadRequestException("Specify either period and date or from and to, not both");
+        }
+
+        if (!explicit) {
+            LeaderboardPeriod period = optionalPeriod.orElse(LeaderboardPeriod.DAY);
+            LocalDate date = optionalDate.orElseGet(LocalDate::now);
+            return new Range(period.start(date), period.end(date));
+        }
+
+        if (optionalFrom.isEmpty() || optionalTo.isEmpty()) {
+            throw new TransactionBadRequestException("Both from and to are required");
+        }
+        if (optionalFrom.get().isAfter(optionalTo.get())) {
+            throw new TransactionBadRequestException("from must not be after to");
+        }
+
+        return new Range(optionalFrom.get(), optionalTo.get());
+    }
+
+    /**
+     * One page of the ranking. Pages continue after the last row of the previous one, so paging
+     * stays a bounded read however deep the client goes.
+     */
+    @Transactional(readOnly = true)
+    public List<SellerLeaderboardRepository.Row> getLeaderboardPage(
+            Range range,
+            SellerLeaderboardRepository.Metric metric,
+            Optional<String> optionalCursor,
+            int limit,
+            boolean withTies
+    ) {
+        if (!PageCursor.isValidLimit(limit)) {
+            throw new TransactionBadRequestException("Limit must be between 1 and %d".formatted(PageCursor.MAX_LIMIT));
+        }
+
+        PageCursor.ValueAndId after = null;
+        if (optionalCursor.isPresent()) {
+            try {
+                after = PageCursor.decodeValueAndId(optionalCursor.get());
+            } catch (IllegalArgumentException e) {
+                throw new TransactionBadRequestException("Invalid cursor");
+            }
+        }
+
+        PageCursor.ValueAndId finalAfter = after;
+        return analyticsMetrics.record("leaderboard", () -> sellerLeaderboardRepository.findPage(
+                metric,
+                range.from(),
+                range.to(),
+                finalAfter == null ? null : finalAfter.value(),
+                finalAfter == null ? null : finalAfter.id(),
+                limit,
+                withTies
+        ));
+    }
+}
@@ -2,12 +2,18 @@ package com.example.demo.api.service;
 
 import com.example.demo.api.exception.seller.SellerBadRequestException;
 import com.example.demo.api.exception.seller.SellerNotFoundException;
+import com.example.demo.store.cache.SellerCache;
 import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.projection.SellerView;
 import com.example.demo.store.repository.SellerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -15,13 +21,35 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class SellerService {
     private final SellerRepository sellerRepository;
+    private final SellerCache sellerCache;
 
     public Stream<SellerEntity> getAllSellersStream() {
         return sellerRepository.streamAllBy();
     }
 
+    @Transactional(readOnly = true)
+    public List<SellerView> getSellersPage(Optional<String> optionalCursor, int limit) {
+        if (!PageCursor.isValidLimit(limit)) {
+            throw new SellerBadRequestException("Limit must be between 1 and %d".formatted(PageCursor.MAX_LIMIT));
+        }
+
+        Pageable pageable = PageRequest.ofSize(limit);
+        if (optionalCursor.isEmpty()) {
+            return sellerRepository.findFirstPage(pageable);
+        }
+
+        Long afterId;
+        try {
+            afterId = PageCursor.decodeId(optionalCursor.get());
+        } catch (IllegalArgumentException e) {
+            throw new SellerBadRequestException("Invalid cursor");
+        }
+
+        return sellerRepository.findPageAfter(afterId, pageable);
+    }
+
     public SellerEntity getSellerOrThrowException(Long id) {
-        return sellerRepository
+        return sellerCache
                 .findById(id)
                 .orElseThrow(() -> new SellerNotFoundException(id));
     }
@@ -31,13 +59,16 @@ public class SellerService {
             throw new SellerBadRequestException("Seller name or contact info cannot be empty");
         }
 
-        return sellerRepository.saveAndFlush(
+        SellerEntity seller = sellerRepository.saveAndFlush(
                 SellerEntity.builder()
                         .name(sellerName)
                         .contactInfo(sellerContactInfo)
                         .registrationDate(LocalDateTime.now())
                         .build()
         );
+        sellerCache.invalidate(seller.getId());
+
+        return seller;
     }
 
     public SellerEntity updateSeller(
@@ -45,7 +76,9 @@ public class SellerService {
             Optional<String> optionalSellerName,
             Optional<String> optionalSellerContactInfo
     ) {
-        SellerEntity seller = getSellerOrThrowException(id);
+        SellerEntity seller = sellerRepository
+                .findById(id)
+                .orElseThrow(() -> new SellerNotFoundException(id));
         optionalSellerName
                 .filter(sellerName -> !sellerName.trim().isEmpty())
                 .map(String::trim)
@@ -56,12 +89,17 @@ public class SellerService {
                 .map(String::trim)
                 .ifPresent(seller::setContactInfo);
 
+        SellerEntity updatedSeller = sellerRepository.saveAndFlush(seller);
+        sellerCache.putAfterCommit(updatedSeller);
 
-        return sellerRepository.saveAndFlush(seller);
+        return updatedSeller;
     }
 
     public void deleteSeller(Long id) {
-        sellerRepository.delete(getSellerOrThrowException(id));
+        sellerRepository.delete(sellerRepository
+                .findById(id)
+                .orElseThrow(() -> new SellerNotFoundException(id)));
+        sellerCache.removeAfterCommit(id);
     }
 
 
@@ -0,0 +1,223 @@
+package com.example.demo.api.service;
+
+import com.example.demo.config.ArchiveProperties;
+import com.example.demo.config.ReplicaProperties;
+import com.example.demo.store.archive.TransactionArchive;
+import com.example.demo.store.archive.TransactionSegment;
+import com.example.demo.store.archive.TransactionSegmentWriter;
+import com.example.demo.store.columnar.ColumnarTransactionMirror;
+import com.example.demo.store.columnar.ColumnarTransactionStore;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.partition.TransactionPartitionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves months older than {@code crm.archive.hot-months} out of {@code transaction} into
+ * {@link TransactionArchive} segment files, oldest first. Runs after startup and then on
+ * {@code crm.archive.cron}.
+ *
+ * <p>A month is first streamed into a temporary segment file. Its partition is then locked against
+ * writes, checked against the file's row count and total, and detached in one short transaction,
+ * while the archive blocks the queries that combine both sides. Only then is the file moved into
+ * place and the detached table dropped. A run that stops in between is finished by the next one:
+ * a temporary file whose partition is still attached is discarded, one whose partition is gone is
+ * moved into place.
+ *
+ * <p>{@code seller_daily_stats} keeps the archived months, like it keeps detached ones. CSV imports
+ * reject rows in archived months, so their partitions are only attached again by hand; such a month
+ * is skipped with a warning and the months after it are still archived.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "crm.archive.enabled", havingValue = "true")
+public class TransactionArchiveService {
+    private static final String STREAM_SQL =
+            "select id, seller_id, amount, payment_type, transaction_date from %s order by transaction_date, id";
+    private static final String VERIFY_SQL = "select count(*), sum(amount) from %s";
+
+    private final TransactionArchive transactionArchive;
+    private final TransactionPartitionManager transactionPartitionManager;
+    private final ChangeStampService changeStampService;
+    private final ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror;
+    private final ArchiveProperties archiveProperties;
+    private final ReplicaProperties replicaProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionArchiveService(
+            TransactionArchive transactionArchive,
+            TransactionPartitionManager transactionPartitionManager,
+            ChangeStampService changeStampService,
+            ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror,
+            ArchiveProperties archiveProperties,
+            ReplicaProperties replicaProperties,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.transactionArchive = transactionArchive;
+        this.transactionPartitionManager = transactionPartitionManager;
+        this.changeStampService = changeStampService;
+        this.columnarTransactionMirror = columnarTransactionMirror;
+        this.archiveProperties = archiveProperties;
+        this.replicaProperties = replicaProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        // Read-write, so the rows are streamed from the primary the detach runs on.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${crm.archive.cron:0 30 3 * * *}")
+    public void archiveColdMonths() {
+        try {
+            archiveColdMonths(YearMonth.now());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Archiving transactions failed; the next run picks up where this one stopped", e);
+        }
+    }
+
+    /**
+     * @return the months archived by this run
+     */
+    List<YearMonth> archiveColdMonths(YearMonth current) throws IOException {
+        recover();
+
+        YearMonth cutoff = current.minusMonths(Math.max(1, archiveProperties.getHotMonths()) - 1L);
+        List<YearMonth> archived = new ArrayList<>();
+        for (YearMonth month : transactionPartitionManager.findAttachedPartitions()) {
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            if (transactionArchive.contains(month)) {
+                log.warn("Not archiving {}: its partition is attached again, but the month is already archived", month);
+                continue;
+            }
+            archive(month);
+            archived.add(month);
+        }
+
+        if (!archived.isEmpty()) {
+            changeStampService.markTransactionsChanged();
+            ColumnarTransactionMirror mirror = columnarTransactionMirror.getIfAvailable();
+            if (mirror != null) {
+                mirror.rebuildInBackground();
+            }
+        }
+        return archived;
+    }
+
+    private void archive(YearMonth month) throws IOException {
+        long startedAt = System.nanoTime();
+        String partition = TransactionPartitionManager.partitionName(month);
+        Path temporary = transactionArchive.temporarySegmentPath(month);
+
+        TransactionSegmentWriter writer = new TransactionSegmentWriter(month);
+        // PostgreSQL only streams with a fetch size inside a transaction.
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(STREAM_SQL.formatted(partition));
+                    statement.setFetchSize(archiveProperties.getFetchSize());
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> {
+                    String paymentType = rs.getString(4);
+                    writer.add(
+                            rs.getLong(1),
+                            rs.getLong(2),
+                            MinorUnits.ofNullable(rs.getBigDecimal(3)),
+                            rs.getTimestamp(5).toLocalDateTime(),
+                            ColumnarTransactionStore.toPaymentTypeCode(
+                                    paymentType == null ? null : TransactionEntity.PaymentType.valueOf(paymentType)));
+                }));
+        writer.writeTo(temporary);
+        TransactionSegment written = TransactionSegment.open(temporary);
+
+        try {
+            transactionArchive.publish(month, () -> {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.execute("lock table %s in share mode".formatted(partition));
+                    verify(partition, written);
+                    transactionPartitionManager.detachPartition(month);
+                });
+                waitForReplica();
+            });
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        transactionPartitionManager.dropDetachedPartition(month);
+
+        log.info("Archived {} transactions of {} in {} ms", written.getRowCount(), month,
+                Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+    }
+
+    /**
+     * Rows written to {@code partition} after it was streamed would be lost with it.
+     */
+    private void verify(String partition, TransactionSegment written) {
+        jdbcTemplate.query(VERIFY_SQL.formatted(partition), (RowCallbackHandler) rs -> {
+            long count = rs.getLong(1);
+            long total = MinorUnits.ofNullable(rs.getBigDecimal(2));
+            if (count != written.getRowCount() || total != written.getTotalAmount()) {
+                throw new IllegalStateException("%s changed while it was archived: %d rows, %d total in the database, %d rows, %d total in the segment"
+                        .formatted(partition, count, total, written.getRowCount(), written.getTotalAmount()));
+            }
+        });
+    }
+
+    /**
+     * Reads routed to a replica see the month until the detach reaches it, so the segment is not
+     * published before then.
+     */
+    private void waitForReplica() {
+        if (!replicaProperties.isEnabled()) {
+            return;
+        }
+        try {
+            Thread.sleep(replicaProperties.getReadYourWritesWindow());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Finishes what a previous run left behind.
+     */
+    private void recover() throws IOException {
+        Set<YearMonth> attached = transactionPartitionManager.findAttachedPartitions();
+        for (YearMonth month : transactionArchive.findTemporarySegments()) {
+            if (attached.contains(month)) {
+                Files.deleteIfExists(transactionArchive.temporarySegmentPath(month));
+            } else {
+                log.info("Completing the interrupted archival of {}", month);
+                transactionArchive.recover(month);
+            }
+        }
+        for (TransactionSegment segment : transactionArchive.getSegments()) {
+            YearMonth month = segment.getMonth();
+            if (!attached.contains(month) && transactionPartitionManager.partitionTableExists(month)) {
+                transactionPartitionManager.dropDetachedPartition(month);
+            }
+        }
+    }
+}
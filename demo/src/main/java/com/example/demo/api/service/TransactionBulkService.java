@@ -0,0 +1,161 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.exception.seller.SellerNotFoundException;
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.config.BulkProperties;
+import com.example.demo.store.cache.SellerCache;
+import com.example.demo.store.columnar.ColumnarTransactionMirror;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.repository.TransactionBulkRepository;
+import com.example.demo.store.repository.TransactionBulkRepository.ChangedRow;
+import com.example.demo.store.repository.TransactionBulkRepository.Criteria;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Re-assigns, re-types and deletes transactions by id list or filter without loading them.
+ * Matching rows are processed in {@code crm.bulk.chunk-size} chunks, each one set-based statement
+ * in its own transaction together with its {@code seller_daily_stats} deltas. A failure therefore
+ * leaves the chunks before it committed; running the same request again picks up the rest.
+ *
+ * <p>Chunks walk the matching rows in {@code (transaction_date, id)} order, so rows inserted
+ * behind the current chunk while a request runs are not included.
+ */
+@Slf4j
+@Service
+public class TransactionBulkService {
+    private static final Comparator<ChangedRow> KEY_ORDER =
+            Comparator.comparing(ChangedRow::transactionDate).thenComparingLong(ChangedRow::id);
+
+    private final TransactionBulkRepository transactionBulkRepository;
+    private final SellerCache sellerCache;
+    private final SellerDailyStatsService sellerDailyStatsService;
+    private final ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror;
+    private final BulkProperties bulkProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public record Result(long affectedRows, int chunks) {
+    }
+
+    public TransactionBulkService(
+            TransactionBulkRepository transactionBulkRepository,
+            SellerCache sellerCache,
+            SellerDailyStatsService sellerDailyStatsService,
+            ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror,
+            BulkProperties bulkProperties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.transactionBulkRepository = transactionBulkRepository;
+        this.sellerCache = sellerCache;
+        this.sellerDailyStatsService = sellerDailyStatsService;
+        this.columnarTransactionMirror = columnarTransactionMirror;
+        this.bulkProperties = bulkProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Validates the filter of a bulk request. At least one criterion is required, so a request
+     * cannot touch the whole table by accident.
+     */
+    public static Criteria criteria(
+            Optional<List<Long>> ids,
+            Optional<Long> sellerId,
+            Optional<LocalDateTime> from,
+            Optional<LocalDateTime> to,
+            Optional<String> paymentType
+    ) {
+        if (ids.isPresent() && (ids.get().isEmpty() || ids.get().size() > TransactionService.MAX_BATCH_SIZE)) {
+            throw new TransactionBadRequestException(
+                    "Ids must list between 1 and %d transactions".formatted(TransactionService.MAX_BATCH_SIZE));
+        }
+        if (from.isPresent() && to.isPresent() && !from.get().isBefore(to.get())) {
+            throw new TransactionBadRequestException("From must be before to");
+        }
+
+        Criteria criteria = new Criteria(
+                ids.orElse(null),
+                sellerId.orElse(null),
+                from.orElse(null),
+                to.orElse(null),
+                paymentType.map(TransactionService::parsePaymentType).orElse(null));
+        if (criteria.isEmpty()) {
+            throw new TransactionBadRequestException("At least one filter is required");
+        }
+        return criteria;
+    }
+
+    public Result updateTransactions(Criteria criteria, Optional<Long> optionalNewSellerId, Optional<String> optionalNewPaymentType) {
+        if (optionalNewSellerId.isEmpty() && optionalNewPaymentType.isEmpty()) {
+            throw new TransactionBadRequestException("Nothing to update");
+        }
+        Long newSellerId = optionalNewSellerId
+                .map(id -> sellerCache.findById(id).orElseThrow(() -> new SellerNotFoundException(id)).getId())
+                .orElse(null);
+        TransactionEntity.PaymentType newPaymentType = optionalNewPaymentType
+                .map(TransactionService::parsePaymentType)
+                .orElse(null);
+
+        Result result = run((afterDate, afterId) -> {
+            List<ChangedRow> rows = transactionBulkRepository.updateChunk(
+                    criteria, newSellerId, newPaymentType, afterDate, afterId, bulkProperties.getChunkSize());
+            sellerDailyStatsService.recordAllChanged(rows);
+            columnarTransactionMirror.ifAvailable(mirror -> mirror.recordBulkChanges(rows, false));
+            return rows;
+        });
+        log.info("Bulk update changed {} transactions in {} chunks", result.affectedRows(), result.chunks());
+        return result;
+    }
+
+    public Result deleteTransactions(Criteria criteria) {
+        Result result = run((afterDate, afterId) -> {
+            List<ChangedRow> rows = transactionBulkRepository.deleteChunk(
+                    criteria, afterDate, afterId, bulkProperties.getChunkSize());
+            sellerDailyStatsService.recordAllDeleted(rows);
+            columnarTransactionMirror.ifAvailable(mirror -> mirror.recordBulkChanges(rows, true));
+            return rows;
+        });
+        log.info("Bulk delete removed {} transactions in {} chunks", result.affectedRows(), result.chunks());
+        return result;
+    }
+
+    private Result run(Chunk chunk) {
+        long affectedRows = 0;
+        int chunks = 0;
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+
+        while (true) {
+            LocalDateTime chunkAfterDate = afterDate;
+            Long chunkAfterId = afterId;
+            List<ChangedRow> rows = transactionTemplate.execute(status -> chunk.apply(chunkAfterDate, chunkAfterId));
+            if (rows == null || rows.isEmpty()) {
+                break;
+            }
+
+            affectedRows += rows.size();
+            chunks++;
+            if (rows.size() < bulkProperties.getChunkSize()) {
+                break;
+            }
+            // RETURNING does not keep the order of the locked rows.
+            ChangedRow last = rows.stream().max(KEY_ORDER).orElseThrow();
+            afterDate = last.transactionDate();
+            afterId = last.id();
+        }
+
+        return new Result(affectedRows, chunks);
+    }
+
+    @FunctionalInterface
+    private interface Chunk {
+        List<ChangedRow> apply(LocalDateTime afterDate, Long afterId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.dto.TransactionDto;
+import com.example.demo.api.factory.TransactionDtoFactory;
+import com.example.demo.store.projection.TransactionView;
+import com.example.demo.store.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the transaction table as newline-delimited JSON while reading it through a server-side
+ * cursor. Rows are read as projections, never as managed entities, so memory stays flat for any table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+    private final TransactionRepository transactionRepository;
+    private final TransactionDtoFactory transactionDtoFactory;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportTransactions(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TransactionDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long rows = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<TransactionView> transactions = transactionRepository.streamAllForExport()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<TransactionView> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, transactionDtoFactory.makeTransactionDto(iterator.next()));
+                generator.writeRaw('\n');
+
+                if (++rows % TransactionRepository.EXPORT_FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        return rows;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.api.service;
+
+import com.example.demo.config.PartitionProperties;
+import com.example.demo.store.partition.TransactionPartitionManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps {@code crm.partitions.months-ahead} months of empty partitions ready, so inserts never hit
+ * a missing range. Also detaches partitions that fall out of {@code crm.partitions.retain-months}.
+ * Runs once at startup and then on {@code crm.partitions.maintenance-cron}.
+ *
+ * <p>Detached months still count in {@code seller_daily_stats}. Only the raw rows leave the live table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionPartitionMaintenanceService {
+    private final TransactionPartitionManager transactionPartitionManager;
+    private final PartitionProperties partitionProperties;
+    private final ChangeStampService changeStampService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${crm.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        maintainPartitions(YearMonth.now());
+    }
+
+    void maintainPartitions(YearMonth current) {
+        List<YearMonth> created = transactionPartitionManager.createPartitions(
+                current, current.plusMonths(partitionProperties.getMonthsAhead()));
+        if (!created.isEmpty()) {
+            log.info("Created transaction partitions for {}", created);
+        }
+
+        if (partitionProperties.getRetainMonths() > 0) {
+            List<String> detached = transactionPartitionManager.detachPartitionsBefore(
+                    current.minusMonths(partitionProperties.getRetainMonths() - 1L));
+            if (!detached.isEmpty()) {
+                changeStampService.markTransactionsChanged();
+                log.info("Detached transaction partitions {}", detached);
+            }
+        }
+    }
+}
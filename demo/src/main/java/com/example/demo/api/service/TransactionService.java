@@ -1,66 +1,207 @@
 package com.example.demo.api.service;
 
+import com.example.demo.api.dto.TransactionBatchItemDto;
+import com.example.demo.api.dto.TransactionPeriodDto;
 import com.example.demo.api.exception.seller.SellerNotFoundException;
 import com.example.demo.api.exception.transaction.TransactionBadRequestException;
 import com.example.demo.api.exception.transaction.TransactionNotFoundException;
+import com.example.demo.api.metrics.AnalyticsMetrics;
+import com.example.demo.store.archive.TransactionArchive;
+import com.example.demo.store.cache.SellerCache;
+import com.example.demo.store.columnar.ColumnarTransactionMirror;
 import com.example.demo.store.entity.SellerEntity;
 import com.example.demo.store.entity.TransactionEntity;
-import com.example.demo.store.repository.SellerRepository;
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.money.SellerTotals;
+import com.example.demo.store.projection.SellerTotalProjection;
+import com.example.demo.store.projection.TransactionPeriodProjection;
+import com.example.demo.store.projection.TransactionView;
+import com.example.demo.store.repository.SellerDailyStatsRepository;
 import com.example.demo.store.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private static final LocalDate ALL_TIME_FROM = LocalDate.of(1, 1, 1);
+    private static final LocalDate ALL_TIME_TO = LocalDate.of(9999, 12, 31);
+
     private final TransactionRepository transactionRepository;
-    private final SellerRepository sellerRepository;
+    private final SellerCache sellerCache;
+    private final SellerDailyStatsRepository sellerDailyStatsRepository;
+    private final SellerDailyStatsService sellerDailyStatsService;
+    private final AnalyticsMetrics analyticsMetrics;
+    private final ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror;
+    private final ObjectProvider<TransactionArchive> transactionArchive;
 
     public Stream<TransactionEntity> getAllTransactionsStream() {
         return transactionRepository.streamAllBy();
     }
 
+    /**
+     * Keyset page ordered by {@code (transaction_date, id)}: every page is an index seek past the
+     * last row of the previous one, so deep pages cost the same as the first.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionView> getTransactionsPage(Optional<String> optionalCursor, int limit) {
+        if (!PageCursor.isValidLimit(limit)) {
+            throw new TransactionBadRequestException("Limit must be between 1 and %d".formatted(PageCursor.MAX_LIMIT));
+        }
+
+        Pageable pageable = PageRequest.ofSize(limit);
+        if (optionalCursor.isEmpty()) {
+            return transactionRepository.findFirstPage(pageable);
+        }
+
+        PageCursor.DateAndId after;
+        try {
+            after = PageCursor.decodeDateAndId(optionalCursor.get());
+        } catch (IllegalArgumentException e) {
+            throw new TransactionBadRequestException("Invalid cursor");
+        }
+
+        return transactionRepository.findPageAfter(after.date(), after.id(), pageable);
+    }
+
     public TransactionEntity getTransactionOrThrowException(Long id) {
-        return transactionRepository.findById(id).orElseThrow(
+        return transactionRepository.findWithSellerById(id).orElseThrow(
                 () -> new TransactionNotFoundException(id)
         );
     }
 
+    @Transactional
     public TransactionEntity createTransaction(Long sellerId, BigDecimal amount, String paymentType) {
         if (amount.compareTo(BigDecimal.ZERO) < 0) {
             throw new TransactionBadRequestException("Amount cannot be negative");
         }
 
-        SellerEntity seller = sellerRepository.findById(sellerId).orElseThrow(
+        SellerEntity seller = sellerCache.findById(sellerId).orElseThrow(
                 () -> new SellerNotFoundException(sellerId)
         );
 
-        TransactionEntity.PaymentType validPaymentType;
-        try {
-            validPaymentType = TransactionEntity.PaymentType.valueOf(paymentType);
-        } catch (IllegalArgumentException e) {
-            throw new TransactionBadRequestException("Invalid payment type");
-        }
+        TransactionEntity.PaymentType validPaymentType = parsePaymentType(paymentType);
 
-        return transactionRepository.saveAndFlush(
+        TransactionEntity transaction = transactionRepository.saveAndFlush(
                 TransactionEntity.builder()
                         .sellerEntity(seller)
-                        .amount(amount)
+                        .amountMinorUnits(toMinorUnits(amount))
                         .paymentType(validPaymentType)
                         .transactionDate(LocalDateTime.now())
                         .build()
         );
+        sellerDailyStatsService.recordCreated(transaction);
+
+        return transaction;
     }
 
+    /**
+     * Creates every valid row of the batch in one JDBC batch and reports the invalid ones per row.
+     * Seller ids are checked with a single query for the whole batch.
+     */
+    @Transactional
+    public List<BatchRowResult> createTransactions(List<TransactionBatchItemDto> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new TransactionBadRequestException("Batch cannot contain more than %d transactions".formatted(MAX_BATCH_SIZE));
+        }
+
+        Set<Long> sellerIds = items.stream()
+                .filter(Objects::nonNull)
+                .map(TransactionBatchItemDto::getSellerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, SellerEntity> sellers = sellerCache.findAllById(sellerIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BatchRowResult> results = new ArrayList<>(items.size());
+        List<TransactionEntity> transactions = new ArrayList<>(items.size());
+        for (TransactionBatchItemDto item : items) {
+            try {
+                TransactionEntity transaction = makeBatchTransaction(item, sellers, now);
+                transactions.add(transaction);
+                results.add(new BatchRowResult(transaction, null));
+            } catch (SellerNotFoundException | TransactionBadRequestException e) {
+                results.add(new BatchRowResult(null, e));
+            }
+        }
+
+        transactionRepository.saveAll(transactions);
+        transactionRepository.flush();
+        sellerDailyStatsService.recordAllCreated(transactions);
+
+        return results;
+    }
+
+    private static TransactionEntity makeBatchTransaction(
+            TransactionBatchItemDto item,
+            Map<Long, SellerEntity> sellers,
+            LocalDateTime transactionDate
+    ) {
+        if (item == null) {
+            throw new TransactionBadRequestException("Transaction is required");
+        }
+        if (item.getSellerId() == null) {
+            throw new TransactionBadRequestException("Seller id is required");
+        }
+        if (item.getAmount() == null) {
+            throw new TransactionBadRequestException("Amount is required");
+        }
+        if (item.getAmount().compareTo(BigDecimal.ZERO) < 0) {
+            throw new TransactionBadRequestException("Amount cannot be negative");
+        }
+
+        SellerEntity seller = sellers.get(item.getSellerId());
+        if (seller == null) {
+            throw new SellerNotFoundException(item.getSellerId());
+        }
+
+        return TransactionEntity.builder()
+                .sellerEntity(seller)
+                .amountMinorUnits(toMinorUnits(item.getAmount()))
+                .paymentType(parsePaymentType(item.getPaymentType()))
+                .transactionDate(transactionDate)
+                .build();
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        try {
+            return MinorUnits.of(amount);
+        } catch (ArithmeticException e) {
+            throw new TransactionBadRequestException("Amount is out of range");
+        }
+    }
+
+    static TransactionEntity.PaymentType parsePaymentType(String paymentType) {
+        try {
+            return TransactionEntity.PaymentType.valueOf(paymentType);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new TransactionBadRequestException("Invalid payment type");
+        }
+    }
+
+    @Transactional
     public TransactionEntity updateTransaction(
             Long transactionId,
             Optional<Long> optionalSellerId,
@@ -68,12 +209,16 @@ public class TransactionService {
             Optional<String> optionalPaymentType
     ) {
         TransactionEntity transaction = getTransactionOrThrowException(transactionId);
+        Long oldSellerId = transaction.getSellerEntity().getId();
+        Long oldAmount = transaction.getAmountMinorUnits();
+        TransactionEntity.PaymentType oldPaymentType = transaction.getPaymentType();
 
-        optionalSellerId.flatMap(sellerRepository::findById).ifPresent(transaction::setSellerEntity);
+        optionalSellerId.flatMap(sellerCache::findById).ifPresent(transaction::setSellerEntity);
 
         optionalAmount
                 .filter(amount -> amount.compareTo(BigDecimal.ZERO) >= 0)
-                .ifPresent(transaction::setAmount);
+                .map(TransactionService::toMinorUnits)
+                .ifPresent(transaction::setAmountMinorUnits);
 
         optionalPaymentType
                 .filter(paymentType -> {
@@ -91,43 +236,234 @@ public class TransactionService {
                                 )
                 );
 
+        if (!Objects.equals(oldSellerId, transaction.getSellerEntity().getId())
+                || !Objects.equals(oldAmount, transaction.getAmountMinorUnits())
+                || oldPaymentType != transaction.getPaymentType()) {
+            LocalDate date = transaction.getTransactionDate().toLocalDate();
+            sellerDailyStatsService.apply(oldSellerId, date, oldPaymentType, oldAmount == null ? 0 : oldAmount, -1);
+            sellerDailyStatsService.recordCreated(transaction);
+        }
+
         return transactionRepository.saveAndFlush(transaction);
     }
 
+    @Transactional
     public void deleteTransaction(Long id) {
-        transactionRepository.delete(getTransactionOrThrowException(id));
+        TransactionEntity transaction = getTransactionOrThrowException(id);
+        transactionRepository.delete(transaction);
+        sellerDailyStatsService.recordDeleted(transaction);
     }
 
+    /**
+     * Answered from the columnar mirror when it is loaded and covers the range. Otherwise whole
+     * days inside the range are read from the daily rollup, only the partial days at its edges
+     * are aggregated from the transaction table and, where they reach into it, the archive.
+     */
+    @Transactional(readOnly = true)
     public Optional<SellerEntity> getMostProductiveSeller(LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        return transactionRepository.findAllByTransactionDateBetween(startDateTime, endDateTime)
-                .collect(Collectors.groupingBy(
-                        TransactionEntity::getSellerEntity,
-                        Collectors.reducing(BigDecimal.ZERO, TransactionEntity::getAmount, BigDecimal::add)))
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey);
-    }
-
-    public List<SellerEntity> getSellersWithTotalTransactionLessThan(BigDecimal amount) {
-        return sellerRepository.findAll().stream()
-                .filter(seller -> transactionRepository.findAllBySellerEntity(seller)
-                        .stream()
-                        .map(TransactionEntity::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add)
-                        .compareTo(amount) < 0)
-                .collect(Collectors.toList());
-    }
-
-    public Optional<LocalDateTime[]> findBestTransactionPeriod(Long sellerId) {
-        return sellerRepository.findById(sellerId)
-                .flatMap(seller -> transactionRepository.findAllBySellerEntity(seller).stream()
-                        .collect(Collectors.groupingBy(
-                                transaction -> transaction.getTransactionDate().toLocalDate(),
-                                Collectors.counting()))
-                        .entrySet().stream()
-                        .max(Map.Entry.comparingByValue())
-                        .map(entry -> new LocalDateTime[]{entry.getKey().atStartOfDay(), entry.getKey().plusDays(1).atStartOfDay()})
-                );
+        TransactionArchive archive = transactionArchive.getIfAvailable();
+        if (archive != null && archive.overlaps(startDateTime)) {
+            return analyticsMetrics.record("most_productive_seller_archive",
+                    () -> archive.read(() -> findMostProductiveSeller(startDateTime, endDateTime, archive)));
+        }
+
+        ColumnarTransactionMirror mirror = columnarTransactionMirror.getIfAvailable();
+        if (mirror != null && mirror.covers(startDateTime)) {
+            OptionalLong sellerId = analyticsMetrics.recordInMemory("most_productive_seller_columnar",
+                    () -> mirror.findMostProductiveSellerId(startDateTime, endDateTime));
+            return sellerId.isPresent() ? sellerCache.findById(sellerId.getAsLong()) : Optional.empty();
+        }
+
+        return analyticsMetrics.record("most_productive_seller",
+                () -> findMostProductiveSeller(startDateTime, endDateTime, null));
+    }
+
+    private Optional<SellerEntity> findMostProductiveSeller(
+            LocalDateTime startDateTime,
+            LocalDateTime endDateTime,
+            TransactionArchive archive
+    ) {
+        SellerTotals totals = new SellerTotals();
+
+        LocalDate firstFullDay = startDateTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? startDateTime.toLocalDate()
+                : startDateTime.toLocalDate().plusDays(1);
+        LocalDate endDay = endDateTime.toLocalDate();
+
+        if (firstFullDay.isBefore(endDay)) {
+            addTotals(totals, sellerDailyStatsRepository.sumBySellerBetween(firstFullDay, endDay.minusDays(1)));
+            if (startDateTime.isBefore(firstFullDay.atStartOfDay())) {
+                addTotals(totals, transactionRepository.sumBySellerFromUntil(startDateTime, firstFullDay.atStartOfDay()));
+                if (archive != null) {
+                    archive.addTotals(totals, startDateTime, firstFullDay.atStartOfDay(), false);
+                }
+            }
+            addTotals(totals, transactionRepository.sumBySellerBetween(endDay.atStartOfDay(), endDateTime));
+            if (archive != null) {
+                archive.addTotals(totals, endDay.atStartOfDay(), endDateTime, true);
+            }
+        } else {
+            addTotals(totals, transactionRepository.sumBySellerBetween(startDateTime, endDateTime));
+            if (archive != null) {
+                archive.addTotals(totals, startDateTime, endDateTime, true);
+            }
+        }
+
+        OptionalLong topSellerId = totals.topSeller();
+        return topSellerId.isPresent() ? sellerCache.findById(topSellerId.getAsLong()) : Optional.empty();
+    }
+
+    @Transactional(readOnly = true)
+    public List<SellerEntity> getSellersWithTotalTransactionLessThan(
+            BigDecimal amount,
+            Optional<LocalDate> optionalFrom,
+            Optional<LocalDate> optionalTo
+    ) {
+        return analyticsMetrics.record("sellers_with_total_less_than",
+                () -> sellerDailyStatsRepository.findSellersWithTotalLessThan(
+                        amount,
+                        optionalFrom.orElse(ALL_TIME_FROM),
+                        optionalTo.orElse(ALL_TIME_TO)
+                ));
+    }
+
+    /**
+     * Hours and days come from the columnar mirror when it is loaded. Otherwise calendar periods
+     * of a day and longer come from the daily rollup, hours from the transaction table. Hours and
+     * days never span an archived and a database month, so the archive's best one competes with
+     * the best one found by either.
+     */
+    @Transactional(readOnly = true)
+    public Optional<TransactionPeriodDto> findBestTransactionPeriod(Long sellerId, PeriodGranularity granularity) {
+        TransactionArchive archive = transactionArchive.getIfAvailable();
+        if (archive != null && !archive.getSegments().isEmpty()) {
+            ColumnarTransactionMirror mirror = columnarTransactionMirror.getIfAvailable();
+            if (mirror != null && mirror.isReady()
+                    && (granularity == PeriodGranularity.HOUR || granularity == PeriodGranularity.DAY)) {
+                return analyticsMetrics.recordInMemory(
+                                "best_period_" + granularity.name().toLowerCase(Locale.ROOT) + "_columnar_archive",
+                                () -> archive.read(() -> earlierOfBest(
+                                        archive.findBestPeriod(sellerId, granularity.getChronoUnit()),
+                                        archive.getEnd().flatMap(end -> mirror.findBestPeriod(
+                                                sellerId, granularity.getChronoUnit().getDuration(), end)))))
+                        .map(period -> makeTransactionPeriod(period, granularity.periodEnd(period.getPeriodStart())));
+            }
+            if (granularity == PeriodGranularity.HOUR) {
+                return analyticsMetrics.record("best_period_hour_archive",
+                                () -> archive.read(() -> earlierOfBest(
+                                        archive.findBestPeriod(sellerId, granularity.getChronoUnit()),
+                                        transactionRepository.findBestPeriod(sellerId, granularity.getTruncUnit()))))
+                        .map(period -> makeTransactionPeriod(period, granularity.periodEnd(period.getPeriodStart())));
+            }
+        }
+
+        ColumnarTransactionMirror mirror = columnarTransactionMirror.getIfAvailable();
+        if (mirror != null && mirror.isReady()
+                && (granularity == PeriodGranularity.HOUR || granularity == PeriodGranularity.DAY)) {
+            return analyticsMetrics.recordInMemory(
+                            "best_period_" + granularity.name().toLowerCase(Locale.ROOT) + "_columnar",
+                            () -> mirror.findBestPeriod(sellerId, granularity.getChronoUnit().getDuration()))
+                    .map(period -> makeTransactionPeriod(period, granularity.periodEnd(period.getPeriodStart())));
+        }
+
+        Optional<TransactionPeriodProjection> bestPeriod = analyticsMetrics.record(
+                "best_period_" + granularity.name().toLowerCase(Locale.ROOT),
+                () -> granularity == PeriodGranularity.HOUR
+                        ? transactionRepository.findBestPeriod(sellerId, granularity.getTruncUnit())
+                        : sellerDailyStatsRepository.findBestPeriod(sellerId, granularity.getTruncUnit()));
+
+        return bestPeriod.map(period -> makeTransactionPeriod(period, granularity.periodEnd(period.getPeriodStart())));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TransactionPeriodDto> findBestTransactionWindow(Long sellerId, Duration window) {
+        if (window.isNegative() || window.isZero()) {
+            throw new TransactionBadRequestException("Window length must be positive");
+        }
+
+        TransactionArchive archive = transactionArchive.getIfAvailable();
+        if (archive != null && !archive.getSegments().isEmpty()) {
+            return analyticsMetrics.record("best_window_archive",
+                            () -> archive.read(() -> findBestTransactionWindow(sellerId, window, archive)))
+                    .map(period -> makeTransactionPeriod(period, period.getPeriodStart().plus(window)));
+        }
+
+        ColumnarTransactionMirror mirror = columnarTransactionMirror.getIfAvailable();
+        if (mirror != null && mirror.isReady() && window.getNano() == 0) {
+            return analyticsMetrics.recordInMemory("best_window_columnar",
+                            () -> mirror.findBestWindow(sellerId, window))
+                    .map(period -> makeTransactionPeriod(period, period.getPeriodStart().plus(window)));
+        }
+
+        return analyticsMetrics.record("best_window",
+                        () -> transactionRepository.findBestSlidingWindow(sellerId, window.toString()))
+                .map(period -> makeTransactionPeriod(period, period.getPeriodStart().plus(window)));
+    }
+
+    /**
+     * Windows opened by archived rows reach into the database for its rows right after the
+     * archive; windows opened by database rows never reach back into the archive.
+     */
+    private Optional<? extends TransactionPeriodProjection> findBestTransactionWindow(
+            Long sellerId,
+            Duration window,
+            TransactionArchive archive
+    ) {
+        LocalDateTime end = archive.getEnd().orElseThrow();
+        LocalDateTime headEnd = window.compareTo(Duration.between(end, LocalDateTime.MAX)) < 0
+                ? end.plus(window)
+                : LocalDateTime.MAX;
+        Optional<? extends TransactionPeriodProjection> archived = archive.findBestWindow(
+                sellerId, window, transactionRepository.findSellerTransactionsFromUntil(sellerId, end, headEnd));
+
+        ColumnarTransactionMirror mirror = columnarTransactionMirror.getIfAvailable();
+        Optional<? extends TransactionPeriodProjection> hot = mirror != null && mirror.isReady() && window.getNano() == 0
+                ? mirror.findBestWindow(sellerId, window, end)
+                : transactionRepository.findBestSlidingWindow(sellerId, window.toString());
+        return earlierOfBest(archived, hot);
+    }
+
+    /**
+     * The period with more transactions, the archived one on a tie since it starts earlier.
+     */
+    private static Optional<TransactionPeriodProjection> earlierOfBest(
+            Optional<? extends TransactionPeriodProjection> archived,
+            Optional<? extends TransactionPeriodProjection> hot
+    ) {
+        if (archived.isEmpty()) {
+            return hot.map(TransactionPeriodProjection.class::cast);
+        }
+        if (hot.isEmpty() || hot.get().getTransactionCount() <= archived.get().getTransactionCount()) {
+            return archived.map(TransactionPeriodProjection.class::cast);
+        }
+        return hot.map(TransactionPeriodProjection.class::cast);
+    }
+
+    private static TransactionPeriodDto makeTransactionPeriod(TransactionPeriodProjection period, LocalDateTime end) {
+        return TransactionPeriodDto.builder()
+                .from(period.getPeriodStart())
+                .to(end)
+                .transactionCount(period.getTransactionCount())
+                .totalAmount(period.getTotalAmount())
+                .build();
+    }
+
+    /**
+     * Outcome of one row of a batch: either the created transaction or the reason it was rejected.
+     */
+    public record BatchRowResult(TransactionEntity transaction, RuntimeException error) {
+        public boolean isCreated() {
+            return transaction != null;
+        }
+    }
+
+    /**
+     * The only {@link BigDecimal} per row is the one the query returned.
+     */
+    private static void addTotals(SellerTotals totals, List<SellerTotalProjection> rows) {
+        for (SellerTotalProjection row : rows) {
+            totals.add(row.getSellerId(), MinorUnits.ofNullable(row.getTotalAmount()));
+        }
     }
 
 
@@ -0,0 +1,88 @@
+package com.example.demo.api.service;
+
+import com.example.demo.config.SketchProperties;
+import com.example.demo.store.repository.TransactionSummaryRepository;
+import com.example.demo.store.sketch.DailySketch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Persists the {@link DailySketch} of every finished day that is new or changed since it was
+ * sketched, on {@code crm.sketch.cron}. Each day is sketched and saved in its own transaction.
+ *
+ * <p>A sketch is only saved when its rows add up to what {@code seller_daily_stats} has for the
+ * day in the same transaction. Days whose rows changed meanwhile are sketched by the next run;
+ * days archived before they were ever sketched are never saved, and are left to the exact path.
+ */
+@Slf4j
+@Service
+public class TransactionSketchService {
+    private final TransactionSummaryRepository transactionSummaryRepository;
+    private final SketchProperties sketchProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionSketchService(
+            TransactionSummaryRepository transactionSummaryRepository,
+            SketchProperties sketchProperties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.transactionSummaryRepository = transactionSummaryRepository;
+        this.sketchProperties = sketchProperties;
+        // Read-write, so the rows are read from the primary the fingerprint is compared on.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${crm.sketch.cron:0 15 3 * * *}")
+    public void sketchFinishedDays() {
+        try {
+            sketchFinishedDays(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.warn("Sketching transactions failed; the next run picks up where this one stopped", e);
+        }
+    }
+
+    /**
+     * @return how many days this run sketched
+     */
+    int sketchFinishedDays(LocalDate today) {
+        int sketched = 0;
+        int skipped = 0;
+        for (LocalDate date : transactionSummaryRepository.findDaysToSketch(today)) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> sketch(date)))) {
+                sketched++;
+            } else {
+                skipped++;
+            }
+        }
+        if (sketched > 0 || skipped > 0) {
+            log.info("Sketched {} days of transactions; {} did not match seller_daily_stats and were skipped",
+                    sketched, skipped);
+        }
+        return sketched;
+    }
+
+    private boolean sketch(LocalDate date) {
+        DailySketch sketch = new DailySketch(date, true);
+        transactionSummaryRepository.addTransactions(sketch, null, sketchProperties.getFetchSize());
+
+        Optional<TransactionSummaryRepository.Fingerprint> rollup = transactionSummaryRepository.findRollupFingerprint(date);
+        if (rollup.isEmpty() && sketch.isEmpty()) {
+            transactionSummaryRepository.delete(date);
+            return true;
+        }
+        TransactionSummaryRepository.Fingerprint built = new TransactionSummaryRepository.Fingerprint(
+                sketch.getTransactionCount(), sketch.getTotalAmountMinorUnits(), sketch.getSellerChecksum());
+        if (!rollup.equals(Optional.of(built))) {
+            log.debug("Not sketching {}: its rows add up to {}, seller_daily_stats to {}", date, built, rollup);
+            return false;
+        }
+        transactionSummaryRepository.save(sketch);
+        return true;
+    }
+}
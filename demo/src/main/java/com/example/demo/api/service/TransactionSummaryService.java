@@ -0,0 +1,171 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.api.metrics.AnalyticsMetrics;
+import com.example.demo.config.SketchProperties;
+import com.example.demo.store.repository.TransactionSummaryRepository;
+import com.example.demo.store.sketch.DailySketch;
+import com.example.demo.store.sketch.HyperLogLog;
+import com.example.demo.store.sketch.TDigest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Transaction count, total amount, active sellers and amount quantiles over a range of days,
+ * overall or of one seller.
+ *
+ * <p>Approximate summaries merge the sketches {@link TransactionSketchService} persisted per day,
+ * and sketch days without one, such as today, from their rows on the fly. Counts and overall totals
+ * are exact sums as of when each day was sketched; the other estimates carry an error bound:
+ * <ul>
+ *     <li>active sellers - two standard errors of the {@link HyperLogLog}, about 1.6%</li>
+ *     <li>total amount of one seller - the count-min overestimate per sketched day, added up;
+ *     the estimate is never below the exact total</li>
+ *     <li>amount quantiles - the t-digest's rank error at the quantile, as a fraction of the count</li>
+ * </ul>
+ *
+ * <p>Exact summaries sum {@code seller_daily_stats} and rank the amounts of the transactions in the
+ * range. Their quantiles only cover transactions still in the database, not archived months.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionSummaryService {
+    static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final TransactionSummaryRepository transactionSummaryRepository;
+    private final SketchProperties sketchProperties;
+    private final AnalyticsMetrics analyticsMetrics;
+
+    public record Estimate(long value, long errorBound) {
+        static Estimate exact(long value) {
+            return new Estimate(value, 0);
+        }
+    }
+
+    /**
+     * @param rankError how far the rank of {@code amountMinorUnits} may be off from {@code quantile}
+     */
+    public record Quantile(double quantile, long amountMinorUnits, double rankError) {
+    }
+
+    /**
+     * @param sellerId      {@code null} for all sellers
+     * @param activeSellers {@code null} for one seller
+     */
+    public record Summary(
+            LocalDate from,
+            LocalDate to,
+            Long sellerId,
+            boolean exact,
+            Estimate transactionCount,
+            Estimate totalAmount,
+            Estimate activeSellers,
+            List<Quantile> amountQuantiles
+    ) {
+    }
+
+    /**
+     * @param from first day of the range
+     * @param to   last day of the range, inclusive
+     */
+    @Transactional(readOnly = true)
+    public Summary summarize(LocalDate from, LocalDate to, Optional<Long> optionalSellerId, boolean exact) {
+        if (to.isBefore(from)) {
+            throw new TransactionBadRequestException("from must not be after to");
+        }
+        Long sellerId = optionalSellerId.orElse(null);
+
+        if (exact) {
+            return analyticsMetrics.record("summary", () -> summarizeExactly(from, to, sellerId));
+        }
+        return sellerId == null
+                ? analyticsMetrics.record("summary_sketch", () -> summarizeSketches(from, to))
+                : analyticsMetrics.record("summary_seller_sketch", () -> summarizeSellerSketches(from, to, sellerId));
+    }
+
+    private Summary summarizeExactly(LocalDate from, LocalDate to, Long sellerId) {
+        TransactionSummaryRepository.Totals totals = transactionSummaryRepository.sumBetween(from, to, sellerId);
+        List<Long> amounts = transactionSummaryRepository.findAmountQuantiles(from, to, sellerId, QUANTILES);
+
+        return new Summary(from, to, sellerId, true,
+                Estimate.exact(totals.transactionCount()),
+                Estimate.exact(totals.totalAmountMinorUnits()),
+                sellerId == null ? Estimate.exact(totals.activeSellers()) : null,
+                IntStream.range(0, amounts.size())
+                        .mapToObj(i -> new Quantile(QUANTILES[i], amounts.get(i), 0))
+                        .toList());
+    }
+
+    private Summary summarizeSketches(LocalDate from, LocalDate to) {
+        long count = 0;
+        long total = 0;
+        HyperLogLog sellers = new HyperLogLog();
+        TDigest amounts = new TDigest();
+
+        for (TransactionSummaryRepository.SketchedDay day : transactionSummaryRepository.findSketchedDays(from, to)) {
+            count += day.transactionCount();
+            total += day.totalAmountMinorUnits();
+            sellers.merge(day.activeSellers());
+            amounts.merge(day.amountDigest());
+        }
+        for (LocalDate date : transactionSummaryRepository.findUnsketchedDays(from, to, null)) {
+            DailySketch day = new DailySketch(date, false);
+            transactionSummaryRepository.addTransactions(day, null, sketchProperties.getFetchSize());
+            count += day.getTransactionCount();
+            total += day.getTotalAmountMinorUnits();
+            sellers.merge(day.getActiveSellers());
+            amounts.merge(day.getAmountDigest());
+        }
+
+        long activeSellers = sellers.estimate();
+        return new Summary(from, to, null, false,
+                Estimate.exact(count),
+                Estimate.exact(total),
+                new Estimate(activeSellers, (long) Math.ceil(2 * HyperLogLog.relativeStandardError() * activeSellers)),
+                quantiles(amounts));
+    }
+
+    /**
+     * A day sketched on the fly only holds the seller's own rows, so its total is exact.
+     */
+    private Summary summarizeSellerSketches(LocalDate from, LocalDate to, long sellerId) {
+        long total = 0;
+        long totalError = 0;
+        TDigest amounts = new TDigest();
+
+        for (TransactionSummaryRepository.SketchedSellerDay day
+                : transactionSummaryRepository.findSketchedSellerDays(sellerId, from, to)) {
+            total += day.sellerVolume().estimate(sellerId);
+            totalError += day.sellerVolume().errorBound();
+            amounts.merge(day.amountDigest());
+        }
+        for (LocalDate date : transactionSummaryRepository.findUnsketchedDays(from, to, sellerId)) {
+            DailySketch day = new DailySketch(date, false);
+            transactionSummaryRepository.addTransactions(day, sellerId, sketchProperties.getFetchSize());
+            total += day.getTotalAmountMinorUnits();
+            amounts.merge(day.getAmountDigest());
+        }
+
+        return new Summary(from, to, sellerId, false,
+                Estimate.exact(amounts.getCount()),
+                new Estimate(total, totalError),
+                null,
+                quantiles(amounts));
+    }
+
+    private static List<Quantile> quantiles(TDigest amounts) {
+        if (amounts.getCount() == 0) {
+            return List.of();
+        }
+        return Arrays.stream(QUANTILES)
+                .mapToObj(q -> new Quantile(q, Math.round(amounts.quantile(q)), TDigest.rankErrorBound(q)))
+                .toList();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "crm.archive")
+public class ArchiveProperties {
+    /**
+     * Move months older than {@link #hotMonths} out of {@code transaction} into segment files and
+     * combine them back into the raw-row analytics.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding one {@code transactions-yyyy-MM.seg} file per archived month.
+     */
+    private String directory = "archive";
+
+    /**
+     * Months kept in the database, counting the current one. Has to stay below
+     * {@code crm.partitions.retain-months} when that is set, or partitions are detached before
+     * they can be archived.
+     */
+    private int hotMonths = 12;
+
+    /**
+     * Upper bound on decompressed segment columns kept in memory between queries.
+     */
+    private long decodedCacheBytes = 256L << 20;
+
+    /**
+     * Rows fetched per round trip while archiving a month.
+     */
+    private int fetchSize = 10_000;
+
+    private String cron = "0 30 3 * * *";
+}
@@ -0,0 +1,14 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "crm.bulk")
+public class BulkProperties {
+    /**
+     * Rows changed per statement and transaction by the bulk endpoints; row locks are held for
+     * one chunk at a time.
+     */
+    private int chunkSize = 1000;
+}
@@ -0,0 +1,23 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "crm.columnar")
+public class ColumnarStoreProperties {
+    /**
+     * Mirror {@code transaction} in memory and answer analytics from the mirror once it is loaded.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Rows allocated up front; the arrays grow by half when full.
+     */
+    private int initialCapacity = 1 << 20;
+
+    /**
+     * Rows fetched per round trip while loading the mirror.
+     */
+    private int fetchSize = 10_000;
+}
@@ -0,0 +1,101 @@
+package com.example.demo.config;
+
+import com.example.demo.store.routing.ReadYourWritesPolicy;
+import com.example.demo.store.routing.TransactionRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Boot backs off its JDBC {@code DataSource} as soon as an R2DBC {@code ConnectionFactory} exists,
+ * but JPA, Flyway and the JDBC repositories still need it. This declares it the same way the
+ * auto-configuration would, from {@code spring.datasource.*} and {@code spring.datasource.hikari.*}.
+ *
+ * <p>With {@code crm.replica.enabled=true} the primary {@code DataSource} becomes a
+ * {@link TransactionRoutingDataSource} over the primary and a replica configured under
+ * {@code crm.replica.datasource.*}. Flyway always migrates the primary pool directly.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DataSourceConfig {
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    @ConditionalOnProperty(name = "crm.replica.enabled", havingValue = "false", matchIfMissing = true)
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return hikari(properties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "crm.replica.enabled", havingValue = "true")
+    static class ReplicaRoutingConfig {
+        @Bean
+        @ConfigurationProperties("crm.replica.datasource")
+        public DataSourceProperties replicaDataSourceProperties() {
+            return new DataSourceProperties();
+        }
+
+        @Bean
+        @FlywayDataSource
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+            HikariDataSource dataSource = hikari(properties);
+            if (dataSource.getPoolName() == null) {
+                dataSource.setPoolName("primary");
+            }
+            return dataSource;
+        }
+
+        @Bean
+        @ConfigurationProperties("crm.replica.datasource.hikari")
+        public HikariDataSource replicaDataSource(
+                @Qualifier("replicaDataSourceProperties") DataSourceProperties properties
+        ) {
+            HikariDataSource dataSource = hikari(properties);
+            if (dataSource.getPoolName() == null) {
+                dataSource.setPoolName("replica");
+            }
+            dataSource.setReadOnly(true);
+            return dataSource;
+        }
+
+        @Bean
+        public ReadYourWritesPolicy readYourWritesPolicy(ReplicaProperties properties) {
+            return new ReadYourWritesPolicy(properties);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(
+                @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                ReadYourWritesPolicy readYourWritesPolicy
+        ) {
+            return TransactionRoutingDataSource.lazy(primaryDataSource, replicaDataSource, readYourWritesPolicy);
+        }
+    }
+
+    private static HikariDataSource hikari(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+}
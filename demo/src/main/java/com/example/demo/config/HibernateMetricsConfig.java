@@ -0,0 +1,22 @@
+package com.example.demo.config;
+
+import com.example.demo.store.metrics.DataAccessStatsSessionListener;
+import com.example.demo.store.metrics.EntityLoadCountingInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the per-request data access counters into every Hibernate session.
+ */
+@Configuration(proxyBeanMethods = false)
+public class HibernateMetricsConfig {
+    @Bean
+    public HibernatePropertiesCustomizer dataAccessStatsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, DataAccessStatsSessionListener.class.getName());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCountingInterceptor());
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "crm.ingest")
+public class IngestProperties {
+    /**
+     * How single-row creates are written: {@code sync} (one transaction per request) or
+     * {@code group-commit} (requests share a commit through a bounded queue). Either way the
+     * client's next reads stay on the primary for {@code crm.replica.read-your-writes-window}.
+     */
+    private Mode mode = Mode.SYNC;
+
+    private GroupCommit groupCommit = new GroupCommit();
+
+    public enum Mode {
+        SYNC, GROUP_COMMIT
+    }
+
+    @Data
+    public static class GroupCommit {
+        private int queueCapacity = 10_000;
+        private int maxBatchSize = 500;
+        private Duration maxDelay = Duration.ofMillis(5);
+        private Duration enqueueTimeout = Duration.ofMillis(100);
+
+        /**
+         * How long a single-row create waits for its group to commit before giving up.
+         */
+        private Duration commitTimeout = Duration.ofSeconds(10);
+    }
+}
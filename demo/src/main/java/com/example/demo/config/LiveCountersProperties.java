@@ -0,0 +1,23 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "crm.live")
+public class LiveCountersProperties {
+    /**
+     * Sellers monitored per heavy-hitter sketch, and so the longest live leaderboard.
+     */
+    private int heavyHitterCapacity = 128;
+
+    /**
+     * Locks the per-seller counters are spread over; rounded up to a power of two.
+     */
+    private int stripes = 64;
+
+    /**
+     * Sellers with counters; the least recently active ones are dropped beyond that.
+     */
+    private long maxTrackedSellers = 20_000;
+}
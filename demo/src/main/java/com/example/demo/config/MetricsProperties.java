@@ -0,0 +1,21 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "crm.metrics")
+public class MetricsProperties {
+    /**
+     * Measure rows read by every analytics call. Costs two small statistics queries per call.
+     */
+    private boolean analyticsRowsScanned = true;
+
+    /**
+     * Virtual threads pinned to their carrier for at least this long are reported. Only used when
+     * {@code spring.threads.virtual.enabled=true}.
+     */
+    private Duration pinningThreshold = Duration.ofMillis(20);
+}
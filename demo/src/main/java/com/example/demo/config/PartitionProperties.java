@@ -0,0 +1,21 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "crm.partitions")
+public class PartitionProperties {
+    /**
+     * How many months after the current one must already have a partition.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Months of partitions kept attached, counting the current one; older ones are detached.
+     * {@code 0} keeps everything attached. CSV imports reject rows dated before the oldest kept month.
+     */
+    private int retainMonths = 0;
+
+    private String maintenanceCron = "0 0 3 * * *";
+}
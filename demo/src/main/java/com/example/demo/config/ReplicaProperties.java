@@ -0,0 +1,31 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "crm.replica")
+public class ReplicaProperties {
+    /**
+     * Route read-only transactions to the replica configured under {@code crm.replica.datasource.*}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * After a client commits a write, its read-only transactions go to the primary for this long,
+     * so it reads its own writes despite replication lag. {@code 0} disables the fallback.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Request header identifying a client; requests without it are identified by remote address.
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /**
+     * Upper bound on clients remembered as having written recently.
+     */
+    private long maxTrackedClients = 100_000;
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+@Data
+@ConfigurationProperties(prefix = "crm.seed")
+public class SeedProperties {
+    private int sellers = 1_000;
+    private long transactions = 1_000_000;
+
+    /**
+     * Zipf exponent of seller popularity; {@code 0} spreads transactions evenly, around {@code 1}
+     * a few sellers carry most of the volume.
+     */
+    private double sellerSkew = 1.1;
+
+    /**
+     * First day of generated transactions; defaults to one year before today.
+     */
+    private LocalDate from;
+
+    /**
+     * Last day of generated transactions; defaults to today.
+     */
+    private LocalDate to;
+
+    private long randomSeed = 42;
+
+    /**
+     * Rows per insert batch and per database transaction.
+     */
+    private int batchSize = 5_000;
+}
@@ -0,0 +1,22 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "crm.seller-cache")
+public class SellerCacheProperties {
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on staleness for changes made outside of {@code SellerService}.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    /**
+     * How long an unknown seller id is remembered as missing.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,18 @@
+package com.example.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "crm.sketch")
+public class SketchProperties {
+    /**
+     * Rows fetched per round trip while sketching a day.
+     */
+    private int fetchSize = 10_000;
+
+    /**
+     * When finished days that are new or changed since they were sketched get sketched again.
+     */
+    private String cron = "0 15 3 * * *";
+}
@@ -0,0 +1,418 @@
+package com.example.demo.store.archive;
+
+import com.example.demo.config.ArchiveProperties;
+import com.example.demo.store.archive.TransactionSegment.Column;
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.money.SellerTotals;
+import com.example.demo.store.projection.TransactionPeriodProjection;
+import com.example.demo.store.projection.TransactionPointProjection;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * The archived months of {@code transaction}, one {@link TransactionSegment} each, as loaded from
+ * {@code crm.archive.directory} at startup and extended by {@link #publish}. Archived months are
+ * always older than every month still in the database, so the database and the archive never
+ * hold the same row and their answers can simply be added up.
+ *
+ * <p>Decoded columns are cached up to {@code crm.archive.decoded-cache-bytes}; a query that misses
+ * the cache inflates only the columns it reads, and only of segments whose min/max stats overlap it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "crm.archive.enabled", havingValue = "true")
+public class TransactionArchive {
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final String PREFIX = "transactions-";
+    private static final String SUFFIX = ".seg";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final Path directory;
+    private final Cache<ColumnKey, Object> decodedColumns;
+
+    /**
+     * Held for reading by every query that combines the database with the archive, and for
+     * writing while a month moves from one to the other, so no query sees a month in both or in
+     * neither.
+     */
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    private volatile List<TransactionSegment> segments;
+
+    public TransactionArchive(ArchiveProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.directory = Paths.get(properties.getDirectory());
+        this.decodedColumns = Caffeine.newBuilder()
+                .maximumWeight(properties.getDecodedCacheBytes())
+                .weigher((ColumnKey key, Object value) -> (int) Math.min(Integer.MAX_VALUE,
+                        key.segment().decodedBytes(key.column())))
+                .build();
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+
+        Files.createDirectories(directory);
+        this.segments = List.copyOf(loadSegments(directory));
+        log.info("Transaction archive in {} holds {} months, {} rows",
+                directory.toAbsolutePath(), segments.size(), getRowCount());
+
+        Gauge.builder("crm.archive.rows", this, TransactionArchive::getRowCount)
+                .description("Transactions held in archived segment files")
+                .register(meterRegistry);
+    }
+
+    public static String segmentFileName(YearMonth month) {
+        return PREFIX + MONTH_FORMAT.format(month) + SUFFIX;
+    }
+
+    public Path segmentPath(YearMonth month) {
+        return directory.resolve(segmentFileName(month));
+    }
+
+    public Path temporarySegmentPath(YearMonth month) {
+        return directory.resolve(segmentFileName(month) + TEMPORARY_SUFFIX);
+    }
+
+    /**
+     * Months whose segment was written but not yet moved into place, oldest first.
+     */
+    public List<YearMonth> findTemporarySegments() throws IOException {
+        List<YearMonth> months = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX + TEMPORARY_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                parseMonth(name.substring(0, name.length() - TEMPORARY_SUFFIX.length())).ifPresent(months::add);
+            }
+        }
+        months.sort(Comparator.naturalOrder());
+        return months;
+    }
+
+    public List<TransactionSegment> getSegments() {
+        return segments;
+    }
+
+    public boolean contains(YearMonth month) {
+        return segments.stream().anyMatch(segment -> segment.getMonth().equals(month));
+    }
+
+    public long getRowCount() {
+        return segments.stream().mapToLong(TransactionSegment::getRowCount).sum();
+    }
+
+    /**
+     * Start of the first month after the archive, or empty while nothing is archived.
+     */
+    public Optional<LocalDateTime> getEnd() {
+        List<TransactionSegment> current = segments;
+        return current.isEmpty()
+                ? Optional.empty()
+                : Optional.of(current.get(current.size() - 1).getMonth().plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    /**
+     * Whether a range starting at {@code from} reaches into the archive.
+     */
+    public boolean overlaps(LocalDateTime from) {
+        return getEnd().map(from::isBefore).orElse(false);
+    }
+
+    /**
+     * Runs a query that combines the database with the archive, so it cannot interleave with
+     * {@link #publish}.
+     */
+    public <T> T read(Supplier<T> query) {
+        readLock.lock();
+        try {
+            return query.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the finished segment at {@link #temporarySegmentPath} into place and adds it to the
+     * archive. {@code removeFromDatabase} runs first, under the same write lock, and must commit
+     * the removal of the month's rows before returning.
+     */
+    public void publish(YearMonth month, Runnable removeFromDatabase) throws IOException {
+        writeLock.lock();
+        try {
+            removeFromDatabase.run();
+            moveIntoPlace(month);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Moves a segment left behind by a run that stopped after the database had already let go of
+     * the month.
+     */
+    public void recover(YearMonth month) throws IOException {
+        writeLock.lock();
+        try {
+            moveIntoPlace(month);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the amount of every archived row in {@code [from, to)} (or {@code [from, to]} when
+     * {@code inclusiveEnd}) to its seller's total.
+     */
+    public void addTotals(SellerTotals totals, LocalDateTime from, LocalDateTime to, boolean inclusiveEnd) {
+        long fromMicros = TransactionSegment.toMicros(from);
+        long toMicros = TransactionSegment.toMicros(to) + (inclusiveEnd ? 1 : 0);
+
+        for (TransactionSegment segment : segments) {
+            if (!segment.overlaps(fromMicros, toMicros)) {
+                continue;
+            }
+            long[] micros = column(segment, Column.MICROS);
+            long[] sellerIds = column(segment, Column.SELLER_ID);
+            long[] amounts = column(segment, Column.AMOUNT);
+
+            int end = lowerBound(micros, toMicros);
+            for (int i = lowerBound(micros, fromMicros); i < end; i++) {
+                totals.add(sellerIds[i], amounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Calendar {@code unit} ({@link ChronoUnit#HOUR} or {@link ChronoUnit#DAY}) with the most of the
+     * seller's archived transactions; ties go to the earliest. Such periods never cross a month,
+     * so none of them is split between the archive and the database.
+     */
+    public Optional<ArchivedPeriod> findBestPeriod(long sellerId, ChronoUnit unit) {
+        long unitMicros = unit.getDuration().toNanos() / 1_000;
+        long best = 0;
+        long bestCount = 0;
+        long bestAmount = 0;
+
+        long current = Long.MIN_VALUE;
+        long count = 0;
+        long amount = 0;
+        for (TransactionSegment segment : segments) {
+            if (!segment.mayContainSeller(sellerId)) {
+                continue;
+            }
+            long[] micros = column(segment, Column.MICROS);
+            long[] sellerIds = column(segment, Column.SELLER_ID);
+            long[] amounts = column(segment, Column.AMOUNT);
+
+            for (int i = 0; i < micros.length; i++) {
+                if (sellerIds[i] != sellerId) {
+                    continue;
+                }
+                long period = micros[i] - Math.floorMod(micros[i], unitMicros);
+                if (period != current) {
+                    current = period;
+                    count = 0;
+                    amount = 0;
+                }
+                count++;
+                amount += amounts[i];
+
+                if (count > bestCount) {
+                    best = current;
+                    bestCount = count;
+                    bestAmount = amount;
+                }
+            }
+        }
+        return bestCount == 0
+                ? Optional.empty()
+                : Optional.of(new ArchivedPeriod(TransactionSegment.toDateTime(best), bestCount, bestAmount));
+    }
+
+    /**
+     * Window {@code [start, start + window)} opened by one of the seller's archived transactions
+     * that holds the most of its transactions; ties go to the earliest. A window opened late in the
+     * archive reaches into the database, so the caller passes the seller's database rows in
+     * {@code [getEnd(), getEnd() + window)}, in time order.
+     */
+    public Optional<ArchivedPeriod> findBestWindow(long sellerId, Duration window, List<? extends TransactionPointProjection> databaseHead) {
+        long windowMicros = toMicrosSaturated(window);
+
+        Rows rows = new Rows();
+        for (TransactionSegment segment : segments) {
+            if (!segment.mayContainSeller(sellerId)) {
+                continue;
+            }
+            long[] micros = column(segment, Column.MICROS);
+            long[] sellerIds = column(segment, Column.SELLER_ID);
+            long[] amounts = column(segment, Column.AMOUNT);
+            for (int i = 0; i < micros.length; i++) {
+                if (sellerIds[i] == sellerId) {
+                    rows.add(micros[i], amounts[i]);
+                }
+            }
+        }
+        int archived = rows.size;
+        for (TransactionPointProjection row : databaseHead) {
+            Long amount = row.getAmountMinorUnits();
+            rows.add(TransactionSegment.toMicros(row.getTransactionDate()), amount == null ? 0 : amount);
+        }
+
+        long best = 0;
+        long bestCount = 0;
+        long bestAmount = 0;
+        long count = 0;
+        long amount = 0;
+        int head = 0;
+        for (int i = 0; i < archived; i++) {
+            long end = rows.micros[i] > Long.MAX_VALUE - windowMicros ? Long.MAX_VALUE : rows.micros[i] + windowMicros;
+            for (; head < rows.size && rows.micros[head] < end; head++) {
+                count++;
+                amount += rows.amounts[head];
+            }
+            if (i > 0) {
+                count--;
+                amount -= rows.amounts[i - 1];
+            }
+            if (count > bestCount) {
+                best = rows.micros[i];
+                bestCount = count;
+                bestAmount = amount;
+            }
+        }
+        return bestCount == 0
+                ? Optional.empty()
+                : Optional.of(new ArchivedPeriod(TransactionSegment.toDateTime(best), bestCount, bestAmount));
+    }
+
+    public record ArchivedPeriod(LocalDateTime periodStart, long count, long amountMinorUnits)
+            implements TransactionPeriodProjection {
+        @Override
+        public LocalDateTime getPeriodStart() {
+            return periodStart;
+        }
+
+        @Override
+        public Long getTransactionCount() {
+            return count;
+        }
+
+        @Override
+        public BigDecimal getTotalAmount() {
+            return MinorUnits.toBigDecimal(amountMinorUnits);
+        }
+    }
+
+    private void moveIntoPlace(YearMonth month) throws IOException {
+        Path target = segmentPath(month);
+        Files.move(temporarySegmentPath(month), target,
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        add(TransactionSegment.open(target));
+    }
+
+    private void add(TransactionSegment segment) {
+        List<TransactionSegment> updated = new ArrayList<>(segments);
+        updated.removeIf(existing -> existing.getMonth().equals(segment.getMonth()));
+        updated.add(segment);
+        updated.sort(Comparator.comparing(TransactionSegment::getMonth));
+        segments = List.copyOf(updated);
+        log.info("Archived {} transactions of {} into {}", segment.getRowCount(), segment.getMonth(), segment.getPath());
+    }
+
+    private long[] column(TransactionSegment segment, Column column) {
+        return (long[]) decodedColumns.get(new ColumnKey(segment, column), key -> segment.readLongs(column));
+    }
+
+    private static Collection<TransactionSegment> loadSegments(Path directory) throws IOException {
+        List<TransactionSegment> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                if (parseMonth(file.getFileName().toString()).isPresent()) {
+                    loaded.add(TransactionSegment.open(file));
+                }
+            }
+        }
+        loaded.sort(Comparator.comparing(TransactionSegment::getMonth));
+        return loaded;
+    }
+
+    private static Optional<YearMonth> parseMonth(String fileName) {
+        if (!fileName.startsWith(PREFIX) || !fileName.endsWith(SUFFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(
+                    fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length()), MONTH_FORMAT));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * First index whose value is at least {@code value}.
+     */
+    private static int lowerBound(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && values[index - 1] == value) {
+            index--;
+        }
+        return index;
+    }
+
+    private static long toMicrosSaturated(Duration duration) {
+        try {
+            return Math.addExact(Math.multiplyExact(duration.getSeconds(), 1_000_000L), duration.getNano() / 1_000);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private record ColumnKey(TransactionSegment segment, Column column) {
+    }
+
+    private static final class Rows {
+        private long[] micros = new long[1024];
+        private long[] amounts = new long[1024];
+        private int size;
+
+        private void add(long time, long amount) {
+            if (size == micros.length) {
+                micros = Arrays.copyOf(micros, size + (size >> 1));
+                amounts = Arrays.copyOf(amounts, micros.length);
+            }
+            micros[size] = time;
+            amounts[size++] = amount;
+        }
+    }
+}
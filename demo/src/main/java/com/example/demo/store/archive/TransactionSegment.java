@@ -0,0 +1,235 @@
+package com.example.demo.store.archive;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * One archived month of {@code transaction} as an immutable, compressed, columnar file, read
+ * through a memory mapping. Only the header is parsed when a segment is opened; a column is
+ * inflated from the mapping when a query first asks for it.
+ *
+ * <p>Layout, big-endian:
+ * <pre>
+ * magic "CRMTXSEG", format version, month as yyyyMM, row count
+ * min and max transaction_date    epoch microseconds of the wall-clock time
+ * min and max seller id, min and max id, total amount in minor units
+ * per {@link Column}: offset, deflated length, raw length, CRC-32 of the raw bytes
+ * deflated column data
+ * </pre>
+ * Rows are sorted by {@code (transaction_date, id)}. Before deflating, dates and ids are stored as
+ * zig-zag varint deltas from the previous row, seller ids and amounts as zig-zag varints, and
+ * payment types as one byte each.
+ */
+public final class TransactionSegment {
+    public enum Column {
+        ID, SELLER_ID, AMOUNT, MICROS, PAYMENT_TYPE
+    }
+
+    static final byte[] MAGIC = "CRMTXSEG".getBytes(StandardCharsets.US_ASCII);
+    static final int FORMAT_VERSION = 1;
+    static final int COLUMN_ENTRY_SIZE = Long.BYTES + 3 * Integer.BYTES;
+    static final int HEADER_SIZE = MAGIC.length + 3 * Integer.BYTES + 7 * Long.BYTES
+            + Column.values().length * COLUMN_ENTRY_SIZE;
+
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    @Getter
+    private final Path path;
+    @Getter
+    private final YearMonth month;
+    @Getter
+    private final int rowCount;
+    @Getter
+    private final long minMicros;
+    @Getter
+    private final long maxMicros;
+    @Getter
+    private final long minSellerId;
+    @Getter
+    private final long maxSellerId;
+    @Getter
+    private final long minId;
+    @Getter
+    private final long maxId;
+    @Getter
+    private final long totalAmount;
+
+    private final MappedByteBuffer buffer;
+    private final long[] offsets = new long[Column.values().length];
+    private final int[] deflatedLengths = new int[Column.values().length];
+    private final int[] rawLengths = new int[Column.values().length];
+    private final int[] checksums = new int[Column.values().length];
+
+    private TransactionSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE) {
+            throw corrupt("shorter than its header");
+        }
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw corrupt("not a transaction segment");
+        }
+        int position = MAGIC.length;
+        int version = buffer.getInt(position);
+        if (version != FORMAT_VERSION) {
+            throw corrupt("unsupported format version " + version);
+        }
+        int yearMonth = buffer.getInt(position += Integer.BYTES);
+        this.month = YearMonth.of(yearMonth / 100, yearMonth % 100);
+        this.rowCount = buffer.getInt(position += Integer.BYTES);
+        this.minMicros = buffer.getLong(position += Integer.BYTES);
+        this.maxMicros = buffer.getLong(position += Long.BYTES);
+        this.minSellerId = buffer.getLong(position += Long.BYTES);
+        this.maxSellerId = buffer.getLong(position += Long.BYTES);
+        this.minId = buffer.getLong(position += Long.BYTES);
+        this.maxId = buffer.getLong(position += Long.BYTES);
+        this.totalAmount = buffer.getLong(position += Long.BYTES);
+        position += Long.BYTES;
+
+        for (Column column : Column.values()) {
+            int i = column.ordinal();
+            offsets[i] = buffer.getLong(position);
+            deflatedLengths[i] = buffer.getInt(position + Long.BYTES);
+            rawLengths[i] = buffer.getInt(position + Long.BYTES + Integer.BYTES);
+            checksums[i] = buffer.getInt(position + Long.BYTES + 2 * Integer.BYTES);
+            if (offsets[i] < HEADER_SIZE || offsets[i] + deflatedLengths[i] > buffer.capacity()) {
+                throw corrupt("column " + column + " lies outside of the file");
+            }
+            position += COLUMN_ENTRY_SIZE;
+        }
+    }
+
+    /**
+     * Maps {@code path} read-only. The mapping outlives the channel and is released with the segment.
+     */
+    public static TransactionSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new TransactionSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / 1_000;
+    }
+
+    public static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000,
+                ZoneOffset.UTC);
+    }
+
+    /**
+     * Whether any row may fall into {@code [fromMicros, toMicros)}.
+     */
+    public boolean overlaps(long fromMicros, long toMicros) {
+        return rowCount > 0 && minMicros < toMicros && maxMicros >= fromMicros;
+    }
+
+    public boolean mayContainSeller(long sellerId) {
+        return rowCount > 0 && sellerId >= minSellerId && sellerId <= maxSellerId;
+    }
+
+    /**
+     * Decodes one of the {@code long} columns: {@link Column#ID}, {@link Column#SELLER_ID},
+     * {@link Column#AMOUNT} or {@link Column#MICROS}.
+     */
+    public long[] readLongs(Column column) {
+        if (column == Column.PAYMENT_TYPE) {
+            throw new IllegalArgumentException("Payment types are stored as bytes");
+        }
+        boolean deltas = column == Column.ID || column == Column.MICROS;
+        byte[] raw = inflate(column);
+        long[] values = new long[rowCount];
+
+        int position = 0;
+        long previous = 0;
+        for (int row = 0; row < rowCount; row++) {
+            long encoded = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position == raw.length || shift > 63) {
+                    throw corrupt("column " + column + " ends early");
+                }
+                b = raw[position++];
+                encoded |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            long value = (encoded >>> 1) ^ -(encoded & 1);
+            previous = deltas ? previous + value : value;
+            values[row] = previous;
+        }
+        if (position != raw.length) {
+            throw corrupt("column " + column + " has trailing bytes");
+        }
+        return values;
+    }
+
+    public byte[] readPaymentTypes() {
+        byte[] raw = inflate(Column.PAYMENT_TYPE);
+        if (raw.length != rowCount) {
+            throw corrupt("column " + Column.PAYMENT_TYPE + " does not match the row count");
+        }
+        return raw;
+    }
+
+    private byte[] inflate(Column column) {
+        int i = column.ordinal();
+        byte[] raw = new byte[rawLengths[i]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(Math.toIntExact(offsets[i]), deflatedLengths[i]));
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != raw.length || !inflater.finished()) {
+                throw corrupt("column " + column + " does not inflate to its recorded length");
+            }
+        } catch (DataFormatException e) {
+            throw corrupt("column " + column + " is not valid deflate data");
+        } finally {
+            inflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        if ((int) crc.getValue() != checksums[i]) {
+            throw corrupt("column " + column + " fails its checksum");
+        }
+        return raw;
+    }
+
+    private IllegalStateException corrupt(String reason) {
+        return new IllegalStateException("Corrupt transaction segment " + path + ": " + reason);
+    }
+
+    /**
+     * Bytes one decoded column of this segment takes on the heap.
+     */
+    public long decodedBytes(Column column) {
+        return column == Column.PAYMENT_TYPE ? rowCount : (long) rowCount * Long.BYTES;
+    }
+}
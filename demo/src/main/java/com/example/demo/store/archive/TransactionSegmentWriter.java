@@ -0,0 +1,176 @@
+package com.example.demo.store.archive;
+
+import com.example.demo.store.archive.TransactionSegment.Column;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Builds a {@link TransactionSegment} from rows added in {@code (transaction_date, id)} order.
+ * Every column is encoded and deflated as rows arrive, so only the compressed columns are held
+ * in memory, never the rows of the month.
+ */
+public final class TransactionSegmentWriter {
+    private final YearMonth month;
+    private final long monthStartMicros;
+    private final long monthEndMicros;
+    private final ColumnBuffer[] columns = new ColumnBuffer[Column.values().length];
+
+    private int rowCount;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros = Long.MIN_VALUE;
+    private long minSellerId = Long.MAX_VALUE;
+    private long maxSellerId = Long.MIN_VALUE;
+    private long minId = Long.MAX_VALUE;
+    private long maxId = Long.MIN_VALUE;
+    private long totalAmount;
+    private long previousId;
+
+    public TransactionSegmentWriter(YearMonth month) {
+        this.month = month;
+        this.monthStartMicros = TransactionSegment.toMicros(month.atDay(1).atStartOfDay());
+        this.monthEndMicros = TransactionSegment.toMicros(month.plusMonths(1).atDay(1).atStartOfDay());
+        for (Column column : Column.values()) {
+            columns[column.ordinal()] = new ColumnBuffer();
+        }
+    }
+
+    /**
+     * @param paymentTypeCode as returned by
+     *                        {@link com.example.demo.store.columnar.ColumnarTransactionStore#toPaymentTypeCode}
+     * @throws IllegalArgumentException if the row lies outside the month or out of order
+     */
+    public void add(long id, long sellerId, long amountMinorUnits, LocalDateTime transactionDate, byte paymentTypeCode) {
+        if (columns[0].finished) {
+            throw new IllegalStateException("Segment for " + month + " has already been written");
+        }
+        long micros = TransactionSegment.toMicros(transactionDate);
+        if (micros < monthStartMicros || micros >= monthEndMicros) {
+            throw new IllegalArgumentException("Transaction %d is not in %s".formatted(id, month));
+        }
+        if (rowCount > 0 && (micros < maxMicros || micros == maxMicros && id <= previousId)) {
+            throw new IllegalArgumentException("Transaction %d is out of (transaction_date, id) order".formatted(id));
+        }
+        if (rowCount == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Segment for " + month + " is full");
+        }
+
+        columns[Column.ID.ordinal()].writeVarLong(rowCount == 0 ? id : id - previousId);
+        columns[Column.SELLER_ID.ordinal()].writeVarLong(sellerId);
+        columns[Column.AMOUNT.ordinal()].writeVarLong(amountMinorUnits);
+        columns[Column.MICROS.ordinal()].writeVarLong(rowCount == 0 ? micros : micros - maxMicros);
+        columns[Column.PAYMENT_TYPE.ordinal()].writeByte(paymentTypeCode);
+
+        rowCount++;
+        minMicros = Math.min(minMicros, micros);
+        maxMicros = micros;
+        minSellerId = Math.min(minSellerId, sellerId);
+        maxSellerId = Math.max(maxSellerId, sellerId);
+        minId = Math.min(minId, id);
+        maxId = Math.max(maxId, id);
+        totalAmount = Math.addExact(totalAmount, amountMinorUnits);
+        previousId = id;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the segment to {@code target} and forces it to disk. The caller publishes it by
+     * moving it into place, so a half-written file is never mistaken for a segment.
+     */
+    public void writeTo(Path target) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(TransactionSegment.HEADER_SIZE)
+                .put(TransactionSegment.MAGIC)
+                .putInt(TransactionSegment.FORMAT_VERSION)
+                .putInt(month.getYear() * 100 + month.getMonthValue())
+                .putInt(rowCount)
+                .putLong(rowCount == 0 ? 0 : minMicros)
+                .putLong(rowCount == 0 ? 0 : maxMicros)
+                .putLong(rowCount == 0 ? 0 : minSellerId)
+                .putLong(rowCount == 0 ? 0 : maxSellerId)
+                .putLong(rowCount == 0 ? 0 : minId)
+                .putLong(rowCount == 0 ? 0 : maxId)
+                .putLong(totalAmount);
+
+        long offset = TransactionSegment.HEADER_SIZE;
+        for (ColumnBuffer column : columns) {
+            column.finish();
+            header.putLong(offset)
+                    .putInt(column.deflated.size())
+                    .putInt(Math.toIntExact(column.rawLength))
+                    .putInt((int) column.crc.getValue());
+            offset += column.deflated.size();
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            OutputStream out = Channels.newOutputStream(channel);
+            for (ColumnBuffer column : columns) {
+                column.deflated.writeTo(out);
+            }
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    private static final class ColumnBuffer {
+        private final ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private final DeflaterOutputStream out = new DeflaterOutputStream(deflated, deflater, 64 * 1024);
+        private final CRC32 crc = new CRC32();
+        private final byte[] scratch = new byte[10];
+        private long rawLength;
+        private boolean finished;
+
+        private void writeVarLong(long value) {
+            long zigZag = (value << 1) ^ (value >> 63);
+            int length = 0;
+            while ((zigZag & ~0x7fL) != 0) {
+                scratch[length++] = (byte) ((zigZag & 0x7f) | 0x80);
+                zigZag >>>= 7;
+            }
+            scratch[length++] = (byte) zigZag;
+            write(scratch, length);
+        }
+
+        private void writeByte(byte value) {
+            scratch[0] = value;
+            write(scratch, 1);
+        }
+
+        private void write(byte[] bytes, int length) {
+            try {
+                out.write(bytes, 0, length);
+            } catch (IOException e) {
+                throw new IllegalStateException("In-memory deflate failed", e);
+            }
+            crc.update(bytes, 0, length);
+            rawLength += length;
+        }
+
+        private void finish() throws IOException {
+            if (!finished) {
+                out.finish();
+                deflater.end();
+                finished = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.demo.store.cache;
+
+import com.example.demo.config.SellerCacheProperties;
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.repository.SellerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache in front of {@link SellerRepository}. Sellers are cached detached and must be
+ * treated as read-only: writes go through the repository and then {@link #invalidate},
+ * {@link #putAfterCommit} or {@link #removeAfterCommit}.
+ *
+ * <p>Entries only move forward: a seller is never replaced by one with a lower {@code version}, and
+ * a deleted seller is not cached again, so a reader that loaded the row before a write committed
+ * cannot put the old state back.
+ */
+@Component
+public class SellerCache {
+    private final SellerRepository sellerRepository;
+    private final Cache<Long, SellerEntity> sellersById;
+    private final Cache<String, Long> sellerIdsByName;
+    private final Cache<Long, Boolean> missingSellerIds;
+    private final Cache<Long, Boolean> deletedSellerIds;
+
+    public SellerCache(SellerRepository sellerRepository, SellerCacheProperties properties, MeterRegistry meterRegistry) {
+        this.sellerRepository = sellerRepository;
+        this.sellersById = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.sellerIdsByName = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.missingSellerIds = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getNegativeTtl())
+                .recordStats()
+                .build();
+        this.deletedSellerIds = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .build();
+
+        monitor(meterRegistry, sellersById, "sellers.byId");
+        monitor(meterRegistry, sellerIdsByName, "sellers.byName");
+        monitor(meterRegistry, missingSellerIds, "sellers.missing");
+    }
+
+    public Optional<SellerEntity> findById(Long id) {
+        SellerEntity cached = sellersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (missingSellerIds.getIfPresent(id) != null) {
+            return Optional.empty();
+        }
+
+        Optional<SellerEntity> seller = sellerRepository.findById(id);
+        seller.ifPresentOrElse(this::put, () -> missingSellerIds.put(id, Boolean.TRUE));
+        return seller;
+    }
+
+    public Optional<SellerEntity> findByName(String name) {
+        Long id = sellerIdsByName.getIfPresent(name);
+        if (id != null) {
+            Optional<SellerEntity> seller = findById(id);
+            if (seller.isPresent() && name.equals(seller.get().getName())) {
+                return seller;
+            }
+            sellerIdsByName.invalidate(name);
+        }
+
+        Optional<SellerEntity> seller = sellerRepository.findByName(name);
+        seller.ifPresent(this::put);
+        return seller;
+    }
+
+    /**
+     * Cached sellers are served from memory, all misses are loaded with a single query.
+     */
+    public Map<Long, SellerEntity> findAllById(Collection<Long> ids) {
+        Map<Long, SellerEntity> sellers = new HashMap<>(sellersById.getAllPresent(ids));
+
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            if (!sellers.containsKey(id) && missingSellerIds.getIfPresent(id) == null) {
+                misses.add(id);
+            }
+        }
+        if (misses.isEmpty()) {
+            return sellers;
+        }
+
+        sellerRepository.findAllById(misses).forEach(seller -> {
+            put(seller);
+            sellers.put(seller.getId(), seller);
+        });
+        misses.stream()
+                .filter(id -> !sellers.containsKey(id))
+                .forEach(id -> missingSellerIds.put(id, Boolean.TRUE));
+
+        return sellers;
+    }
+
+    /**
+     * Drops the seller now and once more after the surrounding transaction commits, so a reader
+     * that raced the write cannot leave the pre-commit state behind.
+     */
+    public void invalidate(Long id) {
+        evict(id);
+        afterCommit(() -> evict(id));
+    }
+
+    /**
+     * Drops the seller now and caches the saved state once the surrounding transaction commits, or
+     * right away when there is none. Readers never see the uncommitted state.
+     */
+    public void putAfterCommit(SellerEntity seller) {
+        evict(seller.getId());
+        afterCommit(() -> put(seller));
+    }
+
+    /**
+     * Drops the seller now and, once the delete commits, remembers it as deleted so that readers still
+     * holding the row cannot cache it again.
+     */
+    public void removeAfterCommit(Long id) {
+        evict(id);
+        afterCommit(() -> {
+            deletedSellerIds.put(id, Boolean.TRUE);
+            evict(id);
+            missingSellerIds.put(id, Boolean.TRUE);
+        });
+    }
+
+    private void put(SellerEntity seller) {
+        Long id = seller.getId();
+        SellerEntity cached = sellersById.asMap().compute(id, (key, current) ->
+                deletedSellerIds.getIfPresent(key) != null || isNewer(current, seller) ? current : seller);
+        if (cached != seller) {
+            return;
+        }
+        if (seller.getName() != null) {
+            sellerIdsByName.put(seller.getName(), id);
+        }
+        missingSellerIds.invalidate(id);
+    }
+
+    private static boolean isNewer(SellerEntity current, SellerEntity seller) {
+        return current != null && current.getVersion() != null && seller.getVersion() != null
+                && current.getVersion() > seller.getVersion();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void evict(Long id) {
+        SellerEntity previous = sellersById.getIfPresent(id);
+        sellersById.invalidate(id);
+        missingSellerIds.invalidate(id);
+        if (previous != null && previous.getName() != null) {
+            sellerIdsByName.invalidate(previous.getName());
+        }
+    }
+
+    private static void monitor(MeterRegistry meterRegistry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("crm.seller.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("crm.seller.cache.miss.ratio", cache, c -> c.stats().missRate())
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+}
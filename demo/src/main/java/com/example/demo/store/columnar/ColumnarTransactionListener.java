@@ -0,0 +1,32 @@
+package com.example.demo.store.columnar;
+
+import com.example.demo.store.entity.TransactionEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity listener of {@link TransactionEntity} that forwards flushed inserts, updates and deletes
+ * to the {@link ColumnarTransactionMirror}. Does nothing when the mirror is disabled.
+ *
+ * <p>Instantiated by Hibernate through Spring, so the mirror is injected like into any bean.
+ */
+public class ColumnarTransactionListener {
+    private final ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror;
+
+    public ColumnarTransactionListener(ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror) {
+        this.columnarTransactionMirror = columnarTransactionMirror;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void saved(TransactionEntity transaction) {
+        columnarTransactionMirror.ifAvailable(mirror -> mirror.recordSaved(transaction));
+    }
+
+    @PostRemove
+    void removed(TransactionEntity transaction) {
+        columnarTransactionMirror.ifAvailable(mirror -> mirror.recordRemoved(transaction));
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.demo.store.columnar;
+
+import com.example.demo.config.ColumnarStoreProperties;
+import com.example.demo.config.PartitionProperties;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.repository.TransactionBulkRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Keeps a {@link ColumnarTransactionStore} in step with {@code transaction}. The store is loaded
+ * in the background once the application is ready; after that, changes made through JPA arrive
+ * from {@link ColumnarTransactionListener} and are applied when their transaction commits.
+ * Writes that bypass JPA must either report their rows ({@link #recordBulkChanges}) or, like CSV
+ * imports, {@link #rebuildInBackground() rebuild} it.
+ *
+ * <p>Until the first load completes, {@link #isReady()} is {@code false} and callers should use
+ * the database instead.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "crm.columnar.enabled", havingValue = "true")
+public class ColumnarTransactionMirror {
+    private static final String LOAD_SQL =
+            "select id, seller_id, amount, payment_type, transaction_date from transaction order by transaction_date";
+
+    private final ColumnarStoreProperties properties;
+    private final PartitionProperties partitionProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ColumnarTransactionStore store;
+
+    /**
+     * Serializes changes with the swap at the end of a rebuild. Non-null while a rebuild is running.
+     */
+    private final Object changeLock = new Object();
+    private List<ColumnarTransactionStore.Change> changesDuringRebuild;
+    private boolean rebuildRequested;
+
+    private volatile boolean ready;
+
+    public ColumnarTransactionMirror(
+            ColumnarStoreProperties properties,
+            PartitionProperties partitionProperties,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.partitionProperties = partitionProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.store = new ColumnarTransactionStore(properties.getInitialCapacity());
+
+        Gauge.builder("crm.columnar.rows", store, ColumnarTransactionStore::size)
+                .description("Transactions held by the in-memory columnar store")
+                .register(meterRegistry);
+        Gauge.builder("crm.columnar.memory", store, ColumnarTransactionStore::getMemoryFootprintBytes)
+                .description("Bytes allocated by the in-memory columnar store")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether the store can answer for ranges starting at {@code from}. Rows of detached
+     * partitions are no longer in {@code transaction}, so ranges reaching before the oldest
+     * retained month are left to the database and its rollup.
+     */
+    public boolean covers(LocalDateTime from) {
+        return ready && ColumnarTransactionStore.toSecond(from) >= retainedFrom();
+    }
+
+    public OptionalLong findMostProductiveSellerId(LocalDateTime from, LocalDateTime to) {
+        return store.findTopSellerByAmount(ColumnarTransactionStore.toSecond(from), ColumnarTransactionStore.toSecond(to));
+    }
+
+    public Optional<ColumnarTransactionStore.Period> findBestWindow(Long sellerId, Duration window) {
+        int windowSeconds = (int) Math.min(Integer.MAX_VALUE, window.getSeconds());
+        return store.findBestWindow(sellerId, windowSeconds, retainedFrom());
+    }
+
+    /**
+     * Like {@link #findBestWindow(Long, Duration)}, ignoring rows before {@code notBefore}, such as
+     * those of months archived since the last load.
+     */
+    public Optional<ColumnarTransactionStore.Period> findBestWindow(Long sellerId, Duration window, LocalDateTime notBefore) {
+        int windowSeconds = (int) Math.min(Integer.MAX_VALUE, window.getSeconds());
+        return store.findBestWindow(sellerId, windowSeconds, Math.max(retainedFrom(), ColumnarTransactionStore.toSecond(notBefore)));
+    }
+
+    public Optional<ColumnarTransactionStore.Period> findBestPeriod(Long sellerId, Duration period) {
+        return store.findBestPeriod(sellerId, Math.toIntExact(period.getSeconds()), retainedFrom());
+    }
+
+    public Optional<ColumnarTransactionStore.Period> findBestPeriod(Long sellerId, Duration period, LocalDateTime notBefore) {
+        return store.findBestPeriod(sellerId, Math.toIntExact(period.getSeconds()),
+                Math.max(retainedFrom(), ColumnarTransactionStore.toSecond(notBefore)));
+    }
+
+    public ColumnarTransactionStore getStore() {
+        return store;
+    }
+
+    void recordSaved(TransactionEntity transaction) {
+        afterCommit(new ColumnarTransactionStore.Change(ColumnarTransactionStore.Row.of(transaction), false));
+    }
+
+    void recordRemoved(TransactionEntity transaction) {
+        afterCommit(new ColumnarTransactionStore.Change(ColumnarTransactionStore.Row.of(transaction), true));
+    }
+
+    /**
+     * Rows changed by {@link TransactionBulkRepository}, which bypasses the entity listener.
+     */
+    public void recordBulkChanges(Collection<TransactionBulkRepository.ChangedRow> rows, boolean removed) {
+        for (TransactionBulkRepository.ChangedRow row : rows) {
+            afterCommit(new ColumnarTransactionStore.Change(new ColumnarTransactionStore.Row(
+                    row.id(),
+                    row.sellerId(),
+                    row.amountMinorUnits(),
+                    ColumnarTransactionStore.toSecond(row.transactionDate()),
+                    ColumnarTransactionStore.toPaymentTypeCode(row.paymentType())
+            ), removed));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread.ofPlatform()
+                .name("columnar-rebuild")
+                .daemon()
+                .start(this::rebuild);
+    }
+
+    /**
+     * Reloads the store from the database. Queries keep using the previous content until the
+     * load completes; changes committed meanwhile are replayed on top of the new content. A
+     * request arriving during a load runs another load afterwards, since the running one may
+     * have missed what prompted it.
+     */
+    public void rebuild() {
+        synchronized (changeLock) {
+            if (changesDuringRebuild != null) {
+                rebuildRequested = true;
+                return;
+            }
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        long startedAt = System.nanoTime();
+        ColumnarTransactionStore.Loader loader = new ColumnarTransactionStore.Loader(properties.getInitialCapacity());
+        try {
+            // PostgreSQL only streams with a fetch size inside a transaction.
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+                        statement.setFetchSize(properties.getFetchSize());
+                        return statement;
+                    },
+                    (RowCallbackHandler) rs -> loader.add(row(rs))));
+        } catch (RuntimeException e) {
+            synchronized (changeLock) {
+                changesDuringRebuild = null;
+                rebuildRequested = false;
+            }
+            log.warn("Loading the columnar transaction store failed", e);
+            return;
+        }
+
+        boolean again;
+        synchronized (changeLock) {
+            store.replace(loader);
+            store.apply(changesDuringRebuild);
+            changesDuringRebuild = null;
+            again = rebuildRequested;
+            rebuildRequested = false;
+        }
+        ready = true;
+
+        log.info("Columnar transaction store loaded {} rows in {} ms, {} MiB",
+                store.size(),
+                Duration.ofNanos(System.nanoTime() - startedAt).toMillis(),
+                store.getMemoryFootprintBytes() >> 20);
+        if (again) {
+            rebuild();
+        }
+    }
+
+    private void afterCommit(ColumnarTransactionStore.Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(change));
+            return;
+        }
+
+        // One synchronization per transaction, so a batch is applied under a single write lock.
+        @SuppressWarnings("unchecked")
+        List<ColumnarTransactionStore.Change> changes =
+                (List<ColumnarTransactionStore.Change>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            List<ColumnarTransactionStore.Change> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ColumnarTransactionMirror.this);
+                }
+            });
+            changes = pending;
+        }
+        changes.add(change);
+    }
+
+    private void apply(List<ColumnarTransactionStore.Change> changes) {
+        synchronized (changeLock) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.addAll(changes);
+            }
+            store.apply(changes);
+        }
+    }
+
+    private int retainedFrom() {
+        int retainMonths = partitionProperties.getRetainMonths();
+        if (retainMonths <= 0) {
+            return Integer.MIN_VALUE;
+        }
+        return ColumnarTransactionStore.toSecond(
+                YearMonth.now().minusMonths(retainMonths - 1L).atDay(1).atStartOfDay());
+    }
+
+    private static ColumnarTransactionStore.Row row(ResultSet rs) throws SQLException {
+        String paymentType = rs.getString(4);
+        return new ColumnarTransactionStore.Row(
+                rs.getLong(1),
+                rs.getLong(2),
+                MinorUnits.ofNullable(rs.getBigDecimal(3)),
+                ColumnarTransactionStore.toSecond(rs.getTimestamp(5).toLocalDateTime()),
+                ColumnarTransactionStore.toPaymentTypeCode(
+                        paymentType == null ? null : TransactionEntity.PaymentType.valueOf(paymentType))
+        );
+    }
+}
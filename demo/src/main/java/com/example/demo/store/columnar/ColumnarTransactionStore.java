@@ -0,0 +1,409 @@
+package com.example.demo.store.columnar;
+
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.money.SellerTotals;
+import com.example.demo.store.projection.TransactionPeriodProjection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Copy of the {@code transaction} table in parallel primitive arrays, ordered by time. One row
+ * costs {@value #BYTES_PER_ROW} bytes: id, seller id and amount in minor units as longs, the
+ * timestamp as an int second since {@link #EPOCH} and the payment type as a byte.
+ *
+ * <p>Timestamps are kept at second resolution, so range bounds are compared on whole seconds.
+ * Queries scan contiguous array ranges without allocating per row; writes append in the common
+ * case, since new transactions are the latest ones.
+ */
+public class ColumnarTransactionStore {
+    public static final LocalDateTime EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+    public static final int BYTES_PER_ROW = 3 * Long.BYTES + Integer.BYTES + Byte.BYTES;
+
+    private static final long EPOCH_SECOND = EPOCH.toEpochSecond(ZoneOffset.UTC);
+    private static final byte NO_PAYMENT_TYPE = -1;
+
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    private long[] ids;
+    private long[] sellerIds;
+    private long[] amounts;
+    private int[] seconds;
+    private byte[] paymentTypes;
+    private int size;
+
+    public ColumnarTransactionStore(int initialCapacity) {
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+        allocate(initialCapacity);
+    }
+
+    public record Row(long id, long sellerId, long amount, int second, byte paymentType) {
+        public static Row of(TransactionEntity transaction) {
+            return new Row(
+                    transaction.getId(),
+                    transaction.getSellerEntity().getId(),
+                    transaction.getAmountMinorUnits() == null ? 0 : transaction.getAmountMinorUnits(),
+                    toSecond(transaction.getTransactionDate()),
+                    toPaymentTypeCode(transaction.getPaymentType())
+            );
+        }
+    }
+
+    /**
+     * A saved or removed row, applied in commit order.
+     */
+    public record Change(Row row, boolean removed) {
+    }
+
+    public record Period(int second, long count, long amount) implements TransactionPeriodProjection {
+        @Override
+        public LocalDateTime getPeriodStart() {
+            return toDateTime(second);
+        }
+
+        @Override
+        public Long getTransactionCount() {
+            return count;
+        }
+
+        @Override
+        public BigDecimal getTotalAmount() {
+            return MinorUnits.toBigDecimal(amount);
+        }
+    }
+
+    /**
+     * Seconds since {@link #EPOCH}, saturated to the int range (about 1932 to 2068).
+     */
+    public static int toSecond(LocalDateTime dateTime) {
+        long second = dateTime.toEpochSecond(ZoneOffset.UTC) - EPOCH_SECOND;
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, second));
+    }
+
+    public static LocalDateTime toDateTime(int second) {
+        return LocalDateTime.ofEpochSecond(EPOCH_SECOND + second, 0, ZoneOffset.UTC);
+    }
+
+    public static byte toPaymentTypeCode(TransactionEntity.PaymentType paymentType) {
+        return paymentType == null ? NO_PAYMENT_TYPE : (byte) paymentType.ordinal();
+    }
+
+    public int size() {
+        readLock.lock();
+        try {
+            return size;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Bytes held by the column arrays, including spare capacity.
+     */
+    public long getMemoryFootprintBytes() {
+        readLock.lock();
+        try {
+            return (long) ids.length * BYTES_PER_ROW;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole content with rows loaded in time order.
+     */
+    public void replace(Loader loader) {
+        writeLock.lock();
+        try {
+            ids = loader.ids;
+            sellerIds = loader.sellerIds;
+            amounts = loader.amounts;
+            seconds = loader.seconds;
+            paymentTypes = loader.paymentTypes;
+            size = loader.size;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Saved rows replace the row with the same id or are inserted; removing a missing row is a no-op,
+     * so replaying a change twice leaves the same state.
+     */
+    public void apply(Collection<Change> changes) {
+        writeLock.lock();
+        try {
+            for (Change change : changes) {
+                int index = indexOf(change.row().id(), change.row().second());
+                if (index >= 0) {
+                    remove(index);
+                }
+                if (!change.removed()) {
+                    insert(change.row());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Seller with the highest total amount in {@code [fromSecond, toSecond]}; ties go to the lowest seller id.
+     */
+    public OptionalLong findTopSellerByAmount(int fromSecond, int toSecond) {
+        readLock.lock();
+        try {
+            int from = lowerBound(fromSecond);
+            int to = upperBound(toSecond);
+            if (from >= to) {
+                return OptionalLong.empty();
+            }
+
+            SellerTotals totals = new SellerTotals();
+            for (int i = from; i < to; i++) {
+                totals.add(sellerIds[i], amounts[i]);
+            }
+            return totals.topSeller();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Window {@code [start, start + windowSeconds)} opened by one of the seller's transactions at or
+     * after {@code fromSecond} that holds the most transactions; ties go to the earliest window.
+     */
+    public Optional<Period> findBestWindow(long sellerId, int windowSeconds, int fromSecond) {
+        readLock.lock();
+        try {
+            int best = -1;
+            long bestCount = 0;
+            long bestAmount = 0;
+
+            long count = 0;
+            long amount = 0;
+            int from = lowerBound(fromSecond);
+            int head = from;
+            int tail = from;
+            for (int i = from; i < size; i++) {
+                if (sellerIds[i] != sellerId) {
+                    continue;
+                }
+
+                long end = (long) seconds[i] + windowSeconds;
+                for (; head < size && seconds[head] < end; head++) {
+                    if (sellerIds[head] == sellerId) {
+                        count++;
+                        amount += amounts[head];
+                    }
+                }
+                for (; tail < i; tail++) {
+                    if (sellerIds[tail] == sellerId) {
+                        count--;
+                        amount -= amounts[tail];
+                    }
+                }
+
+                if (count > bestCount) {
+                    best = seconds[i];
+                    bestCount = count;
+                    bestAmount = amount;
+                }
+            }
+            return bestCount == 0 ? Optional.empty() : Optional.of(new Period(best, bestCount, bestAmount));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Fixed-length period, aligned to {@link #EPOCH}, with the most transactions of the seller at
+     * or after {@code fromSecond}; ties go to the earliest period.
+     */
+    public Optional<Period> findBestPeriod(long sellerId, int periodSeconds, int fromSecond) {
+        readLock.lock();
+        try {
+            int best = 0;
+            long bestCount = 0;
+            long bestAmount = 0;
+
+            int current = Integer.MIN_VALUE;
+            long count = 0;
+            long amount = 0;
+            for (int i = lowerBound(fromSecond); i < size; i++) {
+                if (sellerIds[i] != sellerId) {
+                    continue;
+                }
+
+                int period = seconds[i] - Math.floorMod(seconds[i], periodSeconds);
+                if (period != current) {
+                    current = period;
+                    count = 0;
+                    amount = 0;
+                }
+                count++;
+                amount += amounts[i];
+
+                if (count > bestCount) {
+                    best = current;
+                    bestCount = count;
+                    bestAmount = amount;
+                }
+            }
+            return bestCount == 0 ? Optional.empty() : Optional.of(new Period(best, bestCount, bestAmount));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        sellerIds = new long[capacity];
+        amounts = new long[capacity];
+        seconds = new int[capacity];
+        paymentTypes = new byte[capacity];
+    }
+
+    /**
+     * First index whose second is not before {@code second}.
+     */
+    private int lowerBound(int second) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (seconds[mid] < second) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First index whose second is after {@code second}.
+     */
+    private int upperBound(int second) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (seconds[mid] <= second) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int indexOf(long id, int second) {
+        for (int i = lowerBound(second); i < size && seconds[i] == second; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(Row row) {
+        if (size == ids.length) {
+            grow();
+        }
+
+        int index = size;
+        if (size > 0 && seconds[size - 1] > row.second()) {
+            index = upperBound(row.second());
+            int moved = size - index;
+            System.arraycopy(ids, index, ids, index + 1, moved);
+            System.arraycopy(sellerIds, index, sellerIds, index + 1, moved);
+            System.arraycopy(amounts, index, amounts, index + 1, moved);
+            System.arraycopy(seconds, index, seconds, index + 1, moved);
+            System.arraycopy(paymentTypes, index, paymentTypes, index + 1, moved);
+        }
+
+        ids[index] = row.id();
+        sellerIds[index] = row.sellerId();
+        amounts[index] = row.amount();
+        seconds[index] = row.second();
+        paymentTypes[index] = row.paymentType();
+        size++;
+    }
+
+    private void remove(int index) {
+        int moved = size - index - 1;
+        System.arraycopy(ids, index + 1, ids, index, moved);
+        System.arraycopy(sellerIds, index + 1, sellerIds, index, moved);
+        System.arraycopy(amounts, index + 1, amounts, index, moved);
+        System.arraycopy(seconds, index + 1, seconds, index, moved);
+        System.arraycopy(paymentTypes, index + 1, paymentTypes, index, moved);
+        size--;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        sellerIds = Arrays.copyOf(sellerIds, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        seconds = Arrays.copyOf(seconds, capacity);
+        paymentTypes = Arrays.copyOf(paymentTypes, capacity);
+    }
+
+    /**
+     * Collects rows for {@link #replace} without holding the store's lock, so queries keep running
+     * on the previous content while a reload streams in.
+     */
+    public static class Loader {
+        private long[] ids;
+        private long[] sellerIds;
+        private long[] amounts;
+        private int[] seconds;
+        private byte[] paymentTypes;
+        private int size;
+
+        public Loader(int initialCapacity) {
+            ids = new long[initialCapacity];
+            sellerIds = new long[initialCapacity];
+            amounts = new long[initialCapacity];
+            seconds = new int[initialCapacity];
+            paymentTypes = new byte[initialCapacity];
+        }
+
+        public void add(Row row) {
+            if (size > 0 && seconds[size - 1] > row.second()) {
+                throw new IllegalArgumentException("Rows must be added in time order");
+            }
+            if (size == ids.length) {
+                int capacity = Math.max(16, ids.length + (ids.length >> 1));
+                ids = Arrays.copyOf(ids, capacity);
+                sellerIds = Arrays.copyOf(sellerIds, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                seconds = Arrays.copyOf(seconds, capacity);
+                paymentTypes = Arrays.copyOf(paymentTypes, capacity);
+            }
+
+            ids[size] = row.id();
+            sellerIds[size] = row.sellerId();
+            amounts[size] = row.amount();
+            seconds[size] = row.second();
+            paymentTypes[size] = row.paymentType();
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.store.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "seller_daily_stats", indexes = {
+        @Index(name = "idx_seller_daily_stats_date_seller", columnList = "stats_date, seller_id")
+})
+@IdClass(SellerDailyStatsEntity.Key.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerDailyStatsEntity {
+    @Id
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Id
+    @Column(name = "stats_date")
+    private LocalDate statsDate;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private BigDecimal cashAmount;
+
+    @Column(nullable = false)
+    private BigDecimal cardAmount;
+
+    @Column(nullable = false)
+    private BigDecimal transferAmount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long sellerId;
+        private LocalDate statsDate;
+    }
+}
@@ -22,4 +22,7 @@ public class SellerEntity {
 
     @Column(nullable = false)
     private LocalDateTime registrationDate;
+
+    @Version
+    private Long version;
 }
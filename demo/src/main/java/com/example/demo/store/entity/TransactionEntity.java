@@ -1,5 +1,9 @@
 package com.example.demo.store.entity;
 
+import com.example.demo.store.columnar.ColumnarTransactionListener;
+import com.example.demo.store.live.LiveSellerCountersListener;
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.money.MinorUnitsConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -7,22 +11,40 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transaction")
+@EntityListeners({ColumnarTransactionListener.class, LiveSellerCountersListener.class})
+@Table(name = "transaction", indexes = {
+        @Index(name = "idx_transaction_date_seller", columnList = "transaction_date, seller_id"),
+        @Index(name = "idx_transaction_seller_date", columnList = "seller_id, transaction_date"),
+        @Index(name = "idx_transaction_date_id", columnList = "transaction_date, id")
+})
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class TransactionEntity {
+    /**
+     * Ids handed out per {@code transaction_seq} value; writers bypassing Hibernate must use the same
+     * {@code [value - ID_ALLOCATION_SIZE + 1, value]} blocks. {@code db/migration/afterMigrate.sql}
+     * aligns the sequence with the same block size on startup.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seller_id", nullable = false)
     private SellerEntity sellerEntity;
 
-    private BigDecimal amount;
+    /**
+     * Amount in {@link MinorUnits}; {@link #getAmount()} is the {@link BigDecimal} view for the API.
+     */
+    @Convert(converter = MinorUnitsConverter.class)
+    @Column(name = "amount")
+    private Long amountMinorUnits;
 
     @Enumerated(EnumType.STRING)
     private PaymentType paymentType;
@@ -30,6 +52,27 @@ public class TransactionEntity {
     @Column(nullable = false)
     private LocalDateTime transactionDate;
 
+    @Version
+    private Long version;
+
+    public BigDecimal getAmount() {
+        return amountMinorUnits == null ? null : MinorUnits.toBigDecimal(amountMinorUnits);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount does not fit into a {@code long} of minor units
+     */
+    public void setAmount(BigDecimal amount) {
+        this.amountMinorUnits = amount == null ? null : MinorUnits.of(amount);
+    }
+
+    public static class TransactionEntityBuilder {
+        public TransactionEntityBuilder amount(BigDecimal amount) {
+            this.amountMinorUnits = amount == null ? null : MinorUnits.of(amount);
+            return this;
+        }
+    }
+
     public enum PaymentType {
         CASH, CARD, TRANSFER
     }
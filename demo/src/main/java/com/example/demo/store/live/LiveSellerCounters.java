@@ -0,0 +1,297 @@
+package com.example.demo.store.live;
+
+import com.example.demo.config.LiveCountersProperties;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.entity.TransactionEntity.PaymentType;
+import com.example.demo.store.repository.SellerLeaderboardRepository.Metric;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Transactions created in the last {@link LiveWindow}s, per seller and payment type, counted in
+ * memory as they commit. Each seller has a ring of buckets per window; the rings are guarded by
+ * one of {@code crm.live.stripes} locks chosen by seller id, so concurrent creates for different
+ * sellers rarely wait for each other.
+ *
+ * <p>Top sellers are not found by scanning every seller: {@link SpaceSaving} sketches per window,
+ * metric and payment type keep the candidates, and only those are ranked by their ring counts.
+ * A window's candidates come from the sketch of the current and of the previous window-long
+ * epoch, which together cover the whole trailing window.
+ *
+ * <p>Only creates through JPA are counted. Imports, bulk changes, updates and deletes are not,
+ * and the counters start empty after a restart.
+ */
+@Component
+public class LiveSellerCounters {
+    private static final PaymentType[] PAYMENT_TYPES = PaymentType.values();
+    /**
+     * Ring slot of transactions without a payment type, after those of the payment types.
+     */
+    private static final int NO_PAYMENT_TYPE = PAYMENT_TYPES.length;
+    private static final int TYPE_SLOTS = PAYMENT_TYPES.length + 1;
+    /**
+     * Sketch filter of all payment types, after those of the single payment types.
+     */
+    private static final int ALL_PAYMENT_TYPES = PAYMENT_TYPES.length;
+    private static final int FILTERS = PAYMENT_TYPES.length + 1;
+    private static final LiveWindow[] WINDOWS = LiveWindow.values();
+
+    private final Clock clock;
+    private final int capacity;
+    private final Object[] stripes;
+    private final Cache<Long, SellerCounters> sellers;
+    private final WindowSketches[] sketches = new WindowSketches[WINDOWS.length];
+
+    public record Entry(long sellerId, long transactionCount, long amountMinorUnits) {
+        public long value(Metric metric) {
+            return metric == Metric.AMOUNT ? amountMinorUnits : transactionCount;
+        }
+    }
+
+    public LiveSellerCounters(LiveCountersProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    LiveSellerCounters(LiveCountersProperties properties, Clock clock) {
+        this.clock = clock;
+        this.capacity = properties.getHeavyHitterCapacity();
+        this.stripes = new Object[Integer.highestOneBit(Math.max(1, properties.getStripes() * 2 - 1))];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        this.sellers = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedSellers())
+                .expireAfterAccess(LiveWindow.ONE_DAY.getDuration())
+                .build();
+        for (LiveWindow window : WINDOWS) {
+            sketches[window.ordinal()] = new WindowSketches(window);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Counts {@code transaction} once the surrounding transaction commits.
+     */
+    void recordCreated(TransactionEntity transaction) {
+        Long amount = transaction.getAmountMinorUnits();
+        Created created = new Created(
+                transaction.getSellerEntity().getId(), transaction.getPaymentType(), amount == null ? 0 : amount);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(created);
+            return;
+        }
+
+        // One synchronization per transaction, so a batch registers a single callback.
+        @SuppressWarnings("unchecked")
+        List<Created> pending = (List<Created>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Created> committed = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, committed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed.forEach(LiveSellerCounters.this::record);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LiveSellerCounters.this);
+                }
+            });
+            pending = committed;
+        }
+        pending.add(created);
+    }
+
+    void record(long sellerId, PaymentType paymentType, long amountMinorUnits) {
+        record(new Created(sellerId, paymentType, amountMinorUnits));
+    }
+
+    /**
+     * The {@code limit} sellers with the highest {@code metric} in {@code window}, highest first,
+     * ties by seller id. Sellers without transactions in the window are left out.
+     *
+     * @throws IllegalArgumentException if {@code limit} is not between 1 and {@link #getCapacity()}
+     */
+    public List<Entry> top(LiveWindow window, Metric metric, Optional<PaymentType> paymentType, int limit) {
+        if (limit < 1 || limit > capacity) {
+            throw new IllegalArgumentException("Limit must be between 1 and %d".formatted(capacity));
+        }
+        long now = clock.instant().getEpochSecond();
+        long index = window.bucketIndex(now);
+        int filter = paymentType.map(Enum::ordinal).orElse(ALL_PAYMENT_TYPES);
+
+        long[] candidates = sketches[window.ordinal()].candidates(now, metric, filter);
+        List<Entry> entries = new ArrayList<>(candidates.length);
+        for (long sellerId : candidates) {
+            SellerCounters counters = sellers.policy().getIfPresentQuietly(sellerId);
+            if (counters == null) {
+                continue;
+            }
+            Entry entry;
+            synchronized (stripe(sellerId)) {
+                entry = counters.sum(sellerId, window, index, filter);
+            }
+            if (entry.transactionCount() > 0) {
+                entries.add(entry);
+            }
+        }
+
+        return entries.stream()
+                .sorted(Comparator.comparingLong((Entry entry) -> entry.value(metric)).reversed()
+                        .thenComparingLong(Entry::sellerId))
+                .limit(limit)
+                .toList();
+    }
+
+    private void record(Created created) {
+        long now = clock.instant().getEpochSecond();
+        int slot = created.paymentType() == null ? NO_PAYMENT_TYPE : created.paymentType().ordinal();
+
+        SellerCounters counters = sellers.get(created.sellerId(), sellerId -> new SellerCounters());
+        synchronized (stripe(created.sellerId())) {
+            for (LiveWindow window : WINDOWS) {
+                counters.add(window, window.bucketIndex(now), slot, created.amountMinorUnits());
+            }
+        }
+        for (WindowSketches windowSketches : sketches) {
+            windowSketches.offer(now, created.sellerId(), slot, created.amountMinorUnits());
+        }
+    }
+
+    private Object stripe(long sellerId) {
+        return stripes[Long.hashCode(sellerId * 0x9E3779B97F4A7C15L) & (stripes.length - 1)];
+    }
+
+    private record Created(long sellerId, PaymentType paymentType, long amountMinorUnits) {
+    }
+
+    /**
+     * Rings of one seller, one per window. Guarded by the seller's stripe.
+     */
+    private static final class SellerCounters {
+        private final long[] lastIndex = new long[WINDOWS.length];
+        private final int[][] counts = new int[WINDOWS.length][];
+        private final long[][] amounts = new long[WINDOWS.length][];
+
+        private SellerCounters() {
+            for (LiveWindow window : WINDOWS) {
+                lastIndex[window.ordinal()] = Long.MIN_VALUE;
+                counts[window.ordinal()] = new int[window.getBuckets() * TYPE_SLOTS];
+                amounts[window.ordinal()] = new long[window.getBuckets() * TYPE_SLOTS];
+            }
+        }
+
+        private void add(LiveWindow window, long index, int slot, long amountMinorUnits) {
+            int w = window.ordinal();
+            int buckets = window.getBuckets();
+            if (lastIndex[w] == Long.MIN_VALUE || index > lastIndex[w]) {
+                // Buckets skipped since the last add still hold a previous lap of the ring.
+                long clearFrom = lastIndex[w] == Long.MIN_VALUE ? index : Math.max(lastIndex[w] + 1, index - buckets + 1);
+                for (long i = clearFrom; i <= index; i++) {
+                    int base = (int) Math.floorMod(i, buckets) * TYPE_SLOTS;
+                    Arrays.fill(counts[w], base, base + TYPE_SLOTS, 0);
+                    Arrays.fill(amounts[w], base, base + TYPE_SLOTS, 0);
+                }
+                lastIndex[w] = index;
+            } else if (index <= lastIndex[w] - buckets) {
+                // Behind the ring after a clock step back; no window reaches that far anymore.
+                return;
+            }
+            int position = (int) Math.floorMod(index, buckets) * TYPE_SLOTS + slot;
+            counts[w][position]++;
+            amounts[w][position] += amountMinorUnits;
+        }
+
+        private Entry sum(long sellerId, LiveWindow window, long index, int filter) {
+            int w = window.ordinal();
+            int buckets = window.getBuckets();
+            long count = 0;
+            long amount = 0;
+            if (lastIndex[w] != Long.MIN_VALUE && index - lastIndex[w] < buckets) {
+                long to = Math.min(lastIndex[w], index);
+                for (long i = Math.max(index, lastIndex[w]) - buckets + 1; i <= to; i++) {
+                    int base = (int) Math.floorMod(i, buckets) * TYPE_SLOTS;
+                    int from = filter == ALL_PAYMENT_TYPES ? 0 : filter;
+                    int until = filter == ALL_PAYMENT_TYPES ? TYPE_SLOTS : filter + 1;
+                    for (int slot = from; slot < until; slot++) {
+                        count += counts[w][base + slot];
+                        amount += amounts[w][base + slot];
+                    }
+                }
+            }
+            return new Entry(sellerId, count, amount);
+        }
+    }
+
+    /**
+     * Heavy-hitter sketches of one window, per metric and payment type filter, for the current
+     * and the previous epoch of the window's length.
+     */
+    private final class WindowSketches {
+        private final long epochSeconds;
+        private long epoch = Long.MIN_VALUE;
+        private SpaceSaving[] current = newSketches();
+        private SpaceSaving[] previous = newSketches();
+
+        private WindowSketches(LiveWindow window) {
+            this.epochSeconds = window.getDuration().getSeconds();
+        }
+
+        private synchronized void offer(long now, long sellerId, int slot, long amountMinorUnits) {
+            rotate(now);
+            offer(ALL_PAYMENT_TYPES, sellerId, amountMinorUnits);
+            if (slot != NO_PAYMENT_TYPE) {
+                offer(slot, sellerId, amountMinorUnits);
+            }
+        }
+
+        private void offer(int filter, long sellerId, long amountMinorUnits) {
+            if (amountMinorUnits > 0) {
+                current[Metric.AMOUNT.ordinal() * FILTERS + filter].offer(sellerId, amountMinorUnits);
+            }
+            current[Metric.COUNT.ordinal() * FILTERS + filter].offer(sellerId, 1);
+        }
+
+        private synchronized long[] candidates(long now, Metric metric, int filter) {
+            rotate(now);
+            int sketch = metric.ordinal() * FILTERS + filter;
+            return Stream.concat(current[sketch].keys().stream(), previous[sketch].keys().stream())
+                    .mapToLong(Long::longValue)
+                    .distinct()
+                    .toArray();
+        }
+
+        private void rotate(long now) {
+            long nowEpoch = Math.floorDiv(now, epochSeconds);
+            if (nowEpoch <= epoch) {
+                return;
+            }
+            previous = nowEpoch == epoch + 1 ? current : newSketches();
+            current = newSketches();
+            epoch = nowEpoch;
+        }
+
+        private SpaceSaving[] newSketches() {
+            SpaceSaving[] sketches = new SpaceSaving[Metric.values().length * FILTERS];
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = new SpaceSaving(capacity);
+            }
+            return sketches;
+        }
+    }
+}
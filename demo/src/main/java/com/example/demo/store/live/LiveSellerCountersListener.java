@@ -0,0 +1,25 @@
+package com.example.demo.store.live;
+
+import com.example.demo.store.entity.TransactionEntity;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity listener of {@link TransactionEntity} that counts flushed inserts in the
+ * {@link LiveSellerCounters}. Does nothing where the counters are not part of the context, such
+ * as in repository test slices.
+ *
+ * <p>Instantiated by Hibernate through Spring, so the counters are injected like into any bean.
+ */
+public class LiveSellerCountersListener {
+    private final ObjectProvider<LiveSellerCounters> liveSellerCounters;
+
+    public LiveSellerCountersListener(ObjectProvider<LiveSellerCounters> liveSellerCounters) {
+        this.liveSellerCounters = liveSellerCounters;
+    }
+
+    @PostPersist
+    void created(TransactionEntity transaction) {
+        liveSellerCounters.ifAvailable(counters -> counters.recordCreated(transaction));
+    }
+}
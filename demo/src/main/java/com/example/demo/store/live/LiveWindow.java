@@ -0,0 +1,30 @@
+package com.example.demo.store.live;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Trailing windows kept by {@link LiveSellerCounters}. Each is a ring of equal buckets, so a
+ * window reaches back between {@code duration - bucket} and {@code duration} from now.
+ */
+@Getter
+public enum LiveWindow {
+    FIVE_MINUTES(Duration.ofMinutes(5), 30),
+    ONE_HOUR(Duration.ofHours(1), 30),
+    ONE_DAY(Duration.ofDays(1), 48);
+
+    private final Duration duration;
+    private final int buckets;
+    private final long bucketSeconds;
+
+    LiveWindow(Duration duration, int buckets) {
+        this.duration = duration;
+        this.buckets = buckets;
+        this.bucketSeconds = duration.getSeconds() / buckets;
+    }
+
+    long bucketIndex(long epochSecond) {
+        return Math.floorDiv(epochSecond, bucketSeconds);
+    }
+}
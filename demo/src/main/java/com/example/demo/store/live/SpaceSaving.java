@@ -0,0 +1,57 @@
+package com.example.demo.store.live;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Weighted Space-Saving sketch: monitors at most {@code capacity} keys, and every key whose
+ * weight exceeds {@code 1 / capacity} of the total offered is among them. An unmonitored key
+ * replaces the lightest monitored one and inherits its weight as overestimate, so monitored
+ * weights are upper bounds; callers rank candidates by exact counts of their own.
+ *
+ * <p>Not thread-safe.
+ */
+final class SpaceSaving {
+    private final int capacity;
+    private final Map<Long, long[]> weights;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.weights = HashMap.newHashMap(capacity);
+    }
+
+    void offer(long key, long weight) {
+        long[] monitored = weights.get(key);
+        if (monitored != null) {
+            monitored[0] += weight;
+            return;
+        }
+        if (weights.size() < capacity) {
+            weights.put(key, new long[]{weight});
+            return;
+        }
+
+        // Linear in the capacity, and only paid by keys that are not monitored yet.
+        Long lightestKey = null;
+        long[] lightest = null;
+        for (Map.Entry<Long, long[]> entry : weights.entrySet()) {
+            if (lightest == null || entry.getValue()[0] < lightest[0]) {
+                lightestKey = entry.getKey();
+                lightest = entry.getValue();
+            }
+        }
+        weights.remove(lightestKey);
+        lightest[0] += weight;
+        weights.put(key, lightest);
+    }
+
+    Set<Long> keys() {
+        return weights.keySet();
+    }
+
+    long estimate(long key) {
+        long[] monitored = weights.get(key);
+        return monitored == null ? 0 : monitored[0];
+    }
+}
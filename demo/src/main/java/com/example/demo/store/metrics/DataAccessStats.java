@@ -0,0 +1,57 @@
+package com.example.demo.store.metrics;
+
+/**
+ * Hibernate activity of the current unit of work (one HTTP request), collected by
+ * {@link DataAccessStatsSessionListener} and {@link EntityLoadCountingInterceptor}. Work done
+ * outside of {@link #begin()} / {@link #end()} is not counted.
+ */
+public final class DataAccessStats {
+    private static final ThreadLocal<DataAccessStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entityLoads;
+    private long flushes;
+
+    public static DataAccessStats begin() {
+        DataAccessStats stats = new DataAccessStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared() {
+        DataAccessStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        DataAccessStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entityLoads++;
+        }
+    }
+
+    static void flushed() {
+        DataAccessStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.flushes++;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+}
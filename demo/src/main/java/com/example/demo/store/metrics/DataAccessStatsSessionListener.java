@@ -0,0 +1,19 @@
+package com.example.demo.store.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered for every session through {@code hibernate.session.events.auto}; Hibernate creates
+ * one instance per session.
+ */
+public class DataAccessStatsSessionListener implements SessionEventListener {
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        DataAccessStats.statementPrepared();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        DataAccessStats.flushed();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.store.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts entities hydrated from JDBC results; projections such as {@code TransactionView} are not
+ * entities and do not count.
+ */
+public class EntityLoadCountingInterceptor implements Interceptor {
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        DataAccessStats.entityLoaded();
+        return false;
+    }
+}
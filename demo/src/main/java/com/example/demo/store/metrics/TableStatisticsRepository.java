@@ -0,0 +1,27 @@
+package com.example.demo.store.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class TableStatisticsRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Rows read from user tables by the current transaction so far: tuples returned by sequential
+     * scans plus heap tuples fetched through indexes, summed over every table and partition.
+     * Index-only scans that never visit the heap are not included.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long findRowsReadInTransaction() {
+        Long rows = jdbcTemplate.queryForObject(
+                "select coalesce(sum(seq_tup_read + coalesce(idx_tup_fetch, 0)), 0) from pg_stat_xact_user_tables",
+                Long.class
+        );
+        return rows == null ? 0 : rows;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.store.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a {@code long} count of minor units at the scale of the {@code numeric(38, 2)} amount
+ * columns. Sums stay primitive; {@link BigDecimal} is only created where an amount leaves the
+ * application or comes back from SQL. Arithmetic throws {@link ArithmeticException} on overflow
+ * instead of wrapping.
+ */
+public final class MinorUnits {
+    public static final int SCALE = 2;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Rounds like the amount columns do on insert.
+     *
+     * @throws ArithmeticException if the amount does not fit into a {@code long} of minor units
+     */
+    public static long of(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * {@code null}, as returned by SQL sums over no or only null amounts, counts as zero.
+     */
+    public static long ofNullable(BigDecimal amount) {
+        return amount == null ? 0 : of(amount);
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long add(long left, long right) {
+        return Math.addExact(left, right);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.store.money;
+
+import java.util.OptionalLong;
+
+/**
+ * Seller id to total in minor units, in open-addressing primitive arrays so that adding a row
+ * neither boxes nor allocates. Not thread-safe.
+ */
+public final class SellerTotals {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] totals = new long[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @throws ArithmeticException if the seller's total overflows
+     */
+    public void add(long sellerId, long minorUnits) {
+        int slot = slot(keys, used, sellerId);
+        if (!used[slot]) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+                slot = slot(keys, used, sellerId);
+            }
+            used[slot] = true;
+            keys[slot] = sellerId;
+            size++;
+        }
+        totals[slot] = MinorUnits.add(totals[slot], minorUnits);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Seller with the highest total; ties go to the lowest seller id.
+     */
+    public OptionalLong topSeller() {
+        if (size == 0) {
+            return OptionalLong.empty();
+        }
+
+        long topSeller = 0;
+        long topTotal = Long.MIN_VALUE;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot] && (totals[slot] > topTotal || totals[slot] == topTotal && keys[slot] < topSeller)) {
+                topSeller = keys[slot];
+                topTotal = totals[slot];
+            }
+        }
+        return OptionalLong.of(topSeller);
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldTotals = totals;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        totals = new long[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(keys, used, oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                totals[slot] = oldTotals[i];
+            }
+        }
+    }
+
+    private static int slot(long[] keys, boolean[] used, long sellerId) {
+        int mask = keys.length - 1;
+        int slot = (int) (sellerId * 0x9E3779B97F4A7C15L >>> 32) & mask;
+        while (used[slot] && keys[slot] != sellerId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
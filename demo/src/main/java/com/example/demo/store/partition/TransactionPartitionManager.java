@@ -0,0 +1,146 @@
+package com.example.demo.store.partition;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Creates and detaches the monthly partitions of {@code transaction}. Partitions are named
+ * {@code transaction_yyyy_MM} and cover {@code [first day of month, first day of next month)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionPartitionManager {
+    static final String PARENT_TABLE = "transaction";
+    private static final String PREFIX = PARENT_TABLE + "_";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final long CREATE_LOCK_KEY = 0x7472616e_73616374L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public static String partitionName(YearMonth month) {
+        return PREFIX + SUFFIX_FORMAT.format(month);
+    }
+
+    public Set<YearMonth> findAttachedPartitions() {
+        List<String> names = jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid " +
+                        "where i.inhparent = ?::regclass",
+                String.class,
+                PARENT_TABLE
+        );
+
+        Set<YearMonth> months = new TreeSet<>();
+        names.stream()
+                .map(TransactionPartitionManager::parseMonth)
+                .filter(Objects::nonNull)
+                .forEach(months::add);
+        return months;
+    }
+
+    /**
+     * Creates the missing partitions for every month in {@code [from, to]}.
+     *
+     * <p>Creators are serialised on an advisory lock held until the caller's transaction ends, so a
+     * concurrent import needing the same month finds the partition the other one created instead of
+     * failing on it.
+     *
+     * @return the months whose partition was created
+     * @throws IllegalStateException if the table of a month exists but is detached
+     */
+    @Transactional
+    public List<YearMonth> createPartitions(YearMonth from, YearMonth to) {
+        jdbcTemplate.queryForList("select pg_advisory_xact_lock(?)", CREATE_LOCK_KEY);
+        Set<YearMonth> attached = findAttachedPartitions();
+        List<YearMonth> created = new ArrayList<>();
+
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            if (attached.contains(month)) {
+                continue;
+            }
+            jdbcTemplate.execute("create table if not exists %s partition of %s for values from ('%s') to ('%s')".formatted(
+                    partitionName(month), PARENT_TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+            if (!isAttached(month)) {
+                throw new IllegalStateException("%s exists but is detached from %s; archive or drop it first"
+                        .formatted(partitionName(month), PARENT_TABLE));
+            }
+            created.add(month);
+        }
+
+        return created;
+    }
+
+    /**
+     * Detaches every partition older than {@code cutoff}. The detached tables are kept as they are,
+     * so their rows can still be archived or dropped separately.
+     *
+     * <p>Uses {@code DETACH ... CONCURRENTLY}, which cannot run inside a transaction block.
+     *
+     * @return the names of the detached tables
+     */
+    public List<String> detachPartitionsBefore(YearMonth cutoff) {
+        List<String> detached = new ArrayList<>();
+
+        for (YearMonth month : findAttachedPartitions()) {
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            String name = partitionName(month);
+            jdbcTemplate.execute("alter table %s detach partition %s concurrently".formatted(PARENT_TABLE, name));
+            detached.add(name);
+        }
+
+        return detached;
+    }
+
+    /**
+     * Detaches the partition of {@code month} without {@code CONCURRENTLY}, so it can commit or roll
+     * back together with the rest of the caller's transaction. Takes an exclusive lock on
+     * {@code transaction} until then.
+     */
+    public void detachPartition(YearMonth month) {
+        jdbcTemplate.execute("alter table %s detach partition %s".formatted(PARENT_TABLE, partitionName(month)));
+    }
+
+    /**
+     * Whether the table of {@code month} exists, attached or not.
+     */
+    public boolean partitionTableExists(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select to_regclass(?) is not null", Boolean.class, partitionName(month)));
+    }
+
+    /**
+     * Drops the table of a detached month.
+     */
+    public void dropDetachedPartition(YearMonth month) {
+        jdbcTemplate.execute("drop table if exists %s".formatted(partitionName(month)));
+    }
+
+    private boolean isAttached(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_inherits where inhrelid = to_regclass(?) and inhparent = ?::regclass)",
+                Boolean.class, partitionName(month), PARENT_TABLE));
+    }
+
+    private static YearMonth parseMonth(String tableName) {
+        if (!tableName.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(tableName.substring(PREFIX.length()), SUFFIX_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.store.projection;
+
+import java.math.BigDecimal;
+
+public interface SellerTotalProjection {
+    Long getSellerId();
+
+    BigDecimal getTotalAmount();
+
+    Long getTransactionCount();
+}
@@ -0,0 +1,11 @@
+package com.example.demo.store.projection;
+
+import java.time.LocalDateTime;
+
+public record SellerView(
+        Long id,
+        String name,
+        String contactInfo,
+        LocalDateTime registrationDate
+) {
+}
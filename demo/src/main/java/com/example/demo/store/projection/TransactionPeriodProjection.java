@@ -0,0 +1,12 @@
+package com.example.demo.store.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface TransactionPeriodProjection {
+    LocalDateTime getPeriodStart();
+
+    Long getTransactionCount();
+
+    BigDecimal getTotalAmount();
+}
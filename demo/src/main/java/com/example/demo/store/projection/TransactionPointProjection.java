@@ -0,0 +1,9 @@
+package com.example.demo.store.projection;
+
+import java.time.LocalDateTime;
+
+public interface TransactionPointProjection {
+    LocalDateTime getTransactionDate();
+
+    Long getAmountMinorUnits();
+}
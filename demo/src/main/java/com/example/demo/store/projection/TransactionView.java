@@ -0,0 +1,33 @@
+package com.example.demo.store.projection;
+
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.money.MinorUnits;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of a transaction joined with its seller, selected with a constructor expression
+ * so list reads create neither managed entities nor dirty-checking snapshots.
+ */
+public record TransactionView(
+        Long id,
+        BigDecimal amount,
+        TransactionEntity.PaymentType paymentType,
+        LocalDateTime transactionDate,
+        SellerView seller
+) {
+    public TransactionView(
+            Long id,
+            Long amountMinorUnits,
+            TransactionEntity.PaymentType paymentType,
+            LocalDateTime transactionDate,
+            Long sellerId,
+            String sellerName,
+            String sellerContactInfo,
+            LocalDateTime sellerRegistrationDate
+    ) {
+        this(id, amountMinorUnits == null ? null : MinorUnits.toBigDecimal(amountMinorUnits), paymentType, transactionDate,
+                new SellerView(sellerId, sellerName, sellerContactInfo, sellerRegistrationDate));
+    }
+}
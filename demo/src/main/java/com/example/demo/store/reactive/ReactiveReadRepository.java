@@ -0,0 +1,186 @@
+package com.example.demo.store.reactive;
+
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.projection.SellerView;
+import com.example.demo.store.projection.TransactionView;
+import com.example.demo.store.repository.SellerDailyStatsRepository;
+import com.example.demo.store.repository.TransactionRepository;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking reads over R2DBC, returning the same projections as the JPA repositories. Each
+ * query borrows a pooled connection only until its rows have been received, and rows are
+ * decoded as the subscriber requests them.
+ *
+ * <p>The analytics queries shared with JPA use the same SQL constants, so both paths are planned
+ * identically.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveReadRepository {
+    private static final String SELLER_COLUMNS = "s.id, s.name, s.contact_info, s.registration_date";
+
+    private static final String TRANSACTION_SELECT =
+            "SELECT t.id, t.amount, t.payment_type, t.transaction_date, " + SELLER_COLUMNS + " " +
+                    "FROM transaction t JOIN seller s ON s.id = t.seller_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public record SellerTotal(Long sellerId, BigDecimal totalAmount) {
+    }
+
+    public record Period(LocalDateTime periodStart, Long transactionCount, BigDecimal totalAmount) {
+    }
+
+    public Mono<SellerView> findSellerById(Long id) {
+        return databaseClient.sql("SELECT " + SELLER_COLUMNS + " FROM seller s WHERE s.id = :id")
+                .bind("id", id)
+                .map(row -> sellerView(row, 0))
+                .one();
+    }
+
+    public Flux<SellerView> findSellersFirstPage(int limit) {
+        return databaseClient.sql("SELECT " + SELLER_COLUMNS + " FROM seller s ORDER BY s.id LIMIT :limit")
+                .bind("limit", limit)
+                .map(row -> sellerView(row, 0))
+                .all();
+    }
+
+    public Flux<SellerView> findSellersPageAfter(Long id, int limit) {
+        return databaseClient.sql("SELECT " + SELLER_COLUMNS + " FROM seller s WHERE s.id > :id ORDER BY s.id LIMIT :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(row -> sellerView(row, 0))
+                .all();
+    }
+
+    public Flux<TransactionView> findTransactionsFirstPage(int limit) {
+        return databaseClient.sql(TRANSACTION_SELECT + "ORDER BY t.transaction_date, t.id LIMIT :limit")
+                .bind("limit", limit)
+                .map(ReactiveReadRepository::transactionView)
+                .all();
+    }
+
+    public Flux<TransactionView> findTransactionsPageAfter(LocalDateTime date, Long id, int limit) {
+        return databaseClient.sql(TRANSACTION_SELECT +
+                        "WHERE (t.transaction_date, t.id) > (:date, :id) " +
+                        "ORDER BY t.transaction_date, t.id LIMIT :limit")
+                .bind("date", date)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveReadRepository::transactionView)
+                .all();
+    }
+
+    public Flux<SellerTotal> sumBySellerBetweenDays(LocalDate from, LocalDate to) {
+        return databaseClient.sql("""
+                        SELECT d.seller_id, sum(d.total_amount)
+                        FROM seller_daily_stats d
+                        WHERE d.stats_date BETWEEN :from AND :to
+                        GROUP BY d.seller_id
+                        """)
+                .bind("from", from)
+                .bind("to", to)
+                .map(ReactiveReadRepository::sellerTotal)
+                .all();
+    }
+
+    public Flux<SellerTotal> sumBySellerBetween(LocalDateTime from, LocalDateTime to) {
+        return databaseClient.sql("""
+                        SELECT t.seller_id, sum(t.amount)
+                        FROM transaction t
+                        WHERE t.transaction_date BETWEEN :from AND :to
+                        GROUP BY t.seller_id
+                        """)
+                .bind("from", from)
+                .bind("to", to)
+                .map(ReactiveReadRepository::sellerTotal)
+                .all();
+    }
+
+    public Flux<SellerTotal> sumBySellerFromUntil(LocalDateTime from, LocalDateTime to) {
+        return databaseClient.sql("""
+                        SELECT t.seller_id, sum(t.amount)
+                        FROM transaction t
+                        WHERE t.transaction_date >= :from AND t.transaction_date < :to
+                        GROUP BY t.seller_id
+                        """)
+                .bind("from", from)
+                .bind("to", to)
+                .map(ReactiveReadRepository::sellerTotal)
+                .all();
+    }
+
+    public Flux<SellerView> findSellersWithTotalLessThan(BigDecimal amount, LocalDate from, LocalDate to) {
+        return databaseClient.sql("""
+                        SELECT s.id, s.name, s.contact_info, s.registration_date
+                        FROM seller s
+                        LEFT JOIN seller_daily_stats d ON d.seller_id = s.id AND d.stats_date BETWEEN :from AND :to
+                        GROUP BY s.id
+                        HAVING coalesce(sum(d.total_amount), 0) < :amount
+                        ORDER BY s.id
+                        """)
+                .bind("amount", amount)
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> sellerView(row, 0))
+                .all();
+    }
+
+    public Mono<Period> findBestDailyStatsPeriod(Long sellerId, String unit) {
+        return findPeriod(SellerDailyStatsRepository.BEST_PERIOD_SQL, sellerId, "unit", unit);
+    }
+
+    public Mono<Period> findBestTransactionPeriod(Long sellerId, String unit) {
+        return findPeriod(TransactionRepository.BEST_PERIOD_SQL, sellerId, "unit", unit);
+    }
+
+    public Mono<Period> findBestSlidingWindow(Long sellerId, String window) {
+        return findPeriod(TransactionRepository.BEST_SLIDING_WINDOW_SQL, sellerId, "window", window);
+    }
+
+    private Mono<Period> findPeriod(String sql, Long sellerId, String parameter, String value) {
+        return databaseClient.sql(sql)
+                .bind("sellerId", sellerId)
+                .bind(parameter, value)
+                .map(row -> new Period(
+                        row.get(0, LocalDateTime.class),
+                        row.get(1, Long.class),
+                        row.get(2, BigDecimal.class)))
+                .one();
+    }
+
+    private static SellerTotal sellerTotal(Readable row) {
+        BigDecimal total = row.get(1, BigDecimal.class);
+        return new SellerTotal(row.get(0, Long.class), total == null ? BigDecimal.ZERO : total);
+    }
+
+    private static SellerView sellerView(Readable row, int offset) {
+        return new SellerView(
+                row.get(offset, Long.class),
+                row.get(offset + 1, String.class),
+                row.get(offset + 2, String.class),
+                row.get(offset + 3, LocalDateTime.class)
+        );
+    }
+
+    private static TransactionView transactionView(Readable row) {
+        String paymentType = row.get(2, String.class);
+        return new TransactionView(
+                row.get(0, Long.class),
+                row.get(1, BigDecimal.class),
+                paymentType == null ? null : TransactionEntity.PaymentType.valueOf(paymentType),
+                row.get(3, LocalDateTime.class),
+                sellerView(row, 4)
+        );
+    }
+}
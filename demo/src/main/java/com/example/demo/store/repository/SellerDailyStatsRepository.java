@@ -0,0 +1,117 @@
+package com.example.demo.store.repository;
+
+import com.example.demo.store.entity.SellerDailyStatsEntity;
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.projection.SellerTotalProjection;
+import com.example.demo.store.projection.TransactionPeriodProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SellerDailyStatsRepository extends JpaRepository<SellerDailyStatsEntity, SellerDailyStatsEntity.Key> {
+    String BEST_PERIOD_SQL = """
+            SELECT date_trunc(:unit, CAST(s.stats_date AS timestamp)) AS periodStart,
+                   sum(s.transaction_count) AS transactionCount,
+                   sum(s.total_amount) AS totalAmount
+            FROM seller_daily_stats s
+            WHERE s.seller_id = :sellerId
+            GROUP BY 1
+            ORDER BY 2 DESC, 1
+            LIMIT 1
+            """;
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO seller_daily_stats
+                (seller_id, stats_date, transaction_count, total_amount, cash_amount, card_amount, transfer_amount)
+            VALUES (:sellerId, :statsDate, :count, :total, :cash, :card, :transfer)
+            ON CONFLICT (seller_id, stats_date) DO UPDATE SET
+                transaction_count = seller_daily_stats.transaction_count + EXCLUDED.transaction_count,
+                total_amount      = seller_daily_stats.total_amount + EXCLUDED.total_amount,
+                cash_amount       = seller_daily_stats.cash_amount + EXCLUDED.cash_amount,
+                card_amount       = seller_daily_stats.card_amount + EXCLUDED.card_amount,
+                transfer_amount   = seller_daily_stats.transfer_amount + EXCLUDED.transfer_amount
+            """, nativeQuery = true)
+    void applyDelta(
+            @Param("sellerId") Long sellerId,
+            @Param("statsDate") LocalDate statsDate,
+            @Param("count") long count,
+            @Param("total") BigDecimal total,
+            @Param("cash") BigDecimal cash,
+            @Param("card") BigDecimal card,
+            @Param("transfer") BigDecimal transfer
+    );
+
+    @Modifying
+    @Query("delete from SellerDailyStatsEntity s " +
+            "where s.sellerId = :sellerId and s.statsDate = :statsDate and s.transactionCount <= 0")
+    void deleteIfEmpty(@Param("sellerId") Long sellerId, @Param("statsDate") LocalDate statsDate);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO seller_daily_stats
+                (seller_id, stats_date, transaction_count, total_amount, cash_amount, card_amount, transfer_amount)
+            SELECT t.seller_id,
+                   CAST(t.transaction_date AS date),
+                   count(*),
+                   sum(t.amount),
+                   sum(CASE WHEN t.payment_type = 'CASH' THEN t.amount ELSE 0 END),
+                   sum(CASE WHEN t.payment_type = 'CARD' THEN t.amount ELSE 0 END),
+                   sum(CASE WHEN t.payment_type = 'TRANSFER' THEN t.amount ELSE 0 END)
+            FROM transaction t
+            WHERE NOT EXISTS (SELECT 1 FROM seller_daily_stats)
+            GROUP BY t.seller_id, CAST(t.transaction_date AS date)
+            """, nativeQuery = true)
+    int backfillIfEmpty();
+
+    /**
+     * Adds already inserted transactions to the rollup with one aggregated upsert.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO seller_daily_stats
+                (seller_id, stats_date, transaction_count, total_amount, cash_amount, card_amount, transfer_amount)
+            SELECT t.seller_id,
+                   CAST(t.transaction_date AS date),
+                   count(*),
+                   sum(t.amount),
+                   sum(CASE WHEN t.payment_type = 'CASH' THEN t.amount ELSE 0 END),
+                   sum(CASE WHEN t.payment_type = 'CARD' THEN t.amount ELSE 0 END),
+                   sum(CASE WHEN t.payment_type = 'TRANSFER' THEN t.amount ELSE 0 END)
+            FROM transaction t
+            WHERE t.id IN (:ids)
+            GROUP BY t.seller_id, CAST(t.transaction_date AS date)
+            ON CONFLICT (seller_id, stats_date) DO UPDATE SET
+                transaction_count = seller_daily_stats.transaction_count + EXCLUDED.transaction_count,
+                total_amount      = seller_daily_stats.total_amount + EXCLUDED.total_amount,
+                cash_amount       = seller_daily_stats.cash_amount + EXCLUDED.cash_amount,
+                card_amount       = seller_daily_stats.card_amount + EXCLUDED.card_amount,
+                transfer_amount   = seller_daily_stats.transfer_amount + EXCLUDED.transfer_amount
+            """, nativeQuery = true)
+    int addTransactions(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.sellerId as sellerId, sum(s.totalAmount) as totalAmount, sum(s.transactionCount) as transactionCount " +
+            "from SellerDailyStatsEntity s where s.statsDate between :from and :to group by s.sellerId")
+    List<SellerTotalProjection> sumBySellerBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select s from SellerEntity s " +
+            "left join SellerDailyStatsEntity d on d.sellerId = s.id and d.statsDate between :from and :to " +
+            "group by s.id, s.name, s.contactInfo, s.registrationDate, s.version " +
+            "having coalesce(sum(d.totalAmount), 0) < :amount " +
+            "order by s.id")
+    List<SellerEntity> findSellersWithTotalLessThan(
+            @Param("amount") BigDecimal amount,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query(value = BEST_PERIOD_SQL, nativeQuery = true)
+    Optional<TransactionPeriodProjection> findBestPeriod(@Param("sellerId") Long sellerId, @Param("unit") String unit);
+}
@@ -0,0 +1,116 @@
+package com.example.demo.store.repository;
+
+import com.example.demo.store.projection.SellerView;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Sellers ranked by their totals over a range of days, aggregated from {@code seller_daily_stats}.
+ * Ranking, paging and the limit all happen in SQL, so only one page of rows reaches the
+ * application whatever the number of sellers.
+ *
+ * <p>Ranks are competition ranks: tied sellers share a rank and the next rank skips accordingly
+ * (1, 2, 2, 4). Within a tie, sellers are ordered by id so paging is stable.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SellerLeaderboardRepository {
+    @Getter
+    @RequiredArgsConstructor
+    public enum Metric {
+        AMOUNT("total_amount"),
+        COUNT("transaction_count");
+
+        private final String column;
+    }
+
+    public record Row(long rank, SellerView seller, BigDecimal totalAmount, long transactionCount) {
+        public BigDecimal value(Metric metric) {
+            return metric == Metric.AMOUNT ? totalAmount : BigDecimal.valueOf(transactionCount);
+        }
+    }
+
+    private static final String RANKED = """
+            SELECT r.rank, s.id, s.name, s.contact_info, s.registration_date, r.total_amount, r.transaction_count
+            FROM (
+                SELECT d.seller_id,
+                       sum(d.total_amount) AS total_amount,
+                       sum(d.transaction_count) AS transaction_count,
+                       rank() OVER (ORDER BY sum(d.%1$s) DESC) AS rank
+                FROM seller_daily_stats d
+                WHERE d.stats_date BETWEEN :from AND :to
+                GROUP BY d.seller_id
+            ) r
+            JOIN seller s ON s.id = r.seller_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param afterValue metric value of the last row of the previous page, or {@code null} for the first page
+     * @param afterId    seller id of the last row of the previous page
+     * @param withTies   extend the page with every seller tied with its last row; the next page
+     *                   then starts below that value
+     */
+    public List<Row> findPage(
+            Metric metric,
+            LocalDate from,
+            LocalDate to,
+            BigDecimal afterValue,
+            Long afterId,
+            int limit,
+            boolean withTies
+    ) {
+        String column = "r." + metric.getColumn();
+        StringBuilder sql = new StringBuilder(RANKED.formatted(metric.getColumn()));
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("limit", limit);
+
+        if (afterValue != null) {
+            parameters.addValue("afterValue", afterValue);
+            if (withTies) {
+                sql.append("WHERE ").append(column).append(" < :afterValue\n");
+            } else {
+                parameters.addValue("afterId", afterId);
+                sql.append("WHERE (").append(column).append(" < :afterValue OR (")
+                        .append(column).append(" = :afterValue AND r.seller_id > :afterId))\n");
+            }
+        }
+
+        String query;
+        if (withTies) {
+            // WITH TIES needs the ranking value alone in ORDER BY; re-sort the page by id afterwards.
+            query = "SELECT * FROM (" + sql + "ORDER BY " + column + " DESC FETCH FIRST :limit ROWS WITH TIES) p " +
+                    "ORDER BY p." + metric.getColumn() + " DESC, p.id";
+        } else {
+            query = sql + "ORDER BY " + column + " DESC, r.seller_id LIMIT :limit";
+        }
+
+        return jdbcTemplate.query(query, parameters, SellerLeaderboardRepository::mapRow);
+    }
+
+    private static Row mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Row(
+                rs.getLong(1),
+                new SellerView(
+                        rs.getLong(2),
+                        rs.getString(3),
+                        rs.getString(4),
+                        rs.getTimestamp(5).toLocalDateTime()
+                ),
+                rs.getBigDecimal(6),
+                rs.getLong(7)
+        );
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.demo.store.repository;
 
 import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.projection.SellerView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -10,4 +15,15 @@ public interface SellerRepository extends JpaRepository<SellerEntity, Long> {
     Stream<SellerEntity> streamAllBy();
     Optional<SellerEntity> findByName(String name);
 
+    String VIEW_SELECT = "select new com.example.demo.store.projection.SellerView(" +
+            "s.id, s.name, s.contactInfo, s.registrationDate) from SellerEntity s ";
+
+    @Query(VIEW_SELECT + "order by s.id")
+    List<SellerView> findFirstPage(Pageable pageable);
+
+    @Query(VIEW_SELECT + "where s.id > :id order by s.id")
+    List<SellerView> findPageAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select s.id from SellerEntity s order by s.id")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,68 @@
+package com.example.demo.store.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the per-table change stamps kept by the {@code bump_table_change_stamp} trigger. A stamp
+ * grows with every committed statement that writes the table, so an unchanged stamp means an
+ * unchanged table without reading any of its rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TableChangeStampRepository {
+    public static final String SELLER = "seller";
+    public static final String TRANSACTION = "transaction";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * {@code token} lists the table versions in the order the tables were asked for. There is
+     * deliberately no timestamp: {@code changed_at} is when the writing transaction started, not
+     * when it committed, so it cannot tell a client whether it has seen a change.
+     */
+    public record TableChangeStamp(String token) {
+    }
+
+    public TableChangeStamp find(List<String> tables) {
+        List<Row> rows = jdbcTemplate.query("""
+                        SELECT table_name, sum(version) AS version
+                        FROM table_change_stamp
+                        WHERE table_name IN (:tables)
+                        GROUP BY table_name
+                        """,
+                new MapSqlParameterSource("tables", tables),
+                (rs, rowNum) -> new Row(rs.getString("table_name"), rs.getLong("version")));
+
+        String token = tables.stream()
+                .map(table -> rows.stream()
+                        .filter(row -> row.table().equals(table))
+                        .findFirst()
+                        .map(row -> Long.toString(row.version()))
+                        .orElse("0"))
+                .collect(Collectors.joining("."));
+        return new TableChangeStamp(token);
+    }
+
+    /**
+     * Marks the tables as changed by something the triggers do not see, such as detaching a
+     * partition.
+     */
+    public void touch(Collection<String> tables) {
+        jdbcTemplate.update("""
+                        UPDATE table_change_stamp
+                        SET version = version + 1, changed_at = now()
+                        WHERE table_name IN (:tables) AND slot = 0
+                        """,
+                new MapSqlParameterSource("tables", tables));
+    }
+
+    private record Row(String table, long version) {
+    }
+}
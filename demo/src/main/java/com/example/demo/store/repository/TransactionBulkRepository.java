@@ -0,0 +1,186 @@
+package com.example.demo.store.repository;
+
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.money.MinorUnits;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Set-based UPDATE and DELETE of transactions matching a {@link Criteria}, one chunk per call.
+ * A chunk locks the next {@code limit} matching rows in {@code (transaction_date, id)} order and
+ * changes them in the same statement, so the caller can commit between chunks and no row lock
+ * is held for longer than one chunk. Every changed row comes back with its values before and
+ * after the change, for the rollup and the columnar mirror.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionBulkRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Rows matching every non-null criterion. {@code from} is inclusive, {@code to} exclusive.
+     */
+    public record Criteria(
+            List<Long> ids,
+            Long sellerId,
+            LocalDateTime from,
+            LocalDateTime to,
+            TransactionEntity.PaymentType paymentType
+    ) {
+        public boolean isEmpty() {
+            return ids == null && sellerId == null && from == null && to == null && paymentType == null;
+        }
+    }
+
+    /**
+     * A changed row. For updates, {@code old*} hold the values it had before; for deletes they equal
+     * the current ones.
+     */
+    public record ChangedRow(
+            long id,
+            LocalDateTime transactionDate,
+            long amountMinorUnits,
+            long oldSellerId,
+            TransactionEntity.PaymentType oldPaymentType,
+            long sellerId,
+            TransactionEntity.PaymentType paymentType
+    ) {
+    }
+
+    /**
+     * Re-assigns and/or re-types the next chunk of matching rows after {@code (afterDate, afterId)}.
+     * Rows that already have the new values are skipped rather than rewritten. Bumps
+     * {@code version} like a Hibernate update would.
+     *
+     * @param afterDate {@code null} for the first chunk
+     */
+    public List<ChangedRow> updateChunk(
+            Criteria criteria,
+            Long newSellerId,
+            TransactionEntity.PaymentType newPaymentType,
+            LocalDateTime afterDate,
+            Long afterId,
+            int limit
+    ) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        StringBuilder where = where(criteria, afterDate, afterId, parameters);
+
+        StringBuilder set = new StringBuilder("version = t.version + 1");
+        StringBuilder changed = new StringBuilder();
+        if (newSellerId != null) {
+            parameters.addValue("newSellerId", newSellerId);
+            set.append(", seller_id = :newSellerId");
+            changed.append("seller_id <> :newSellerId");
+        }
+        if (newPaymentType != null) {
+            parameters.addValue("newPaymentType", newPaymentType.name());
+            set.append(", payment_type = :newPaymentType");
+            changed.append(changed.isEmpty() ? "" : " OR ")
+                    .append("payment_type IS DISTINCT FROM :newPaymentType");
+        }
+        where.append(" AND (").append(changed).append(')');
+
+        String sql = """
+                WITH target AS (
+                    SELECT id, transaction_date, seller_id, payment_type
+                    FROM transaction
+                    WHERE %s
+                    ORDER BY transaction_date, id
+                    LIMIT :limit
+                    FOR UPDATE
+                )
+                UPDATE transaction t
+                SET %s
+                FROM target
+                WHERE t.id = target.id AND t.transaction_date = target.transaction_date
+                RETURNING t.id, t.transaction_date, t.amount,
+                          target.seller_id, target.payment_type, t.seller_id, t.payment_type
+                """.formatted(where, set);
+
+        return jdbcTemplate.query(sql, parameters.addValue("limit", limit), TransactionBulkRepository::mapRow);
+    }
+
+    /**
+     * Deletes the next chunk of matching rows after {@code (afterDate, afterId)}. Seeking past the
+     * previous chunk spares every chunk from stepping over the dead index entries of the ones before.
+     *
+     * @param afterDate {@code null} for the first chunk
+     */
+    public List<ChangedRow> deleteChunk(Criteria criteria, LocalDateTime afterDate, Long afterId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        String sql = """
+                WITH target AS (
+                    SELECT id, transaction_date
+                    FROM transaction
+                    WHERE %s
+                    ORDER BY transaction_date, id
+                    LIMIT :limit
+                    FOR UPDATE
+                )
+                DELETE FROM transaction t
+                USING target
+                WHERE t.id = target.id AND t.transaction_date = target.transaction_date
+                RETURNING t.id, t.transaction_date, t.amount,
+                          t.seller_id, t.payment_type, t.seller_id, t.payment_type
+                """.formatted(where(criteria, afterDate, afterId, parameters));
+
+        return jdbcTemplate.query(sql, parameters.addValue("limit", limit), TransactionBulkRepository::mapRow);
+    }
+
+    private static StringBuilder where(
+            Criteria criteria,
+            LocalDateTime afterDate,
+            Long afterId,
+            MapSqlParameterSource parameters
+    ) {
+        StringBuilder where = new StringBuilder("TRUE");
+        if (criteria.ids() != null) {
+            parameters.addValue("ids", criteria.ids());
+            where.append(" AND id IN (:ids)");
+        }
+        if (criteria.sellerId() != null) {
+            parameters.addValue("sellerId", criteria.sellerId());
+            where.append(" AND seller_id = :sellerId");
+        }
+        if (criteria.from() != null) {
+            parameters.addValue("from", criteria.from());
+            where.append(" AND transaction_date >= :from");
+        }
+        if (criteria.to() != null) {
+            parameters.addValue("to", criteria.to());
+            where.append(" AND transaction_date < :to");
+        }
+        if (criteria.paymentType() != null) {
+            parameters.addValue("paymentType", criteria.paymentType().name());
+            where.append(" AND payment_type = :paymentType");
+        }
+        if (afterDate != null) {
+            parameters.addValue("afterDate", afterDate).addValue("afterId", afterId);
+            where.append(" AND (transaction_date, id) > (:afterDate, :afterId)");
+        }
+        return where;
+    }
+
+    private static ChangedRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new ChangedRow(
+                rs.getLong(1),
+                rs.getTimestamp(2).toLocalDateTime(),
+                MinorUnits.ofNullable(rs.getBigDecimal(3)),
+                rs.getLong(4),
+                paymentType(rs.getString(5)),
+                rs.getLong(6),
+                paymentType(rs.getString(7))
+        );
+    }
+
+    private static TransactionEntity.PaymentType paymentType(String name) {
+        return name == null ? null : TransactionEntity.PaymentType.valueOf(name);
+    }
+}
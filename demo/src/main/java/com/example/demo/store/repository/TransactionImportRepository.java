@@ -0,0 +1,136 @@
+package com.example.demo.store.repository;
+
+import com.example.demo.store.entity.TransactionEntity;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Bulk import of transactions through a temporary {@code transaction_import} staging table that is
+ * filled with {@code COPY} and merged into {@code transaction} in one statement. The staging table
+ * lives until the end of the surrounding transaction, so every method must run inside it.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class TransactionImportRepository {
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE transaction_import (
+                line_number      BIGINT       NOT NULL,
+                seller_id        BIGINT       NOT NULL,
+                amount           NUMERIC(38, 2) NOT NULL,
+                payment_type     VARCHAR(255) NOT NULL,
+                transaction_date TIMESTAMP(6) NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING_TABLE =
+            "COPY transaction_import (line_number, seller_id, amount, payment_type, transaction_date) " +
+                    "FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * Numbers the staged rows, reserves ids from {@code transaction_seq} in the same blocks
+     * Hibernate's pooled optimizer uses, inserts the rows and adds them to
+     * {@code seller_daily_stats}. Rows whose seller was deleted after validation are skipped.
+     */
+    private static final String MERGE_STAGING_TABLE = """
+            WITH staged AS (
+                SELECT i.seller_id, i.amount, i.payment_type, i.transaction_date,
+                       row_number() OVER (ORDER BY i.line_number) - 1 AS n
+                FROM transaction_import i
+                WHERE EXISTS (SELECT 1 FROM seller s WHERE s.id = i.seller_id)
+            ), blocks AS (
+                SELECT row_number() OVER () - 1 AS block, last_id
+                FROM (SELECT nextval('transaction_seq') AS last_id
+                      FROM generate_series(1, (SELECT (count(*) + %1$d - 1) / %1$d FROM staged))) reserved
+            ), inserted AS (
+                INSERT INTO transaction (id, seller_id, amount, payment_type, transaction_date)
+                SELECT b.last_id - %1$d + 1 + s.n %% %1$d, s.seller_id, s.amount, s.payment_type, s.transaction_date
+                FROM staged s
+                JOIN blocks b ON b.block = s.n / %1$d
+                RETURNING seller_id, amount, payment_type, transaction_date
+            ), rollup AS (
+                INSERT INTO seller_daily_stats
+                    (seller_id, stats_date, transaction_count, total_amount, cash_amount, card_amount, transfer_amount)
+                SELECT t.seller_id,
+                       CAST(t.transaction_date AS date),
+                       count(*),
+                       sum(t.amount),
+                       sum(CASE WHEN t.payment_type = 'CASH' THEN t.amount ELSE 0 END),
+                       sum(CASE WHEN t.payment_type = 'CARD' THEN t.amount ELSE 0 END),
+                       sum(CASE WHEN t.payment_type = 'TRANSFER' THEN t.amount ELSE 0 END)
+                FROM inserted t
+                GROUP BY t.seller_id, CAST(t.transaction_date AS date)
+                ON CONFLICT (seller_id, stats_date) DO UPDATE SET
+                    transaction_count = seller_daily_stats.transaction_count + EXCLUDED.transaction_count,
+                    total_amount      = seller_daily_stats.total_amount + EXCLUDED.total_amount,
+                    cash_amount       = seller_daily_stats.cash_amount + EXCLUDED.cash_amount,
+                    card_amount       = seller_daily_stats.card_amount + EXCLUDED.card_amount,
+                    transfer_amount   = seller_daily_stats.transfer_amount + EXCLUDED.transfer_amount
+            )
+            SELECT count(*) FROM inserted
+            """.formatted(TransactionEntity.ID_ALLOCATION_SIZE);
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    public record DateRange(LocalDateTime from, LocalDateTime to) {
+    }
+
+    public void createStagingTable() {
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+    }
+
+    /**
+     * Streams {@code csv} into the staging table. Each line must be
+     * {@code line_number,seller_id,amount,payment_type,transaction_date}.
+     *
+     * @return the number of copied rows
+     */
+    public long copyIntoStagingTable(Reader csv) throws IOException, SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_STAGING_TABLE, csv, COPY_BUFFER_SIZE);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    public Optional<DateRange> findStagedDateRange() {
+        return jdbcTemplate.query(
+                "SELECT min(transaction_date), max(transaction_date) FROM transaction_import",
+                rs -> {
+                    rs.next();
+                    Timestamp from = rs.getTimestamp(1);
+                    Timestamp to = rs.getTimestamp(2);
+                    return from == null
+                            ? Optional.empty()
+                            : Optional.of(new DateRange(from.toLocalDateTime(), to.toLocalDateTime()));
+                });
+    }
+
+    /**
+     * @return the number of rows inserted into {@code transaction}
+     */
+    public long mergeStagingTable() {
+        Long inserted = jdbcTemplate.queryForObject(MERGE_STAGING_TABLE, Long.class);
+        return inserted == null ? 0 : inserted;
+    }
+}
@@ -2,8 +2,18 @@ package com.example.demo.store.repository;
 
 import com.example.demo.store.entity.SellerEntity;
 import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.projection.SellerTotalProjection;
+import com.example.demo.store.projection.TransactionPeriodProjection;
+import com.example.demo.store.projection.TransactionPointProjection;
+import com.example.demo.store.projection.TransactionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,7 +22,105 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
+    int EXPORT_FETCH_SIZE = 1000;
+
+    String VIEW_SELECT = "select new com.example.demo.store.projection.TransactionView(" +
+            "t.id, t.amountMinorUnits, t.paymentType, t.transactionDate, s.id, s.name, s.contactInfo, s.registrationDate) " +
+            "from TransactionEntity t join t.sellerEntity s ";
+
+    String BEST_PERIOD_SQL = """
+            SELECT date_trunc(:unit, t.transaction_date) AS periodStart,
+                   count(*) AS transactionCount,
+                   sum(t.amount) AS totalAmount
+            FROM transaction t
+            WHERE t.seller_id = :sellerId
+            GROUP BY 1
+            ORDER BY 2 DESC, 1
+            LIMIT 1
+            """;
+
+    /**
+     * Every transaction opens a candidate window {@code [transaction_date, transaction_date + window)};
+     * the window frame counts what falls into it, so the best window is found in one ordered index scan.
+     */
+    String BEST_SLIDING_WINDOW_SQL = """
+            SELECT w.window_start AS periodStart,
+                   w.transaction_count AS transactionCount,
+                   w.total_amount AS totalAmount
+            FROM (
+                SELECT t.transaction_date AS window_start,
+                       count(*) OVER frame AS transaction_count,
+                       sum(t.amount) OVER frame AS total_amount
+                FROM transaction t
+                WHERE t.seller_id = :sellerId
+                WINDOW frame AS (
+                    ORDER BY t.transaction_date
+                    RANGE BETWEEN CURRENT ROW AND CAST(:window AS interval) - INTERVAL '1 microsecond' FOLLOWING
+                )
+            ) w
+            ORDER BY w.transaction_count DESC, w.window_start
+            LIMIT 1
+            """;
+
+    @EntityGraph(attributePaths = "sellerEntity")
     Stream<TransactionEntity> streamAllBy();
+
+    @EntityGraph(attributePaths = "sellerEntity")
     List<TransactionEntity> findAllBySellerEntity(SellerEntity seller);
+
+    @EntityGraph(attributePaths = "sellerEntity")
     Stream<TransactionEntity> findAllByTransactionDateBetween(LocalDateTime from, LocalDateTime to);
+
+    @EntityGraph(attributePaths = "sellerEntity")
+    Optional<TransactionEntity> findWithSellerById(Long id);
+
+    /**
+     * Server-side cursor over the whole table; only usable inside a read-only transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(VIEW_SELECT + "order by t.id")
+    Stream<TransactionView> streamAllForExport();
+
+    @Query(VIEW_SELECT + "order by t.transactionDate, t.id")
+    List<TransactionView> findFirstPage(Pageable pageable);
+
+    @Query(VIEW_SELECT +
+            "where (t.transactionDate, t.id) > (:date, :id) " +
+            "order by t.transactionDate, t.id")
+    List<TransactionView> findPageAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Native, so the sum stays {@code numeric}; the entity maps the amount to minor units.
+     */
+    @Query(value = """
+            SELECT t.seller_id AS sellerId, sum(t.amount) AS totalAmount, count(*) AS transactionCount
+            FROM transaction t
+            WHERE t.transaction_date BETWEEN :from AND :to
+            GROUP BY t.seller_id
+            """, nativeQuery = true)
+    List<SellerTotalProjection> sumBySellerBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = """
+            SELECT t.seller_id AS sellerId, sum(t.amount) AS totalAmount, count(*) AS transactionCount
+            FROM transaction t
+            WHERE t.transaction_date >= :from AND t.transaction_date < :to
+            GROUP BY t.seller_id
+            """, nativeQuery = true)
+    List<SellerTotalProjection> sumBySellerFromUntil(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select t.transactionDate as transactionDate, t.amountMinorUnits as amountMinorUnits " +
+            "from TransactionEntity t " +
+            "where t.sellerEntity.id = :sellerId and t.transactionDate >= :from and t.transactionDate < :to " +
+            "order by t.transactionDate")
+    List<TransactionPointProjection> findSellerTransactionsFromUntil(
+            @Param("sellerId") Long sellerId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = BEST_PERIOD_SQL, nativeQuery = true)
+    Optional<TransactionPeriodProjection> findBestPeriod(@Param("sellerId") Long sellerId, @Param("unit") String unit);
+
+    @Query(value = BEST_SLIDING_WINDOW_SQL, nativeQuery = true)
+    Optional<TransactionPeriodProjection> findBestSlidingWindow(@Param("sellerId") Long sellerId, @Param("window") String window);
 }
@@ -0,0 +1,277 @@
+package com.example.demo.store.repository;
+
+import com.example.demo.store.money.MinorUnits;
+import com.example.demo.store.sketch.CountMinSketch;
+import com.example.demo.store.sketch.DailySketch;
+import com.example.demo.store.sketch.HyperLogLog;
+import com.example.demo.store.sketch.TDigest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Reads behind transaction summaries over a range of days: exact sums from
+ * {@code seller_daily_stats} and exact quantiles from {@code transaction}, or the mergeable
+ * sketches persisted per day in {@code transaction_daily_sketch} and {@code seller_daily_amount_digest}.
+ * Also builds and persists those sketches.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionSummaryRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public record Totals(long transactionCount, long totalAmountMinorUnits, long activeSellers) {
+    }
+
+    public record SketchedDay(
+            LocalDate date,
+            long transactionCount,
+            long totalAmountMinorUnits,
+            HyperLogLog activeSellers,
+            TDigest amountDigest
+    ) {
+    }
+
+    public record SketchedSellerDay(LocalDate date, TDigest amountDigest, CountMinSketch sellerVolume) {
+    }
+
+    /**
+     * Sums that change with every change to a day's transactions, short of amounts changed in
+     * opposite directions by the same amount.
+     */
+    public record Fingerprint(long transactionCount, long totalAmountMinorUnits, long sellerChecksum) {
+    }
+
+    /**
+     * Exact, archived months included, since {@code seller_daily_stats} keeps them.
+     *
+     * @param sellerId {@code null} for all sellers
+     */
+    public Totals sumBetween(LocalDate from, LocalDate to, Long sellerId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to);
+        String sql = """
+                SELECT coalesce(sum(transaction_count), 0), coalesce(sum(total_amount), 0), count(DISTINCT seller_id)
+                FROM seller_daily_stats
+                WHERE stats_date BETWEEN :from AND :to%s
+                """.formatted(sellerFilter(sellerId, parameters));
+
+        return jdbcTemplate.queryForObject(sql, parameters, (rs, rowNum) -> new Totals(
+                rs.getLong(1), MinorUnits.of(rs.getBigDecimal(2)), rs.getLong(3)));
+    }
+
+    /**
+     * Exact amount {@code quantiles} of the transactions still in the database, each one an
+     * amount that occurs; empty if there are none.
+     *
+     * @param sellerId {@code null} for all sellers
+     */
+    public List<Long> findAmountQuantiles(LocalDate from, LocalDate to, Long sellerId, double[] quantiles) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("from", from.atStartOfDay())
+                .addValue("until", to.plusDays(1).atStartOfDay());
+        String sql = """
+                SELECT percentile_disc(ARRAY[%s]) WITHIN GROUP (ORDER BY amount)
+                FROM transaction
+                WHERE transaction_date >= :from AND transaction_date < :until%s
+                """.formatted(
+                Arrays.stream(quantiles).mapToObj(Double::toString).collect(Collectors.joining(", ")),
+                sellerFilter(sellerId, parameters));
+
+        return jdbcTemplate.queryForObject(sql, parameters, (rs, rowNum) -> {
+            Array amounts = rs.getArray(1);
+            if (amounts == null) {
+                return List.of();
+            }
+            return Arrays.stream((Object[]) amounts.getArray())
+                    .map(amount -> MinorUnits.of((BigDecimal) amount))
+                    .toList();
+        });
+    }
+
+    public List<SketchedDay> findSketchedDays(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        SELECT stats_date, transaction_count, total_amount, active_sellers, amount_digest
+                        FROM transaction_daily_sketch
+                        WHERE stats_date BETWEEN :from AND :to
+                        ORDER BY stats_date
+                        """,
+                Map.of("from", from, "to", to),
+                (rs, rowNum) -> new SketchedDay(
+                        rs.getObject(1, LocalDate.class),
+                        rs.getLong(2),
+                        MinorUnits.of(rs.getBigDecimal(3)),
+                        HyperLogLog.fromBytes(rs.getBytes(4)),
+                        TDigest.fromBytes(rs.getBytes(5))));
+    }
+
+    /**
+     * Days on which {@code sellerId} had transactions when they were sketched.
+     */
+    public List<SketchedSellerDay> findSketchedSellerDays(long sellerId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        SELECT d.stats_date, d.amount_digest, s.seller_volume
+                        FROM seller_daily_amount_digest d
+                        JOIN transaction_daily_sketch s ON s.stats_date = d.stats_date
+                        WHERE d.seller_id = :sellerId AND d.stats_date BETWEEN :from AND :to
+                        ORDER BY d.stats_date
+                        """,
+                Map.of("sellerId", sellerId, "from", from, "to", to),
+                (rs, rowNum) -> new SketchedSellerDay(
+                        rs.getObject(1, LocalDate.class),
+                        TDigest.fromBytes(rs.getBytes(2)),
+                        CountMinSketch.fromBytes(rs.getBytes(3))));
+    }
+
+    /**
+     * Days with transactions in {@code seller_daily_stats} that have not been sketched yet.
+     *
+     * @param sellerId {@code null} for days of any seller
+     */
+    public List<LocalDate> findUnsketchedDays(LocalDate from, LocalDate to, Long sellerId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to);
+        String sql = """
+                SELECT DISTINCT stats_date
+                FROM seller_daily_stats r
+                WHERE stats_date BETWEEN :from AND :to%s
+                  AND NOT EXISTS (SELECT 1 FROM transaction_daily_sketch s WHERE s.stats_date = r.stats_date)
+                ORDER BY stats_date
+                """.formatted(sellerFilter(sellerId, parameters));
+
+        return jdbcTemplate.queryForList(sql, parameters, LocalDate.class);
+    }
+
+    /**
+     * Days before {@code before} that have transactions but no sketch, a sketch whose
+     * {@link Fingerprint} no longer matches {@code seller_daily_stats}, or a sketch but no
+     * transactions anymore.
+     */
+    public List<LocalDate> findDaysToSketch(LocalDate before) {
+        return jdbcTemplate.queryForList("""
+                        SELECT coalesce(r.stats_date, s.stats_date)
+                        FROM (
+                            SELECT stats_date,
+                                   sum(transaction_count) AS transaction_count,
+                                   sum(total_amount) AS total_amount,
+                                   sum(seller_id * transaction_count) AS seller_checksum
+                            FROM seller_daily_stats
+                            WHERE stats_date < :before
+                            GROUP BY stats_date
+                        ) r
+                        FULL JOIN transaction_daily_sketch s ON s.stats_date = r.stats_date
+                        WHERE coalesce(r.stats_date, s.stats_date) < :before
+                          AND (r.stats_date IS NULL OR s.stats_date IS NULL
+                               OR (r.transaction_count, r.total_amount, r.seller_checksum)
+                                  IS DISTINCT FROM (s.transaction_count, s.total_amount, s.seller_checksum))
+                        ORDER BY 1
+                        """,
+                Map.of("before", before),
+                LocalDate.class);
+    }
+
+    public Optional<Fingerprint> findRollupFingerprint(LocalDate date) {
+        return jdbcTemplate.queryForObject("""
+                        SELECT sum(transaction_count), sum(total_amount), sum(seller_id * transaction_count)
+                        FROM seller_daily_stats
+                        WHERE stats_date = :date
+                        """,
+                Map.of("date", date),
+                (rs, rowNum) -> rs.getBigDecimal(1) == null
+                        ? Optional.empty()
+                        : Optional.of(new Fingerprint(
+                        rs.getLong(1), MinorUnits.of(rs.getBigDecimal(2)), rs.getLong(3))));
+    }
+
+    /**
+     * Adds the transactions of the day of {@code sketch} still in the database, streamed
+     * {@code fetchSize} rows at a time, so it has to run inside a transaction.
+     *
+     * @param sellerId {@code null} for the transactions of all sellers
+     */
+    public void addTransactions(DailySketch sketch, Long sellerId, int fetchSize) {
+        String sql = "SELECT seller_id, amount FROM transaction WHERE transaction_date >= ? AND transaction_date < ?"
+                + (sellerId == null ? "" : " AND seller_id = ?");
+        jdbcTemplate.getJdbcOperations().query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql);
+                    statement.setObject(1, sketch.getDate().atStartOfDay());
+                    statement.setObject(2, sketch.getDate().plusDays(1).atStartOfDay());
+                    if (sellerId != null) {
+                        statement.setLong(3, sellerId);
+                    }
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                },
+                (RowCallbackHandler) rs -> sketch.add(rs.getLong(1), MinorUnits.ofNullable(rs.getBigDecimal(2))));
+    }
+
+    /**
+     * Replaces the persisted sketches of the day of {@code sketch}, which has to be built with
+     * seller digests.
+     */
+    public void save(DailySketch sketch) {
+        jdbcTemplate.update("""
+                        INSERT INTO transaction_daily_sketch
+                            (stats_date, transaction_count, total_amount, seller_checksum,
+                             active_sellers, seller_volume, amount_digest)
+                        VALUES (:date, :count, :total, :checksum, :activeSellers, :sellerVolume, :amountDigest)
+                        ON CONFLICT (stats_date) DO UPDATE SET
+                            transaction_count = EXCLUDED.transaction_count,
+                            total_amount      = EXCLUDED.total_amount,
+                            seller_checksum   = EXCLUDED.seller_checksum,
+                            active_sellers    = EXCLUDED.active_sellers,
+                            seller_volume     = EXCLUDED.seller_volume,
+                            amount_digest     = EXCLUDED.amount_digest,
+                            built_at          = now()
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("date", sketch.getDate())
+                        .addValue("count", sketch.getTransactionCount())
+                        .addValue("total", MinorUnits.toBigDecimal(sketch.getTotalAmountMinorUnits()))
+                        .addValue("checksum", sketch.getSellerChecksum())
+                        .addValue("activeSellers", sketch.getActiveSellers().toBytes())
+                        .addValue("sellerVolume", sketch.getSellerVolume().toBytes())
+                        .addValue("amountDigest", sketch.getAmountDigest().toBytes()));
+
+        jdbcTemplate.update("DELETE FROM seller_daily_amount_digest WHERE stats_date = :date",
+                Map.of("date", sketch.getDate()));
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO seller_daily_amount_digest (seller_id, stats_date, amount_digest)
+                        VALUES (:sellerId, :date, :amountDigest)
+                        """,
+                sketch.getSellerDigests().entrySet().stream()
+                        .map(entry -> new MapSqlParameterSource()
+                                .addValue("sellerId", entry.getKey())
+                                .addValue("date", sketch.getDate())
+                                .addValue("amountDigest", entry.getValue().toBytes()))
+                        .toArray(MapSqlParameterSource[]::new));
+    }
+
+    public void delete(LocalDate date) {
+        jdbcTemplate.update("DELETE FROM seller_daily_amount_digest WHERE stats_date = :date", Map.of("date", date));
+        jdbcTemplate.update("DELETE FROM transaction_daily_sketch WHERE stats_date = :date", Map.of("date", date));
+    }
+
+    private static String sellerFilter(Long sellerId, MapSqlParameterSource parameters) {
+        if (sellerId == null) {
+            return "";
+        }
+        parameters.addValue("sellerId", sellerId);
+        return " AND seller_id = :sellerId";
+    }
+}
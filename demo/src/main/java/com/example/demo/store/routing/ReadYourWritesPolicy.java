@@ -0,0 +1,52 @@
+package com.example.demo.store.routing;
+
+import com.example.demo.config.ReplicaProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Remembers which clients committed a write within the last
+ * {@link ReplicaProperties#getReadYourWritesWindow()}; their reads are kept on the primary until
+ * the replica has had time to catch up. The client of the current thread is set per request with
+ * {@link #bindClient(String)}; work without a client (scheduled jobs) always may use the replica.
+ */
+public class ReadYourWritesPolicy {
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesPolicy(ReplicaProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    ReadYourWritesPolicy(ReplicaProperties properties, Ticker ticker) {
+        this.recentWriters = properties.getReadYourWritesWindow().isZero()
+                ? null
+                : Caffeine.newBuilder()
+                        .maximumSize(properties.getMaxTrackedClients())
+                        .expireAfterWrite(properties.getReadYourWritesWindow())
+                        .ticker(ticker)
+                        .build();
+    }
+
+    public static void bindClient(String clientId) {
+        CURRENT_CLIENT.set(clientId);
+    }
+
+    public static void unbindClient() {
+        CURRENT_CLIENT.remove();
+    }
+
+    public boolean mayReadFromReplica() {
+        String client = CURRENT_CLIENT.get();
+        return client == null || recentWriters == null || recentWriters.getIfPresent(client) == null;
+    }
+
+    public void recordWrite() {
+        String client = CURRENT_CLIENT.get();
+        if (client != null && recentWriters != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+}
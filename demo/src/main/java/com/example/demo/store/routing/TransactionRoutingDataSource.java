@@ -0,0 +1,55 @@
+package com.example.demo.store.routing;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections of {@code @Transactional(readOnly = true)} work to the replica and everything
+ * else to the primary.
+ *
+ * <p>The read-only flag is only bound after the transaction manager has begun, so this must sit
+ * behind a {@link LazyConnectionDataSourceProxy} (see {@link #lazy(DataSource, DataSource,
+ * ReadYourWritesPolicy)}), which defers choosing a target until the first statement.
+ */
+public class TransactionRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReadYourWritesPolicy readYourWritesPolicy;
+
+    public TransactionRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesPolicy readYourWritesPolicy) {
+        this.readYourWritesPolicy = readYourWritesPolicy;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public static DataSource lazy(DataSource primary, DataSource replica, ReadYourWritesPolicy readYourWritesPolicy) {
+        return new LazyConnectionDataSourceProxy(new TransactionRoutingDataSource(primary, replica, readYourWritesPolicy));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return readYourWritesPolicy.mayReadFromReplica() ? Target.REPLICA : Target.PRIMARY;
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // A read-write transaction is about to touch the primary; once it commits, the client's
+            // next reads must not go to a replica that may not have it yet.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesPolicy.recordWrite();
+                }
+            });
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.store.seed;
+
+import com.example.demo.SimpleCrmApplication;
+import com.example.demo.config.SeedProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the synthetic dataset when the application is started as {@code SimpleCrmApplication seed}.
+ */
+@Slf4j
+@Component
+@Profile(SimpleCrmApplication.SEED_PROFILE)
+@RequiredArgsConstructor
+public class SeedRunner implements ApplicationRunner {
+    private final SyntheticDataLoader syntheticDataLoader;
+    private final SeedProperties seedProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Seeding {} sellers and {} transactions", seedProperties.getSellers(), seedProperties.getTransactions());
+
+        SyntheticDataLoader.Result result = syntheticDataLoader.load(seedProperties);
+
+        log.info("Seeded {} sellers and {} transactions in {} ({} transactions/s)",
+                result.sellers(), result.transactions(), result.elapsed(), Math.round(result.transactionsPerSecond()));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.store.seed;
+
+import com.example.demo.store.entity.TransactionEntity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates transactions that look like real shop traffic rather than uniform noise:
+ * <ul>
+ *     <li>sellers are picked from a Zipf distribution over a shuffled popularity ranking;</li>
+ *     <li>days are weighted by weekday, by month (December peak, summer dip) and by a steady growth
+ *     trend; hours follow a lunch and evening peak;</li>
+ *     <li>amounts are log-normal, transfers are larger than cash and card payments.</li>
+ * </ul>
+ * The same seed always produces the same sequence.
+ */
+public class SyntheticDataGenerator {
+    private static final double[] WEEKDAY_WEIGHTS = {1.0, 1.0, 1.05, 1.1, 1.35, 1.6, 0.8};
+    private static final double[] MONTH_WEIGHTS = {0.8, 0.8, 0.95, 1.0, 1.0, 0.9, 0.85, 0.85, 1.0, 1.05, 1.3, 1.8};
+    private static final double[] HOUR_WEIGHTS = {
+            0.1, 0.05, 0.05, 0.05, 0.05, 0.1, 0.3, 0.6, 0.9, 1.0, 1.1, 1.4,
+            1.8, 1.7, 1.2, 1.1, 1.2, 1.5, 1.9, 2.0, 1.6, 1.0, 0.5, 0.2
+    };
+    private static final double ANNUAL_GROWTH = 0.3;
+
+    private final SplittableRandom random;
+    private final LocalDate firstDay;
+    private final int[] sellerByRank;
+    private final double[] sellerRankCdf;
+    private final double[] dayCdf;
+    private final double[] hourCdf;
+
+    public SyntheticDataGenerator(int sellerCount, double sellerSkew, LocalDate from, LocalDate to, long seed) {
+        if (sellerCount < 1) {
+            throw new IllegalArgumentException("At least one seller is required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Date range is empty");
+        }
+
+        this.random = new SplittableRandom(seed);
+        this.firstDay = from;
+
+        sellerByRank = new int[sellerCount];
+        for (int i = 0; i < sellerCount; i++) {
+            sellerByRank[i] = i;
+        }
+        for (int i = sellerCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = sellerByRank[i];
+            sellerByRank[i] = sellerByRank[j];
+            sellerByRank[j] = swap;
+        }
+
+        double[] rankWeights = new double[sellerCount];
+        for (int rank = 0; rank < sellerCount; rank++) {
+            rankWeights[rank] = 1 / Math.pow(rank + 1, sellerSkew);
+        }
+        sellerRankCdf = cdf(rankWeights);
+
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        double[] dayWeights = new double[days];
+        for (int day = 0; day < days; day++) {
+            LocalDate date = from.plusDays(day);
+            dayWeights[day] = WEEKDAY_WEIGHTS[date.getDayOfWeek().getValue() - 1]
+                    * MONTH_WEIGHTS[date.getMonthValue() - 1]
+                    * (1 + ANNUAL_GROWTH * day / 365.0);
+        }
+        dayCdf = cdf(dayWeights);
+        hourCdf = cdf(HOUR_WEIGHTS);
+    }
+
+    /**
+     * @return index of the seller in {@code [0, sellerCount)}
+     */
+    public int nextSellerIndex() {
+        return sellerByRank[sample(sellerRankCdf)];
+    }
+
+    public LocalDateTime nextTransactionDate() {
+        return firstDay.plusDays(sample(dayCdf))
+                .atTime(sample(hourCdf), random.nextInt(60), random.nextInt(60));
+    }
+
+    public TransactionEntity.PaymentType nextPaymentType() {
+        double p = random.nextDouble();
+        if (p < 0.6) {
+            return TransactionEntity.PaymentType.CARD;
+        }
+        return p < 0.85 ? TransactionEntity.PaymentType.CASH : TransactionEntity.PaymentType.TRANSFER;
+    }
+
+    /**
+     * Log-normal around a median of 35.00; transfers are three times larger.
+     */
+    public BigDecimal nextAmount(TransactionEntity.PaymentType paymentType) {
+        double amount = 35 * Math.exp(random.nextGaussian() * 0.9);
+        if (paymentType == TransactionEntity.PaymentType.TRANSFER) {
+            amount *= 3;
+        }
+        return BigDecimal.valueOf(Math.max(amount, 0.01)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public String sellerName(int sellerIndex) {
+        return "Seller %06d".formatted(sellerIndex + 1);
+    }
+
+    public String sellerContactInfo(int sellerIndex) {
+        return "seller%06d@example.com".formatted(sellerIndex + 1);
+    }
+
+    private int sample(double[] cdf) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    private static double[] cdf(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo.store.seed;
+
+import com.example.demo.config.SeedProperties;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.partition.TransactionPartitionManager;
+import com.example.demo.store.repository.SellerDailyStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk-loads a {@link SyntheticDataGenerator} dataset with batched JDBC inserts. Each batch commits
+ * together with its {@code seller_daily_stats} delta, so the rollup stays consistent even if
+ * loading is interrupted.
+ */
+@Slf4j
+@Component
+public class SyntheticDataLoader {
+    static final int MAX_BATCH_SIZE = 10_000;
+
+    private static final String INSERT_SELLER =
+            "insert into seller (name, contact_info, registration_date) values (?, ?, ?)";
+    private static final String INSERT_TRANSACTION =
+            "insert into transaction (id, seller_id, amount, payment_type, transaction_date) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SellerDailyStatsRepository sellerDailyStatsRepository;
+    private final TransactionPartitionManager transactionPartitionManager;
+
+    public SyntheticDataLoader(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            SellerDailyStatsRepository sellerDailyStatsRepository,
+            TransactionPartitionManager transactionPartitionManager
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sellerDailyStatsRepository = sellerDailyStatsRepository;
+        this.transactionPartitionManager = transactionPartitionManager;
+    }
+
+    public record Result(int sellers, long transactions, Duration elapsed) {
+        public double transactionsPerSecond() {
+            return transactions * 1000.0 / Math.max(1, elapsed.toMillis());
+        }
+    }
+
+    public Result load(SeedProperties properties) {
+        if (properties.getBatchSize() < 1 || properties.getBatchSize() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("crm.seed.batch-size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        LocalDate to = properties.getTo() != null ? properties.getTo() : LocalDate.now();
+        LocalDate from = properties.getFrom() != null ? properties.getFrom() : to.minusYears(1);
+        long startedAt = System.nanoTime();
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                properties.getSellers(), properties.getSellerSkew(), from, to, properties.getRandomSeed());
+        transactionPartitionManager.createPartitions(YearMonth.from(from), YearMonth.from(to));
+
+        long[] sellerIds = insertSellers(generator, properties.getSellers(), from.atStartOfDay());
+        log.info("Inserted {} sellers", sellerIds.length);
+
+        long loaded = 0;
+        long nextReportAt = 0;
+        while (loaded < properties.getTransactions()) {
+            int batchSize = (int) Math.min(properties.getBatchSize(), properties.getTransactions() - loaded);
+            insertTransactionBatch(generator, sellerIds, batchSize);
+            loaded += batchSize;
+
+            if (loaded >= nextReportAt) {
+                log.info("Inserted {}/{} transactions", loaded, properties.getTransactions());
+                nextReportAt += Math.max(properties.getTransactions() / 20, properties.getBatchSize());
+            }
+        }
+
+        return new Result(sellerIds.length, loaded, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private long[] insertSellers(SyntheticDataGenerator generator, int count, LocalDateTime registrationDate) {
+        return transactionTemplate.execute(status -> {
+            Long previousMaxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from seller", Long.class);
+
+            List<Object[]> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                rows.add(new Object[]{
+                        generator.sellerName(i),
+                        generator.sellerContactInfo(i),
+                        Timestamp.valueOf(registrationDate)
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_SELLER, rows);
+
+            return jdbcTemplate.queryForList("select id from seller where id > ? order by id", Long.class, previousMaxId)
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .toArray();
+        });
+    }
+
+    private void insertTransactionBatch(SyntheticDataGenerator generator, long[] sellerIds, int batchSize) {
+        List<Long> ids = allocateTransactionIds(batchSize);
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (Long id : ids) {
+            TransactionEntity.PaymentType paymentType = generator.nextPaymentType();
+            BigDecimal amount = generator.nextAmount(paymentType);
+            rows.add(new Object[]{
+                    id,
+                    sellerIds[generator.nextSellerIndex()],
+                    amount,
+                    paymentType.name(),
+                    Timestamp.valueOf(generator.nextTransactionDate())
+            });
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, rows);
+            sellerDailyStatsRepository.addTransactions(ids);
+        });
+    }
+
+    /**
+     * Reserves ids from {@code transaction_seq} in the same blocks Hibernate's pooled optimizer uses,
+     * so seeded rows never collide with rows the application inserts concurrently.
+     */
+    private List<Long> allocateTransactionIds(int count) {
+        int blockSize = TransactionEntity.ID_ALLOCATION_SIZE;
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + blockSize - 1) / blockSize;
+            List<Long> values = jdbcTemplate.queryForList(
+                    "select nextval('transaction_seq') from generate_series(1, ?)", Long.class, blocks);
+            for (Long value : values) {
+                // Hibernate treats a first value below the block size specially; skip it.
+                if (value < blockSize) {
+                    continue;
+                }
+                for (long id = value - blockSize + 1; id <= value && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+}
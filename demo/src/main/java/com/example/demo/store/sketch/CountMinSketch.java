@@ -0,0 +1,85 @@
+package com.example.demo.store.sketch;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Count-min sketch of per-key counts: {@value #DEPTH} rows of {@value #WIDTH} counters. An
+ * estimate never undercounts, and overcounts by more than {@link #errorBound()} with probability
+ * at most {@code e^-DEPTH}, under 2%. Sketches merge by adding counters.
+ */
+public final class CountMinSketch {
+    static final int WIDTH = 1024;
+    static final int DEPTH = 4;
+
+    private final long[] counters;
+    private long total;
+
+    public CountMinSketch() {
+        this(new long[WIDTH * DEPTH], 0);
+    }
+
+    private CountMinSketch(long[] counters, long total) {
+        this.counters = counters;
+        this.total = total;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code bytes} were not written by {@link #toBytes()}
+     */
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        if (bytes.length != Long.BYTES * (WIDTH * DEPTH + 1)) {
+            throw new IllegalArgumentException("Not a count-min sketch of %d x %d".formatted(DEPTH, WIDTH));
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long total = buffer.getLong();
+        long[] counters = new long[WIDTH * DEPTH];
+        buffer.asLongBuffer().get(counters);
+        return new CountMinSketch(counters, total);
+    }
+
+    public void add(long key, long count) {
+        long hash = Hashing.mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < DEPTH; row++) {
+            counters[row * WIDTH + Math.floorMod(h1 + row * h2, WIDTH)] += count;
+        }
+        total += count;
+    }
+
+    public void merge(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+
+    public long estimate(long key) {
+        long hash = Hashing.mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters[row * WIDTH + Math.floorMod(h1 + row * h2, WIDTH)]);
+        }
+        return estimate;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * How much an estimate may exceed the true count: {@code e / WIDTH} of everything added.
+     */
+    public long errorBound() {
+        return (long) Math.ceil(Math.E / WIDTH * total);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * (counters.length + 1));
+        buffer.putLong(total);
+        buffer.asLongBuffer().put(counters);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.store.sketch;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sketches of one day of transactions, built by adding its rows: a {@link HyperLogLog} of the
+ * sellers, a {@link CountMinSketch} of amount per seller, and {@link TDigest}s of the amounts,
+ * overall and per seller.
+ *
+ * <p>Per-seller digests are only kept when asked for; a day summarized on the fly never needs them.
+ *
+ * <p>The count, total and seller checksum are exact, and are the same sums {@code seller_daily_stats}
+ * has for the day when the rows were the ones it was built from.
+ */
+@Getter
+public final class DailySketch {
+    private final LocalDate date;
+    private final HyperLogLog activeSellers = new HyperLogLog();
+    private final CountMinSketch sellerVolume = new CountMinSketch();
+    private final TDigest amountDigest = new TDigest();
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, TDigest> sellerDigests;
+    private long transactionCount;
+    private long totalAmountMinorUnits;
+    /**
+     * Sum of the seller id of every row, so moving rows between sellers changes it.
+     */
+    private long sellerChecksum;
+
+    public DailySketch(LocalDate date, boolean withSellerDigests) {
+        this.date = date;
+        this.sellerDigests = withSellerDigests ? new HashMap<>() : null;
+    }
+
+    public void add(long sellerId, long amountMinorUnits) {
+        transactionCount++;
+        totalAmountMinorUnits += amountMinorUnits;
+        sellerChecksum += sellerId;
+        activeSellers.add(sellerId);
+        sellerVolume.add(sellerId, amountMinorUnits);
+        amountDigest.add(amountMinorUnits);
+        if (sellerDigests != null) {
+            sellerDigests.computeIfAbsent(sellerId, id -> new TDigest()).add(amountMinorUnits);
+        }
+    }
+
+    /**
+     * Empty unless built with seller digests.
+     */
+    public Map<Long, TDigest> getSellerDigests() {
+        return sellerDigests == null ? Map.of() : Collections.unmodifiableMap(sellerDigests);
+    }
+
+    public boolean isEmpty() {
+        return transactionCount == 0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.store.sketch;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct counter over {@code long} keys with {@value #PRECISION} bits of register
+ * index: {@value #REGISTERS} one-byte registers, a relative standard error of about 0.8%, and
+ * merging by register-wise maximum. Small cardinalities fall back to linear counting.
+ */
+public final class HyperLogLog {
+    static final int PRECISION = 14;
+    static final int REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code bytes} were not written by {@link #toBytes()}
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length != REGISTERS) {
+            throw new IllegalArgumentException("Not a HyperLogLog of precision " + PRECISION);
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * Relative standard error of {@link #estimate()}.
+     */
+    public static double relativeStandardError() {
+        return 1.04 / Math.sqrt(REGISTERS);
+    }
+
+    public void add(long key) {
+        long hash = Hashing.mix(key);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // The sentinel bit bounds the rank when the remaining bits are all zero.
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        return Arrays.copyOf(registers, REGISTERS);
+    }
+}
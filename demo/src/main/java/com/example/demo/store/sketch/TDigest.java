@@ -0,0 +1,191 @@
+package com.example.demo.store.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Merging t-digest of a value distribution (Dunning and Ertl): values are buffered, then sorted
+ * and folded into centroids whose quantile span shrinks towards both tails, bounded by the
+ * {@code asin} scale function at compression {@value #COMPRESSION}. At most about
+ * {@code pi / 2 * COMPRESSION} centroids are kept however many values are added, and digests
+ * merge by folding one's centroids into the other.
+ *
+ * <p>Not thread-safe.
+ */
+public final class TDigest {
+    static final double COMPRESSION = 200;
+
+    private static final int BUFFER = (int) (5 * COMPRESSION);
+
+    private double[] means = new double[0];
+    private long[] weights = new long[0];
+    private int centroids;
+
+    // Grown up to BUFFER on demand: most per-seller digests of a day only ever hold a few values.
+    private double[] bufferedMeans = new double[8];
+    private long[] bufferedWeights = new long[8];
+    private int buffered;
+
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @throws IllegalArgumentException if {@code bytes} were not written by {@link #toBytes()}
+     */
+    public static TDigest fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < Long.BYTES * 3 + Integer.BYTES) {
+            throw new IllegalArgumentException("Not a t-digest");
+        }
+        TDigest digest = new TDigest();
+        digest.count = buffer.getLong();
+        digest.min = buffer.getDouble();
+        digest.max = buffer.getDouble();
+        int centroids = buffer.getInt();
+        if (centroids < 0 || buffer.remaining() != centroids * (Double.BYTES + Long.BYTES)) {
+            throw new IllegalArgumentException("Not a t-digest");
+        }
+        digest.means = new double[centroids];
+        digest.weights = new long[centroids];
+        for (int i = 0; i < centroids; i++) {
+            digest.means[i] = buffer.getDouble();
+            digest.weights[i] = buffer.getLong();
+        }
+        digest.centroids = centroids;
+        return digest;
+    }
+
+    /**
+     * How far, as a fraction of {@link #getCount()}, the rank of {@link #quantile(double)} may
+     * be off from {@code q}: the quantile span of one centroid at {@code q}.
+     */
+    public static double rankErrorBound(double q) {
+        return Math.min(1, 2 * Math.PI * Math.sqrt(q * (1 - q)) / COMPRESSION);
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * The value below which a fraction {@code q} of the added values lie, interpolated between
+     * centroids; {@code NaN} if nothing was added.
+     *
+     * @throws IllegalArgumentException if {@code q} is not between 0 and 1
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+
+        double rank = q * count;
+        double firstHalf = weights[0] / 2.0;
+        if (rank < firstHalf) {
+            return min + rank / firstHalf * (means[0] - min);
+        }
+        double seen = firstHalf;
+        for (int i = 0; i < centroids - 1; i++) {
+            double between = (weights[i] + weights[i + 1]) / 2.0;
+            if (seen + between > rank) {
+                return means[i] + (rank - seen) / between * (means[i + 1] - means[i]);
+            }
+            seen += between;
+        }
+        double lastHalf = weights[centroids - 1] / 2.0;
+        double last = means[centroids - 1];
+        return Math.min(max, last + (rank - seen) / lastHalf * (max - last));
+    }
+
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(
+                Long.BYTES * 3 + Integer.BYTES + centroids * (Double.BYTES + Long.BYTES));
+        buffer.putLong(count).putDouble(min).putDouble(max).putInt(centroids);
+        for (int i = 0; i < centroids; i++) {
+            buffer.putDouble(means[i]).putLong(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    private void add(double mean, long weight) {
+        if (buffered == BUFFER) {
+            compress();
+        } else if (buffered == bufferedMeans.length) {
+            bufferedMeans = Arrays.copyOf(bufferedMeans, Math.min(BUFFER, buffered * 2));
+            bufferedWeights = Arrays.copyOf(bufferedWeights, bufferedMeans.length);
+        }
+        bufferedMeans[buffered] = mean;
+        bufferedWeights[buffered] = weight;
+        buffered++;
+        count += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int size = centroids + buffered;
+        Integer[] order = new Integer[size];
+        double[] allMeans = Arrays.copyOf(means, size);
+        long[] allWeights = Arrays.copyOf(weights, size);
+        System.arraycopy(bufferedMeans, 0, allMeans, centroids, buffered);
+        System.arraycopy(bufferedWeights, 0, allWeights, centroids, buffered);
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+
+        double[] mergedMeans = new double[size];
+        long[] mergedWeights = new long[size];
+        int merged = 0;
+        mergedMeans[0] = allMeans[order[0]];
+        mergedWeights[0] = allWeights[order[0]];
+        long before = 0;
+        for (int i = 1; i < size; i++) {
+            double mean = allMeans[order[i]];
+            long weight = allWeights[order[i]];
+            long current = mergedWeights[merged];
+            if (scale((double) (before + current + weight) / count) - scale((double) before / count) <= 1) {
+                mergedMeans[merged] += (mean - mergedMeans[merged]) * weight / (current + weight);
+                mergedWeights[merged] = current + weight;
+            } else {
+                before += current;
+                merged++;
+                mergedMeans[merged] = mean;
+                mergedWeights[merged] = weight;
+            }
+        }
+
+        centroids = merged + 1;
+        means = Arrays.copyOf(mergedMeans, centroids);
+        weights = Arrays.copyOf(mergedWeights, centroids);
+        buffered = 0;
+    }
+
+    private static double scale(double q) {
+        return COMPRESSION / (2 * Math.PI) * Math.asin(2 * Math.min(1, q) - 1);
+    }
+}
@@ -0,0 +1,36 @@
+-- Schema as previously generated by hibernate.ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate), fresh ones run it.
+
+CREATE TABLE IF NOT EXISTS seller (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name              VARCHAR(255),
+    contact_info      VARCHAR(255),
+    registration_date TIMESTAMP(6) NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS transaction_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transaction (
+    id               BIGINT NOT NULL,
+    seller_id        BIGINT NOT NULL REFERENCES seller (id),
+    amount           NUMERIC(38, 2),
+    payment_type     VARCHAR(255) CHECK (payment_type IN ('CASH', 'CARD', 'TRANSFER')),
+    transaction_date TIMESTAMP(6) NOT NULL,
+    CONSTRAINT transaction_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_seller_date ON transaction (seller_id, transaction_date);
+CREATE INDEX IF NOT EXISTS idx_transaction_date_id ON transaction (transaction_date, id);
+
+CREATE TABLE IF NOT EXISTS seller_daily_stats (
+    seller_id         BIGINT         NOT NULL,
+    stats_date        DATE           NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    total_amount      NUMERIC(38, 2) NOT NULL,
+    cash_amount       NUMERIC(38, 2) NOT NULL,
+    card_amount       NUMERIC(38, 2) NOT NULL,
+    transfer_amount   NUMERIC(38, 2) NOT NULL,
+    PRIMARY KEY (seller_id, stats_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_seller_daily_stats_date_seller ON seller_daily_stats (stats_date, seller_id);
@@ -0,0 +1,55 @@
+-- Range-partitions transaction by calendar month of transaction_date. Every date-bounded
+-- query then only scans the partitions overlapping its range. Requires PostgreSQL 14+.
+
+-- Databases baselined from ddl-auto may predate transaction_seq.
+CREATE SEQUENCE IF NOT EXISTS transaction_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE transaction RENAME TO transaction_unpartitioned;
+ALTER TABLE transaction_unpartitioned RENAME CONSTRAINT transaction_pkey TO transaction_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_transaction_seller_date;
+DROP INDEX IF EXISTS idx_transaction_date_id;
+
+-- The partition key has to be part of every unique constraint, hence (id, transaction_date).
+-- Ids stay unique because they all come from transaction_seq.
+CREATE TABLE transaction (
+    id               BIGINT       NOT NULL,
+    seller_id        BIGINT       NOT NULL REFERENCES seller (id),
+    amount           NUMERIC(38, 2),
+    payment_type     VARCHAR(255) CHECK (payment_type IN ('CASH', 'CARD', 'TRANSFER')),
+    transaction_date TIMESTAMP(6) NOT NULL,
+    CONSTRAINT transaction_pkey PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+-- Indexes on the parent are created on every partition, including ones attached later.
+CREATE INDEX idx_transaction_date_seller ON transaction (transaction_date, seller_id);
+CREATE INDEX idx_transaction_seller_date ON transaction (seller_id, transaction_date);
+CREATE INDEX idx_transaction_date_id ON transaction (transaction_date, id);
+
+-- One partition per month from the oldest row up to three months ahead. Later months are
+-- created by TransactionPartitionManager. There is deliberately no DEFAULT partition: an
+-- out-of-range row fails loudly instead of silently defeating pruning.
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR month IN
+        SELECT generate_series(bounds.first_month, bounds.last_month, INTERVAL '1 month')::DATE
+        FROM (SELECT date_trunc('month', LEAST(MIN(transaction_date), now()))                         AS first_month,
+                     date_trunc('month', GREATEST(MAX(transaction_date), now() + INTERVAL '3 months')) AS last_month
+              FROM transaction_unpartitioned) bounds
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF transaction FOR VALUES FROM (%L) TO (%L)',
+                       'transaction_' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+    END LOOP;
+END $$;
+
+INSERT INTO transaction (id, seller_id, amount, payment_type, transaction_date)
+SELECT id, seller_id, amount, payment_type, transaction_date
+FROM transaction_unpartitioned;
+
+-- Rows written before transaction_seq existed used identity ids; move the sequence past them.
+SELECT setval('transaction_seq', GREATEST((SELECT MAX(id) FROM transaction), 0) + 50);
+
+DROP TABLE transaction_unpartitioned;
+
+ANALYZE transaction;
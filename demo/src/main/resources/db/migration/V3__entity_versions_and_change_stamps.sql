@@ -0,0 +1,41 @@
+-- Optimistic-lock versions for seller and transaction, and per-table change stamps that let
+-- list endpoints answer conditional requests without touching the tables themselves.
+
+ALTER TABLE seller ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transaction ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Every table gets CHANGE_STAMP_SLOTS counters and a writer bumps the one picked by its backend
+-- pid, so concurrent writers rarely wait on each other's row lock until commit. The stamp of a
+-- table is the sum of its counters: it only ever grows, and only becomes visible on commit.
+CREATE TABLE table_change_stamp (
+    table_name VARCHAR(63)    NOT NULL,
+    slot       SMALLINT       NOT NULL,
+    version    BIGINT         NOT NULL DEFAULT 0,
+    changed_at TIMESTAMPTZ(3) NOT NULL DEFAULT now(),
+    CONSTRAINT table_change_stamp_pkey PRIMARY KEY (table_name, slot)
+);
+
+INSERT INTO table_change_stamp (table_name, slot)
+SELECT table_name, slot
+FROM unnest(ARRAY ['seller', 'transaction']) AS table_name,
+     generate_series(0, 15) AS slot;
+
+-- Statement-level, so a bulk COPY or multi-row INSERT costs one update, not one per row.
+-- On the partitioned transaction table the trigger fires for statements against the parent.
+CREATE FUNCTION bump_table_change_stamp() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE table_change_stamp
+    SET version = version + 1, changed_at = now()
+    WHERE table_name = TG_TABLE_NAME
+      AND slot = pg_backend_pid() % 16;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER seller_change_stamp
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON seller
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_change_stamp();
+
+CREATE TRIGGER transaction_change_stamp
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON transaction
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_table_change_stamp();
@@ -0,0 +1,26 @@
+-- Mergeable sketches of every finished day, built from its transactions, so approximate summaries
+-- over a range merge one row per day instead of reading the transactions themselves.
+
+-- transaction_count, total_amount and seller_checksum are the day's sums when it was sketched.
+-- They are compared with the same sums over seller_daily_stats to find days changed since.
+CREATE TABLE transaction_daily_sketch (
+    stats_date        DATE           NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    total_amount      NUMERIC(38, 2) NOT NULL,
+    seller_checksum   NUMERIC(38)    NOT NULL,
+    active_sellers    BYTEA          NOT NULL,
+    seller_volume     BYTEA          NOT NULL,
+    amount_digest     BYTEA          NOT NULL,
+    built_at          TIMESTAMPTZ(3) NOT NULL DEFAULT now(),
+    CONSTRAINT transaction_daily_sketch_pkey PRIMARY KEY (stats_date)
+);
+
+-- Written and replaced together with the day's transaction_daily_sketch row.
+CREATE TABLE seller_daily_amount_digest (
+    seller_id     BIGINT NOT NULL,
+    stats_date    DATE   NOT NULL,
+    amount_digest BYTEA  NOT NULL,
+    CONSTRAINT seller_daily_amount_digest_pkey PRIMARY KEY (seller_id, stats_date)
+);
+
+CREATE INDEX idx_seller_daily_amount_digest_date ON seller_daily_amount_digest (stats_date);
@@ -0,0 +1,7 @@
+-- Flyway runs this after every migrate, so on every startup, before Hibernate hands out ids.
+-- Rows inserted without transaction_seq, e.g. through the former identity column under
+-- ddl-auto=update, would otherwise collide with the ids it hands out. Moves the sequence one
+-- allocation block (TransactionEntity.ID_ALLOCATION_SIZE) past the highest id, never back.
+SELECT setval('transaction_seq', bounds.max_id + 50)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM transaction) bounds
+WHERE bounds.max_id + 50 > (SELECT last_value FROM transaction_seq);
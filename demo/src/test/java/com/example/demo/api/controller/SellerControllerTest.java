@@ -3,8 +3,12 @@ package com.example.demo.api.controller;
 import com.example.demo.api.dto.AckDto;
 import com.example.demo.api.dto.SellerDto;
 import com.example.demo.api.factory.SellerDtoFactory;
+import com.example.demo.api.service.ChangeStampService;
+import com.example.demo.api.service.PageCursor;
 import com.example.demo.api.service.SellerService;
 import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.projection.SellerView;
+import com.example.demo.store.repository.TableChangeStampRepository.TableChangeStamp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -15,17 +19,25 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
-import java.util.stream.Stream;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class SellerControllerTest {
+    private static final TableChangeStamp STAMP = new TableChangeStamp("5");
 
     @Mock
     private SellerService sellerService;
 
+    @Mock
+    private ChangeStampService changeStampService;
+
     @Mock
     private SellerDtoFactory sellerDtoFactory;
 
@@ -38,36 +50,80 @@ class SellerControllerTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         mockMvc = MockMvcBuilders.standaloneSetup(sellerController).build();
+        when(changeStampService.readIfModified(any(), any(), any())).thenAnswer(invocation -> {
+            Predicate<TableChangeStamp> notModified = invocation.getArgument(1);
+            Supplier<?> read = invocation.getArgument(2);
+            return notModified.test(STAMP) ? Optional.empty() : Optional.of(read.get());
+        });
     }
 
     @Test
     void fetchSellers_ShouldReturnListOfSellers() throws Exception {
-        SellerEntity sellerEntity = SellerEntity.builder()
-                .id(1L)
-                .name("Seller 1")
-                .contactInfo("contact@example.com")
-                .registrationDate(LocalDateTime.now())
-                .build();
+        SellerView sellerView = new SellerView(1L, "Seller 1", "contact@example.com", LocalDateTime.now());
 
         SellerDto sellerDto = SellerDto.builder()
                 .id(1L)
                 .name("Seller 1")
                 .contactInfo("contact@example.com")
-                .registrationDate(sellerEntity.getRegistrationDate())
+                .registrationDate(sellerView.registrationDate())
                 .build();
 
-        when(sellerService.getAllSellersStream()).thenReturn(Stream.of(sellerEntity));
-        when(sellerDtoFactory.makeSellerDto(sellerEntity)).thenReturn(sellerDto);
+        when(sellerService.getSellersPage(Optional.empty(), PageCursor.DEFAULT_LIMIT)).thenReturn(List.of(sellerView));
+        when(sellerDtoFactory.makeSellerDto(sellerView)).thenReturn(sellerDto);
 
         mockMvc.perform(get(SellerController.FETCH_SELLERS))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1L))
-                .andExpect(jsonPath("$[0].name").value("Seller 1"))
-                .andExpect(jsonPath("$[0].contact_info").value("contact@example.com"))
-                .andExpect(jsonPath("$[0].registration_date").isNotEmpty());
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.items[0].name").value("Seller 1"))
+                .andExpect(jsonPath("$.items[0].contact_info").value("contact@example.com"))
+                .andExpect(jsonPath("$.items[0].registration_date").isNotEmpty())
+                .andExpect(jsonPath("$.next_cursor").doesNotExist())
+                .andExpect(header().string("ETag", "\"sellers.5.l100\""))
+                .andExpect(header().doesNotExist("Last-Modified"));
+
+        verify(sellerService, times(1)).getSellersPage(Optional.empty(), PageCursor.DEFAULT_LIMIT);
+        verify(sellerDtoFactory, times(1)).makeSellerDto(sellerView);
+    }
 
-        verify(sellerService, times(1)).getAllSellersStream();
-        verify(sellerDtoFactory, times(1)).makeSellerDto(sellerEntity);
+    @Test
+    void fetchSellers_ShouldReturnNotModified_WithoutReadingPage_WhenStampIsUnchanged() throws Exception {
+        mockMvc.perform(get(SellerController.FETCH_SELLERS)
+                        .header("If-None-Match", "\"sellers.5.l100\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(sellerService, never()).getSellersPage(any(), anyInt());
+        verifyNoInteractions(sellerDtoFactory);
+    }
+
+    @Test
+    void fetchSellers_ShouldReturnPage_WhenStampHasChanged() throws Exception {
+        when(sellerService.getSellersPage(Optional.empty(), PageCursor.DEFAULT_LIMIT)).thenReturn(List.of());
+
+        mockMvc.perform(get(SellerController.FETCH_SELLERS)
+                        .header("If-None-Match", "\"sellers.4.l100\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"sellers.5.l100\""));
+    }
+
+    @Test
+    void fetchSellers_ShouldReturnNextCursor_WhenPageIsFull() throws Exception {
+        SellerView sellerView = new SellerView(7L, "Seller 7", "contact@example.com", LocalDateTime.now());
+        String cursor = PageCursor.encode(3L);
+
+        when(sellerService.getSellersPage(Optional.of(cursor), 1)).thenReturn(List.of(sellerView));
+        when(sellerDtoFactory.makeSellerDto(sellerView)).thenReturn(SellerDto.builder()
+                .id(7L)
+                .name("Seller 7")
+                .contactInfo("contact@example.com")
+                .build());
+
+        mockMvc.perform(get(SellerController.FETCH_SELLERS)
+                        .param("limit", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7L))
+                .andExpect(jsonPath("$.next_cursor").value(PageCursor.encode(7L)));
     }
 
     @Test
@@ -101,6 +157,22 @@ class SellerControllerTest {
         verify(sellerDtoFactory, times(1)).makeSellerDto(sellerEntity);
     }
 
+    @Test
+    void fetchSellerById_ShouldReturnNotModified_WithoutMapping_WhenVersionIsUnchanged() throws Exception {
+        when(sellerService.getSellerOrThrowException(1L)).thenReturn(SellerEntity.builder()
+                .id(1L)
+                .name("Seller 1")
+                .version(3L)
+                .build());
+
+        mockMvc.perform(get(SellerController.FETCH_SELLER_BY_ID, 1L)
+                        .header("If-None-Match", "\"s1v3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"s1v3\""));
+
+        verifyNoInteractions(sellerDtoFactory);
+    }
+
     @Test
     void createSeller_ShouldReturnCreatedSeller() throws Exception {
         String sellerName = "Seller 1";
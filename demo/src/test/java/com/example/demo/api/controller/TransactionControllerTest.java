@@ -1,24 +1,49 @@
 package com.example.demo.api.controller;
 
 import com.example.demo.api.dto.AckDto;
+import com.example.demo.api.dto.PageDto;
 import com.example.demo.api.dto.SellerDto;
+import com.example.demo.api.dto.TransactionBatchItemDto;
+import com.example.demo.api.dto.TransactionBatchResultDto;
 import com.example.demo.api.dto.TransactionDto;
+import com.example.demo.api.dto.TransactionPeriodDto;
+import com.example.demo.api.exception.seller.SellerNotFoundException;
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
 import com.example.demo.api.factory.SellerDtoFactory;
 import com.example.demo.api.factory.TransactionDtoFactory;
+import com.example.demo.api.ingest.GroupCommitTransactionWriter;
+import com.example.demo.api.service.ChangeStampService;
+import com.example.demo.api.service.PageCursor;
+import com.example.demo.api.service.PeriodGranularity;
+import com.example.demo.api.service.TransactionExportService;
 import com.example.demo.api.service.TransactionService;
 import com.example.demo.store.entity.SellerEntity;
 import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.projection.TransactionView;
+import com.example.demo.store.repository.TableChangeStampRepository.TableChangeStamp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,19 +53,35 @@ class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionExportService transactionExportService;
+
+    @Mock
+    private ObjectProvider<GroupCommitTransactionWriter> groupCommitTransactionWriter;
+
+    @Mock
+    private GroupCommitTransactionWriter writer;
+
     @Mock
     private TransactionDtoFactory transactionDtoFactory;
 
     @Mock
     private SellerDtoFactory sellerDtoFactory;
 
+    @Mock
+    private ChangeStampService changeStampService;
+
     @InjectMocks
     private TransactionController transactionController;
 
     private TransactionEntity transaction;
+    private TransactionView transactionView;
     private SellerEntity seller;
     private TransactionDto transactionDto;
     private SellerDto sellerDto;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ServletWebRequest webRequest;
 
     @BeforeEach
     void setUp() {
@@ -56,21 +97,82 @@ class TransactionControllerTest {
                 .paymentType(TransactionEntity.PaymentType.CARD)
                 .transactionDate(LocalDateTime.now())
                 .build();
+        transactionView = new TransactionView(1L, 10_000L, TransactionEntity.PaymentType.CARD,
+                transaction.getTransactionDate(), 1L, "Seller A", null, null);
 
         transactionDto = new TransactionDto(); // Инициализация полей для TransactionDto
         sellerDto = new SellerDto(); // Инициализация полей для SellerDto
+
+        request = new MockHttpServletRequest("GET", "/");
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
+        TableChangeStamp stamp = new TableChangeStamp("9.2");
+        when(changeStampService.readIfModified(any(), any(), any())).thenAnswer(invocation -> {
+            Predicate<TableChangeStamp> notModified = invocation.getArgument(1);
+            Supplier<?> read = invocation.getArgument(2);
+            return notModified.test(stamp) ? Optional.empty() : Optional.of(read.get());
+        });
     }
 
     @Test
     void fetchTransactions_shouldReturnListOfTransactionDtos() {
-        when(transactionService.getAllTransactionsStream()).thenReturn(Stream.of(transaction));
-        when(transactionDtoFactory.makeTransactionDto(transaction)).thenReturn(transactionDto);
+        when(transactionService.getTransactionsPage(Optional.empty(), 100)).thenReturn(List.of(transactionView));
+        when(transactionDtoFactory.makeTransactionDto(transactionView)).thenReturn(transactionDto);
 
-        List<TransactionDto> result = transactionController.fetchTransactions();
+        PageDto<TransactionDto> result = transactionController.fetchTransactions(100, Optional.empty(), webRequest);
 
-        assertEquals(1, result.size());
-        assertEquals(transactionDto, result.get(0));
-        verify(transactionService).getAllTransactionsStream();
+        assertEquals(1, result.getItems().size());
+        assertEquals(transactionDto, result.getItems().get(0));
+        assertNull(result.getNextCursor());
+        verify(transactionService).getTransactionsPage(Optional.empty(), 100);
+        assertEquals("\"transactions.9.2.l100\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    void fetchTransactions_shouldAnswerNotModified_withoutReadingPage_whenStampIsUnchanged() {
+        request.addHeader("If-None-Match", "\"transactions.9.2.l100\"");
+
+        PageDto<TransactionDto> result = transactionController.fetchTransactions(100, Optional.empty(), webRequest);
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        verify(transactionService, never()).getTransactionsPage(any(), anyInt());
+    }
+
+    @Test
+    void fetchTransactions_shouldReadPage_whenOnlyIfModifiedSinceIsSent() {
+        request.addHeader("If-Modified-Since", "Wed, 01 Jan 2100 00:00:00 GMT");
+        when(transactionService.getTransactionsPage(Optional.empty(), 100)).thenReturn(List.of(transactionView));
+        when(transactionDtoFactory.makeTransactionDto(transactionView)).thenReturn(transactionDto);
+
+        PageDto<TransactionDto> result = transactionController.fetchTransactions(100, Optional.empty(), webRequest);
+
+        assertNotNull(result);
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Last-Modified"));
+    }
+
+    @Test
+    void fetchTransactions_shouldReturnCursorOfLastRow_whenPageIsFull() {
+        when(transactionService.getTransactionsPage(Optional.empty(), 1)).thenReturn(List.of(transactionView));
+        when(transactionDtoFactory.makeTransactionDto(transactionView)).thenReturn(transactionDto);
+
+        PageDto<TransactionDto> result = transactionController.fetchTransactions(1, Optional.empty(), webRequest);
+
+        assertEquals(PageCursor.encode(transactionView.transactionDate(), transactionView.id()), result.getNextCursor());
+    }
+
+    @Test
+    void exportTransactions_shouldStreamNdjsonThroughExportService() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = transactionController.exportTransactions();
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        verifyNoInteractions(transactionExportService);
+
+        OutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        verify(transactionExportService).exportTransactions(outputStream);
     }
 
     @Test
@@ -78,12 +180,40 @@ class TransactionControllerTest {
         when(transactionService.getTransactionOrThrowException(1L)).thenReturn(transaction);
         when(transactionDtoFactory.makeTransactionDto(transaction)).thenReturn(transactionDto);
 
-        TransactionDto result = transactionController.fetchTransactionById(1L);
+        TransactionDto result = transactionController.fetchTransactionById(1L, webRequest);
 
         assertEquals(transactionDto, result);
         verify(transactionService).getTransactionOrThrowException(1L);
     }
 
+    @Test
+    void fetchTransactionById_shouldAnswerNotModified_withoutMapping_whenVersionsAreUnchanged() {
+        seller.setVersion(4L);
+        transaction.setVersion(2L);
+        when(transactionService.getTransactionOrThrowException(1L)).thenReturn(transaction);
+        request.addHeader("If-None-Match", "\"t1v2.s1v4\"");
+
+        TransactionDto result = transactionController.fetchTransactionById(1L, webRequest);
+
+        assertNull(result);
+        assertEquals(304, response.getStatus());
+        verifyNoInteractions(transactionDtoFactory);
+    }
+
+    @Test
+    void fetchTransactionById_shouldReturnTransactionDto_whenSellerVersionChanged() {
+        seller.setVersion(5L);
+        transaction.setVersion(2L);
+        when(transactionService.getTransactionOrThrowException(1L)).thenReturn(transaction);
+        when(transactionDtoFactory.makeTransactionDto(transaction)).thenReturn(transactionDto);
+        request.addHeader("If-None-Match", "\"t1v2.s1v4\"");
+
+        TransactionDto result = transactionController.fetchTransactionById(1L, webRequest);
+
+        assertEquals(transactionDto, result);
+        assertEquals("\"t1v2.s1v5\"", response.getHeader("ETag"));
+    }
+
     @Test
     void createTransaction_shouldReturnTransactionDto_whenCreatedSuccessfully() {
         when(transactionService.createTransaction(1L, BigDecimal.valueOf(100), "CREDIT_CARD")).thenReturn(transaction);
@@ -95,6 +225,36 @@ class TransactionControllerTest {
         verify(transactionService).createTransaction(1L, BigDecimal.valueOf(100), "CREDIT_CARD");
     }
 
+    @Test
+    void createTransaction_shouldGoThroughGroupCommit_whenWriterIsEnabled() {
+        when(groupCommitTransactionWriter.getIfAvailable()).thenReturn(writer);
+        when(writer.write(1L, BigDecimal.valueOf(100), "CARD")).thenReturn(transaction);
+        when(transactionDtoFactory.makeTransactionDto(transaction)).thenReturn(transactionDto);
+
+        TransactionDto result = transactionController.createTransaction(1L, BigDecimal.valueOf(100), "CARD");
+
+        assertEquals(transactionDto, result);
+        verify(transactionService, never()).createTransaction(any(), any(), any());
+    }
+
+    @Test
+    void createTransactions_shouldReportIdsAndErrorsPerRow() {
+        List<TransactionBatchItemDto> items = List.of(new TransactionBatchItemDto(), new TransactionBatchItemDto());
+        when(transactionService.createTransactions(items)).thenReturn(List.of(
+                new TransactionService.BatchRowResult(transaction, null),
+                new TransactionService.BatchRowResult(null, new SellerNotFoundException(9L))
+        ));
+
+        TransactionBatchResultDto result = transactionController.createTransactions(items);
+
+        assertEquals(1, result.getCreatedCount());
+        assertEquals(1, result.getFailedCount());
+        assertEquals(1L, result.getRows().get(0).getId());
+        assertNull(result.getRows().get(0).getError());
+        assertEquals(1, result.getRows().get(1).getIndex());
+        assertEquals("Seller with ID: 9 not found", result.getRows().get(1).getError());
+    }
+
     @Test
     void updateTransaction_shouldReturnUpdatedTransactionDto_whenUpdatedSuccessfully() {
         when(transactionService.updateTransaction(1L, Optional.of(1L), Optional.of(BigDecimal.valueOf(150)), Optional.of("CREDIT_CARD"))).thenReturn(transaction);
@@ -130,24 +290,48 @@ class TransactionControllerTest {
 
     @Test
     void getSellersWithTotalTransactionLessThan_shouldReturnListOfSellerDtos() {
-        when(transactionService.getSellersWithTotalTransactionLessThan(BigDecimal.valueOf(200))).thenReturn(List.of(seller));
+        Optional<LocalDate> from = Optional.of(LocalDate.of(2023, 10, 1));
+        Optional<LocalDate> to = Optional.of(LocalDate.of(2023, 10, 31));
+        when(transactionService.getSellersWithTotalTransactionLessThan(BigDecimal.valueOf(200), from, to)).thenReturn(List.of(seller));
         when(sellerDtoFactory.makeSellerDto(seller)).thenReturn(sellerDto);
 
-        List<SellerDto> result = transactionController.getSellersWithTotalTransactionLessThan(BigDecimal.valueOf(200));
+        List<SellerDto> result = transactionController.getSellersWithTotalTransactionLessThan(BigDecimal.valueOf(200), from, to);
 
         assertEquals(1, result.size());
         assertEquals(sellerDto, result.get(0));
-        verify(transactionService).getSellersWithTotalTransactionLessThan(BigDecimal.valueOf(200));
+        verify(transactionService).getSellersWithTotalTransactionLessThan(BigDecimal.valueOf(200), from, to);
+    }
+
+    @Test
+    void findBestTransactionPeriod_shouldDefaultToDailyGranularity() {
+        TransactionPeriodDto period = TransactionPeriodDto.builder()
+                .from(LocalDateTime.of(2024, 1, 10, 0, 0))
+                .to(LocalDateTime.of(2024, 1, 11, 0, 0))
+                .transactionCount(5L)
+                .totalAmount(BigDecimal.valueOf(500))
+                .build();
+        when(transactionService.findBestTransactionPeriod(1L, PeriodGranularity.DAY)).thenReturn(Optional.of(period));
+
+        TransactionPeriodDto result = transactionController.findBestTransactionPeriod(1L, Optional.empty(), Optional.empty());
+
+        assertEquals(period, result);
+        verify(transactionService).findBestTransactionPeriod(1L, PeriodGranularity.DAY);
     }
 
     @Test
-    void findBestTransactionPeriod_shouldReturnLocalDateTimeArray_whenPeriodExists() {
-        LocalDateTime[] period = {LocalDateTime.now(), LocalDateTime.now().plusDays(1)};
-        when(transactionService.findBestTransactionPeriod(1L)).thenReturn(Optional.of(period));
+    void findBestTransactionPeriod_shouldUseSlidingWindow_whenWindowIsGiven() {
+        when(transactionService.findBestTransactionWindow(1L, Duration.ofDays(7))).thenReturn(Optional.empty());
+
+        TransactionPeriodDto result = transactionController.findBestTransactionPeriod(1L, Optional.empty(), Optional.of(Duration.ofDays(7)));
 
-        LocalDateTime[] result = transactionController.findBestTransactionPeriod(1L);
+        assertNull(result);
+        verify(transactionService).findBestTransactionWindow(1L, Duration.ofDays(7));
+        verify(transactionService, never()).findBestTransactionPeriod(any(), any());
+    }
 
-        assertArrayEquals(period, result);
-        verify(transactionService).findBestTransactionPeriod(1L);
+    @Test
+    void findBestTransactionPeriod_shouldRejectGranularityCombinedWithWindow() {
+        assertThrows(TransactionBadRequestException.class, () -> transactionController.findBestTransactionPeriod(
+                1L, Optional.of(PeriodGranularity.HOUR), Optional.of(Duration.ofHours(2))));
     }
 }
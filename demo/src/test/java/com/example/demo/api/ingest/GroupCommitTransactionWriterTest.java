@@ -0,0 +1,167 @@
+package com.example.demo.api.ingest;
+
+import com.example.demo.api.dto.TransactionBatchItemDto;
+import com.example.demo.api.exception.seller.SellerNotFoundException;
+import com.example.demo.api.exception.transaction.TransactionIngestOverloadedException;
+import com.example.demo.api.service.TransactionService;
+import com.example.demo.config.IngestProperties;
+import com.example.demo.config.ReplicaProperties;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.routing.ReadYourWritesPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class GroupCommitTransactionWriterTest {
+    private TransactionService transactionService;
+    private MeterRegistry meterRegistry;
+    private GroupCommitTransactionWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = mock(TransactionService.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        IngestProperties properties = new IngestProperties();
+        properties.getGroupCommit().setMaxBatchSize(3);
+        properties.getGroupCommit().setMaxDelay(Duration.ofSeconds(5));
+
+        writer = new GroupCommitTransactionWriter(transactionService, properties, meterRegistry,
+                new StaticListableBeanFactory().getBeanProvider(ReadYourWritesPolicy.class));
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void submit_shouldCommitFullGroupInOneBatchAndCompleteEveryCaller() throws Exception {
+        TransactionEntity first = TransactionEntity.builder().id(1L).build();
+        TransactionEntity third = TransactionEntity.builder().id(3L).build();
+        when(transactionService.createTransactions(anyList())).thenReturn(List.of(
+                new TransactionService.BatchRowResult(first, null),
+                new TransactionService.BatchRowResult(null, new SellerNotFoundException(9L)),
+                new TransactionService.BatchRowResult(third, null)
+        ));
+
+        CompletableFuture<TransactionEntity> f1 = writer.submit(1L, BigDecimal.ONE, "CASH");
+        CompletableFuture<TransactionEntity> f2 = writer.submit(9L, BigDecimal.ONE, "CASH");
+        CompletableFuture<TransactionEntity> f3 = writer.submit(1L, BigDecimal.TEN, "CARD");
+
+        assertEquals(1L, f1.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(3L, f3.get(5, TimeUnit.SECONDS).getId());
+        ExecutionException rowError = assertThrows(ExecutionException.class, () -> f2.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SellerNotFoundException.class, rowError.getCause());
+
+        ArgumentCaptor<List<TransactionBatchItemDto>> items = ArgumentCaptor.forClass(List.class);
+        verify(transactionService, times(1)).createTransactions(items.capture());
+        assertEquals(3, items.getValue().size());
+        assertEquals(BigDecimal.TEN, items.getValue().get(2).getAmount());
+        assertEquals(3.0, meterRegistry.get("crm.ingest.batch.size").summary().max());
+    }
+
+    @Test
+    void write_shouldRethrowRowException() {
+        when(transactionService.createTransactions(anyList())).thenReturn(List.of(
+                new TransactionService.BatchRowResult(null, new SellerNotFoundException(9L))));
+        IngestProperties properties = new IngestProperties();
+        properties.getGroupCommit().setMaxBatchSize(1);
+        GroupCommitTransactionWriter singleRowWriter =
+                new GroupCommitTransactionWriter(transactionService, properties, new SimpleMeterRegistry(),
+                        new StaticListableBeanFactory().getBeanProvider(ReadYourWritesPolicy.class));
+        singleRowWriter.start();
+
+        try {
+            assertThrows(SellerNotFoundException.class, () -> singleRowWriter.write(9L, BigDecimal.ONE, "CASH"));
+        } finally {
+            assertDoesNotThrow(singleRowWriter::stop);
+        }
+    }
+
+    @Test
+    void write_shouldRecordWriteForCallersClient_thoughCommitRunsOnWriterThread() throws InterruptedException {
+        when(transactionService.createTransactions(anyList())).thenReturn(List.of(
+                new TransactionService.BatchRowResult(TransactionEntity.builder().id(1L).build(), null)));
+        ReadYourWritesPolicy policy = new ReadYourWritesPolicy(new ReplicaProperties());
+        IngestProperties properties = new IngestProperties();
+        properties.getGroupCommit().setMaxBatchSize(1);
+        GroupCommitTransactionWriter singleRowWriter = new GroupCommitTransactionWriter(transactionService, properties,
+                new SimpleMeterRegistry(),
+                new StaticListableBeanFactory(Map.of("readYourWritesPolicy", policy)).getBeanProvider(ReadYourWritesPolicy.class));
+        singleRowWriter.start();
+
+        ReadYourWritesPolicy.bindClient("client-a");
+        try {
+            singleRowWriter.write(1L, BigDecimal.ONE, "CASH");
+
+            assertFalse(policy.mayReadFromReplica());
+        } finally {
+            ReadYourWritesPolicy.unbindClient();
+            singleRowWriter.stop();
+        }
+    }
+
+    @Test
+    void submit_shouldReject_afterStop() throws InterruptedException {
+        writer.stop();
+
+        assertThrows(TransactionIngestOverloadedException.class, () -> writer.submit(1L, BigDecimal.ONE, "CASH"));
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void write_shouldGiveUp_whenGroupDoesNotCommitInTime() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.createTransactions(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(new TransactionService.BatchRowResult(TransactionEntity.builder().id(1L).build(), null));
+        });
+        IngestProperties properties = new IngestProperties();
+        properties.getGroupCommit().setMaxBatchSize(1);
+        properties.getGroupCommit().setCommitTimeout(Duration.ofMillis(50));
+        GroupCommitTransactionWriter singleRowWriter = new GroupCommitTransactionWriter(transactionService, properties,
+                new SimpleMeterRegistry(), new StaticListableBeanFactory().getBeanProvider(ReadYourWritesPolicy.class));
+        singleRowWriter.start();
+
+        try {
+            assertThrows(TransactionIngestOverloadedException.class, () -> singleRowWriter.write(1L, BigDecimal.ONE, "CASH"));
+        } finally {
+            release.countDown();
+            singleRowWriter.stop();
+        }
+    }
+
+    @Test
+    void submit_shouldFailWholeGroup_whenCommitFails() {
+        when(transactionService.createTransactions(anyList())).thenThrow(new IllegalStateException("database down"));
+
+        CompletableFuture<TransactionEntity> f1 = writer.submit(1L, BigDecimal.ONE, "CASH");
+        CompletableFuture<TransactionEntity> f2 = writer.submit(1L, BigDecimal.ONE, "CASH");
+        CompletableFuture<TransactionEntity> f3 = writer.submit(1L, BigDecimal.ONE, "CASH");
+
+        assertThrows(ExecutionException.class, () -> f1.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> f2.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> f3.get(5, TimeUnit.SECONDS));
+        verify(transactionService, times(1)).createTransactions(anyList());
+    }
+}
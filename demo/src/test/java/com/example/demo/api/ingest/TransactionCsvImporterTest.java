@@ -0,0 +1,150 @@
+package com.example.demo.api.ingest;
+
+import com.example.demo.config.PartitionProperties;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.partition.TransactionPartitionManager;
+import com.example.demo.store.repository.SellerRepository;
+import com.example.demo.store.repository.TransactionImportRepository;
+import com.example.demo.store.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports a CSV file through the real {@code COPY} and merge statement, interleaved with inserts
+ * through Hibernate's pooled id optimizer, and checks the ids and the rollup it writes.
+ *
+ * <p>Needs a PostgreSQL 14+ database, e.g.
+ * {@code CRM_TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/simple_crm_test}. Flyway migrates it,
+ * and everything the test creates is rolled back.
+ */
+@EnabledIfEnvironmentVariable(named = "CRM_TEST_POSTGRES_URL", matches = ".+")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${CRM_TEST_POSTGRES_URL}",
+        "spring.datasource.username=${CRM_TEST_POSTGRES_USER:crm}",
+        "spring.datasource.password=${CRM_TEST_POSTGRES_PASSWORD:pass}"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+        TransactionCsvImporter.class,
+        TransactionImportRepository.class,
+        TransactionImportTracker.class,
+        TransactionPartitionManager.class,
+        PartitionProperties.class
+})
+class TransactionCsvImporterTest {
+    private static final int IMPORTED_ROWS = 3 * TransactionEntity.ID_ALLOCATION_SIZE - 7;
+    private static final LocalDateTime JPA_DATE = LocalDateTime.of(2020, 1, 20, 12, 0);
+
+    @Autowired
+    private TransactionCsvImporter transactionCsvImporter;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private TransactionPartitionManager transactionPartitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long sellerId;
+
+    @BeforeEach
+    void setUp() {
+        transactionPartitionManager.createPartitions(YearMonth.of(2020, 1), YearMonth.of(2020, 1));
+        sellerId = jdbcTemplate.queryForObject(
+                "insert into seller (name, contact_info, registration_date) values ('Import', 'i@example.com', now()) returning id",
+                Long.class);
+    }
+
+    @Test
+    void importCsv_shouldReserveIdsHibernateNeverHandsOut_andAddImportedRowsToRollup() {
+        // The first insert makes Hibernate hold a partly used block across the import.
+        saveThroughJpa(1);
+
+        TransactionImportProgress progress = transactionCsvImporter.importCsv(new StringReader(csv()));
+
+        saveThroughJpa(2 * TransactionEntity.ID_ALLOCATION_SIZE);
+        long distinctIds = jdbcTemplate.queryForObject(
+                "select count(distinct id) from transaction where seller_id = ?", Long.class, sellerId);
+        assertEquals(IMPORTED_ROWS, progress.getRowsImported());
+        assertEquals(IMPORTED_ROWS + 1 + 2 * TransactionEntity.ID_ALLOCATION_SIZE, distinctIds);
+
+        Map<LocalDate, long[]> expected = new TreeMap<>();
+        for (int i = 0; i < IMPORTED_ROWS; i++) {
+            long[] day = expected.computeIfAbsent(importedDate(i).toLocalDate(), date -> new long[4]);
+            day[0]++;
+            day[1] += amount(i);
+            day[isCash(i) ? 2 : 3] += amount(i);
+        }
+        Map<LocalDate, long[]> rollup = new TreeMap<>();
+        jdbcTemplate.query("""
+                        select stats_date, transaction_count, total_amount, cash_amount, card_amount
+                        from seller_daily_stats where seller_id = ?
+                        """,
+                rs -> {
+                    rollup.put(rs.getObject(1, LocalDate.class), new long[]{rs.getLong(2),
+                            rs.getBigDecimal(3).longValueExact(), rs.getBigDecimal(4).longValueExact(),
+                            rs.getBigDecimal(5).longValueExact()});
+                },
+                sellerId);
+        assertEquals(expected.keySet(), rollup.keySet());
+        expected.forEach((date, day) -> assertArrayEquals(day, rollup.get(date), date.toString()));
+    }
+
+    private void saveThroughJpa(int count) {
+        transactionRepository.saveAllAndFlush(IntStream.range(0, count)
+                .mapToObj(i -> TransactionEntity.builder()
+                        .sellerEntity(sellerRepository.getReferenceById(sellerId))
+                        .amountMinorUnits(100L)
+                        .paymentType(TransactionEntity.PaymentType.TRANSFER)
+                        .transactionDate(JPA_DATE)
+                        .build())
+                .toList());
+    }
+
+    private String csv() {
+        StringBuilder csv = new StringBuilder("seller_id,amount,payment_type,transaction_date\n");
+        for (int i = 0; i < IMPORTED_ROWS; i++) {
+            csv.append(sellerId).append(',')
+                    .append(amount(i)).append(',')
+                    .append(isCash(i) ? "CASH" : "CARD").append(',')
+                    .append(importedDate(i)).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static LocalDateTime importedDate(int i) {
+        return YearMonth.of(2020, 1).atDay(1 + i % 3).atTime(10, i % 60);
+    }
+
+    /**
+     * Whole amounts, so the rollup's NUMERIC totals compare as longs.
+     */
+    private static long amount(int i) {
+        return i % 7 + 1;
+    }
+
+    private static boolean isCash(int i) {
+        return i % 2 == 0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.api.ingest;
+
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidatingCsvReaderTest {
+    private TransactionImportProgress progress;
+
+    @BeforeEach
+    void setUp() {
+        progress = new TransactionImportProgress();
+    }
+
+    private String read(String csv) throws IOException {
+        return read(csv, null);
+    }
+
+    private String read(String csv, LocalDateTime earliestDate) throws IOException {
+        StringWriter out = new StringWriter();
+        try (Reader reader = new ValidatingCsvReader(
+                new StringReader(csv), id -> id == 1L || id == 2L, earliestDate, progress)) {
+            reader.transferTo(out);
+        }
+        return out.toString();
+    }
+
+    @Test
+    void read_shouldNormaliseValidRows_andKeepLineNumbers() throws IOException {
+        String result = read("""
+                amount,seller_id,transaction_date,payment_type
+                10.5,1,2024-03-01T10:15:00,cash
+                "1,000",2,2024-03-01 11:00:00,CARD
+                20,2,2024-03-02 12:30,TRANSFER
+                """);
+
+        assertEquals("""
+                2,1,10.50,CASH,2024-03-01T10:15
+                4,2,20.00,TRANSFER,2024-03-02T12:30
+                """, result);
+        assertEquals(3, progress.getLinesRead().get());
+        assertEquals(2, progress.getRowsAccepted().get());
+        assertEquals(List.of(new TransactionImportProgress.RejectedRow(3, "Invalid amount")),
+                progress.getRejectedSamples());
+    }
+
+    @Test
+    void read_shouldRejectInvalidRows_withReason() throws IOException {
+        String result = read("""
+                seller_id,amount,payment_type,transaction_date
+                3,10,CASH,2024-03-01T10:00
+                1,-5,CASH,2024-03-01T10:00
+                1,0.001,CASH,2024-03-01T10:00
+                1,10,CRYPTO,2024-03-01T10:00
+                1,10,CASH,yesterday
+                1,10,CASH
+
+                """);
+
+        assertEquals("", result);
+        assertEquals(6, progress.getRowsRejected().get());
+        assertEquals(List.of(
+                "Seller with ID: 3 not found",
+                "Amount must be positive",
+                "Amount has more than 2 decimal places",
+                "Invalid payment_type",
+                "Invalid transaction_date",
+                "Missing value for transaction_date"
+        ), progress.getRejectedSamples().stream().map(TransactionImportProgress.RejectedRow::reason).toList());
+    }
+
+    @Test
+    void read_shouldRejectRowsBeforeEarliestDate() throws IOException {
+        String result = read("""
+                seller_id,amount,payment_type,transaction_date
+                1,10,CASH,2024-02-29T23:59
+                1,20,CASH,2024-03-01T00:00
+                """, LocalDateTime.of(2024, 3, 1, 0, 0));
+
+        assertEquals("3,1,20.00,CASH,2024-03-01T00:00\n", result);
+        assertEquals(List.of(new TransactionImportProgress.RejectedRow(2, "transaction_date is before 2024-03-01")),
+                progress.getRejectedSamples());
+    }
+
+    @Test
+    void read_shouldThrowBadRequest_whenHeaderLacksColumn() {
+        assertThrows(TransactionBadRequestException.class, () -> read("""
+                seller_id,amount,transaction_date
+                1,10,2024-03-01T10:00
+                """));
+    }
+
+    @Test
+    void split_shouldHandleQuotedFields() {
+        assertEquals(List.of("a", "b,c", "say \"hi\"", ""), ValidatingCsvReader.split("a,\"b,c\",\"say \"\"hi\"\"\","));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.api.metrics;
+
+import com.example.demo.store.metrics.DataAccessStatsSessionListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataAccessMetricsFilterTest {
+    private MeterRegistry meterRegistry;
+    private DataAccessMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new DataAccessMetricsFilter(meterRegistry);
+    }
+
+    @Test
+    void doFilter_shouldRecordStatementsAndFlushes_perUriPattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions/42");
+        DataAccessStatsSessionListener listener = new DataAccessStatsSessionListener();
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                listener.jdbcPrepareStatementEnd();
+                listener.jdbcPrepareStatementEnd();
+                listener.flushEnd(1, 0);
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/transactions/{id}");
+            }
+        });
+
+        assertEquals(2, meterRegistry.get("crm.request.jdbc.statements")
+                .tags("method", "GET", "uri", "/api/transactions/{id}").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("crm.request.flushes").summary().totalAmount());
+        assertEquals(0, meterRegistry.get("crm.request.entity.loads").summary().totalAmount());
+    }
+
+    @Test
+    void doFilter_shouldNotCountWorkOutsideRequests() throws Exception {
+        new DataAccessStatsSessionListener().jdbcPrepareStatementEnd();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.api.metrics;
+
+import com.example.demo.config.MetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+    private final Object lock = new Object();
+
+    private MeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        MetricsProperties properties = new MetricsProperties();
+        properties.setPinningThreshold(Duration.ofMillis(5));
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(properties, meterRegistry);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void shouldReportVirtualThreadBlockedInsideSynchronized() throws InterruptedException {
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        Collection<Timer> timers = awaitPinnedTimers(Duration.ofSeconds(10));
+
+        assertEquals(1, timers.size());
+        Timer timer = timers.iterator().next();
+        assertTrue(timer.getId().getTag("site").startsWith(VirtualThreadPinningMonitorTest.class.getName()));
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 50);
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Collection<Timer> awaitPinnedTimers(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Collection<Timer> timers = meterRegistry.find("crm.virtual.threads.pinned").timers();
+        while (timers.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            timers = meterRegistry.find("crm.virtual.threads.pinned").timers();
+        }
+        return timers;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.live.LiveSellerCounters;
+import com.example.demo.store.live.LiveWindow;
+import com.example.demo.store.repository.SellerLeaderboardRepository.Metric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class LiveSellerLeaderboardServiceTest {
+    @Mock
+    private LiveSellerCounters liveSellerCounters;
+
+    @InjectMocks
+    private LiveSellerLeaderboardService liveSellerLeaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(liveSellerCounters.getCapacity()).thenReturn(10);
+    }
+
+    @Test
+    void getTopSellers_shouldShareRankBetweenTiedSellers() {
+        when(liveSellerCounters.top(LiveWindow.ONE_HOUR, Metric.COUNT, Optional.of(TransactionEntity.PaymentType.CARD), 4))
+                .thenReturn(List.of(
+                        new LiveSellerCounters.Entry(5, 9, 100),
+                        new LiveSellerCounters.Entry(2, 4, 900),
+                        new LiveSellerCounters.Entry(3, 4, 50),
+                        new LiveSellerCounters.Entry(1, 1, 10)
+                ));
+
+        List<LiveSellerLeaderboardService.Row> rows = liveSellerLeaderboardService
+                .getTopSellers(LiveWindow.ONE_HOUR, Metric.COUNT, Optional.of("CARD"), 4);
+
+        assertEquals(List.of(1L, 2L, 2L, 4L), rows.stream().map(LiveSellerLeaderboardService.Row::rank).toList());
+    }
+
+    @Test
+    void getTopSellers_shouldRejectInvalidInput() {
+        assertThrows(TransactionBadRequestException.class, () -> liveSellerLeaderboardService
+                .getTopSellers(LiveWindow.FIVE_MINUTES, Metric.AMOUNT, Optional.empty(), 11));
+        assertThrows(TransactionBadRequestException.class, () -> liveSellerLeaderboardService
+                .getTopSellers(LiveWindow.FIVE_MINUTES, Metric.AMOUNT, Optional.of("CHEQUE"), 5));
+        verify(liveSellerCounters, never()).top(any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.dto.TransactionPeriodDto;
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.store.archive.TransactionArchive;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.projection.SellerView;
+import com.example.demo.store.projection.TransactionView;
+import com.example.demo.store.reactive.ReactiveReadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveTransactionQueryServiceTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    @Mock
+    private ReactiveReadRepository reactiveReadRepository;
+
+    @Mock
+    private ObjectProvider<TransactionArchive> transactionArchive;
+
+    private ReactiveTransactionQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new ReactiveTransactionQueryService(reactiveReadRepository, transactionArchive);
+    }
+
+    @Test
+    void streamTransactions_shouldFetchNextPageAfterLastRow_untilShortPage() {
+        List<TransactionView> rows = IntStream.range(0, 5).mapToObj(ReactiveTransactionQueryServiceTest::transaction).toList();
+        when(reactiveReadRepository.findTransactionsFirstPage(2)).thenReturn(Flux.fromIterable(rows.subList(0, 2)));
+        when(reactiveReadRepository.findTransactionsPageAfter(START.plusMinutes(1), 1L, 2))
+                .thenReturn(Flux.fromIterable(rows.subList(2, 4)));
+        when(reactiveReadRepository.findTransactionsPageAfter(START.plusMinutes(3), 3L, 2))
+                .thenReturn(Flux.fromIterable(rows.subList(4, 5)));
+
+        List<TransactionView> streamed = service.streamTransactions(Optional.empty(), 2).collectList().block();
+
+        assertEquals(rows, streamed);
+        verify(reactiveReadRepository, times(2)).findTransactionsPageAfter(any(), any(), eq(2));
+    }
+
+    @Test
+    void streamTransactions_shouldRejectMalformedCursor() {
+        assertThrows(TransactionBadRequestException.class, () ->
+                service.streamTransactions(Optional.of("???"), 10).blockLast());
+        verifyNoInteractions(reactiveReadRepository);
+    }
+
+    @Test
+    void getMostProductiveSeller_shouldCombineRollupAndPartialDays() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 12, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 5, 6, 0);
+        when(reactiveReadRepository.sumBySellerBetweenDays(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 4)))
+                .thenReturn(Flux.just(total(1L, 100), total(2L, 150)));
+        when(reactiveReadRepository.sumBySellerFromUntil(from, LocalDate.of(2024, 1, 2).atStartOfDay()))
+                .thenReturn(Flux.just(total(1L, 40)));
+        when(reactiveReadRepository.sumBySellerBetween(LocalDate.of(2024, 1, 5).atStartOfDay(), to))
+                .thenReturn(Flux.just(total(1L, 20)));
+        SellerView seller = new SellerView(1L, "Seller 1", "s1@example.com", START);
+        when(reactiveReadRepository.findSellerById(1L)).thenReturn(Mono.just(seller));
+
+        assertEquals(seller, service.getMostProductiveSeller(from, to).block());
+    }
+
+    @Test
+    void getMostProductiveSeller_shouldRejectRangeStartingInArchive() {
+        archive(LocalDate.of(2024, 1, 1).atStartOfDay());
+
+        assertThrows(TransactionBadRequestException.class, () ->
+                service.getMostProductiveSeller(LocalDateTime.of(2023, 12, 31, 12, 0), LocalDateTime.of(2024, 1, 5, 0, 0)).block());
+        verifyNoInteractions(reactiveReadRepository);
+    }
+
+    @Test
+    void findBestTransactionPeriod_shouldReadHoursFromTransactionTable() {
+        when(reactiveReadRepository.findBestTransactionPeriod(1L, "hour"))
+                .thenReturn(Mono.just(new ReactiveReadRepository.Period(START, 3L, BigDecimal.TEN)));
+
+        TransactionPeriodDto period = service.findBestTransactionPeriod(1L, PeriodGranularity.HOUR).block();
+
+        assertNotNull(period);
+        assertEquals(START.plusHours(1), period.getTo());
+        verify(reactiveReadRepository, never()).findBestDailyStatsPeriod(any(), any());
+    }
+
+    @Test
+    void findBestTransactionPeriod_shouldRejectHoursAndWindows_butAnswerDays_whenMonthsAreArchived() {
+        archive(LocalDate.of(2024, 1, 1).atStartOfDay());
+        when(reactiveReadRepository.findBestDailyStatsPeriod(1L, "day"))
+                .thenReturn(Mono.just(new ReactiveReadRepository.Period(START, 3L, BigDecimal.TEN)));
+
+        assertThrows(TransactionBadRequestException.class, () ->
+                service.findBestTransactionPeriod(1L, PeriodGranularity.HOUR).block());
+        assertThrows(TransactionBadRequestException.class, () ->
+                service.findBestTransactionWindow(1L, Duration.ofHours(2)).block());
+        assertNotNull(service.findBestTransactionPeriod(1L, PeriodGranularity.DAY).block());
+        verify(reactiveReadRepository, never()).findBestTransactionPeriod(any(), any());
+        verify(reactiveReadRepository, never()).findBestSlidingWindow(any(), any());
+    }
+
+    @Test
+    void findBestTransactionWindow_shouldRejectNonPositiveWindow() {
+        assertThrows(TransactionBadRequestException.class, () ->
+                service.findBestTransactionWindow(1L, Duration.ZERO).block());
+    }
+
+    private void archive(LocalDateTime end) {
+        TransactionArchive archive = mock(TransactionArchive.class);
+        when(transactionArchive.getIfAvailable()).thenReturn(archive);
+        when(archive.getEnd()).thenReturn(Optional.of(end));
+    }
+
+    private static ReactiveReadRepository.SellerTotal total(Long sellerId, long amount) {
+        return new ReactiveReadRepository.SellerTotal(sellerId, BigDecimal.valueOf(amount));
+    }
+
+    private static TransactionView transaction(int i) {
+        return new TransactionView((long) i, BigDecimal.ONE, TransactionEntity.PaymentType.CASH, START.plusMinutes(i),
+                new SellerView(1L, "Seller 1", "s1@example.com", START));
+    }
+}
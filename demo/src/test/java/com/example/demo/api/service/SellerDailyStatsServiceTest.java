@@ -0,0 +1,102 @@
+package com.example.demo.api.service;
+
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.repository.SellerDailyStatsRepository;
+import com.example.demo.store.repository.TransactionBulkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SellerDailyStatsServiceTest {
+    @Mock
+    private SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    @InjectMocks
+    private SellerDailyStatsService sellerDailyStatsService;
+
+    private TransactionEntity transaction;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        transaction = TransactionEntity.builder()
+                .id(1L)
+                .sellerEntity(SellerEntity.builder().id(1L).name("Seller A").build())
+                .amount(BigDecimal.valueOf(100))
+                .paymentType(TransactionEntity.PaymentType.CARD)
+                .transactionDate(LocalDateTime.of(2024, 1, 10, 12, 30))
+                .build();
+    }
+
+    @Test
+    void recordCreated_shouldAddAmountToPaymentTypeBucket() {
+        sellerDailyStatsService.recordCreated(transaction);
+
+        verify(sellerDailyStatsRepository).applyDelta(1L, LocalDate.of(2024, 1, 10), 1,
+                new BigDecimal("100.00"), BigDecimal.ZERO, new BigDecimal("100.00"), BigDecimal.ZERO);
+        verify(sellerDailyStatsRepository, never()).deleteIfEmpty(any(), any());
+    }
+
+    @Test
+    void recordAllCreated_shouldIssueOneUpsertPerSellerAndDay() {
+        TransactionEntity cash = TransactionEntity.builder()
+                .sellerEntity(transaction.getSellerEntity())
+                .amount(BigDecimal.valueOf(40))
+                .paymentType(TransactionEntity.PaymentType.CASH)
+                .transactionDate(LocalDateTime.of(2024, 1, 10, 18, 0))
+                .build();
+
+        sellerDailyStatsService.recordAllCreated(List.of(transaction, cash));
+
+        verify(sellerDailyStatsRepository, times(1)).applyDelta(1L, LocalDate.of(2024, 1, 10), 2,
+                new BigDecimal("140.00"), new BigDecimal("40.00"), new BigDecimal("100.00"), new BigDecimal("0.00"));
+        verifyNoMoreInteractions(sellerDailyStatsRepository);
+    }
+
+    @Test
+    void recordDeleted_shouldSubtractAmountAndDropEmptyRow() {
+        sellerDailyStatsService.recordDeleted(transaction);
+
+        verify(sellerDailyStatsRepository).applyDelta(1L, LocalDate.of(2024, 1, 10), -1,
+                new BigDecimal("-100.00"), BigDecimal.ZERO, new BigDecimal("-100.00"), BigDecimal.ZERO);
+        verify(sellerDailyStatsRepository).deleteIfEmpty(1L, LocalDate.of(2024, 1, 10));
+    }
+
+    @Test
+    void recordAllChanged_shouldMoveAmountsBetweenSellersAndPaymentTypes() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 10, 12, 30);
+        sellerDailyStatsService.recordAllChanged(List.of(
+                new TransactionBulkRepository.ChangedRow(1L, date, 10_000L,
+                        1L, TransactionEntity.PaymentType.CARD, 2L, TransactionEntity.PaymentType.CARD),
+                new TransactionBulkRepository.ChangedRow(2L, date, 2_500L,
+                        1L, TransactionEntity.PaymentType.CARD, 1L, TransactionEntity.PaymentType.CASH)));
+
+        verify(sellerDailyStatsRepository).applyDelta(1L, LocalDate.of(2024, 1, 10), -1,
+                new BigDecimal("-100.00"), new BigDecimal("25.00"), new BigDecimal("-125.00"), new BigDecimal("0.00"));
+        verify(sellerDailyStatsRepository).deleteIfEmpty(1L, LocalDate.of(2024, 1, 10));
+        verify(sellerDailyStatsRepository).applyDelta(2L, LocalDate.of(2024, 1, 10), 1,
+                new BigDecimal("100.00"), new BigDecimal("0.00"), new BigDecimal("100.00"), new BigDecimal("0.00"));
+        verifyNoMoreInteractions(sellerDailyStatsRepository);
+    }
+
+    @Test
+    void recordAllChanged_shouldSkipDeltasThatCancelOut() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 10, 12, 30);
+        sellerDailyStatsService.recordAllChanged(List.of(
+                new TransactionBulkRepository.ChangedRow(1L, date, 10_000L,
+                        1L, TransactionEntity.PaymentType.CARD, 1L, TransactionEntity.PaymentType.CARD)));
+
+        verifyNoInteractions(sellerDailyStatsRepository);
+    }
+}
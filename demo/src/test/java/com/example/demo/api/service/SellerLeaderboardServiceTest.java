@@ -0,0 +1,94 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.api.metrics.AnalyticsMetrics;
+import com.example.demo.config.MetricsProperties;
+import com.example.demo.store.metrics.TableStatisticsRepository;
+import com.example.demo.store.repository.SellerLeaderboardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class SellerLeaderboardServiceTest {
+    private static final LocalDate DATE = LocalDate.of(2024, 5, 17);
+
+    @Mock
+    private SellerLeaderboardRepository sellerLeaderboardRepository;
+
+    @Mock
+    private TableStatisticsRepository tableStatisticsRepository;
+
+    private SellerLeaderboardService sellerLeaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        MetricsProperties metricsProperties = new MetricsProperties();
+        metricsProperties.setAnalyticsRowsScanned(false);
+        sellerLeaderboardService = new SellerLeaderboardService(sellerLeaderboardRepository,
+                new AnalyticsMetrics(new SimpleMeterRegistry(), metricsProperties, tableStatisticsRepository));
+    }
+
+    @Test
+    void resolveRange_shouldCoverCalendarPeriodContainingDate() {
+        assertEquals(new SellerLeaderboardService.Range(DATE, DATE), range(LeaderboardPeriod.DAY));
+        assertEquals(new SellerLeaderboardService.Range(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31)),
+                range(LeaderboardPeriod.MONTH));
+        assertEquals(new SellerLeaderboardService.Range(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 6, 30)),
+                range(LeaderboardPeriod.QUARTER));
+        assertEquals(new SellerLeaderboardService.Range(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)),
+                range(LeaderboardPeriod.YEAR));
+    }
+
+    @Test
+    void resolveRange_shouldRejectPeriodTogetherWithExplicitRange() {
+        assertThrows(TransactionBadRequestException.class, () -> sellerLeaderboardService.resolveRange(
+                Optional.of(LeaderboardPeriod.MONTH), Optional.empty(), Optional.of(DATE), Optional.of(DATE)));
+    }
+
+    @Test
+    void resolveRange_shouldRejectInvertedRange() {
+        assertThrows(TransactionBadRequestException.class, () -> sellerLeaderboardService.resolveRange(
+                Optional.empty(), Optional.empty(), Optional.of(DATE), Optional.of(DATE.minusDays(1))));
+    }
+
+    @Test
+    void getLeaderboardPage_shouldContinueAfterCursor() {
+        SellerLeaderboardService.Range range = new SellerLeaderboardService.Range(DATE, DATE);
+        when(sellerLeaderboardRepository.findPage(any(), any(), any(), any(), any(), anyInt(), anyBoolean()))
+                .thenReturn(List.of());
+
+        sellerLeaderboardService.getLeaderboardPage(range, SellerLeaderboardRepository.Metric.AMOUNT,
+                Optional.of(PageCursor.encode(new BigDecimal("150.50"), 7L)), 10, false);
+
+        verify(sellerLeaderboardRepository).findPage(SellerLeaderboardRepository.Metric.AMOUNT,
+                DATE, DATE, new BigDecimal("150.50"), 7L, 10, false);
+    }
+
+    @Test
+    void getLeaderboardPage_shouldRejectMalformedCursor() {
+        SellerLeaderboardService.Range range = new SellerLeaderboardService.Range(DATE, DATE);
+
+        assertThrows(TransactionBadRequestException.class, () -> sellerLeaderboardService.getLeaderboardPage(
+                range, SellerLeaderboardRepository.Metric.COUNT, Optional.of("garbage"), 10, false));
+        verifyNoInteractions(sellerLeaderboardRepository);
+    }
+
+    private SellerLeaderboardService.Range range(LeaderboardPeriod period) {
+        return sellerLeaderboardService.resolveRange(
+                Optional.of(period), Optional.of(DATE), Optional.empty(), Optional.empty());
+    }
+}
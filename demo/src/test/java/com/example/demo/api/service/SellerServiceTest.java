@@ -2,15 +2,20 @@ package com.example.demo.api.service;
 
 import com.example.demo.api.exception.seller.SellerBadRequestException;
 import com.example.demo.api.exception.seller.SellerNotFoundException;
+import com.example.demo.config.SellerCacheProperties;
+import com.example.demo.store.cache.SellerCache;
 import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.projection.SellerView;
 import com.example.demo.store.repository.SellerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -21,12 +26,13 @@ public class SellerServiceTest {
     @Mock
     private SellerRepository sellerRepository;
 
-    @InjectMocks
     private SellerService sellerService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        SellerCache sellerCache = new SellerCache(sellerRepository, new SellerCacheProperties(), new SimpleMeterRegistry());
+        sellerService = new SellerService(sellerRepository, sellerCache);
     }
 
     @Test
@@ -47,6 +53,31 @@ public class SellerServiceTest {
         verify(sellerRepository, times(1)).streamAllBy();
     }
 
+    @Test
+    void testGetSellersPage_FirstPage() {
+        SellerView seller = new SellerView(1L, "Test Seller", "test@example.com", null);
+
+        when(sellerRepository.findFirstPage(PageRequest.ofSize(20))).thenReturn(List.of(seller));
+
+        List<SellerView> sellers = sellerService.getSellersPage(Optional.empty(), 20);
+
+        assertEquals(List.of(seller), sellers);
+        verify(sellerRepository, never()).findPageAfter(any(), any());
+    }
+
+    @Test
+    void testGetSellersPage_AfterCursor() {
+        sellerService.getSellersPage(Optional.of(PageCursor.encode(42L)), 20);
+
+        verify(sellerRepository, times(1)).findPageAfter(42L, PageRequest.ofSize(20));
+    }
+
+    @Test
+    void testGetSellersPage_InvalidLimit() {
+        assertThrows(SellerBadRequestException.class, () -> sellerService.getSellersPage(Optional.empty(), 0));
+        verify(sellerRepository, never()).findFirstPage(any());
+    }
+
     @Test
     void testGetSellerOrThrowException_Success() {
         // given
@@ -79,6 +110,30 @@ public class SellerServiceTest {
         verify(sellerRepository, times(1)).findById(sellerId);
     }
 
+    @Test
+    void testGetSellerOrThrowException_ServedFromCacheAcrossUpdate() {
+        // given
+        Long sellerId = 1L;
+        SellerEntity seller = SellerEntity.builder()
+                .id(sellerId)
+                .name("Test Seller")
+                .contactInfo("test@example.com")
+                .build();
+
+        when(sellerRepository.findById(sellerId)).thenReturn(Optional.of(seller));
+        when(sellerRepository.saveAndFlush(any(SellerEntity.class))).thenReturn(seller);
+
+        // when
+        sellerService.getSellerOrThrowException(sellerId);
+        sellerService.getSellerOrThrowException(sellerId);
+        sellerService.updateSeller(sellerId, Optional.of("Renamed Seller"), Optional.empty());
+        SellerEntity afterUpdate = sellerService.getSellerOrThrowException(sellerId);
+
+        // then: one load to warm the cache and one by the update, which writes the saved seller through
+        assertEquals("Renamed Seller", afterUpdate.getName());
+        verify(sellerRepository, times(2)).findById(sellerId);
+    }
+
     @Test
     void testCreateSeller_Success() {
         // given
@@ -0,0 +1,140 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.exception.seller.SellerNotFoundException;
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.config.BulkProperties;
+import com.example.demo.store.cache.SellerCache;
+import com.example.demo.store.columnar.ColumnarTransactionMirror;
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.repository.TransactionBulkRepository;
+import com.example.demo.store.repository.TransactionBulkRepository.ChangedRow;
+import com.example.demo.store.repository.TransactionBulkRepository.Criteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransactionBulkServiceTest {
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 1, 10, 12, 0);
+    private static final Criteria BY_SELLER = new Criteria(null, 1L, null, null, null);
+
+    @Mock
+    private TransactionBulkRepository transactionBulkRepository;
+
+    @Mock
+    private SellerCache sellerCache;
+
+    @Mock
+    private SellerDailyStatsService sellerDailyStatsService;
+
+    @Mock
+    private ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkProperties bulkProperties;
+    private TransactionBulkService transactionBulkService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bulkProperties = new BulkProperties();
+        bulkProperties.setChunkSize(2);
+        transactionBulkService = new TransactionBulkService(transactionBulkRepository, sellerCache,
+                sellerDailyStatsService, columnarTransactionMirror, bulkProperties, transactionManager);
+        when(sellerCache.findById(2L)).thenReturn(Optional.of(SellerEntity.builder().id(2L).build()));
+    }
+
+    @Test
+    void updateTransactions_shouldSeekPastLastRowOfEachFullChunk() {
+        List<ChangedRow> first = List.of(moved(2, DATE.plusHours(1)), moved(1, DATE));
+        List<ChangedRow> second = List.of(moved(3, DATE.plusHours(2)));
+        when(transactionBulkRepository.updateChunk(BY_SELLER, 2L, null, null, null, 2)).thenReturn(first);
+        when(transactionBulkRepository.updateChunk(BY_SELLER, 2L, null, DATE.plusHours(1), 2L, 2)).thenReturn(second);
+
+        TransactionBulkService.Result result = transactionBulkService
+                .updateTransactions(BY_SELLER, Optional.of(2L), Optional.empty());
+
+        assertEquals(new TransactionBulkService.Result(3, 2), result);
+        verify(sellerDailyStatsService).recordAllChanged(first);
+        verify(sellerDailyStatsService).recordAllChanged(second);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void updateTransactions_shouldStopAtFirstEmptyChunk() {
+        List<ChangedRow> full = List.of(moved(1, DATE), moved(2, DATE.plusHours(1)));
+        when(transactionBulkRepository.updateChunk(any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+        when(transactionBulkRepository.updateChunk(BY_SELLER, null, TransactionEntity.PaymentType.CARD, null, null, 2))
+                .thenReturn(full);
+
+        TransactionBulkService.Result result = transactionBulkService
+                .updateTransactions(BY_SELLER, Optional.empty(), Optional.of("CARD"));
+
+        assertEquals(new TransactionBulkService.Result(2, 1), result);
+        verify(transactionBulkRepository).updateChunk(BY_SELLER, null, TransactionEntity.PaymentType.CARD, DATE.plusHours(1), 2L, 2);
+    }
+
+    @Test
+    void updateTransactions_shouldRejectUnknownSeller_beforeTouchingRows() {
+        when(sellerCache.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(SellerNotFoundException.class, () -> transactionBulkService
+                .updateTransactions(BY_SELLER, Optional.of(9L), Optional.empty()));
+        verifyNoInteractions(transactionBulkRepository);
+    }
+
+    @Test
+    void updateTransactions_shouldRejectRequestWithoutChanges() {
+        assertThrows(TransactionBadRequestException.class, () -> transactionBulkService
+                .updateTransactions(BY_SELLER, Optional.empty(), Optional.empty()));
+    }
+
+    @Test
+    void deleteTransactions_shouldRecordDeletedRowsInRollup() {
+        List<ChangedRow> rows = List.of(moved(1, DATE));
+        when(transactionBulkRepository.deleteChunk(BY_SELLER, null, null, 2)).thenReturn(rows);
+
+        TransactionBulkService.Result result = transactionBulkService.deleteTransactions(BY_SELLER);
+
+        assertEquals(new TransactionBulkService.Result(1, 1), result);
+        verify(sellerDailyStatsService).recordAllDeleted(rows);
+    }
+
+    @Test
+    void criteria_shouldRequireAtLeastOneFilter() {
+        assertThrows(TransactionBadRequestException.class, () -> TransactionBulkService.criteria(
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()));
+    }
+
+    @Test
+    void criteria_shouldRejectEmptyRange() {
+        assertThrows(TransactionBadRequestException.class, () -> TransactionBulkService.criteria(
+                Optional.empty(), Optional.empty(), Optional.of(DATE), Optional.of(DATE), Optional.empty()));
+    }
+
+    @Test
+    void criteria_shouldParsePaymentType() {
+        Criteria criteria = TransactionBulkService.criteria(
+                Optional.of(List.of(1L, 2L)), Optional.empty(), Optional.empty(), Optional.empty(), Optional.of("CASH"));
+
+        assertEquals(new Criteria(List.of(1L, 2L), null, null, null, TransactionEntity.PaymentType.CASH), criteria);
+    }
+
+    private static ChangedRow moved(long id, LocalDateTime date) {
+        return new ChangedRow(id, date, 10_000L,
+                1L, TransactionEntity.PaymentType.CASH, 2L, TransactionEntity.PaymentType.CASH);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.factory.SellerDtoFactory;
+import com.example.demo.api.factory.TransactionDtoFactory;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.projection.SellerView;
+import com.example.demo.store.projection.TransactionView;
+import com.example.demo.store.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TransactionExportServiceTest {
+    private TransactionRepository transactionRepository;
+    private TransactionExportService transactionExportService;
+
+    private SellerView seller;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = mock(TransactionRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        transactionExportService = new TransactionExportService(
+                transactionRepository,
+                new TransactionDtoFactory(new SellerDtoFactory()),
+                objectMapper
+        );
+
+        seller = new SellerView(1L, "Seller A", "a@example.com", LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    @Test
+    void exportTransactions_shouldWriteOneJsonObjectPerLine() throws IOException {
+        when(transactionRepository.streamAllForExport()).thenReturn(Stream.of(transaction(1), transaction(2)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long rows = transactionExportService.exportTransactions(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+    }
+
+    private TransactionView transaction(long id) {
+        return new TransactionView(
+                id,
+                BigDecimal.valueOf(id % 10_000, 2),
+                TransactionEntity.PaymentType.CARD,
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(id),
+                seller
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.api.service;
+
+import com.example.demo.config.PartitionProperties;
+import com.example.demo.store.partition.TransactionPartitionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransactionPartitionMaintenanceServiceTest {
+    private static final YearMonth CURRENT = YearMonth.of(2024, 5);
+
+    @Mock
+    private TransactionPartitionManager transactionPartitionManager;
+
+    @Mock
+    private ChangeStampService changeStampService;
+
+    private PartitionProperties partitionProperties;
+    private TransactionPartitionMaintenanceService maintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        partitionProperties = new PartitionProperties();
+        maintenanceService = new TransactionPartitionMaintenanceService(
+                transactionPartitionManager, partitionProperties, changeStampService);
+        when(transactionPartitionManager.createPartitions(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void maintainPartitions_shouldCreateRunwayOfMonthsAhead() {
+        partitionProperties.setMonthsAhead(2);
+
+        maintenanceService.maintainPartitions(CURRENT);
+
+        verify(transactionPartitionManager).createPartitions(CURRENT, YearMonth.of(2024, 7));
+    }
+
+    @Test
+    void maintainPartitions_shouldKeepEverythingAttached_byDefault() {
+        maintenanceService.maintainPartitions(CURRENT);
+
+        verify(transactionPartitionManager, never()).detachPartitionsBefore(any());
+    }
+
+    @Test
+    void maintainPartitions_shouldDetachPartitionsOutsideOfRetention() {
+        partitionProperties.setRetainMonths(12);
+
+        maintenanceService.maintainPartitions(CURRENT);
+
+        verify(transactionPartitionManager).detachPartitionsBefore(YearMonth.of(2023, 6));
+        verify(changeStampService, never()).markTransactionsChanged();
+    }
+
+    @Test
+    void maintainPartitions_shouldMarkTransactionsChanged_whenPartitionsWereDetached() {
+        partitionProperties.setRetainMonths(12);
+        when(transactionPartitionManager.detachPartitionsBefore(any())).thenReturn(List.of("transaction_2023_05"));
+
+        maintenanceService.maintainPartitions(CURRENT);
+
+        verify(changeStampService).markTransactionsChanged();
+    }
+}
@@ -1,27 +1,55 @@
 package com.example.demo.api.service;
 
+import com.example.demo.api.dto.TransactionBatchItemDto;
+import com.example.demo.api.dto.TransactionPeriodDto;
 import com.example.demo.api.exception.seller.SellerNotFoundException;
 import com.example.demo.api.exception.transaction.TransactionBadRequestException;
 import com.example.demo.api.exception.transaction.TransactionNotFoundException;
+import com.example.demo.api.metrics.AnalyticsMetrics;
+import com.example.demo.config.MetricsProperties;
+import com.example.demo.config.SellerCacheProperties;
+import com.example.demo.store.archive.TransactionArchive;
+import com.example.demo.store.archive.TransactionSegment;
+import com.example.demo.store.cache.SellerCache;
+import com.example.demo.store.columnar.ColumnarTransactionMirror;
 import com.example.demo.store.entity.SellerEntity;
 import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.metrics.TableStatisticsRepository;
+import com.example.demo.store.money.SellerTotals;
+import com.example.demo.store.projection.SellerTotalProjection;
+import com.example.demo.store.projection.TransactionPeriodProjection;
+import com.example.demo.store.projection.TransactionView;
+import com.example.demo.store.repository.SellerDailyStatsRepository;
 import com.example.demo.store.repository.SellerRepository;
 import com.example.demo.store.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TransactionServiceTest {
@@ -31,7 +59,23 @@ class TransactionServiceTest {
     @Mock
     private SellerRepository sellerRepository;
 
-    @InjectMocks
+    @Mock
+    private SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    @Mock
+    private SellerDailyStatsService sellerDailyStatsService;
+
+    @Mock
+    private TableStatisticsRepository tableStatisticsRepository;
+
+    @Mock
+    private ObjectProvider<ColumnarTransactionMirror> columnarTransactionMirror;
+
+    @Mock
+    private ObjectProvider<TransactionArchive> transactionArchive;
+
+    private MeterRegistry meterRegistry;
+
     private TransactionService transactionService;
 
     private SellerEntity seller;
@@ -40,6 +84,13 @@ class TransactionServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        SellerCache sellerCache = new SellerCache(sellerRepository, new SellerCacheProperties(), new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        AnalyticsMetrics analyticsMetrics = new AnalyticsMetrics(meterRegistry, new MetricsProperties(), tableStatisticsRepository);
+        transactionService = new TransactionService(
+                transactionRepository, sellerCache, sellerDailyStatsRepository, sellerDailyStatsService, analyticsMetrics,
+                columnarTransactionMirror, transactionArchive);
+
         seller = new SellerEntity();
         seller.setId(1L);
         seller.setName("Seller A");
@@ -53,6 +104,32 @@ class TransactionServiceTest {
                 .build();
     }
 
+    @Test
+    void getTransactionsPage_shouldSeekPastCursor() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 10, 12, 0);
+        String cursor = PageCursor.encode(date, 41L);
+        TransactionView view = new TransactionView(42L, 1_000L, TransactionEntity.PaymentType.CASH,
+                date.plusHours(1), 1L, "Seller A", null, null);
+        when(transactionRepository.findPageAfter(date, 41L, PageRequest.ofSize(10))).thenReturn(List.of(view));
+
+        List<TransactionView> result = transactionService.getTransactionsPage(Optional.of(cursor), 10);
+
+        assertEquals(List.of(view), result);
+        verify(transactionRepository, never()).findFirstPage(any());
+    }
+
+    @Test
+    void getTransactionsPage_shouldRejectMalformedCursor() {
+        assertThrows(TransactionBadRequestException.class, () ->
+                transactionService.getTransactionsPage(Optional.of(PageCursor.encode(5L)), 10));
+    }
+
+    @Test
+    void getTransactionsPage_shouldRejectLimitAboveMaximum() {
+        assertThrows(TransactionBadRequestException.class, () ->
+                transactionService.getTransactionsPage(Optional.empty(), PageCursor.MAX_LIMIT + 1));
+    }
+
     @Test
     void createTransaction_shouldCreateTransaction_whenValidInput() {
         when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
@@ -64,6 +141,7 @@ class TransactionServiceTest {
         assertEquals(transaction.getId(), result.getId());
         assertEquals(transaction.getAmount(), result.getAmount());
         verify(transactionRepository).saveAndFlush(any(TransactionEntity.class));
+        verify(sellerDailyStatsService).recordCreated(transaction);
     }
 
     @Test
@@ -84,20 +162,93 @@ class TransactionServiceTest {
         assertEquals("Amount cannot be negative", exception.getMessage());
     }
 
+    @Test
+    void createTransaction_shouldThrowTransactionBadRequestException_whenAmountDoesNotFitMinorUnits() {
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
+
+        assertThrows(TransactionBadRequestException.class,
+                () -> transactionService.createTransaction(1L, new BigDecimal("1e20"), "CARD"));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void createTransactions_shouldValidateSellersWithOneQueryAndReportRowErrors() {
+        when(sellerRepository.findAllById(argThat(ids -> Set.copyOf((Collection<Long>) ids).equals(Set.of(1L, 2L)))))
+                .thenReturn(List.of(seller));
+
+        List<TransactionService.BatchRowResult> results = transactionService.createTransactions(List.of(
+                TransactionBatchItemDto.builder().sellerId(1L).amount(BigDecimal.TEN).paymentType("CASH").build(),
+                TransactionBatchItemDto.builder().sellerId(2L).amount(BigDecimal.TEN).paymentType("CASH").build(),
+                TransactionBatchItemDto.builder().sellerId(1L).amount(BigDecimal.valueOf(-1)).paymentType("CASH").build(),
+                TransactionBatchItemDto.builder().sellerId(1L).amount(BigDecimal.ONE).paymentType("BARTER").build(),
+                TransactionBatchItemDto.builder().sellerId(1L).amount(BigDecimal.ONE).paymentType("CARD").build()
+        ));
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isCreated());
+        assertInstanceOf(SellerNotFoundException.class, results.get(1).error());
+        assertEquals("Amount cannot be negative", results.get(2).error().getMessage());
+        assertEquals("Invalid payment type", results.get(3).error().getMessage());
+        assertTrue(results.get(4).isCreated());
+
+        verify(sellerRepository, times(1)).findAllById(any());
+        verify(sellerRepository, never()).findById(any());
+        verify(transactionRepository).saveAll(List.of(results.get(0).transaction(), results.get(4).transaction()));
+        verify(transactionRepository, never()).saveAndFlush(any());
+        verify(sellerDailyStatsService).recordAllCreated(List.of(results.get(0).transaction(), results.get(4).transaction()));
+    }
+
+    @Test
+    void createTransactions_shouldReportNullItemsAsRowErrors() {
+        when(sellerRepository.findAllById(any())).thenReturn(List.of(seller));
+
+        List<TransactionService.BatchRowResult> results = transactionService.createTransactions(Arrays.asList(
+                null,
+                TransactionBatchItemDto.builder().sellerId(1L).amount(BigDecimal.TEN).paymentType("CASH").build()
+        ));
+
+        assertEquals(2, results.size());
+        assertEquals("Transaction is required", results.get(0).error().getMessage());
+        assertTrue(results.get(1).isCreated());
+        verify(transactionRepository).saveAll(List.of(results.get(1).transaction()));
+    }
+
+    @Test
+    void createTransactions_shouldRejectOversizedBatch() {
+        List<TransactionBatchItemDto> items = Collections.nCopies(TransactionService.MAX_BATCH_SIZE + 1,
+                TransactionBatchItemDto.builder().sellerId(1L).amount(BigDecimal.ONE).paymentType("CASH").build());
+
+        assertThrows(TransactionBadRequestException.class, () -> transactionService.createTransactions(items));
+        verifyNoInteractions(sellerRepository);
+    }
+
     @Test
     void updateTransaction_shouldUpdateTransaction_whenValidInput() {
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findWithSellerById(1L)).thenReturn(Optional.of(transaction));
         when(transactionRepository.saveAndFlush(transaction)).thenReturn(transaction);
 
         TransactionEntity updatedTransaction = transactionService.updateTransaction(1L, Optional.of(1L), Optional.of(BigDecimal.valueOf(150)), Optional.of("CREDIT_CARD"));
 
-        assertEquals(BigDecimal.valueOf(150), updatedTransaction.getAmount());
+        assertEquals(new BigDecimal("150.00"), updatedTransaction.getAmount());
         verify(transactionRepository).saveAndFlush(transaction);
+        verify(sellerDailyStatsService).apply(1L, transaction.getTransactionDate().toLocalDate(),
+                TransactionEntity.PaymentType.CARD, 10_000L, -1);
+        verify(sellerDailyStatsService).recordCreated(transaction);
+    }
+
+    @Test
+    void updateTransaction_shouldNotTouchStats_whenNothingChanged() {
+        when(transactionRepository.findWithSellerById(1L)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.saveAndFlush(transaction)).thenReturn(transaction);
+
+        transactionService.updateTransaction(1L, Optional.empty(), Optional.of(BigDecimal.valueOf(100)), Optional.empty());
+
+        verifyNoInteractions(sellerDailyStatsService);
     }
 
     @Test
     void updateTransaction_shouldThrowTransactionNotFoundException_whenTransactionDoesNotExist() {
-        when(transactionRepository.findById(1L)).thenReturn(Optional.empty());
+        when(transactionRepository.findWithSellerById(1L)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(TransactionNotFoundException.class, () ->
                 transactionService.updateTransaction(1L, Optional.empty(), Optional.empty(), Optional.empty()));
@@ -107,16 +258,17 @@ class TransactionServiceTest {
 
     @Test
     void deleteTransaction_shouldDeleteTransaction_whenTransactionExists() {
-        when(transactionRepository.findById(1L)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findWithSellerById(1L)).thenReturn(Optional.of(transaction));
 
         transactionService.deleteTransaction(1L);
 
         verify(transactionRepository).delete(transaction);
+        verify(sellerDailyStatsService).recordDeleted(transaction);
     }
 
     @Test
     void deleteTransaction_shouldThrowTransactionNotFoundException_whenTransactionDoesNotExist() {
-        when(transactionRepository.findById(1L)).thenReturn(Optional.empty());
+        when(transactionRepository.findWithSellerById(1L)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(TransactionNotFoundException.class, () ->
                 transactionService.deleteTransaction(1L));
@@ -125,19 +277,244 @@ class TransactionServiceTest {
     }
 
     @Test
-    void getMostProductiveSeller_shouldReturnMostProductiveSeller_whenTransactionsExist() {
-        TransactionEntity transaction2 = TransactionEntity.builder()
-                .sellerEntity(seller)
-                .amount(BigDecimal.valueOf(200))
-                .paymentType(TransactionEntity.PaymentType.CARD)
-                .transactionDate(LocalDateTime.now())
-                .build();
+    void getMostProductiveSeller_shouldCombineRollupAndPartialDays() {
+        SellerEntity seller2 = SellerEntity.builder().id(2L).name("Seller B").build();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 3, 12, 0);
+
+        when(sellerDailyStatsRepository.sumBySellerBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2)))
+                .thenReturn(List.of(sellerTotal(1L, 300), sellerTotal(2L, 100)));
+        when(transactionRepository.sumBySellerBetween(LocalDateTime.of(2024, 1, 3, 0, 0), end))
+                .thenReturn(List.of(sellerTotal(2L, 500)));
+        when(sellerRepository.findById(2L)).thenReturn(Optional.of(seller2));
+
+        Optional<SellerEntity> result = transactionService.getMostProductiveSeller(start, end);
+
+        assertTrue(result.isPresent());
+        assertEquals(2L, result.get().getId());
+        verify(transactionRepository, never()).sumBySellerFromUntil(any(), any());
+        verify(transactionRepository, never()).findAllByTransactionDateBetween(any(), any());
+    }
+
+    @Test
+    void getMostProductiveSeller_shouldQueryTransactionsDirectly_whenRangeIsShorterThanDay() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 1, 18, 0);
 
-        when(transactionRepository.findAllByTransactionDateBetween(any(), any())).thenReturn(Stream.of(transaction, transaction2));
+        when(transactionRepository.sumBySellerBetween(start, end)).thenReturn(List.of(sellerTotal(1L, 100)));
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
 
-        Optional<SellerEntity> result = transactionService.getMostProductiveSeller(LocalDateTime.now().minusDays(1), LocalDateTime.now());
+        Optional<SellerEntity> result = transactionService.getMostProductiveSeller(start, end);
 
         assertTrue(result.isPresent());
         assertEquals(seller.getId(), result.get().getId());
+        verifyNoInteractions(sellerDailyStatsRepository);
+    }
+
+    @Test
+    void getMostProductiveSeller_shouldUseColumnarMirror_whenItCoversRange() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 3, 18, 0);
+        ColumnarTransactionMirror mirror = mock(ColumnarTransactionMirror.class);
+
+        when(columnarTransactionMirror.getIfAvailable()).thenReturn(mirror);
+        when(mirror.covers(start)).thenReturn(true);
+        when(mirror.findMostProductiveSellerId(start, end)).thenReturn(OptionalLong.of(1L));
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
+
+        Optional<SellerEntity> result = transactionService.getMostProductiveSeller(start, end);
+
+        assertEquals(Optional.of(seller), result);
+        verifyNoInteractions(transactionRepository, sellerDailyStatsRepository, tableStatisticsRepository);
+    }
+
+    @Test
+    void getMostProductiveSeller_shouldAddArchivedRows_whenRangeReachesIntoArchive() {
+        SellerEntity seller2 = SellerEntity.builder().id(2L).name("Seller B").build();
+        LocalDateTime start = LocalDateTime.of(2023, 12, 31, 12, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 2, 12, 0);
+        TransactionArchive archive = archive(LocalDateTime.of(2024, 1, 1, 0, 0));
+        doAnswer(invocation -> {
+            invocation.<SellerTotals>getArgument(0).add(2L, 50_000);
+            return null;
+        }).when(archive).addTotals(any(), eq(start), eq(LocalDateTime.of(2024, 1, 1, 0, 0)), eq(false));
+
+        when(sellerDailyStatsRepository.sumBySellerBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1)))
+                .thenReturn(List.of(sellerTotal(1L, 300)));
+        when(sellerRepository.findById(2L)).thenReturn(Optional.of(seller2));
+
+        Optional<SellerEntity> result = transactionService.getMostProductiveSeller(start, end);
+
+        assertEquals(2L, result.orElseThrow().getId());
+        verify(archive).read(any());
+        verify(archive).addTotals(any(), eq(LocalDateTime.of(2024, 1, 2, 0, 0)), eq(end), eq(true));
+    }
+
+    @Test
+    void getSellersWithTotalTransactionLessThan_shouldDelegateToSingleGroupedQuery() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 1, 31);
+        when(sellerDailyStatsRepository.findSellersWithTotalLessThan(BigDecimal.valueOf(100), from, to))
+                .thenReturn(List.of(seller));
+
+        List<SellerEntity> result = transactionService.getSellersWithTotalTransactionLessThan(
+                BigDecimal.valueOf(100), Optional.of(from), Optional.of(to));
+
+        assertEquals(List.of(seller), result);
+        verify(sellerRepository, never()).findAll();
+        verify(transactionRepository, never()).findAllBySellerEntity(any());
+    }
+
+    @Test
+    void getSellersWithTotalTransactionLessThan_shouldCoverAllTime_whenPeriodIsOmitted() {
+        transactionService.getSellersWithTotalTransactionLessThan(BigDecimal.valueOf(100), Optional.empty(), Optional.empty());
+
+        verify(sellerDailyStatsRepository).findSellersWithTotalLessThan(
+                BigDecimal.valueOf(100), LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31));
+    }
+
+    @Test
+    void findBestTransactionPeriod_shouldReadDailyAndLongerPeriodsFromRollup() {
+        LocalDateTime weekStart = LocalDateTime.of(2024, 1, 8, 0, 0);
+        when(sellerDailyStatsRepository.findBestPeriod(1L, "week"))
+                .thenReturn(Optional.of(period(weekStart, 12L, 900)));
+
+        Optional<TransactionPeriodDto> result = transactionService.findBestTransactionPeriod(1L, PeriodGranularity.WEEK);
+
+        assertTrue(result.isPresent());
+        assertEquals(weekStart, result.get().getFrom());
+        assertEquals(weekStart.plusWeeks(1), result.get().getTo());
+        assertEquals(12L, result.get().getTransactionCount());
+        assertEquals(BigDecimal.valueOf(900), result.get().getTotalAmount());
+        verify(transactionRepository, never()).findAllBySellerEntity(any());
+    }
+
+    @Test
+    void findBestTransactionPeriod_shouldReadHoursFromTransactionTable() {
+        LocalDateTime hourStart = LocalDateTime.of(2024, 1, 10, 14, 0);
+        when(transactionRepository.findBestPeriod(1L, "hour"))
+                .thenReturn(Optional.of(period(hourStart, 3L, 300)));
+
+        Optional<TransactionPeriodDto> result = transactionService.findBestTransactionPeriod(1L, PeriodGranularity.HOUR);
+
+        assertTrue(result.isPresent());
+        assertEquals(hourStart.plusHours(1), result.get().getTo());
+        verifyNoInteractions(sellerDailyStatsRepository);
+    }
+
+    @Test
+    void findBestTransactionPeriod_shouldPreferArchivedHour_onTie() {
+        LocalDateTime archivedHour = LocalDateTime.of(2023, 6, 1, 9, 0);
+        TransactionArchive archive = archive(LocalDateTime.of(2023, 7, 1, 0, 0));
+        when(archive.findBestPeriod(1L, ChronoUnit.HOURS))
+                .thenReturn(Optional.of(new TransactionArchive.ArchivedPeriod(archivedHour, 3, 30_000)));
+        when(transactionRepository.findBestPeriod(1L, "hour"))
+                .thenReturn(Optional.of(period(LocalDateTime.of(2024, 1, 10, 14, 0), 3L, 300)));
+
+        Optional<TransactionPeriodDto> result = transactionService.findBestTransactionPeriod(1L, PeriodGranularity.HOUR);
+
+        assertEquals(archivedHour, result.orElseThrow().getFrom());
+        assertEquals(new BigDecimal("300.00"), result.get().getTotalAmount());
+    }
+
+    @Test
+    void findBestTransactionWindow_shouldPreferDatabaseWindow_withMoreTransactions() {
+        LocalDateTime archiveEnd = LocalDateTime.of(2023, 7, 1, 0, 0);
+        LocalDateTime windowStart = LocalDateTime.of(2024, 1, 10, 14, 25);
+        TransactionArchive archive = archive(archiveEnd);
+        when(transactionRepository.findSellerTransactionsFromUntil(1L, archiveEnd, archiveEnd.plusHours(1)))
+                .thenReturn(List.of());
+        when(archive.findBestWindow(1L, Duration.ofHours(1), List.of()))
+                .thenReturn(Optional.of(new TransactionArchive.ArchivedPeriod(archiveEnd.minusMinutes(30), 2, 200)));
+        when(transactionRepository.findBestSlidingWindow(1L, "PT1H"))
+                .thenReturn(Optional.of(period(windowStart, 3L, 300)));
+
+        Optional<TransactionPeriodDto> result = transactionService.findBestTransactionWindow(1L, Duration.ofHours(1));
+
+        assertEquals(windowStart, result.orElseThrow().getFrom());
+        assertEquals(3L, result.get().getTransactionCount());
+    }
+
+    @Test
+    void findBestTransactionWindow_shouldReturnSlidingWindowBounds() {
+        LocalDateTime windowStart = LocalDateTime.of(2024, 1, 10, 14, 25);
+        when(transactionRepository.findBestSlidingWindow(1L, "PT168H"))
+                .thenReturn(Optional.of(period(windowStart, 40L, 4000)));
+
+        Optional<TransactionPeriodDto> result = transactionService.findBestTransactionWindow(1L, Duration.ofDays(7));
+
+        assertTrue(result.isPresent());
+        assertEquals(windowStart, result.get().getFrom());
+        assertEquals(windowStart.plusDays(7), result.get().getTo());
+        assertEquals(40L, result.get().getTransactionCount());
+    }
+
+    @Test
+    void findBestTransactionWindow_shouldRecordLatencyAndRowsScanned() {
+        when(tableStatisticsRepository.findRowsReadInTransaction()).thenReturn(1_000L, 1_450L);
+        when(transactionRepository.findBestSlidingWindow(1L, "PT1H")).thenReturn(Optional.empty());
+
+        transactionService.findBestTransactionWindow(1L, Duration.ofHours(1));
+
+        assertEquals(1, meterRegistry.get("crm.analytics.duration")
+                .tags("operation", "best_window", "outcome", "success").timer().count());
+        assertEquals(450, meterRegistry.get("crm.analytics.rows.scanned")
+                .tag("operation", "best_window").summary().totalAmount());
+        assertEquals(450, meterRegistry.get("crm.analytics.rows.scanned.last")
+                .tag("operation", "best_window").gauge().value());
+    }
+
+    @Test
+    void findBestTransactionWindow_shouldRejectNonPositiveWindow() {
+        assertThrows(TransactionBadRequestException.class, () ->
+                transactionService.findBestTransactionWindow(1L, Duration.ZERO));
+    }
+
+    private TransactionArchive archive(LocalDateTime end) {
+        TransactionArchive archive = mock(TransactionArchive.class);
+        when(transactionArchive.getIfAvailable()).thenReturn(archive);
+        when(archive.getSegments()).thenReturn(List.of(mock(TransactionSegment.class)));
+        when(archive.getEnd()).thenReturn(Optional.of(end));
+        when(archive.overlaps(any())).thenAnswer(invocation -> invocation.<LocalDateTime>getArgument(0).isBefore(end));
+        when(archive.read(any())).thenAnswer(invocation -> invocation.<Supplier<Object>>getArgument(0).get());
+        return archive;
+    }
+
+    private static TransactionPeriodProjection period(LocalDateTime start, Long count, long amount) {
+        return new TransactionPeriodProjection() {
+            @Override
+            public LocalDateTime getPeriodStart() {
+                return start;
+            }
+
+            @Override
+            public Long getTransactionCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getTotalAmount() {
+                return BigDecimal.valueOf(amount);
+            }
+        };
+    }
+
+    private static SellerTotalProjection sellerTotal(Long sellerId, long amount) {
+        return new SellerTotalProjection() {
+            @Override
+            public Long getSellerId() {
+                return sellerId;
+            }
+
+            @Override
+            public BigDecimal getTotalAmount() {
+                return BigDecimal.valueOf(amount);
+            }
+
+            @Override
+            public Long getTransactionCount() {
+                return 1L;
+            }
+        };
     }
 }
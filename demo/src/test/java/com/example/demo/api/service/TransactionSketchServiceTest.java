@@ -0,0 +1,71 @@
+package com.example.demo.api.service;
+
+import com.example.demo.config.SketchProperties;
+import com.example.demo.store.repository.TransactionSummaryRepository;
+import com.example.demo.store.repository.TransactionSummaryRepository.Fingerprint;
+import com.example.demo.store.sketch.DailySketch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class TransactionSketchServiceTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 10);
+    private static final LocalDate MATCHING = LocalDate.of(2024, 1, 7);
+    private static final LocalDate CHANGED = LocalDate.of(2024, 1, 8);
+    private static final LocalDate EMPTIED = LocalDate.of(2024, 1, 9);
+
+    @Mock
+    private TransactionSummaryRepository transactionSummaryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionSketchService transactionSketchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        transactionSketchService = new TransactionSketchService(
+                transactionSummaryRepository, new SketchProperties(), transactionManager);
+
+        when(transactionSummaryRepository.findDaysToSketch(TODAY)).thenReturn(List.of(MATCHING, CHANGED, EMPTIED));
+        doAnswer(invocation -> {
+            DailySketch sketch = invocation.getArgument(0);
+            if (!sketch.getDate().equals(EMPTIED)) {
+                sketch.add(1, 10_000);
+                sketch.add(2, 5_000);
+            }
+            return null;
+        }).when(transactionSummaryRepository).addTransactions(any(), isNull(), anyInt());
+        when(transactionSummaryRepository.findRollupFingerprint(MATCHING))
+                .thenReturn(Optional.of(new Fingerprint(2, 15_000, 3)));
+        when(transactionSummaryRepository.findRollupFingerprint(CHANGED))
+                .thenReturn(Optional.of(new Fingerprint(3, 20_000, 5)));
+        when(transactionSummaryRepository.findRollupFingerprint(EMPTIED)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void sketchFinishedDays_shouldOnlySaveDaysMatchingTheRollup() {
+        int sketched = transactionSketchService.sketchFinishedDays(TODAY);
+
+        assertEquals(2, sketched);
+        ArgumentCaptor<DailySketch> saved = ArgumentCaptor.forClass(DailySketch.class);
+        verify(transactionSummaryRepository).save(saved.capture());
+        assertEquals(MATCHING, saved.getValue().getDate());
+        assertEquals(2, saved.getValue().getSellerDigests().size());
+        verify(transactionSummaryRepository).delete(EMPTIED);
+        verify(transactionSummaryRepository, never()).delete(CHANGED);
+    }
+}
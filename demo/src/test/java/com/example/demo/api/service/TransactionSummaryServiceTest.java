@@ -0,0 +1,132 @@
+package com.example.demo.api.service;
+
+import com.example.demo.api.exception.transaction.TransactionBadRequestException;
+import com.example.demo.api.metrics.AnalyticsMetrics;
+import com.example.demo.config.MetricsProperties;
+import com.example.demo.config.SketchProperties;
+import com.example.demo.store.metrics.TableStatisticsRepository;
+import com.example.demo.store.repository.TransactionSummaryRepository;
+import com.example.demo.store.repository.TransactionSummaryRepository.SketchedDay;
+import com.example.demo.store.repository.TransactionSummaryRepository.SketchedSellerDay;
+import com.example.demo.store.sketch.DailySketch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TransactionSummaryServiceTest {
+    private static final LocalDate YESTERDAY = LocalDate.of(2024, 1, 9);
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 10);
+
+    @Mock
+    private TransactionSummaryRepository transactionSummaryRepository;
+
+    @Mock
+    private TableStatisticsRepository tableStatisticsRepository;
+
+    private TransactionSummaryService transactionSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AnalyticsMetrics analyticsMetrics = new AnalyticsMetrics(
+                new SimpleMeterRegistry(), new MetricsProperties(), tableStatisticsRepository);
+        transactionSummaryService = new TransactionSummaryService(
+                transactionSummaryRepository, new SketchProperties(), analyticsMetrics);
+    }
+
+    @Test
+    void summarize_shouldMergeSketchedDays_withDaysSketchedOnTheFly() {
+        DailySketch yesterday = new DailySketch(YESTERDAY, false);
+        yesterday.add(1, 10_000);
+        yesterday.add(2, 20_000);
+        when(transactionSummaryRepository.findSketchedDays(YESTERDAY, TODAY)).thenReturn(List.of(new SketchedDay(
+                YESTERDAY, 2, 30_000, yesterday.getActiveSellers(), yesterday.getAmountDigest())));
+        when(transactionSummaryRepository.findUnsketchedDays(YESTERDAY, TODAY, null)).thenReturn(List.of(TODAY));
+        doAnswer(invocation -> {
+            DailySketch today = invocation.getArgument(0);
+            today.add(2, 30_000);
+            today.add(3, 40_000);
+            return null;
+        }).when(transactionSummaryRepository).addTransactions(any(), isNull(), anyInt());
+
+        TransactionSummaryService.Summary summary = transactionSummaryService
+                .summarize(YESTERDAY, TODAY, Optional.empty(), false);
+
+        assertFalse(summary.exact());
+        assertEquals(new TransactionSummaryService.Estimate(4, 0), summary.transactionCount());
+        assertEquals(new TransactionSummaryService.Estimate(100_000, 0), summary.totalAmount());
+        assertEquals(3, summary.activeSellers().value());
+        assertEquals(
+                List.of(0.5, 0.9, 0.99),
+                summary.amountQuantiles().stream().map(TransactionSummaryService.Quantile::quantile).toList());
+        assertTrue(summary.amountQuantiles().stream().allMatch(quantile -> quantile.rankError() > 0));
+        verify(transactionSummaryRepository, never()).sumBetween(any(), any(), any());
+    }
+
+    @Test
+    void summarize_shouldBoundSellerTotal_byCountMinError() {
+        DailySketch yesterday = new DailySketch(YESTERDAY, true);
+        yesterday.add(1, 10_000);
+        yesterday.add(1, 15_000);
+        yesterday.add(2, 20_000);
+        when(transactionSummaryRepository.findSketchedSellerDays(1, YESTERDAY, TODAY)).thenReturn(List.of(
+                new SketchedSellerDay(YESTERDAY, yesterday.getSellerDigests().get(1L), yesterday.getSellerVolume())));
+        when(transactionSummaryRepository.findUnsketchedDays(YESTERDAY, TODAY, 1L)).thenReturn(List.of(TODAY));
+        doAnswer(invocation -> {
+            invocation.<DailySketch>getArgument(0).add(1, 5_000);
+            return null;
+        }).when(transactionSummaryRepository).addTransactions(any(), eq(1L), anyInt());
+
+        TransactionSummaryService.Summary summary = transactionSummaryService
+                .summarize(YESTERDAY, TODAY, Optional.of(1L), false);
+
+        assertEquals(1L, summary.sellerId());
+        assertEquals(new TransactionSummaryService.Estimate(3, 0), summary.transactionCount());
+        assertTrue(summary.totalAmount().value() >= 30_000);
+        assertTrue(summary.totalAmount().value() - 30_000 <= summary.totalAmount().errorBound());
+        assertTrue(summary.totalAmount().errorBound() > 0);
+        assertNull(summary.activeSellers());
+        verify(transactionSummaryRepository, never()).findSketchedDays(any(), any());
+    }
+
+    @Test
+    void summarize_shouldUseExactQueries_whenExact() {
+        when(transactionSummaryRepository.sumBetween(YESTERDAY, TODAY, null))
+                .thenReturn(new TransactionSummaryRepository.Totals(4, 100_000, 3));
+        when(transactionSummaryRepository.findAmountQuantiles(YESTERDAY, TODAY, null, TransactionSummaryService.QUANTILES))
+                .thenReturn(List.of(20_000L, 40_000L, 40_000L));
+
+        TransactionSummaryService.Summary summary = transactionSummaryService
+                .summarize(YESTERDAY, TODAY, Optional.empty(), true);
+
+        assertTrue(summary.exact());
+        assertEquals(new TransactionSummaryService.Estimate(3, 0), summary.activeSellers());
+        assertEquals(List.of(
+                new TransactionSummaryService.Quantile(0.5, 20_000, 0),
+                new TransactionSummaryService.Quantile(0.9, 40_000, 0),
+                new TransactionSummaryService.Quantile(0.99, 40_000, 0)
+        ), summary.amountQuantiles());
+        verify(transactionSummaryRepository, never()).findSketchedDays(any(), any());
+        verify(transactionSummaryRepository, never()).addTransactions(any(), any(), anyInt());
+    }
+
+    @Test
+    void summarize_shouldRejectReversedRange() {
+        assertThrows(TransactionBadRequestException.class,
+                () -> transactionSummaryService.summarize(TODAY, YESTERDAY, Optional.empty(), false));
+        verify(transactionSummaryRepository, never()).findSketchedSellerDays(anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.demo.store.archive;
+
+import com.example.demo.config.ArchiveProperties;
+import com.example.demo.store.money.SellerTotals;
+import com.example.demo.store.projection.TransactionPointProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionArchiveTest {
+    private static final YearMonth MAY = YearMonth.of(2023, 5);
+    private static final YearMonth JUNE = YearMonth.of(2023, 6);
+    private static final LocalDateTime JULY_START = LocalDateTime.of(2023, 7, 1, 0, 0);
+
+    @TempDir
+    private Path directory;
+
+    private TransactionArchive archive;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TransactionArchive empty = open();
+        TransactionSegmentWriter may = new TransactionSegmentWriter(MAY);
+        may.add(1, 1, 10_000, LocalDateTime.of(2023, 5, 3, 10, 5), (byte) 0);
+        may.add(2, 1, 20_000, LocalDateTime.of(2023, 5, 3, 10, 40), (byte) 0);
+        may.add(3, 2, 5_000, LocalDateTime.of(2023, 5, 20, 8, 0), (byte) 1);
+        may.writeTo(empty.temporarySegmentPath(MAY));
+        empty.publish(MAY, () -> {
+        });
+
+        TransactionSegmentWriter june = new TransactionSegmentWriter(JUNE);
+        june.add(4, 2, 1_000, LocalDateTime.of(2023, 6, 10, 12, 0), (byte) 0);
+        june.add(5, 2, 1_000, LocalDateTime.of(2023, 6, 10, 12, 30), (byte) 0);
+        june.add(6, 1, 7_000, LocalDateTime.of(2023, 6, 30, 23, 30), (byte) 0);
+        june.writeTo(empty.temporarySegmentPath(JUNE));
+        empty.publish(JUNE, () -> {
+        });
+
+        archive = open();
+    }
+
+    @Test
+    void open_shouldLoadPublishedSegmentsInMonthOrder() throws IOException {
+        Files.writeString(directory.resolve("notes.txt"), "ignored");
+
+        TransactionArchive reopened = open();
+
+        assertEquals(List.of(MAY, JUNE), reopened.getSegments().stream().map(TransactionSegment::getMonth).toList());
+        assertEquals(6, reopened.getRowCount());
+        assertEquals(Optional.of(JULY_START), reopened.getEnd());
+        assertTrue(reopened.overlaps(JULY_START.minusNanos(1_000)));
+        assertFalse(reopened.overlaps(JULY_START));
+        assertEquals(List.of(), reopened.findTemporarySegments());
+    }
+
+    @Test
+    void publish_shouldLeaveArchiveUnchanged_whenDatabaseRemovalFails() throws IOException {
+        YearMonth july = YearMonth.of(2023, 7);
+        TransactionSegmentWriter writer = new TransactionSegmentWriter(july);
+        writer.add(7, 1, 100, JULY_START, (byte) 0);
+        writer.writeTo(archive.temporarySegmentPath(july));
+
+        assertThrows(IllegalStateException.class, () -> archive.publish(july, () -> {
+            throw new IllegalStateException("detach failed");
+        }));
+
+        assertFalse(archive.contains(july));
+        assertEquals(List.of(july), archive.findTemporarySegments());
+    }
+
+    @Test
+    void addTotals_shouldHonourRangeBounds() {
+        SellerTotals totals = new SellerTotals();
+        archive.addTotals(totals, LocalDateTime.of(2023, 5, 3, 10, 5), LocalDateTime.of(2023, 5, 20, 8, 0), false);
+        assertEquals(OptionalLong.of(1), totals.topSeller());
+
+        SellerTotals inclusive = new SellerTotals();
+        archive.addTotals(inclusive, LocalDateTime.of(2023, 5, 20, 8, 0), LocalDateTime.of(2023, 6, 30, 23, 30), true);
+        assertEquals(OptionalLong.of(1), inclusive.topSeller());
+
+        SellerTotals exclusive = new SellerTotals();
+        archive.addTotals(exclusive, LocalDateTime.of(2023, 5, 20, 8, 0), LocalDateTime.of(2023, 6, 30, 23, 30), false);
+        assertEquals(OptionalLong.of(2), exclusive.topSeller());
+    }
+
+    @Test
+    void findBestPeriod_shouldPreferEarliestPeriod_onTie() {
+        TransactionArchive.ArchivedPeriod hour = archive.findBestPeriod(2, ChronoUnit.HOURS).orElseThrow();
+        assertEquals(LocalDateTime.of(2023, 6, 10, 12, 0), hour.periodStart());
+        assertEquals(2, hour.count());
+        assertEquals(2_000, hour.amountMinorUnits());
+
+        TransactionArchive.ArchivedPeriod day = archive.findBestPeriod(1, ChronoUnit.DAYS).orElseThrow();
+        assertEquals(LocalDateTime.of(2023, 5, 3, 0, 0), day.periodStart());
+
+        assertEquals(Optional.empty(), archive.findBestPeriod(3, ChronoUnit.DAYS));
+    }
+
+    @Test
+    void findBestWindow_shouldCountDatabaseRowsAfterArchive() {
+        assertEquals(LocalDateTime.of(2023, 5, 3, 10, 5),
+                archive.findBestWindow(1, Duration.ofHours(1), List.of()).orElseThrow().periodStart());
+
+        TransactionArchive.ArchivedPeriod window = archive.findBestWindow(1, Duration.ofHours(1), List.of(
+                point(JULY_START.plusMinutes(5), 100L),
+                point(JULY_START.plusMinutes(20), null),
+                point(JULY_START.plusMinutes(30), 100L)
+        )).orElseThrow();
+
+        assertEquals(LocalDateTime.of(2023, 6, 30, 23, 30), window.periodStart());
+        assertEquals(3, window.count());
+        assertEquals(7_100, window.amountMinorUnits());
+    }
+
+    private TransactionArchive open() throws IOException {
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setDirectory(directory.toString());
+        return new TransactionArchive(properties, new SimpleMeterRegistry());
+    }
+
+    private static TransactionPointProjection point(LocalDateTime transactionDate, Long amountMinorUnits) {
+        return new TransactionPointProjection() {
+            @Override
+            public LocalDateTime getTransactionDate() {
+                return transactionDate;
+            }
+
+            @Override
+            public Long getAmountMinorUnits() {
+                return amountMinorUnits;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.store.archive;
+
+import com.example.demo.store.archive.TransactionSegment.Column;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSegmentTest {
+    private static final YearMonth MONTH = YearMonth.of(2023, 5);
+    private static final LocalDateTime START = MONTH.atDay(1).atStartOfDay();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void writeTo_shouldRoundTripColumnsAndStats() throws IOException {
+        TransactionSegmentWriter writer = new TransactionSegmentWriter(MONTH);
+        writer.add(10, 7, 12_345, START.plusNanos(1_000), (byte) 0);
+        writer.add(3, 2, 0, START.plusDays(3), (byte) -1);
+        writer.add(4, 9, Long.MAX_VALUE / 2, START.plusDays(3), (byte) 2);
+        writer.add(1_000_000, 2, 1, MONTH.atEndOfMonth().atTime(23, 59, 59, 999_999_000), (byte) 1);
+        Path path = directory.resolve("segment");
+        writer.writeTo(path);
+
+        TransactionSegment segment = TransactionSegment.open(path);
+
+        assertEquals(MONTH, segment.getMonth());
+        assertEquals(4, segment.getRowCount());
+        assertEquals(2, segment.getMinSellerId());
+        assertEquals(9, segment.getMaxSellerId());
+        assertEquals(3, segment.getMinId());
+        assertEquals(1_000_000, segment.getMaxId());
+        assertEquals(12_345 + Long.MAX_VALUE / 2 + 1, segment.getTotalAmount());
+        assertArrayEquals(new long[]{10, 3, 4, 1_000_000}, segment.readLongs(Column.ID));
+        assertArrayEquals(new long[]{7, 2, 9, 2}, segment.readLongs(Column.SELLER_ID));
+        assertArrayEquals(new long[]{12_345, 0, Long.MAX_VALUE / 2, 1}, segment.readLongs(Column.AMOUNT));
+        assertArrayEquals(new byte[]{0, -1, 2, 1}, segment.readPaymentTypes());
+        long[] micros = segment.readLongs(Column.MICROS);
+        assertEquals(START.plusNanos(1_000), TransactionSegment.toDateTime(micros[0]));
+        assertEquals(MONTH.atEndOfMonth().atTime(23, 59, 59, 999_999_000), TransactionSegment.toDateTime(micros[3]));
+        assertTrue(segment.overlaps(micros[3], micros[3] + 1));
+        assertFalse(segment.overlaps(micros[3] + 1, Long.MAX_VALUE));
+    }
+
+    @Test
+    void add_shouldRejectRowsOutsideMonthOrOutOfOrder() {
+        TransactionSegmentWriter writer = new TransactionSegmentWriter(MONTH);
+        writer.add(5, 1, 100, START.plusHours(1), (byte) 0);
+
+        assertThrows(IllegalArgumentException.class, () -> writer.add(6, 1, 100, START.minusNanos(1_000), (byte) 0));
+        assertThrows(IllegalArgumentException.class, () -> writer.add(6, 1, 100, START.plusMonths(1), (byte) 0));
+        assertThrows(IllegalArgumentException.class, () -> writer.add(6, 1, 100, START, (byte) 0));
+        assertThrows(IllegalArgumentException.class, () -> writer.add(5, 1, 100, START.plusHours(1), (byte) 0));
+        assertEquals(1, writer.getRowCount());
+    }
+
+    @Test
+    void readLongs_shouldRejectCorruptColumn() throws IOException {
+        TransactionSegmentWriter writer = new TransactionSegmentWriter(MONTH);
+        for (int i = 0; i < 100; i++) {
+            writer.add(i, i % 7, i * 100L, START.plusMinutes(i), (byte) 0);
+        }
+        Path path = directory.resolve("segment");
+        writer.writeTo(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x55, 0x55, 0x55, 0x55}), TransactionSegment.HEADER_SIZE + 2);
+        }
+
+        TransactionSegment segment = TransactionSegment.open(path);
+
+        assertThrows(IllegalStateException.class, () -> segment.readLongs(Column.ID));
+    }
+
+    @Test
+    void open_shouldRejectForeignFile() throws IOException {
+        Path path = directory.resolve("segment");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(TransactionSegment.HEADER_SIZE));
+        }
+
+        assertThrows(IllegalStateException.class, () -> TransactionSegment.open(path));
+    }
+}
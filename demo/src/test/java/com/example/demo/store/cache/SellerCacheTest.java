@@ -0,0 +1,144 @@
+package com.example.demo.store.cache;
+
+import com.example.demo.config.SellerCacheProperties;
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.repository.SellerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SellerCacheTest {
+    private SellerRepository sellerRepository;
+    private MeterRegistry meterRegistry;
+    private SellerCache sellerCache;
+
+    private SellerEntity seller;
+
+    @BeforeEach
+    void setUp() {
+        sellerRepository = mock(SellerRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        sellerCache = new SellerCache(sellerRepository, new SellerCacheProperties(), meterRegistry);
+
+        seller = SellerEntity.builder()
+                .id(1L)
+                .name("Seller A")
+                .contactInfo("a@example.com")
+                .build();
+    }
+
+    @Test
+    void findById_shouldHitRepositoryOnlyOnce() {
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
+
+        assertSame(seller, sellerCache.findById(1L).orElseThrow());
+        assertSame(seller, sellerCache.findById(1L).orElseThrow());
+
+        verify(sellerRepository, times(1)).findById(1L);
+        assertEquals(0.5, meterRegistry.get("crm.seller.cache.hit.ratio").tag("cache", "sellers.byId").gauge().value());
+    }
+
+    @Test
+    void findById_shouldRememberMissingSeller() {
+        when(sellerRepository.findById(42L)).thenReturn(Optional.empty());
+
+        assertTrue(sellerCache.findById(42L).isEmpty());
+        assertTrue(sellerCache.findById(42L).isEmpty());
+
+        verify(sellerRepository, times(1)).findById(42L);
+    }
+
+    @Test
+    void findById_shouldForgetMissingSeller_afterNegativeTtl() throws InterruptedException {
+        SellerCacheProperties properties = new SellerCacheProperties();
+        properties.setNegativeTtl(Duration.ofMillis(20));
+        SellerCache shortLivedCache = new SellerCache(sellerRepository, properties, new SimpleMeterRegistry());
+        when(sellerRepository.findById(42L)).thenReturn(Optional.empty());
+
+        shortLivedCache.findById(42L);
+        Thread.sleep(50);
+        shortLivedCache.findById(42L);
+
+        verify(sellerRepository, times(2)).findById(42L);
+    }
+
+    @Test
+    void findByName_shouldResolveThroughIdCache() {
+        when(sellerRepository.findByName("Seller A")).thenReturn(Optional.of(seller));
+
+        assertSame(seller, sellerCache.findByName("Seller A").orElseThrow());
+        assertSame(seller, sellerCache.findByName("Seller A").orElseThrow());
+        assertSame(seller, sellerCache.findById(1L).orElseThrow());
+
+        verify(sellerRepository, times(1)).findByName("Seller A");
+        verify(sellerRepository, never()).findById(any());
+    }
+
+    @Test
+    void findAllById_shouldLoadOnlyMissesInOneQuery() {
+        SellerEntity other = SellerEntity.builder().id(2L).name("Seller B").build();
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
+        when(sellerRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(other));
+        sellerCache.findById(1L);
+
+        Map<Long, SellerEntity> sellers = sellerCache.findAllById(List.of(1L, 2L, 3L));
+
+        assertEquals(Map.of(1L, seller, 2L, other), sellers);
+        assertTrue(sellerCache.findById(3L).isEmpty());
+        verify(sellerRepository, times(1)).findAllById(List.of(2L, 3L));
+        verify(sellerRepository, never()).findById(3L);
+    }
+
+    @Test
+    void invalidate_shouldDropSellerAndItsName() {
+        when(sellerRepository.findById(1L)).thenReturn(Optional.of(seller));
+        when(sellerRepository.findByName("Seller A")).thenReturn(Optional.of(seller));
+        sellerCache.findById(1L);
+
+        sellerCache.invalidate(1L);
+        sellerCache.findById(1L);
+        sellerCache.findByName("Seller A");
+
+        verify(sellerRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void putAfterCommit_shouldKeepNewerSeller_whenStaleReaderPutsOlderVersion() {
+        SellerEntity loaded = SellerEntity.builder().id(1L).name("Seller A").version(1L).build();
+        SellerEntity saved = SellerEntity.builder().id(1L).name("Seller B").version(2L).build();
+        when(sellerRepository.findById(1L)).thenAnswer(invocation -> {
+            // the update commits while this reader still holds the row it loaded before
+            sellerCache.putAfterCommit(saved);
+            return Optional.of(loaded);
+        });
+
+        assertSame(loaded, sellerCache.findById(1L).orElseThrow());
+
+        assertSame(saved, sellerCache.findById(1L).orElseThrow());
+        assertSame(saved, sellerCache.findByName("Seller B").orElseThrow());
+        verify(sellerRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void removeAfterCommit_shouldNotCacheDeletedSeller_whenStaleReaderPutsIt() {
+        when(sellerRepository.findById(1L)).thenAnswer(invocation -> {
+            sellerCache.removeAfterCommit(1L);
+            return Optional.of(seller);
+        });
+
+        sellerCache.findById(1L);
+
+        assertTrue(sellerCache.findById(1L).isEmpty());
+        assertEquals(Map.of(), sellerCache.findAllById(List.of(1L)));
+        verify(sellerRepository, times(1)).findById(1L);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.store.columnar;
+
+import com.example.demo.store.money.MinorUnits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTransactionStoreTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    private ColumnarTransactionStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ColumnarTransactionStore(2);
+        ColumnarTransactionStore.Loader loader = new ColumnarTransactionStore.Loader(2);
+        loader.add(row(1, 1, "100.00", START));
+        loader.add(row(2, 2, "50.00", START.plusMinutes(10)));
+        loader.add(row(3, 2, "70.00", START.plusMinutes(20)));
+        loader.add(row(4, 1, "10.00", START.plusHours(5)));
+        store.replace(loader);
+    }
+
+    @Test
+    void findTopSellerByAmount_shouldSumInclusiveRange() {
+        assertEquals(OptionalLong.of(2), store.findTopSellerByAmount(second(START.plusMinutes(10)), second(START.plusHours(5))));
+        assertEquals(OptionalLong.of(1), store.findTopSellerByAmount(second(START), second(START.plusMinutes(10))));
+        assertEquals(OptionalLong.empty(), store.findTopSellerByAmount(second(START.plusDays(1)), second(START.plusDays(2))));
+    }
+
+    @Test
+    void findTopSellerByAmount_shouldPreferLowerSellerId_onTie() {
+        store.apply(List.of(new ColumnarTransactionStore.Change(row(5, 1, "10.00", START.plusHours(6)), false)));
+
+        assertEquals(OptionalLong.of(1), store.findTopSellerByAmount(second(START), second(START.plusDays(1))));
+    }
+
+    @Test
+    void apply_shouldKeepTimeOrder_andReplaceOrRemoveById() {
+        store.apply(List.of(
+                new ColumnarTransactionStore.Change(row(5, 3, "500.00", START.plusMinutes(15)), false),
+                new ColumnarTransactionStore.Change(row(1, 1, "1.00", START), false),
+                new ColumnarTransactionStore.Change(row(2, 2, "50.00", START.plusMinutes(10)), true),
+                new ColumnarTransactionStore.Change(row(2, 2, "50.00", START.plusMinutes(10)), true)
+        ));
+
+        assertEquals(4, store.size());
+        assertEquals(OptionalLong.of(3), store.findTopSellerByAmount(second(START), second(START.plusMinutes(15))));
+        assertEquals(OptionalLong.empty(), store.findTopSellerByAmount(second(START.plusMinutes(10)), second(START.plusMinutes(14))));
+        assertEquals(OptionalLong.of(1), store.findTopSellerByAmount(second(START), second(START)));
+    }
+
+    @Test
+    void findBestWindow_shouldCountTransactionsOpenedByEachSellerTransaction() {
+        ColumnarTransactionStore.Period period = store.findBestWindow(2, 30 * 60, Integer.MIN_VALUE).orElseThrow();
+
+        assertEquals(START.plusMinutes(10), period.getPeriodStart());
+        assertEquals(2, period.getTransactionCount());
+        assertEquals(new BigDecimal("120.00"), period.getTotalAmount());
+        assertTrue(store.findBestWindow(99, 60, Integer.MIN_VALUE).isEmpty());
+    }
+
+    @Test
+    void findBestWindow_shouldExcludeWindowEnd() {
+        ColumnarTransactionStore.Period period = store.findBestWindow(2, 10 * 60, Integer.MIN_VALUE).orElseThrow();
+
+        assertEquals(START.plusMinutes(10), period.getPeriodStart());
+        assertEquals(1, period.getTransactionCount());
+    }
+
+    @Test
+    void findBestPeriod_shouldPickEarliestBusiestHour() {
+        ColumnarTransactionStore.Period period = store.findBestPeriod(1, 3600, Integer.MIN_VALUE).orElseThrow();
+
+        assertEquals(START, period.getPeriodStart());
+        assertEquals(1, period.getTransactionCount());
+        assertEquals(new BigDecimal("100.00"), period.getTotalAmount());
+    }
+
+    @Test
+    void loader_shouldRejectRowsOutOfTimeOrder() {
+        ColumnarTransactionStore.Loader loader = new ColumnarTransactionStore.Loader(4);
+        loader.add(row(1, 1, "1.00", START.plusMinutes(1)));
+
+        assertThrows(IllegalArgumentException.class, () -> loader.add(row(2, 1, "1.00", START)));
+    }
+
+    @Test
+    void getMemoryFootprintBytes_shouldCountAllocatedCapacity() {
+        assertTrue(store.getMemoryFootprintBytes() >= 4L * ColumnarTransactionStore.BYTES_PER_ROW);
+    }
+
+    private static ColumnarTransactionStore.Row row(long id, long sellerId, String amount, LocalDateTime date) {
+        return new ColumnarTransactionStore.Row(
+                id, sellerId, MinorUnits.of(new BigDecimal(amount)), second(date), (byte) 0);
+    }
+
+    private static int second(LocalDateTime date) {
+        return ColumnarTransactionStore.toSecond(date);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo.store.live;
+
+import com.example.demo.config.LiveCountersProperties;
+import com.example.demo.store.entity.TransactionEntity.PaymentType;
+import com.example.demo.store.repository.SellerLeaderboardRepository.Metric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveSellerCountersTest {
+    private MutableClock clock;
+    private LiveSellerCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-10T12:00:00Z"));
+        LiveCountersProperties properties = new LiveCountersProperties();
+        properties.setHeavyHitterCapacity(8);
+        properties.setStripes(4);
+        counters = new LiveSellerCounters(properties, clock);
+    }
+
+    @Test
+    void top_shouldRankByMetric_andBreakTiesBySellerId() {
+        counters.record(1, PaymentType.CARD, 10_000);
+        counters.record(1, PaymentType.CARD, 10_000);
+        counters.record(1, PaymentType.CASH, 10_000);
+        counters.record(2, PaymentType.CARD, 100_000);
+        counters.record(3, null, 100_000);
+
+        assertEquals(List.of(
+                new LiveSellerCounters.Entry(2, 1, 100_000),
+                new LiveSellerCounters.Entry(3, 1, 100_000),
+                new LiveSellerCounters.Entry(1, 3, 30_000)
+        ), counters.top(LiveWindow.FIVE_MINUTES, Metric.AMOUNT, Optional.empty(), 8));
+        assertEquals(List.of(1L, 2L), counters.top(LiveWindow.ONE_HOUR, Metric.COUNT, Optional.empty(), 2)
+                .stream().map(LiveSellerCounters.Entry::sellerId).toList());
+    }
+
+    @Test
+    void top_shouldCountOnlyTheGivenPaymentType() {
+        counters.record(1, PaymentType.CARD, 10_000);
+        counters.record(1, PaymentType.CASH, 50_000);
+        counters.record(2, PaymentType.CARD, 20_000);
+
+        assertEquals(List.of(
+                new LiveSellerCounters.Entry(2, 1, 20_000),
+                new LiveSellerCounters.Entry(1, 1, 10_000)
+        ), counters.top(LiveWindow.ONE_DAY, Metric.AMOUNT, Optional.of(PaymentType.CARD), 8));
+        assertEquals(List.of(), counters.top(LiveWindow.ONE_DAY, Metric.AMOUNT, Optional.of(PaymentType.TRANSFER), 8));
+    }
+
+    @Test
+    void top_shouldForgetTransactionsOlderThanWindow() {
+        counters.record(1, PaymentType.CARD, 10_000);
+        clock.advance(Duration.ofMinutes(6));
+        counters.record(2, PaymentType.CARD, 5_000);
+
+        assertEquals(List.of(new LiveSellerCounters.Entry(2, 1, 5_000)),
+                counters.top(LiveWindow.FIVE_MINUTES, Metric.AMOUNT, Optional.empty(), 8));
+        assertEquals(List.of(1L, 2L), counters.top(LiveWindow.ONE_HOUR, Metric.AMOUNT, Optional.empty(), 8)
+                .stream().map(LiveSellerCounters.Entry::sellerId).toList());
+
+        clock.advance(Duration.ofDays(1));
+        assertEquals(List.of(), counters.top(LiveWindow.ONE_DAY, Metric.COUNT, Optional.empty(), 8));
+    }
+
+    @Test
+    void top_shouldFindHeavyHitter_amongMoreSellersThanCapacity() {
+        for (int i = 0; i < 200; i++) {
+            counters.record(1_000 + i, PaymentType.CASH, 100);
+            counters.record(7, PaymentType.CARD, 100);
+            clock.advance(Duration.ofSeconds(1));
+        }
+
+        List<LiveSellerCounters.Entry> top = counters.top(LiveWindow.FIVE_MINUTES, Metric.COUNT, Optional.empty(), 1);
+
+        assertEquals(List.of(new LiveSellerCounters.Entry(7, 200, 20_000)), top);
+    }
+
+    @Test
+    void top_shouldRejectLimitAboveCapacity() {
+        assertThrows(IllegalArgumentException.class, () ->
+                counters.top(LiveWindow.FIVE_MINUTES, Metric.AMOUNT, Optional.empty(), 9));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
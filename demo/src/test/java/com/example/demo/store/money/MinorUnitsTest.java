@@ -0,0 +1,46 @@
+package com.example.demo.store.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinorUnitsTest {
+    @Test
+    void of_shouldRoundHalfUpToColumnScale() {
+        assertEquals(12_345L, MinorUnits.of(new BigDecimal("123.45")));
+        assertEquals(12_346L, MinorUnits.of(new BigDecimal("123.455")));
+        assertEquals(10_000L, MinorUnits.of(BigDecimal.valueOf(100)));
+    }
+
+    @Test
+    void of_shouldRejectAmountsBeyondLong() {
+        assertThrows(ArithmeticException.class, () -> MinorUnits.of(new BigDecimal("1e17")));
+    }
+
+    @Test
+    void toBigDecimal_shouldKeepColumnScale() {
+        assertEquals(new BigDecimal("0.05"), MinorUnits.toBigDecimal(5));
+    }
+
+    @Test
+    void add_shouldDetectOverflow() {
+        assertThrows(ArithmeticException.class, () -> MinorUnits.add(Long.MAX_VALUE, 1));
+    }
+
+    @Test
+    void sellerTotals_shouldPickHighestTotal_andLowestIdOnTie() {
+        SellerTotals totals = new SellerTotals();
+        for (long sellerId = 1; sellerId <= 5_000; sellerId++) {
+            totals.add(sellerId, 100);
+        }
+        totals.add(4_000, 50);
+        totals.add(3_000, 50);
+
+        assertEquals(5_000, totals.size());
+        assertEquals(OptionalLong.of(3_000), totals.topSeller());
+        assertEquals(OptionalLong.empty(), new SellerTotals().topSeller());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.store.partition;
+
+import com.example.demo.store.repository.TransactionRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the SQL Hibernate generates for date-bounded repository methods through {@code EXPLAIN}
+ * and checks that the plan only touches the partitions overlapping the requested range.
+ *
+ * <p>Needs a PostgreSQL 14+ database, e.g.
+ * {@code CRM_TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/simple_crm_test}. Flyway migrates it,
+ * and everything the test creates is rolled back.
+ */
+@EnabledIfEnvironmentVariable(named = "CRM_TEST_POSTGRES_URL", matches = ".+")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${CRM_TEST_POSTGRES_URL}",
+        "spring.datasource.username=${CRM_TEST_POSTGRES_USER:crm}",
+        "spring.datasource.password=${CRM_TEST_POSTGRES_PASSWORD:pass}",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.example.demo.store.partition.TransactionPartitionPruningTest$CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TransactionPartitionManager.class)
+class TransactionPartitionPruningTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2020, 2, 3, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2020, 2, 20, 0, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionPartitionManager transactionPartitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionPartitionManager.createPartitions(YearMonth.of(2020, 1), YearMonth.of(2020, 4));
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void findAllByTransactionDateBetween_shouldOnlyScanOverlappingPartition() {
+        try (Stream<?> transactions = transactionRepository.findAllByTransactionDateBetween(FROM, TO)) {
+            transactions.count();
+        }
+
+        assertScannedPartitions(explainLastStatement(FROM, TO), YearMonth.of(2020, 2));
+    }
+
+    @Test
+    void sumBySellerBetween_shouldOnlyScanOverlappingPartition() {
+        transactionRepository.sumBySellerBetween(FROM, TO);
+
+        assertScannedPartitions(explainLastStatement(FROM, TO), YearMonth.of(2020, 2));
+    }
+
+    @Test
+    void sumBySellerFromUntil_shouldScanEveryOverlappingPartition() {
+        LocalDateTime to = LocalDateTime.of(2020, 3, 10, 0, 0);
+
+        transactionRepository.sumBySellerFromUntil(FROM, to);
+
+        assertScannedPartitions(explainLastStatement(FROM, to), YearMonth.of(2020, 2), YearMonth.of(2020, 3));
+    }
+
+    /**
+     * Binds the same date range the repository call used, so the planner prunes at plan time
+     * exactly as it did for the real execution.
+     */
+    private String explainLastStatement(LocalDateTime from, LocalDateTime to) {
+        List<String> statements = CapturingStatementInspector.STATEMENTS;
+        assertFalse(statements.isEmpty(), "No statement was captured");
+        String sql = statements.get(statements.size() - 1);
+        assertEquals(2, sql.chars().filter(c -> c == '?').count(), sql);
+
+        return String.join("\n", jdbcTemplate.queryForList(
+                "explain " + sql, String.class, Timestamp.valueOf(from), Timestamp.valueOf(to)));
+    }
+
+    private static void assertScannedPartitions(String plan, YearMonth... expected) {
+        List<YearMonth> expectedMonths = List.of(expected);
+        for (YearMonth month = YearMonth.of(2020, 1); !month.isAfter(YearMonth.of(2020, 4)); month = month.plusMonths(1)) {
+            assertEquals(expectedMonths.contains(month),
+                    plan.contains(TransactionPartitionManager.partitionName(month)), plan);
+        }
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
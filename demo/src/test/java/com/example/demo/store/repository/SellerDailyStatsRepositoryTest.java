@@ -0,0 +1,113 @@
+package com.example.demo.store.repository;
+
+import com.example.demo.store.entity.SellerDailyStatsEntity;
+import com.example.demo.store.entity.SellerEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SellerDailyStatsRepositoryTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+
+    @Autowired
+    private SellerDailyStatsRepository sellerDailyStatsRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findSellersWithTotalLessThan_shouldIncludeSellersWithoutTransactions() {
+        SellerEntity poor = persistSeller("Poor", 50);
+        SellerEntity rich = persistSeller("Rich", 500);
+        SellerEntity idle = persistSeller("Idle", -1);
+        entityManager.clear();
+
+        List<SellerEntity> result = sellerDailyStatsRepository
+                .findSellersWithTotalLessThan(BigDecimal.valueOf(100), DAY, DAY);
+
+        assertEquals(List.of(poor.getId(), idle.getId()), result.stream().map(SellerEntity::getId).toList());
+        assertFalse(result.stream().anyMatch(seller -> seller.getId().equals(rich.getId())));
+    }
+
+    @Test
+    void findSellersWithTotalLessThan_shouldIgnoreStatsOutsideOfPeriod() {
+        SellerEntity seller = persistSeller("Seller", 500);
+        entityManager.clear();
+
+        List<SellerEntity> result = sellerDailyStatsRepository
+                .findSellersWithTotalLessThan(BigDecimal.valueOf(100), DAY.plusDays(1), DAY.plusDays(30));
+
+        assertEquals(List.of(seller.getId()), result.stream().map(SellerEntity::getId).toList());
+    }
+
+    @Test
+    void findSellersWithTotalLessThan_shouldIssueConstantNumberOfStatements() {
+        long statementsForFewSellers = countStatements(10);
+        long statementsForManySellers = countStatements(500);
+
+        assertEquals(1, statementsForFewSellers);
+        assertEquals(statementsForFewSellers, statementsForManySellers);
+    }
+
+    private long countStatements(int sellerCount) {
+        for (int i = 0; i < sellerCount; i++) {
+            persistSeller("Seller " + i, i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        sellerDailyStatsRepository.findSellersWithTotalLessThan(BigDecimal.valueOf(100), DAY, DAY);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private SellerEntity persistSeller(String name, long dailyTotal) {
+        SellerEntity seller = entityManager.persist(SellerEntity.builder()
+                .name(name)
+                .contactInfo(name + "@example.com")
+                .registrationDate(LocalDateTime.now())
+                .build());
+
+        if (dailyTotal >= 0) {
+            entityManager.persist(SellerDailyStatsEntity.builder()
+                    .sellerId(seller.getId())
+                    .statsDate(DAY)
+                    .transactionCount(1L)
+                    .totalAmount(BigDecimal.valueOf(dailyTotal))
+                    .cashAmount(BigDecimal.valueOf(dailyTotal))
+                    .cardAmount(BigDecimal.ZERO)
+                    .transferAmount(BigDecimal.ZERO)
+                    .build());
+        }
+
+        return seller;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.store.repository;
+
+import com.example.demo.store.partition.TransactionPartitionManager;
+import com.example.demo.store.projection.TransactionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams real rows through {@link TransactionRepository#streamAllForExport()} and checks that
+ * they come from a server-side cursor fetched {@link TransactionRepository#EXPORT_FETCH_SIZE} rows
+ * at a time, rather than from a result set the driver read into memory up front.
+ *
+ * <p>Needs a PostgreSQL 14+ database, e.g.
+ * {@code CRM_TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/simple_crm_test}. Flyway migrates it,
+ * and everything the test creates is rolled back.
+ */
+@EnabledIfEnvironmentVariable(named = "CRM_TEST_POSTGRES_URL", matches = ".+")
+@DataJpaTest(properties = {
+        "spring.datasource.url=${CRM_TEST_POSTGRES_URL}",
+        "spring.datasource.username=${CRM_TEST_POSTGRES_USER:crm}",
+        "spring.datasource.password=${CRM_TEST_POSTGRES_PASSWORD:pass}"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TransactionPartitionManager.class)
+class TransactionExportCursorTest {
+    private static final int ROWS = 2 * TransactionRepository.EXPORT_FETCH_SIZE + 500;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionPartitionManager transactionPartitionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long sellerId;
+
+    @BeforeEach
+    void setUp() {
+        transactionPartitionManager.createPartitions(YearMonth.of(2020, 1), YearMonth.of(2020, 1));
+        sellerId = jdbcTemplate.queryForObject(
+                "insert into seller (name, contact_info, registration_date) values ('Export', 'e@example.com', now()) returning id",
+                Long.class);
+        jdbcTemplate.update("""
+                insert into transaction (id, seller_id, amount, payment_type, transaction_date)
+                select nextval('transaction_seq'), ?, 1.00, 'CASH', timestamp '2020-01-01' + g * interval '1 second'
+                from generate_series(1, ?) g
+                """, sellerId, ROWS);
+    }
+
+    @Test
+    void streamAllForExport_shouldReadEveryRowThroughServerSideCursor() {
+        long read = 0;
+        long exported = 0;
+        long previousId = Long.MIN_VALUE;
+
+        try (Stream<TransactionView> transactions = transactionRepository.streamAllForExport()) {
+            Iterator<TransactionView> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                TransactionView transaction = iterator.next();
+                if (read++ == 0) {
+                    // pgjdbc only keeps the portal open between round trips when it fetches in chunks.
+                    assertTrue(jdbcTemplate.queryForObject("select count(*) from pg_cursors", Integer.class) > 0,
+                            "The export was not read through a server-side cursor");
+                }
+                assertTrue(transaction.id() > previousId);
+                previousId = transaction.id();
+                if (transaction.seller().id() == sellerId) {
+                    exported++;
+                }
+            }
+        }
+
+        assertEquals(ROWS, exported);
+    }
+}
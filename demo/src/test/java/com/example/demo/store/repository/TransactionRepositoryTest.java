@@ -0,0 +1,136 @@
+package com.example.demo.store.repository;
+
+import com.example.demo.store.entity.SellerEntity;
+import com.example.demo.store.entity.TransactionEntity;
+import com.example.demo.store.projection.TransactionView;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TransactionRepositoryTest {
+    private static final int SELLER_COUNT = 50;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < SELLER_COUNT; i++) {
+            SellerEntity seller = entityManager.persist(SellerEntity.builder()
+                    .name("Seller " + i)
+                    .contactInfo("seller" + i + "@example.com")
+                    .registrationDate(START)
+                    .build());
+            entityManager.persist(TransactionEntity.builder()
+                    .sellerEntity(seller)
+                    .amount(BigDecimal.valueOf(i + 1))
+                    .paymentType(TransactionEntity.PaymentType.CASH)
+                    .transactionDate(START.plusMinutes(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void findFirstPage_shouldReadSellersInSameStatement_withoutLoadingEntities() {
+        List<TransactionView> page = transactionRepository.findFirstPage(PageRequest.ofSize(SELLER_COUNT));
+
+        assertEquals(SELLER_COUNT, page.size());
+        assertEquals("Seller 0", page.get(0).seller().name());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findPageAfter_shouldReadSellersInSameStatement_withoutLoadingEntities() {
+        List<TransactionView> firstPage = transactionRepository.findFirstPage(PageRequest.ofSize(10));
+        TransactionView last = firstPage.get(firstPage.size() - 1);
+        statistics.clear();
+
+        List<TransactionView> page = transactionRepository.findPageAfter(
+                last.transactionDate(), last.id(), PageRequest.ofSize(SELLER_COUNT));
+
+        assertEquals(SELLER_COUNT - 10, page.size());
+        assertEquals("Seller 10", page.get(0).seller().name());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void streamAllForExport_shouldIssueSingleStatement_withoutLoadingEntities() {
+        try (Stream<TransactionView> transactions = transactionRepository.streamAllForExport()) {
+            assertEquals(SELLER_COUNT, transactions.map(view -> view.seller().name()).distinct().count());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findWithSellerById_shouldFetchSellerInSameStatement() {
+        Long id = transactionRepository.findFirstPage(PageRequest.ofSize(1)).get(0).id();
+        statistics.clear();
+
+        TransactionEntity transaction = transactionRepository.findWithSellerById(id).orElseThrow();
+
+        assertEquals("Seller 0", transaction.getSellerEntity().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllByTransactionDateBetween_shouldFetchSellersInSameStatement() {
+        try (Stream<TransactionEntity> transactions = transactionRepository
+                .findAllByTransactionDateBetween(START, START.plusDays(1))) {
+            assertEquals(SELLER_COUNT, transactions
+                    .map(transaction -> transaction.getSellerEntity().getName())
+                    .distinct()
+                    .count());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_shouldLeaveSellerUnloaded() {
+        Long id = transactionRepository.findFirstPage(PageRequest.ofSize(1)).get(0).id();
+        entityManager.clear();
+        statistics.clear();
+
+        TransactionEntity transaction = transactionRepository.findById(id).orElseThrow();
+
+        assertFalse(entityManagerFactory.getPersistenceUnitUtil().isLoaded(transaction, "sellerEntity")
+                && entityManagerFactory.getPersistenceUnitUtil().isLoaded(transaction.getSellerEntity()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
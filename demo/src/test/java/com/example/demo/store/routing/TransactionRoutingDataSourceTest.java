@@ -0,0 +1,98 @@
+package com.example.demo.store.routing;
+
+import com.example.demo.config.ReplicaProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica; each knows its own name.
+ */
+class TransactionRoutingDataSourceTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setReadYourWritesWindow(Duration.ofSeconds(5));
+
+        DataSource routing = TransactionRoutingDataSource.lazy(
+                database("primary"), database("replica"), new ReadYourWritesPolicy(properties, nanos::get));
+        jdbcTemplate = new JdbcTemplate(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesPolicy.unbindClient();
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseReplica() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void readWriteTransaction_andNonTransactionalWork_shouldUsePrimary() {
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void readOnlyTransaction_shouldStayOnPrimary_withinWindowAfterSameClientWrote() {
+        ReadYourWritesPolicy.bindClient("client-a");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set writes = writes + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        ReadYourWritesPolicy.bindClient("client-b");
+        assertEquals("replica", readOnly.execute(status -> node()));
+
+        ReadYourWritesPolicy.bindClient("client-a");
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void rolledBackWrite_shouldNotPinClientToPrimary() {
+        ReadYourWritesPolicy.bindClient("client-a");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("update node set writes = writes + 1");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(16), writes int)");
+        jdbcTemplate.update("insert into node values (?, 0)", name);
+        return dataSource;
+    }
+}
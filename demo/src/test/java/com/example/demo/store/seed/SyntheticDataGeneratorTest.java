@@ -0,0 +1,76 @@
+package com.example.demo.store.seed;
+
+import com.example.demo.store.entity.TransactionEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataGeneratorTest {
+    private static final LocalDate FROM = LocalDate.of(2023, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2023, 12, 31);
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void shouldBeDeterministicForSameSeed() {
+        SyntheticDataGenerator first = new SyntheticDataGenerator(100, 1.1, FROM, TO, 7);
+        SyntheticDataGenerator second = new SyntheticDataGenerator(100, 1.1, FROM, TO, 7);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.nextSellerIndex(), second.nextSellerIndex());
+            assertEquals(first.nextTransactionDate(), second.nextTransactionDate());
+        }
+    }
+
+    @Test
+    void shouldConcentrateTransactionsOnFewSellers() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(1_000, 1.1, FROM, TO, 42);
+        int[] counts = new int[1_000];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[generator.nextSellerIndex()]++;
+        }
+
+        int[] sorted = Arrays.stream(counts).sorted().toArray();
+        long topTenPercent = Arrays.stream(sorted, 900, 1_000).sum();
+        assertTrue(topTenPercent > SAMPLES / 2, "Top 10% of sellers made " + topTenPercent + " transactions");
+    }
+
+    @Test
+    void shouldStayInRangeAndFollowSeasons() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(10, 0, FROM, TO, 42);
+        Map<Month, Integer> byMonth = new EnumMap<>(Month.class);
+        Map<DayOfWeek, Integer> byWeekday = new EnumMap<>(DayOfWeek.class);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDateTime date = generator.nextTransactionDate();
+            assertFalse(date.toLocalDate().isBefore(FROM));
+            assertFalse(date.toLocalDate().isAfter(TO));
+            byMonth.merge(date.getMonth(), 1, Integer::sum);
+            byWeekday.merge(date.getDayOfWeek(), 1, Integer::sum);
+        }
+
+        assertTrue(byMonth.get(Month.DECEMBER) > byMonth.get(Month.FEBRUARY));
+        assertTrue(byWeekday.get(DayOfWeek.SATURDAY) > byWeekday.get(DayOfWeek.TUESDAY));
+    }
+
+    @Test
+    void shouldGeneratePositiveAmountsInCents() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(10, 1.1, FROM, TO, 42);
+
+        for (int i = 0; i < 10_000; i++) {
+            TransactionEntity.PaymentType paymentType = generator.nextPaymentType();
+            BigDecimal amount = generator.nextAmount(paymentType);
+
+            assertEquals(2, amount.scale());
+            assertTrue(amount.signum() > 0);
+        }
+    }
+}
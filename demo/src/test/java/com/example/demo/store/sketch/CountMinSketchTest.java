@@ -0,0 +1,52 @@
+package com.example.demo.store.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountMinSketchTest {
+    @Test
+    void estimate_shouldNeverUndercount_andStayWithinErrorBound() {
+        Random random = new Random(42);
+        long[] exact = new long[5_000];
+        CountMinSketch first = new CountMinSketch();
+        CountMinSketch second = new CountMinSketch();
+        for (int i = 0; i < 200_000; i++) {
+            int key = (int) Math.min(exact.length - 1, Math.abs(random.nextGaussian() * 800));
+            long amount = 1 + random.nextInt(10_000);
+            exact[key] += amount;
+            (i % 2 == 0 ? first : second).add(key, amount);
+        }
+
+        CountMinSketch merged = CountMinSketch.fromBytes(first.toBytes());
+        merged.merge(CountMinSketch.fromBytes(second.toBytes()));
+
+        assertEquals(Arrays.stream(exact).sum(), merged.getTotal());
+        int beyondBound = 0;
+        for (int key = 0; key < exact.length; key++) {
+            long estimate = merged.estimate(key);
+            assertTrue(estimate >= exact[key], "undercounted key " + key);
+            if (estimate - exact[key] > merged.errorBound()) {
+                beyondBound++;
+            }
+        }
+        // Each estimate may exceed the bound with probability e^-4, under 2%.
+        assertTrue(beyondBound < exact.length / 50, beyondBound + " estimates beyond the bound");
+    }
+
+    @Test
+    void estimate_shouldBeZero_forEmptySketch() {
+        CountMinSketch sketch = new CountMinSketch();
+
+        assertEquals(0, sketch.estimate(7));
+        assertEquals(0, sketch.errorBound());
+    }
+
+    @Test
+    void fromBytes_shouldRejectForeignBytes() {
+        assertThrows(IllegalArgumentException.class, () -> CountMinSketch.fromBytes(new byte[64]));
+    }
+}
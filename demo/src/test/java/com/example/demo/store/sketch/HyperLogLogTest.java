@@ -0,0 +1,39 @@
+package com.example.demo.store.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+    @Test
+    void estimate_shouldStayWithinTwoStandardErrors_afterMergeAndRoundTrip() {
+        HyperLogLog even = new HyperLogLog();
+        HyperLogLog odd = new HyperLogLog();
+        for (long key = 0; key < 100_000; key++) {
+            (key % 2 == 0 ? even : odd).add(key);
+            // Duplicates do not count.
+            odd.add(1);
+        }
+
+        HyperLogLog merged = HyperLogLog.fromBytes(even.toBytes());
+        merged.merge(HyperLogLog.fromBytes(odd.toBytes()));
+
+        assertEquals(100_000, merged.estimate(), 2 * HyperLogLog.relativeStandardError() * 100_000);
+    }
+
+    @Test
+    void estimate_shouldBeNearlyExact_forFewKeys() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate());
+
+        for (long key = 1; key <= 37; key++) {
+            sketch.add(key * 7);
+        }
+        assertEquals(37, sketch.estimate(), 1);
+    }
+
+    @Test
+    void fromBytes_shouldRejectForeignBytes() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+    }
+}
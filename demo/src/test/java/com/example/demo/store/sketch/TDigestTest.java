@@ -0,0 +1,66 @@
+package com.example.demo.store.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TDigestTest {
+    private static final int VALUES = 100_000;
+
+    @Test
+    void quantile_shouldStayWithinRankError_afterMergeAndRoundTrip() {
+        List<Integer> values = new ArrayList<>();
+        for (int value = 1; value <= VALUES; value++) {
+            values.add(value);
+        }
+        Collections.shuffle(values, new Random(42));
+
+        TDigest first = new TDigest();
+        TDigest second = new TDigest();
+        for (int i = 0; i < values.size(); i++) {
+            (i % 3 == 0 ? first : second).add(values.get(i));
+        }
+        TDigest merged = TDigest.fromBytes(first.toBytes());
+        merged.merge(TDigest.fromBytes(second.toBytes()));
+
+        assertEquals(VALUES, merged.getCount());
+        for (double q : new double[]{0.01, 0.1, 0.5, 0.9, 0.99, 0.999}) {
+            // The rank of a value of 1..VALUES is the value itself.
+            double rankError = Math.abs(merged.quantile(q) / VALUES - q);
+            assertTrue(rankError <= TDigest.rankErrorBound(q), "rank error %f at %f".formatted(rankError, q));
+        }
+        assertEquals(1, merged.quantile(0));
+        assertEquals(VALUES, merged.quantile(1));
+    }
+
+    @Test
+    void quantile_shouldHandleEmptyAndSingleValueDigests() {
+        TDigest digest = new TDigest();
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+
+        digest.add(1_500);
+        assertEquals(1_500, digest.quantile(0.5));
+        assertEquals(1_500, TDigest.fromBytes(digest.toBytes()).quantile(0.99));
+    }
+
+    @Test
+    void quantile_shouldRejectQuantilesOutsideZeroToOne() {
+        assertThrows(IllegalArgumentException.class, () -> new TDigest().quantile(1.5));
+    }
+
+    @Test
+    void toBytes_shouldStayBounded_forManyValues() {
+        TDigest digest = new TDigest();
+        Random random = new Random(7);
+        for (int i = 0; i < VALUES; i++) {
+            digest.add(Math.exp(random.nextGaussian() * 2) * 1_000);
+        }
+
+        assertTrue(digest.toBytes().length < 16 * TDigest.COMPRESSION * 2);
+    }
+}